@@ -0,0 +1,332 @@
+package fajar.resilience4j.bulkhead;
+
+import fajar.resilience4j.core.BulkheadEventProcessor;
+import fajar.resilience4j.core.TimeSource;
+import fajar.resilience4j.bulkhead.limit.AdaptiveLimit;
+import fajar.resilience4j.bulkhead.limit.GradientLimit;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.event.*;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/** AdaptiveBulkhead
+ * Bulkhead seperti Bulkhead.of() (semaphore), tetapi jumlah permit nya tidak tetap, diatur oleh AdaptiveLimit dari latency yang diukur
+ * Round-trip time setiap eksekusi menjadi sample untuk AdaptiveLimit
+ * Jika downstream melambat limit turun (lebih banyak eksekusi menunggu / ditolak), jika downstream cepat limit naik sampai maxLimit
+ * maxWaitDuration dan fairCallHandling tetap diambil dari BulkheadConfig
+ * Interface Bulkhead tidak membawa waktu mulai dari acquirePermission() ke onComplete(), jadi sample hanya diambil dari :
+ * - bulkhead.executeXxx() dan bulkhead.decorateXxx() (instance method), waktu mulai disimpan per eksekusi, termasuk CompletionStage
+ *   yang selesai di thread lain : Decorators.ofCompletionStage(bulkhead.decorateCompletionStage(supplier))
+ * - onComplete(rttNanos) / onDropped(rttNanos) jika permit diatur sendiri
+ * Bulkhead.decorateXxx(bulkhead, ...) (static) dan Decorators.withBulkhead() memanggil onComplete() tanpa sample, limit tidak berubah
+ * Waktu tunggu maxWaitDuration dan round-trip time diukur dengan TimeSource, dengan AdaptiveLimit.fixed() perilakunya sama seperti
+ * Bulkhead.of() sehingga bisa dipakai sebagai Bulkhead semaphore dengan VirtualTimeSource
+ */
+public class AdaptiveBulkhead implements Bulkhead {
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final AdaptiveLimit limit;
+    private final TimeSource timeSource;
+    private final ReentrantLock lock;
+    private final Condition permitReleased;
+    private final BulkheadEventProcessor eventProcessor = new BulkheadEventProcessor();
+    private final BulkheadMetrics metrics = new BulkheadMetrics();
+    private volatile BulkheadConfig config;
+    private volatile int inFlight;
+
+    public AdaptiveBulkhead(String name, BulkheadConfig config, AdaptiveLimit limit, Map<String, String> tags) {
+        this(name, config, limit, tags, TimeSource.system());
+    }
+
+    public AdaptiveBulkhead(String name, BulkheadConfig config, AdaptiveLimit limit, Map<String, String> tags,
+                            TimeSource timeSource) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.limit = Objects.requireNonNull(limit, "Limit must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.timeSource = Objects.requireNonNull(timeSource, "TimeSource must not be null");
+        this.lock = new ReentrantLock(config.isFairCallHandlingEnabled());
+        this.permitReleased = lock.newCondition();
+    }
+
+    /**
+     * GradientLimit dimulai dari setengah maxConcurrentCalls, dan tidak pernah melebihi maxConcurrentCalls
+     */
+    public static AdaptiveBulkhead of(String name, BulkheadConfig config) {
+        return of(name, config, defaultLimit(config));
+    }
+
+    public static AdaptiveBulkhead of(String name, BulkheadConfig config, AdaptiveLimit limit) {
+        return new AdaptiveBulkhead(name, config, limit, Collections.emptyMap());
+    }
+
+    public static AdaptiveBulkhead of(String name, BulkheadConfig config, AdaptiveLimit limit, Map<String, String> tags) {
+        return new AdaptiveBulkhead(name, config, limit, tags);
+    }
+
+    public static AdaptiveBulkhead of(String name, BulkheadConfig config, AdaptiveLimit limit, TimeSource timeSource) {
+        return new AdaptiveBulkhead(name, config, limit, Collections.emptyMap(), timeSource);
+    }
+
+    static AdaptiveLimit defaultLimit(BulkheadConfig config) {
+        return GradientLimit.of(Math.max(1, config.getMaxConcurrentCalls() / 2), config.getMaxConcurrentCalls());
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        boolean callPermitted = tryEnterBulkhead();
+        if (callPermitted) {
+            eventProcessor.publishEvent(BulkheadOnCallPermittedEvent.class, () -> new BulkheadOnCallPermittedEvent(name));
+        } else {
+            eventProcessor.publishEvent(BulkheadOnCallRejectedEvent.class, () -> new BulkheadOnCallRejectedEvent(name));
+        }
+        return callPermitted;
+    }
+
+    @Override
+    public void acquirePermission() {
+        if (!tryAcquirePermission()) {
+            throw BulkheadFullException.createBulkheadFullException(this);
+        }
+    }
+
+    //menunggu sampai inFlight di bawah limit, maksimal maxWaitDuration
+    private boolean tryEnterBulkhead() {
+        long remainingNanos = config.getMaxWaitDuration().toNanos();
+        lock.lock();
+        try {
+            while (inFlight >= limit.getLimit()) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = timeSource.awaitNanos(permitReleased, remainingNanos);
+            }
+            inFlight++;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mengembalikan permit tanpa sample latency, misal eksekusi dibatalkan sebelum berjalan
+     */
+    @Override
+    public void releasePermission() {
+        release();
+    }
+
+    /**
+     * Mengembalikan permit tanpa sample latency, waktu mulai permit tidak diketahui di sini
+     * Dipanggil oleh Bulkhead.decorateXxx(bulkhead, ...) (static) dan Decorators.withBulkhead()
+     */
+    @Override
+    public void onComplete() {
+        release();
+        eventProcessor.publishEvent(BulkheadOnCallFinishedEvent.class, () -> new BulkheadOnCallFinishedEvent(name));
+    }
+
+    /**
+     * Eksekusi selesai, rttNanos dihitung oleh pemanggil dari saat permit didapat, boleh dipanggil dari thread lain
+     */
+    public void onComplete(long rttNanos) {
+        limit.onSample(rttNanos, inFlight, false);
+        release();
+        eventProcessor.publishEvent(BulkheadOnCallFinishedEvent.class, () -> new BulkheadOnCallFinishedEvent(name));
+    }
+
+    /**
+     * Eksekusi selesai tetapi downstream overload (timeout, 429, 503 dll), limit diturunkan
+     */
+    public void onDropped(long rttNanos) {
+        limit.onSample(rttNanos, inFlight, true);
+        release();
+        eventProcessor.publishEvent(BulkheadOnCallFinishedEvent.class, () -> new BulkheadOnCallFinishedEvent(name));
+    }
+
+    public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        return () -> {
+            acquirePermission();
+            long start = timeSource.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                onComplete(timeSource.nanoTime() - start);
+            }
+        };
+    }
+
+    public <T> Callable<T> decorateCallable(Callable<T> callable) {
+        Objects.requireNonNull(callable, "Callable must not be null");
+        return () -> {
+            acquirePermission();
+            long start = timeSource.nanoTime();
+            try {
+                return callable.call();
+            } finally {
+                onComplete(timeSource.nanoTime() - start);
+            }
+        };
+    }
+
+    public <T> CheckedSupplier<T> decorateCheckedSupplier(CheckedSupplier<T> supplier) {
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        return () -> {
+            acquirePermission();
+            long start = timeSource.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                onComplete(timeSource.nanoTime() - start);
+            }
+        };
+    }
+
+    public Runnable decorateRunnable(Runnable runnable) {
+        Objects.requireNonNull(runnable, "Runnable must not be null");
+        return () -> {
+            acquirePermission();
+            long start = timeSource.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                onComplete(timeSource.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Sama seperti Bulkhead.decorateCompletionStage(), tetapi sample diambil saat CompletionStage selesai (biasanya di thread lain)
+     */
+    public <T> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<CompletionStage<T>> supplier) {
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        return () -> {
+            if (!tryAcquirePermission()) {
+                return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(this));
+            }
+            long start = timeSource.nanoTime();
+            CompletableFuture<T> promise = new CompletableFuture<>();
+            try {
+                supplier.get().whenComplete((result, throwable) -> {
+                    onComplete(timeSource.nanoTime() - start);
+                    if (throwable != null) {
+                        promise.completeExceptionally(throwable);
+                    } else {
+                        promise.complete(result);
+                    }
+                });
+            } catch (Throwable throwable) {
+                onComplete(timeSource.nanoTime() - start);
+                promise.completeExceptionally(throwable);
+            }
+            return promise;
+        };
+    }
+
+    @Override
+    public <T> T executeSupplier(Supplier<T> supplier) {
+        return decorateSupplier(supplier).get();
+    }
+
+    @Override
+    public <T> T executeCallable(Callable<T> callable) throws Exception {
+        return decorateCallable(callable).call();
+    }
+
+    @Override
+    public void executeRunnable(Runnable runnable) {
+        decorateRunnable(runnable).run();
+    }
+
+    @Override
+    public <T> T executeCheckedSupplier(CheckedSupplier<T> supplier) throws Throwable {
+        return decorateCheckedSupplier(supplier).get();
+    }
+
+    @Override
+    public <T> CompletionStage<T> executeCompletionStage(Supplier<CompletionStage<T>> supplier) {
+        return decorateCompletionStage(supplier).get();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            //limit bisa naik lebih dari satu, jadi semua yang menunggu dibangunkan untuk cek ulang
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * maxConcurrentCalls tidak mengubah limit yang sedang berjalan, hanya maxWaitDuration yang langsung dipakai
+     */
+    @Override
+    public void changeConfig(BulkheadConfig newConfig) {
+        this.config = Objects.requireNonNull(newConfig, "Config must not be null");
+    }
+
+    public AdaptiveLimit getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public BulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveBulkhead '%s'", name);
+    }
+
+    private class BulkheadMetrics implements Metrics {
+
+        @Override
+        public int getAvailableConcurrentCalls() {
+            return Math.max(0, limit.getLimit() - inFlight);
+        }
+
+        @Override
+        public int getMaxAllowedConcurrentCalls() {
+            return limit.getLimit();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package fajar.resilience4j.bulkhead;
+
+import fajar.resilience4j.bulkhead.limit.AdaptiveLimit;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.core.ConfigurationNotFoundException;
+import io.github.resilience4j.core.registry.AbstractRegistry;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** AdaptiveBulkheadRegistry
+ * Registry seperti BulkheadRegistry, tetapi setiap bulkhead yang dibuat adalah AdaptiveBulkhead
+ * maxConcurrentCalls dari BulkheadConfig menjadi batas atas limit, limitFactory menentukan algoritma nya (default GradientLimit)
+ * Cara pakainya sama : addConfiguration(), bulkhead("fjr"), bulkhead("fjr", "config")
+ */
+public class AdaptiveBulkheadRegistry extends AbstractRegistry<Bulkhead, BulkheadConfig> implements BulkheadRegistry {
+
+    private final Function<BulkheadConfig, AdaptiveLimit> limitFactory;
+
+    public AdaptiveBulkheadRegistry() {
+        this(BulkheadConfig.ofDefaults());
+    }
+
+    public AdaptiveBulkheadRegistry(BulkheadConfig defaultConfig) {
+        this(defaultConfig, AdaptiveBulkhead::defaultLimit);
+    }
+
+    public AdaptiveBulkheadRegistry(BulkheadConfig defaultConfig, Function<BulkheadConfig, AdaptiveLimit> limitFactory) {
+        super(defaultConfig);
+        this.limitFactory = Objects.requireNonNull(limitFactory, "LimitFactory must not be null");
+    }
+
+    public AdaptiveBulkheadRegistry(Map<String, BulkheadConfig> configs, Function<BulkheadConfig, AdaptiveLimit> limitFactory) {
+        this(configs.getOrDefault(DEFAULT_CONFIG, BulkheadConfig.ofDefaults()), limitFactory);
+        this.configurations.putAll(configs);
+    }
+
+    public static AdaptiveBulkheadRegistry ofDefaults() {
+        return new AdaptiveBulkheadRegistry();
+    }
+
+    public static AdaptiveBulkheadRegistry of(BulkheadConfig defaultConfig) {
+        return new AdaptiveBulkheadRegistry(defaultConfig);
+    }
+
+    public static AdaptiveBulkheadRegistry of(BulkheadConfig defaultConfig, Function<BulkheadConfig, AdaptiveLimit> limitFactory) {
+        return new AdaptiveBulkheadRegistry(defaultConfig, limitFactory);
+    }
+
+    @Override
+    public Set<Bulkhead> getAllBulkheads() {
+        return new HashSet<>(entryMap.values());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name) {
+        return bulkhead(name, getDefaultConfig());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, Map<String, String> tags) {
+        return bulkhead(name, getDefaultConfig(), tags);
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, BulkheadConfig config) {
+        return bulkhead(name, config, Collections.emptyMap());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, BulkheadConfig config, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newBulkhead(name,
+                Objects.requireNonNull(config, CONFIG_MUST_NOT_BE_NULL), tags));
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, Supplier<BulkheadConfig> configSupplier) {
+        return bulkhead(name, configSupplier, Collections.emptyMap());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, Supplier<BulkheadConfig> configSupplier, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newBulkhead(name, Objects.requireNonNull(
+                Objects.requireNonNull(configSupplier, SUPPLIER_MUST_NOT_BE_NULL).get(),
+                CONFIG_MUST_NOT_BE_NULL), tags));
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, String configName) {
+        return bulkhead(name, configName, Collections.emptyMap());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, String configName, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newBulkhead(name, getConfiguration(configName)
+                .orElseThrow(() -> new ConfigurationNotFoundException(configName)), tags));
+    }
+
+    private AdaptiveBulkhead newBulkhead(String name, BulkheadConfig config, Map<String, String> tags) {
+        return AdaptiveBulkhead.of(name, config, limitFactory.apply(config), getAllTags(tags));
+    }
+}
@@ -0,0 +1,114 @@
+package fajar.resilience4j.bulkhead;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/** CoDelConfig
+ * Konfigurasi antrian CoDelThreadPoolBulkhead, dibuat dengan CoDelConfig.custom()...build() seperti config Resilience4J yang lain
+ * - target : waktu tunggu di antrian (sojourn time) yang masih dianggap normal
+ * - interval : jika sojourn time terkecil selama satu interval lebih dari target, antrian dianggap overload
+ * - selama overload, task yang sudah menunggu lebih dari 2 x target dibuang (shed), dan jika lifoUnderOverload task terbaru dijalankan lebih dulu
+ * - maxQueueDuration : deadline setiap task di antrian (tanpa melihat overload), default tidak ada,
+ *   bisa juga diberikan per task dengan CoDelThreadPoolBulkhead.submit(callable, maxQueueDuration)
+ */
+public final class CoDelConfig {
+
+    private final Duration target;
+    private final Duration interval;
+    private final Duration maxQueueDuration;
+    private final boolean lifoUnderOverload;
+
+    private CoDelConfig(Builder builder) {
+        this.target = builder.target;
+        this.interval = builder.interval;
+        this.maxQueueDuration = builder.maxQueueDuration;
+        this.lifoUnderOverload = builder.lifoUnderOverload;
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public static CoDelConfig ofDefaults() {
+        return custom().build();
+    }
+
+    public Duration getTarget() {
+        return target;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return Duration.ZERO jika task tidak punya deadline
+     */
+    public Duration getMaxQueueDuration() {
+        return maxQueueDuration;
+    }
+
+    public boolean isLifoUnderOverload() {
+        return lifoUnderOverload;
+    }
+
+    @Override
+    public String toString() {
+        return "CoDelConfig{" +
+                "target=" + target +
+                ", interval=" + interval +
+                ", maxQueueDuration=" + maxQueueDuration +
+                ", lifoUnderOverload=" + lifoUnderOverload +
+                '}';
+    }
+
+    public static final class Builder {
+
+        private Duration target = Duration.ofMillis(5);
+        private Duration interval = Duration.ofMillis(100);
+        private Duration maxQueueDuration = Duration.ZERO;
+        private boolean lifoUnderOverload = true;
+
+        private Builder() {
+        }
+
+        public Builder target(Duration target) {
+            Objects.requireNonNull(target, "Target must not be null");
+            if (target.isNegative() || target.isZero()) {
+                throw new IllegalArgumentException("target must be greater than 0");
+            }
+            this.target = target;
+            return this;
+        }
+
+        public Builder interval(Duration interval) {
+            Objects.requireNonNull(interval, "Interval must not be null");
+            if (interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("interval must be greater than 0");
+            }
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Duration.ZERO artinya tidak ada deadline
+         */
+        public Builder maxQueueDuration(Duration maxQueueDuration) {
+            Objects.requireNonNull(maxQueueDuration, "MaxQueueDuration must not be null");
+            if (maxQueueDuration.isNegative()) {
+                throw new IllegalArgumentException("maxQueueDuration must not be negative");
+            }
+            this.maxQueueDuration = maxQueueDuration;
+            return this;
+        }
+
+        public Builder lifoUnderOverload(boolean lifoUnderOverload) {
+            this.lifoUnderOverload = lifoUnderOverload;
+            return this;
+        }
+
+        public CoDelConfig build() {
+            return new CoDelConfig(this);
+        }
+    }
+}
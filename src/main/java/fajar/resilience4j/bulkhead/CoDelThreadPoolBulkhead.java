@@ -0,0 +1,432 @@
+package fajar.resilience4j.bulkhead;
+
+import fajar.resilience4j.core.ThreadPoolBulkheadEventProcessor;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.event.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** CoDelThreadPoolBulkhead
+ * Implementasi ThreadPoolBulkhead dengan antrian yang membuang task yang sudah terlalu lama menunggu
+ * Di ThreadPoolBulkhead biasa task bisa menunggu di antrian selama apapun, jadi saat overload kita mengeksekusi task yang caller nya sudah timeout
+ * Setiap task mencatat kapan masuk antrian, dan saat diambil worker waktu tunggunya (sojourn time) diperiksa dengan CoDel (Controlled Delay) :
+ * - jika sojourn time terkecil selama satu interval lebih dari target, antrian dianggap overload sampai interval berikutnya
+ * - selama overload, task yang sudah menunggu lebih dari 2 x target dibuang, dan task terbaru diambil lebih dulu (LIFO)
+ *   karena caller nya yang paling mungkin masih menunggu hasilnya
+ * - task yang melewati maxQueueDuration (deadline per task) selalu dibuang
+ * Task yang dibuang selesai dengan BulkheadFullException (sama seperti saat antrian penuh) dan tercatat di getMetrics().getShedCalls() / getExpiredCalls()
+ * Worker adalah platform thread, dibuat saat dibutuhkan sampai maxThreadPoolSize dan tidak dihentikan (keepAliveDuration tidak dipakai)
+ */
+public class CoDelThreadPoolBulkhead implements ThreadPoolBulkhead {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    //sama seperti FixedThreadPoolBulkhead.close()
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String name;
+    private final ThreadPoolBulkheadConfig config;
+    private final CoDelConfig coDelConfig;
+    private final Map<String, String> tags;
+    private final ThreadFactory threadFactory;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition terminated = lock.newCondition();
+    private final AtomicInteger activeCalls = new AtomicInteger(0);
+    private final LongAdder shedCalls = new LongAdder();
+    private final LongAdder expiredCalls = new LongAdder();
+    private final CoDelMetrics metrics = new CoDelMetrics();
+    private final ThreadPoolBulkheadEventProcessor eventProcessor = new ThreadPoolBulkheadEventProcessor();
+    //semua state di bawah ini dijaga oleh lock
+    private final ArrayDeque<QueuedTask<?>> queue = new ArrayDeque<>();
+    private final Set<Thread> workerThreads = new HashSet<>();
+    private int workers;
+    private int running;
+    private int waitingWorkers;
+    private boolean closed;
+    private boolean overloaded;
+    private long minSojournNanos = Long.MAX_VALUE;
+    private long intervalEnd;
+
+    public CoDelThreadPoolBulkhead(String name, ThreadPoolBulkheadConfig config, CoDelConfig coDelConfig,
+                                   Map<String, String> tags) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.coDelConfig = Objects.requireNonNull(coDelConfig, "CoDelConfig must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.targetNanos = coDelConfig.getTarget().toNanos();
+        this.intervalNanos = coDelConfig.getInterval().toNanos();
+        this.threadFactory = Thread.ofPlatform()
+                .daemon()
+                .name("bulkhead-" + name + "-", 1)
+                .factory();
+        this.intervalEnd = System.nanoTime();
+    }
+
+    public static CoDelThreadPoolBulkhead ofDefaults(String name) {
+        return of(name, ThreadPoolBulkheadConfig.ofDefaults());
+    }
+
+    public static CoDelThreadPoolBulkhead of(String name, ThreadPoolBulkheadConfig config) {
+        return of(name, config, CoDelConfig.ofDefaults());
+    }
+
+    public static CoDelThreadPoolBulkhead of(String name, ThreadPoolBulkheadConfig config, CoDelConfig coDelConfig) {
+        return new CoDelThreadPoolBulkhead(name, config, coDelConfig, Collections.emptyMap());
+    }
+
+    public static CoDelThreadPoolBulkhead of(String name, ThreadPoolBulkheadConfig config, CoDelConfig coDelConfig,
+                                             Map<String, String> tags) {
+        return new CoDelThreadPoolBulkhead(name, config, coDelConfig, tags);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> callable) {
+        return submit(callable, coDelConfig.getMaxQueueDuration());
+    }
+
+    /**
+     * Sama seperti submit(callable), tetapi dengan deadline sendiri : task dibuang jika belum mulai dieksekusi setelah maxQueueDuration
+     * Duration.ZERO artinya tidak ada deadline (hanya CoDel)
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> callable, Duration maxQueueDuration) {
+        Objects.requireNonNull(callable, "Callable must not be null");
+        Objects.requireNonNull(maxQueueDuration, "MaxQueueDuration must not be null");
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        long now = System.nanoTime();
+        long deadline = maxQueueDuration.isZero() ? NO_DEADLINE : now + maxQueueDuration.toNanos();
+        Thread worker = null;
+        lock.lock();
+        try {
+            //task yang sedang berjalan dan yang menunggu dihitung bersama, sama seperti pool + queue di ThreadPoolBulkhead
+            if (closed || running + queue.size() >= config.getMaxThreadPoolSize() + config.getQueueCapacity()) {
+                eventProcessor.publishEvent(BulkheadOnCallRejectedEvent.class, () -> new BulkheadOnCallRejectedEvent(name));
+                throw BulkheadFullException.createBulkheadFullException(this);
+            }
+            queue.addLast(new QueuedTask<>(callable, promise, now, deadline));
+            if (queue.size() > waitingWorkers && workers < config.getMaxThreadPoolSize()) {
+                workers++;
+                worker = threadFactory.newThread(this::work);
+                workerThreads.add(worker);
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (worker != null) {
+            worker.start();
+        }
+        return promise;
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(Runnable runnable) {
+        Objects.requireNonNull(runnable, "Runnable must not be null");
+        return submit(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    private void work() {
+        List<QueuedTask<?>> dropped = new ArrayList<>();
+        while (true) {
+            QueuedTask<?> task = take(dropped);
+            boolean hasDropped = !dropped.isEmpty();
+            for (QueuedTask<?> droppedTask : dropped) {
+                eventProcessor.publishEvent(BulkheadOnCallRejectedEvent.class, () -> new BulkheadOnCallRejectedEvent(name));
+                droppedTask.promise.completeExceptionally(BulkheadFullException.createBulkheadFullException(this));
+            }
+            dropped.clear();
+            if (task == null) {
+                if (hasDropped) {
+                    continue;
+                }
+                return;
+            }
+            activeCalls.incrementAndGet();
+            eventProcessor.publishEvent(BulkheadOnCallPermittedEvent.class, () -> new BulkheadOnCallPermittedEvent(name));
+            try {
+                task.run();
+            } finally {
+                activeCalls.decrementAndGet();
+                finished();
+                eventProcessor.publishEvent(BulkheadOnCallFinishedEvent.class, () -> new BulkheadOnCallFinishedEvent(name));
+            }
+        }
+    }
+
+    /**
+     * Mengambil task berikutnya, task yang dibuang dikumpulkan di dropped supaya promise nya diselesaikan di luar lock
+     *
+     * @return null jika antrian kosong dan ada task yang dibuang (supaya promise nya diselesaikan sebelum menunggu),
+     * atau jika bulkhead sudah di close dan antrian kosong
+     */
+    private QueuedTask<?> take(List<QueuedTask<?>> dropped) {
+        lock.lock();
+        try {
+            while (true) {
+                if (queue.isEmpty()) {
+                    if (!dropped.isEmpty()) {
+                        return null;
+                    }
+                    if (closed) {
+                        workers--;
+                        workerThreads.remove(Thread.currentThread());
+                        if (workers == 0) {
+                            terminated.signalAll();
+                        }
+                        return null;
+                    }
+                    waitingWorkers++;
+                    notEmpty.awaitUninterruptibly();
+                    waitingWorkers--;
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (now - intervalEnd > 0) {
+                    //interval tanpa sample tidak dianggap overload
+                    overloaded = minSojournNanos != Long.MAX_VALUE && minSojournNanos > targetNanos;
+                    minSojournNanos = Long.MAX_VALUE;
+                    intervalEnd = now + intervalNanos;
+                }
+                if (overloaded) {
+                    //task paling lama ada di depan antrian, dibuang dulu supaya tidak memenuhi antrian selama LIFO
+                    while (!queue.isEmpty() && shouldDrop(queue.peekFirst(), now)) {
+                        drop(queue.pollFirst(), now, dropped);
+                    }
+                    if (queue.isEmpty()) {
+                        continue;
+                    }
+                }
+                QueuedTask<?> task = overloaded && coDelConfig.isLifoUnderOverload() ? queue.pollLast() : queue.pollFirst();
+                long sojournNanos = now - task.enqueuedAt;
+                minSojournNanos = Math.min(minSojournNanos, sojournNanos);
+                if (shouldDrop(task, now)) {
+                    drop(task, now, dropped);
+                    continue;
+                }
+                running++;
+                return task;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finished() {
+        lock.lock();
+        try {
+            running--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean shouldDrop(QueuedTask<?> task, long now) {
+        return isExpired(task, now) || (overloaded && now - task.enqueuedAt > 2 * targetNanos);
+    }
+
+    //nanoTime() boleh negatif, jadi NO_DEADLINE dicek dulu sebelum dibandingkan (now - Long.MAX_VALUE bisa overflow menjadi positif)
+    private static boolean isExpired(QueuedTask<?> task, long now) {
+        return task.deadline != NO_DEADLINE && now - task.deadline > 0;
+    }
+
+    private void drop(QueuedTask<?> task, long now, List<QueuedTask<?>> dropped) {
+        if (isExpired(task, now)) {
+            expiredCalls.increment();
+        } else {
+            shedCalls.increment();
+        }
+        dropped.add(task);
+    }
+
+    public CoDelConfig getCoDelConfig() {
+        return coDelConfig;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ThreadPoolBulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public CoDelMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public ThreadPoolBulkheadEventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    /**
+     * Task baru ditolak, task yang sudah ada di antrian tetap dieksekusi dan close() menunggu semua worker selesai
+     * Sama seperti ThreadPoolBulkhead, jika belum selesai dalam 5 detik task yang masih di antrian dibuang (BulkheadFullException)
+     * dan worker yang masih berjalan di interrupt
+     */
+    @Override
+    public void close() {
+        List<QueuedTask<?>> abandoned = new ArrayList<>();
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            //close() dari dalam task tidak bisa menunggu worker nya sendiri
+            if (workerThreads.contains(Thread.currentThread())) {
+                return;
+            }
+            long remainingNanos = CLOSE_TIMEOUT.toNanos();
+            while (workers > 0 && remainingNanos > 0) {
+                remainingNanos = terminated.awaitNanos(remainingNanos);
+            }
+            if (workers > 0) {
+                abandoned.addAll(queue);
+                queue.clear();
+                workerThreads.forEach(Thread::interrupt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        for (QueuedTask<?> task : abandoned) {
+            task.promise.completeExceptionally(BulkheadFullException.createBulkheadFullException(this));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CoDelThreadPoolBulkhead '%s'", name);
+    }
+
+    private static final class QueuedTask<T> {
+
+        private final Callable<T> callable;
+        private final CompletableFuture<T> promise;
+        private final long enqueuedAt;
+        private final long deadline;
+
+        private QueuedTask(Callable<T> callable, CompletableFuture<T> promise, long enqueuedAt, long deadline) {
+            this.callable = callable;
+            this.promise = promise;
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+        }
+
+        private void run() {
+            try {
+                promise.complete(callable.call());
+            } catch (Throwable throwable) {
+                promise.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    /** CoDelMetrics
+     * Metrics ThreadPoolBulkhead ditambah jumlah task yang dibuang dari antrian
+     */
+    public class CoDelMetrics implements Metrics {
+
+        /**
+         * Task yang dibuang oleh CoDel karena antrian overload
+         */
+        public long getShedCalls() {
+            return shedCalls.sum();
+        }
+
+        /**
+         * Task yang dibuang karena melewati maxQueueDuration
+         */
+        public long getExpiredCalls() {
+            return expiredCalls.sum();
+        }
+
+        public boolean isOverloaded() {
+            lock.lock();
+            try {
+                return overloaded;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int getCoreThreadPoolSize() {
+            return config.getCoreThreadPoolSize();
+        }
+
+        @Override
+        public int getThreadPoolSize() {
+            lock.lock();
+            try {
+                return workers;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int getMaximumThreadPoolSize() {
+            return config.getMaxThreadPoolSize();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int getRemainingQueueCapacity() {
+            return Math.max(0, config.getQueueCapacity() - getQueueDepth());
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return config.getQueueCapacity();
+        }
+
+        @Override
+        public int getActiveThreadCount() {
+            return activeCalls.get();
+        }
+
+        @Override
+        public int getAvailableThreadCount() {
+            return config.getMaxThreadPoolSize() - activeCalls.get();
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package fajar.resilience4j.bulkhead;
+
+import fajar.resilience4j.core.BulkheadEventProcessor;
+import fajar.resilience4j.core.TimeSource;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.event.*;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** PriorityBulkhead
+ * Bulkhead semaphore dengan beberapa lane (kelas prioritas, lihat PriorityLanes), misal request user "critical" dan batch job "bulk"
+ * Dengan Bulkhead.of() semua pemanggil berebut maxConcurrentCalls yang sama, jadi burst batch job bisa menghabiskan semua permit
+ * - setiap lane punya permit yang direservasi (dari weight), permit bersama (sisa pembulatan) boleh dipakai semua lane
+ * - lane boleh meminjam reservasi lane yang lebih rendah selama sedang tidak dipakai, tetapi tidak pernah reservasi lane yang lebih tinggi
+ * - yang menunggu permit diurutkan per prioritas (lalu FIFO), permit yang kembali diberikan ke lane tertinggi lebih dulu
+ * - jika perkiraan waktu tunggu melewati maxWaitDuration, yang menunggu di lane terendah ditolak lebih dulu (shed) tanpa menunggu timeout,
+ *   perkiraan nya dari jarak antar permit kembali saat bulkhead penuh, dikali posisi di antrian
+ * Eksekusi memilih lane dengan lane("critical"), hasilnya juga Bulkhead, jadi bisa dipakai di Bulkhead.decorateSupplier() dan Decorators
+ * Memanggil PriorityBulkhead langsung sama dengan memakai lane terendah
+ */
+public class PriorityBulkhead implements Bulkhead {
+
+    //bobot sample baru untuk rata-rata jarak antar permit kembali
+    private static final double SERVICE_INTERVAL_SMOOTHING = 0.2;
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final PriorityLanes lanes;
+    private final TimeSource timeSource;
+    private final Lane[] laneViews;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final BulkheadEventProcessor eventProcessor = new BulkheadEventProcessor();
+    private final BulkheadMetrics metrics = new BulkheadMetrics();
+    private volatile BulkheadConfig config;
+    //semua state di bawah ini dijaga oleh lock
+    private int[] reserved;
+    private final int[] inFlight;
+    private final ArrayDeque<Waiter>[] waiters;
+    private int totalInFlight;
+    private int totalWaiting;
+    private boolean saturated;
+    private long lastSaturatedRelease;
+    private double serviceIntervalNanos;
+
+    @SuppressWarnings("unchecked")
+    public PriorityBulkhead(String name, BulkheadConfig config, PriorityLanes lanes, Map<String, String> tags,
+                            TimeSource timeSource) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.lanes = Objects.requireNonNull(lanes, "Lanes must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.timeSource = Objects.requireNonNull(timeSource, "TimeSource must not be null");
+        this.reserved = lanes.reservedPermits(config.getMaxConcurrentCalls());
+        this.inFlight = new int[lanes.size()];
+        this.waiters = (ArrayDeque<Waiter>[]) new ArrayDeque<?>[lanes.size()];
+        this.laneViews = new Lane[lanes.size()];
+        for (int i = 0; i < lanes.size(); i++) {
+            waiters[i] = new ArrayDeque<>();
+            laneViews[i] = new Lane(i);
+        }
+    }
+
+    public static PriorityBulkhead of(String name, BulkheadConfig config) {
+        return of(name, config, PriorityLanes.ofDefaults());
+    }
+
+    public static PriorityBulkhead of(String name, BulkheadConfig config, PriorityLanes lanes) {
+        return new PriorityBulkhead(name, config, lanes, Collections.emptyMap(), TimeSource.system());
+    }
+
+    public static PriorityBulkhead of(String name, BulkheadConfig config, PriorityLanes lanes, Map<String, String> tags) {
+        return new PriorityBulkhead(name, config, lanes, tags, TimeSource.system());
+    }
+
+    public static PriorityBulkhead of(String name, BulkheadConfig config, PriorityLanes lanes, TimeSource timeSource) {
+        return new PriorityBulkhead(name, config, lanes, Collections.emptyMap(), timeSource);
+    }
+
+    /**
+     * Bulkhead untuk satu lane, permit yang didapat dari lane ini harus dikembalikan lewat lane yang sama
+     */
+    public Lane lane(String laneName) {
+        int priority = lanes.indexOf(laneName);
+        if (priority < 0) {
+            throw new IllegalArgumentException("Lane '" + laneName + "' does not exist in " + lanes);
+        }
+        return laneViews[priority];
+    }
+
+    public PriorityLanes getLanes() {
+        return lanes;
+    }
+
+    private Lane defaultLane() {
+        return laneViews[laneViews.length - 1];
+    }
+
+    private boolean tryEnter(int priority) {
+        lock.lock();
+        try {
+            //tidak boleh mendahului yang sudah menunggu di lane yang sama atau lebih tinggi
+            if (!hasWaitersFrom(priority) && isAdmissible(priority)) {
+                take(priority);
+                return true;
+            }
+            long remainingNanos = config.getMaxWaitDuration().toNanos();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            Waiter waiter = new Waiter(priority, lock.newCondition(), timeSource.nanoTime() + remainingNanos);
+            waiters[priority].addLast(waiter);
+            totalWaiting++;
+            shedWaiters();
+            try {
+                while (waiter.state == Waiter.WAITING) {
+                    if (remainingNanos <= 0) {
+                        removeWaiter(waiter);
+                        return false;
+                    }
+                    remainingNanos = timeSource.awaitNanos(waiter.condition, remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (waiter.state == Waiter.WAITING) {
+                    removeWaiter(waiter);
+                }
+            }
+            return waiter.state == Waiter.GRANTED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasWaitersFrom(int priority) {
+        for (int i = 0; i <= priority; i++) {
+            if (!waiters[i].isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //permit yang tersisa harus cukup untuk reservasi lane lebih tinggi yang belum terpakai
+    private boolean isAdmissible(int priority) {
+        return available(priority) > 0;
+    }
+
+    private int available(int priority) {
+        int free = config.getMaxConcurrentCalls() - totalInFlight;
+        for (int i = 0; i < priority; i++) {
+            free -= Math.max(0, reserved[i] - inFlight[i]);
+        }
+        return free;
+    }
+
+    private void take(int priority) {
+        inFlight[priority]++;
+        totalInFlight++;
+    }
+
+    private void release(int priority) {
+        lock.lock();
+        try {
+            if (inFlight[priority] == 0) {
+                return;
+            }
+            inFlight[priority]--;
+            totalInFlight--;
+            sampleServiceInterval();
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //jarak antar permit kembali hanya diukur saat ada yang menunggu, yaitu saat bulkhead benar-benar penuh
+    private void sampleServiceInterval() {
+        if (totalWaiting == 0) {
+            saturated = false;
+            return;
+        }
+        long now = timeSource.nanoTime();
+        if (saturated) {
+            long interval = now - lastSaturatedRelease;
+            serviceIntervalNanos = serviceIntervalNanos == 0
+                    ? interval
+                    : serviceIntervalNanos + SERVICE_INTERVAL_SMOOTHING * (interval - serviceIntervalNanos);
+        }
+        saturated = true;
+        lastSaturatedRelease = now;
+    }
+
+    //lane yang lebih rendah tidak mungkin lebih mudah masuk, jadi berhenti di lane pertama yang masih harus menunggu
+    private void dispatch() {
+        for (int i = 0; i < waiters.length; i++) {
+            ArrayDeque<Waiter> queue = waiters[i];
+            while (!queue.isEmpty() && isAdmissible(i)) {
+                Waiter waiter = queue.pollFirst();
+                totalWaiting--;
+                take(i);
+                waiter.state = Waiter.GRANTED;
+                waiter.condition.signal();
+            }
+            if (!queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Menolak yang menunggu dari ekor antrian (lane terendah, paling baru) selama perkiraan waktu tunggu nya melewati deadline
+     * Posisi dihitung dari urutan prioritas, jadi request critical yang baru datang mendorong request bulk ke belakang
+     */
+    private void shedWaiters() {
+        if (serviceIntervalNanos == 0) {
+            return;
+        }
+        long now = timeSource.nanoTime();
+        int position = totalWaiting;
+        for (int i = waiters.length - 1; i >= 0; i--) {
+            Iterator<Waiter> iterator = waiters[i].descendingIterator();
+            while (iterator.hasNext()) {
+                Waiter waiter = iterator.next();
+                if (position * serviceIntervalNanos <= waiter.deadline - now) {
+                    return;
+                }
+                iterator.remove();
+                totalWaiting--;
+                position--;
+                waiter.state = Waiter.SHED;
+                laneViews[i].shedCalls.increment();
+                waiter.condition.signal();
+            }
+        }
+    }
+
+    private void removeWaiter(Waiter waiter) {
+        if (waiters[waiter.priority].remove(waiter)) {
+            totalWaiting--;
+        }
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        return defaultLane().tryAcquirePermission();
+    }
+
+    @Override
+    public void acquirePermission() {
+        defaultLane().acquirePermission();
+    }
+
+    @Override
+    public void releasePermission() {
+        defaultLane().releasePermission();
+    }
+
+    @Override
+    public void onComplete() {
+        defaultLane().onComplete();
+    }
+
+    /**
+     * Reservasi setiap lane dihitung ulang dari maxConcurrentCalls yang baru
+     */
+    @Override
+    public void changeConfig(BulkheadConfig newConfig) {
+        Objects.requireNonNull(newConfig, "Config must not be null");
+        lock.lock();
+        try {
+            this.config = newConfig;
+            this.reserved = lanes.reservedPermits(newConfig.getMaxConcurrentCalls());
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public BulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PriorityBulkhead '%s'", name);
+    }
+
+    /** Waiter
+     * Satu pemanggil yang menunggu permit, state nya diubah oleh thread yang mengembalikan permit (GRANTED) atau oleh shedWaiters() (SHED)
+     */
+    private static final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int SHED = 2;
+
+        private final int priority;
+        private final Condition condition;
+        private final long deadline;
+        private int state = WAITING;
+
+        private Waiter(int priority, Condition condition, long deadline) {
+            this.priority = priority;
+            this.condition = condition;
+            this.deadline = deadline;
+        }
+    }
+
+    /** Lane
+     * Bulkhead untuk satu kelas prioritas, nama, config, tags dan event publisher nya sama dengan PriorityBulkhead
+     */
+    public final class Lane implements Bulkhead {
+
+        private final int priority;
+        private final LongAdder rejectedCalls = new LongAdder();
+        private final LongAdder shedCalls = new LongAdder();
+        private final Metrics laneMetrics = new LaneMetrics();
+
+        private Lane(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean tryAcquirePermission() {
+            boolean callPermitted = tryEnter(priority);
+            if (callPermitted) {
+                eventProcessor.publishEvent(BulkheadOnCallPermittedEvent.class, () -> new BulkheadOnCallPermittedEvent(name));
+            } else {
+                rejectedCalls.increment();
+                eventProcessor.publishEvent(BulkheadOnCallRejectedEvent.class, () -> new BulkheadOnCallRejectedEvent(name));
+            }
+            return callPermitted;
+        }
+
+        @Override
+        public void acquirePermission() {
+            if (!tryAcquirePermission()) {
+                throw BulkheadFullException.createBulkheadFullException(this);
+            }
+        }
+
+        @Override
+        public void releasePermission() {
+            release(priority);
+        }
+
+        @Override
+        public void onComplete() {
+            release(priority);
+            eventProcessor.publishEvent(BulkheadOnCallFinishedEvent.class, () -> new BulkheadOnCallFinishedEvent(name));
+        }
+
+        public String getLaneName() {
+            return lanes.getName(priority);
+        }
+
+        /**
+         * 0 adalah prioritas tertinggi
+         */
+        public int getPriority() {
+            return priority;
+        }
+
+        public int getReservedPermits() {
+            lock.lock();
+            try {
+                return reserved[priority];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int getInFlightCalls() {
+            lock.lock();
+            try {
+                return inFlight[priority];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int getWaitingCalls() {
+            lock.lock();
+            try {
+                return waiters[priority].size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Semua penolakan di lane ini, termasuk yang di shed
+         */
+        public long getRejectedCalls() {
+            return rejectedCalls.sum();
+        }
+
+        /**
+         * Penolakan karena perkiraan waktu tunggu melewati maxWaitDuration, sebelum timeout nya tercapai
+         */
+        public long getShedCalls() {
+            return shedCalls.sum();
+        }
+
+        @Override
+        public void changeConfig(BulkheadConfig newConfig) {
+            PriorityBulkhead.this.changeConfig(newConfig);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public BulkheadConfig getBulkheadConfig() {
+            return config;
+        }
+
+        @Override
+        public Metrics getMetrics() {
+            return laneMetrics;
+        }
+
+        @Override
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public EventPublisher getEventPublisher() {
+            return eventProcessor;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PriorityBulkhead '%s' lane '%s'", name, getLaneName());
+        }
+
+        private class LaneMetrics implements Metrics {
+
+            @Override
+            public int getAvailableConcurrentCalls() {
+                lock.lock();
+                try {
+                    return Math.max(0, available(priority));
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            //semua permit kecuali reservasi lane yang lebih tinggi
+            @Override
+            public int getMaxAllowedConcurrentCalls() {
+                lock.lock();
+                try {
+                    int max = config.getMaxConcurrentCalls();
+                    for (int i = 0; i < priority; i++) {
+                        max -= reserved[i];
+                    }
+                    return max;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private class BulkheadMetrics implements Metrics {
+
+        @Override
+        public int getAvailableConcurrentCalls() {
+            lock.lock();
+            try {
+                return Math.max(0, config.getMaxConcurrentCalls() - totalInFlight);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int getMaxAllowedConcurrentCalls() {
+            return config.getMaxConcurrentCalls();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package fajar.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.core.ConfigurationNotFoundException;
+import io.github.resilience4j.core.registry.AbstractRegistry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/** PriorityBulkheadRegistry
+ * Registry seperti BulkheadRegistry, tetapi setiap bulkhead yang dibuat adalah PriorityBulkhead
+ * Lane nya diambil dari PriorityLanes yang didaftarkan bersama config : addConfiguration("config", config, lanes),
+ * config tanpa lanes (dan bulkhead dengan BulkheadConfig langsung) memakai defaultLanes
+ * lane("fjr", "critical") adalah singkatan dari ((PriorityBulkhead) bulkhead("fjr")).lane("critical")
+ */
+public class PriorityBulkheadRegistry extends AbstractRegistry<Bulkhead, BulkheadConfig> implements BulkheadRegistry {
+
+    private final PriorityLanes defaultLanes;
+    private final Map<String, PriorityLanes> lanes = new ConcurrentHashMap<>();
+
+    public PriorityBulkheadRegistry() {
+        this(BulkheadConfig.ofDefaults());
+    }
+
+    public PriorityBulkheadRegistry(BulkheadConfig defaultConfig) {
+        this(defaultConfig, PriorityLanes.ofDefaults());
+    }
+
+    public PriorityBulkheadRegistry(BulkheadConfig defaultConfig, PriorityLanes defaultLanes) {
+        super(defaultConfig);
+        this.defaultLanes = Objects.requireNonNull(defaultLanes, "Lanes must not be null");
+    }
+
+    public static PriorityBulkheadRegistry ofDefaults() {
+        return new PriorityBulkheadRegistry();
+    }
+
+    public static PriorityBulkheadRegistry of(BulkheadConfig defaultConfig) {
+        return new PriorityBulkheadRegistry(defaultConfig);
+    }
+
+    public static PriorityBulkheadRegistry of(BulkheadConfig defaultConfig, PriorityLanes defaultLanes) {
+        return new PriorityBulkheadRegistry(defaultConfig, defaultLanes);
+    }
+
+    public void addConfiguration(String configName, BulkheadConfig config, PriorityLanes configLanes) {
+        addConfiguration(configName, config);
+        lanes.put(configName, Objects.requireNonNull(configLanes, "Lanes must not be null"));
+    }
+
+    public PriorityLanes getDefaultLanes() {
+        return defaultLanes;
+    }
+
+    public PriorityBulkhead.Lane lane(String name, String laneName) {
+        return ((PriorityBulkhead) bulkhead(name)).lane(laneName);
+    }
+
+    @Override
+    public Set<Bulkhead> getAllBulkheads() {
+        return new HashSet<>(entryMap.values());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name) {
+        return bulkhead(name, getDefaultConfig());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, Map<String, String> tags) {
+        return bulkhead(name, getDefaultConfig(), tags);
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, BulkheadConfig config) {
+        return bulkhead(name, config, Collections.emptyMap());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, BulkheadConfig config, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newBulkhead(name,
+                Objects.requireNonNull(config, CONFIG_MUST_NOT_BE_NULL), defaultLanes, tags));
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, Supplier<BulkheadConfig> configSupplier) {
+        return bulkhead(name, configSupplier, Collections.emptyMap());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, Supplier<BulkheadConfig> configSupplier, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newBulkhead(name, Objects.requireNonNull(
+                Objects.requireNonNull(configSupplier, SUPPLIER_MUST_NOT_BE_NULL).get(),
+                CONFIG_MUST_NOT_BE_NULL), defaultLanes, tags));
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, String configName) {
+        return bulkhead(name, configName, Collections.emptyMap());
+    }
+
+    @Override
+    public Bulkhead bulkhead(String name, String configName, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newBulkhead(name, getConfiguration(configName)
+                .orElseThrow(() -> new ConfigurationNotFoundException(configName)),
+                lanes.getOrDefault(configName, defaultLanes), tags));
+    }
+
+    private PriorityBulkhead newBulkhead(String name, BulkheadConfig config, PriorityLanes bulkheadLanes,
+                                         Map<String, String> tags) {
+        return PriorityBulkhead.of(name, config, bulkheadLanes, getAllTags(tags));
+    }
+}
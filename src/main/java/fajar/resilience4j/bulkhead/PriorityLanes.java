@@ -0,0 +1,115 @@
+package fajar.resilience4j.bulkhead;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/** PriorityLanes
+ * Daftar lane (kelas prioritas) untuk PriorityBulkhead, urutan lane adalah urutan prioritas (lane pertama paling tinggi)
+ * weight menentukan permit yang direservasi untuk lane tersebut : maxConcurrentCalls * weight / total weight, dibulatkan ke bawah
+ * Sisa pembulatan menjadi permit bersama, dan lane dengan weight 0 tidak punya reservasi (hanya memakai permit bersama / pinjaman)
+ * Contoh : PriorityLanes.custom().lane("critical", 1).lane("bulk", 3).build()
+ */
+public final class PriorityLanes {
+
+    private static final PriorityLanes DEFAULT = custom()
+            .lane("critical", 1)
+            .lane("bulk", 3)
+            .build();
+
+    private final List<String> names;
+    private final int[] weights;
+    private final int totalWeight;
+
+    private PriorityLanes(Builder builder) {
+        this.names = List.copyOf(builder.names);
+        this.weights = builder.weights.stream().mapToInt(Integer::intValue).toArray();
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Lane "critical" (weight 1) dan "bulk" (weight 3), dengan maxConcurrentCalls 25 : critical 6 permit, bulk 18 permit, 1 permit bersama
+     */
+    public static PriorityLanes ofDefaults() {
+        return DEFAULT;
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String getName(int priority) {
+        return names.get(priority);
+    }
+
+    public int getWeight(int priority) {
+        return weights[priority];
+    }
+
+    /**
+     * @return index lane (0 paling tinggi), -1 jika tidak ada
+     */
+    public int indexOf(String name) {
+        return names.indexOf(name);
+    }
+
+    int[] reservedPermits(int maxConcurrentCalls) {
+        int[] reserved = new int[weights.length];
+        if (totalWeight == 0) {
+            return reserved;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            reserved[i] = (int) ((long) maxConcurrentCalls * weights[i] / totalWeight);
+        }
+        return reserved;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PriorityLanes[");
+        for (int i = 0; i < names.size(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(names.get(i)).append('=').append(weights[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    public static final class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Lane ditambahkan dari prioritas tertinggi ke terendah
+         */
+        public Builder lane(String name, int weight) {
+            Objects.requireNonNull(name, "Name must not be null");
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("Lane '" + name + "' already exists");
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("weight must not be negative");
+            }
+            names.add(name);
+            weights.add(weight);
+            return this;
+        }
+
+        public PriorityLanes build() {
+            if (names.isEmpty()) {
+                throw new IllegalStateException("At least one lane is required");
+            }
+            return new PriorityLanes(this);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package fajar.resilience4j.bulkhead;
+
+import fajar.resilience4j.core.ThreadPoolBulkheadEventProcessor;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.event.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** VirtualThreadBulkhead
+ * Implementasi ThreadPoolBulkhead yang menjalankan setiap eksekusi di virtual thread, bukan di thread pool platform
+ * Jumlah eksekusi paralel tetap dibatasi oleh maxThreadPoolSize (sebagai permit), dan sisa eksekusi menunggu permit sampai queueCapacity
+ * Jika permit dan antrian sudah penuh, eksekusi akan ditolak dengan BulkheadFullException seperti ThreadPoolBulkhead biasa
+ * Karena mengimplementasikan ThreadPoolBulkhead, kita tetap bisa menggunakan ThreadPoolBulkhead.decorateRunnable(), decorateSupplier() dan Decorators.withThreadPoolBulkhead()
+ */
+public class VirtualThreadBulkhead implements ThreadPoolBulkhead {
+
+    private final String name;
+    private final ThreadPoolBulkheadConfig config;
+    private final Map<String, String> tags;
+    private final Semaphore permits;
+    private final ExecutorService executorService;
+    private final AtomicInteger submittedCalls = new AtomicInteger(0);
+    private final AtomicInteger activeCalls = new AtomicInteger(0);
+    private final BulkheadMetrics metrics = new BulkheadMetrics();
+    private final ThreadPoolBulkheadEventProcessor eventProcessor = new ThreadPoolBulkheadEventProcessor();
+
+    public VirtualThreadBulkhead(String name, ThreadPoolBulkheadConfig config, Map<String, String> tags) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.permits = new Semaphore(config.getMaxThreadPoolSize(), true);
+        this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name("bulkhead-" + name + "-", 1)
+                .factory());
+    }
+
+    public static VirtualThreadBulkhead ofDefaults(String name) {
+        return of(name, ThreadPoolBulkheadConfig.ofDefaults());
+    }
+
+    public static VirtualThreadBulkhead of(String name, ThreadPoolBulkheadConfig config) {
+        return new VirtualThreadBulkhead(name, config, Collections.emptyMap());
+    }
+
+    public static VirtualThreadBulkhead of(String name, ThreadPoolBulkheadConfig config, Map<String, String> tags) {
+        return new VirtualThreadBulkhead(name, config, tags);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Callable<T> callable) {
+        Objects.requireNonNull(callable, "Callable must not be null");
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        if (!tryReserve()) {
+            eventProcessor.publishEvent(BulkheadOnCallRejectedEvent.class, () -> new BulkheadOnCallRejectedEvent(name));
+            throw BulkheadFullException.createBulkheadFullException(this);
+        }
+        try {
+            executorService.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    submittedCalls.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    promise.completeExceptionally(e);
+                    return;
+                }
+                activeCalls.incrementAndGet();
+                eventProcessor.publishEvent(BulkheadOnCallPermittedEvent.class, () -> new BulkheadOnCallPermittedEvent(name));
+                try {
+                    promise.complete(callable.call());
+                } catch (Throwable throwable) {
+                    promise.completeExceptionally(throwable);
+                } finally {
+                    activeCalls.decrementAndGet();
+                    submittedCalls.decrementAndGet();
+                    permits.release();
+                    eventProcessor.publishEvent(BulkheadOnCallFinishedEvent.class, () -> new BulkheadOnCallFinishedEvent(name));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submittedCalls.decrementAndGet();
+            eventProcessor.publishEvent(BulkheadOnCallRejectedEvent.class, () -> new BulkheadOnCallRejectedEvent(name));
+            throw BulkheadFullException.createBulkheadFullException(this);
+        }
+        return promise;
+    }
+
+    @Override
+    public CompletableFuture<Void> submit(Runnable runnable) {
+        Objects.requireNonNull(runnable, "Runnable must not be null");
+        return submit(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    //permit untuk eksekusi dan antrian dihitung bersama, sama seperti pool + queue di ThreadPoolBulkhead
+    private boolean tryReserve() {
+        int limit = config.getMaxThreadPoolSize() + config.getQueueCapacity();
+        while (true) {
+            int current = submittedCalls.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (submittedCalls.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ThreadPoolBulkheadConfig getBulkheadConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public ThreadPoolBulkheadEventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VirtualThreadBulkhead '%s'", name);
+    }
+
+    private class BulkheadMetrics implements Metrics {
+
+        @Override
+        public int getCoreThreadPoolSize() {
+            return config.getCoreThreadPoolSize();
+        }
+
+        @Override
+        public int getThreadPoolSize() {
+            return activeCalls.get();
+        }
+
+        @Override
+        public int getMaximumThreadPoolSize() {
+            return config.getMaxThreadPoolSize();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return Math.max(0, submittedCalls.get() - activeCalls.get());
+        }
+
+        @Override
+        public int getRemainingQueueCapacity() {
+            return Math.max(0, config.getQueueCapacity() - getQueueDepth());
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return config.getQueueCapacity();
+        }
+
+        @Override
+        public int getActiveThreadCount() {
+            return activeCalls.get();
+        }
+
+        @Override
+        public int getAvailableThreadCount() {
+            return permits.availablePermits();
+        }
+    }
+}
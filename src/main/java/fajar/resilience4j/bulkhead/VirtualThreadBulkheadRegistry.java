@@ -0,0 +1,115 @@
+package fajar.resilience4j.bulkhead;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.core.ConfigurationNotFoundException;
+import io.github.resilience4j.core.registry.AbstractRegistry;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/** VirtualThreadBulkheadRegistry
+ * Registry seperti ThreadPoolBulkheadRegistry, tetapi setiap bulkhead yang dibuat adalah VirtualThreadBulkhead
+ * Karena mengimplementasikan ThreadPoolBulkheadRegistry, cara pakainya sama : addConfiguration(), bulkhead("fjr"), bulkhead("fjr", "config")
+ */
+public class VirtualThreadBulkheadRegistry extends AbstractRegistry<ThreadPoolBulkhead, ThreadPoolBulkheadConfig>
+        implements ThreadPoolBulkheadRegistry {
+
+    public VirtualThreadBulkheadRegistry() {
+        this(ThreadPoolBulkheadConfig.ofDefaults());
+    }
+
+    public VirtualThreadBulkheadRegistry(ThreadPoolBulkheadConfig defaultConfig) {
+        super(defaultConfig);
+    }
+
+    public VirtualThreadBulkheadRegistry(ThreadPoolBulkheadConfig defaultConfig,
+                                         RegistryEventConsumer<ThreadPoolBulkhead> registryEventConsumer) {
+        super(defaultConfig, registryEventConsumer);
+    }
+
+    public VirtualThreadBulkheadRegistry(Map<String, ThreadPoolBulkheadConfig> configs) {
+        this(configs.getOrDefault(DEFAULT_CONFIG, ThreadPoolBulkheadConfig.ofDefaults()));
+        this.configurations.putAll(configs);
+    }
+
+    public static VirtualThreadBulkheadRegistry ofDefaults() {
+        return new VirtualThreadBulkheadRegistry();
+    }
+
+    public static VirtualThreadBulkheadRegistry of(ThreadPoolBulkheadConfig defaultConfig) {
+        return new VirtualThreadBulkheadRegistry(defaultConfig);
+    }
+
+    @Override
+    public Set<ThreadPoolBulkhead> getAllBulkheads() {
+        return new HashSet<>(entryMap.values());
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name) {
+        return bulkhead(name, getDefaultConfig());
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, Map<String, String> tags) {
+        return bulkhead(name, getDefaultConfig(), tags);
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, ThreadPoolBulkheadConfig config) {
+        return bulkhead(name, config, Collections.emptyMap());
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, ThreadPoolBulkheadConfig config, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> VirtualThreadBulkhead
+                .of(name, Objects.requireNonNull(config, CONFIG_MUST_NOT_BE_NULL), getAllTags(tags)));
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, Supplier<ThreadPoolBulkheadConfig> configSupplier) {
+        return bulkhead(name, configSupplier, Collections.emptyMap());
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, Supplier<ThreadPoolBulkheadConfig> configSupplier, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> VirtualThreadBulkhead.of(name, Objects.requireNonNull(
+                Objects.requireNonNull(configSupplier, SUPPLIER_MUST_NOT_BE_NULL).get(),
+                CONFIG_MUST_NOT_BE_NULL), getAllTags(tags)));
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, String configName) {
+        return bulkhead(name, configName, Collections.emptyMap());
+    }
+
+    @Override
+    public ThreadPoolBulkhead bulkhead(String name, String configName, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> VirtualThreadBulkhead.of(name, getConfiguration(configName)
+                .orElseThrow(() -> new ConfigurationNotFoundException(configName)), getAllTags(tags)));
+    }
+
+    /**
+     * VirtualThreadBulkhead.close() tidak melempar checked exception, jadi registry juga tidak
+     * Bulkhead lain yang dimasukkan lewat replace() dan gagal di close dibungkus IllegalStateException
+     */
+    @Override
+    public void close() {
+        for (ThreadPoolBulkhead bulkhead : getAllBulkheads()) {
+            if (bulkhead instanceof VirtualThreadBulkhead virtualThreadBulkhead) {
+                virtualThreadBulkhead.close();
+                continue;
+            }
+            try {
+                bulkhead.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close bulkhead " + bulkhead.getName(), e);
+            }
+        }
+    }
+}
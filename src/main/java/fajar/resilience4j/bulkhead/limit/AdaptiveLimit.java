@@ -0,0 +1,40 @@
+package fajar.resilience4j.bulkhead.limit;
+
+/** AdaptiveLimit
+ * Strategi untuk menghitung jumlah permit (limit) AdaptiveBulkhead dari latency yang diukur
+ * Setiap eksekusi yang selesai memberikan satu sample : round-trip time dan jumlah eksekusi yang sedang berjalan saat itu
+ * Implementasi harus thread-safe, karena onSample() dipanggil dari banyak thread
+ */
+public interface AdaptiveLimit {
+
+    /**
+     * Limit saat ini, selalu di antara minLimit dan maxLimit
+     */
+    int getLimit();
+
+    /**
+     * @param rttNanos round-trip time eksekusi dalam nanosecond
+     * @param inFlight jumlah eksekusi yang berjalan saat eksekusi ini selesai (termasuk eksekusi ini)
+     * @param dropped  true jika eksekusi dianggap gagal karena overload (misal timeout dari downstream)
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+    /**
+     * Limit tetap yang tidak berubah oleh sample, AdaptiveBulkhead menjadi sama seperti Bulkhead.of() dengan maxConcurrentCalls = limit
+     */
+    static AdaptiveLimit fixed(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be greater than 0");
+        }
+        return new AdaptiveLimit() {
+            @Override
+            public int getLimit() {
+                return limit;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inFlight, boolean dropped) {
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package fajar.resilience4j.bulkhead.limit;
+
+import java.time.Duration;
+
+/** AimdLimit
+ * Additive Increase Multiplicative Decrease, sama seperti TCP congestion control
+ * - latency di bawah latencyThreshold dan limit sedang terpakai -> limit + 1
+ * - latency di atas latencyThreshold atau eksekusi dropped -> limit * backoffRatio
+ * Limit hanya dinaikkan jika inFlight sudah mencapai setengah limit, supaya limit tidak terus naik saat trafik sepi
+ */
+public final class AimdLimit implements AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private volatile int limit;
+
+    private AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration latencyThreshold) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("minLimit must be greater than 0 and not greater than maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public static AimdLimit of(int initialLimit, int maxLimit, Duration latencyThreshold) {
+        return new AimdLimit(initialLimit, 1, maxLimit, 0.9, latencyThreshold);
+    }
+
+    public static AimdLimit of(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration latencyThreshold) {
+        return new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        int current = limit;
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, Math.min(current - 1, (int) (current * backoffRatio)));
+        } else if (inFlight * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AimdLimit [limit=%d]", limit);
+    }
+}
@@ -0,0 +1,82 @@
+package fajar.resilience4j.bulkhead.limit;
+
+/** GradientLimit
+ * Limit dihitung dari perbandingan latency jangka panjang dengan latency sample terbaru (gradient), mirip Vegas / Gradient2
+ * - gradient = longRtt / shortRtt, dibatasi 0.5 sampai 1.0
+ *   jika latency naik (downstream mulai antri) gradient < 1 dan limit turun, jika latency stabil gradient = 1
+ * - newLimit = limit * gradient + queueSize, queueSize = sqrt(limit) memberi ruang untuk terus mencoba limit yang lebih besar
+ * - hasil nya dihaluskan dengan smoothing, supaya satu sample lambat tidak langsung menjatuhkan limit
+ * longRtt adalah exponential moving average dengan window panjang, sehingga perubahan latency permanen pelan-pelan menjadi baseline baru
+ */
+public final class GradientLimit implements AdaptiveLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double longWindowFactor;
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    private GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int longWindow) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("minLimit must be greater than 0 and not greater than maxLimit");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be between 0 and 1");
+        }
+        if (longWindow <= 0) {
+            throw new IllegalArgumentException("longWindow must be greater than 0");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.longWindowFactor = 2.0 / (longWindow + 1);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    public static GradientLimit of(int initialLimit, int maxLimit) {
+        return new GradientLimit(initialLimit, 1, maxLimit, 0.2, 600);
+    }
+
+    public static GradientLimit of(int initialLimit, int minLimit, int maxLimit, double smoothing, int longWindow) {
+        return new GradientLimit(initialLimit, minLimit, maxLimit, smoothing, longWindow);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos = longRttNanos * (1 - longWindowFactor) + rttNanos * longWindowFactor;
+        }
+        //jika baseline lebih lambat dari latency sekarang (downstream pulih), baseline ikut turun lebih cepat
+        if (longRttNanos > rttNanos * 2) {
+            longRttNanos = rttNanos * 2.0;
+        }
+
+        double gradient = dropped ? MIN_GRADIENT : Math.max(MIN_GRADIENT, Math.min(1.0, longRttNanos / Math.max(1, rttNanos)));
+        //limit tidak dinaikkan jika sebagian besar permit tidak terpakai
+        if (!dropped && gradient == 1.0 && inFlight * 2 < estimatedLimit) {
+            return;
+        }
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GradientLimit [limit=%d]", limit);
+    }
+}
@@ -0,0 +1,253 @@
+package fajar.resilience4j.cache;
+
+import io.github.resilience4j.decorators.Decorators;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** SingleFlight
+ * Eksekusi dengan key yang sama yang datang bersamaan digabung menjadi satu eksekusi, pemanggil lain menunggu hasil yang sama
+ * Jika ttl di set, hasil yang sukses juga disimpan sampai ttl habis (cache), dibatasi maximumSize (yang paling lama disimpan dihapus duluan)
+ * Error tidak pernah disimpan, tapi pemanggil yang sedang menunggu eksekusi yang sama ikut mendapat error tersebut
+ * Dipasang paling luar, sebelum RateLimiter / Retry / CircuitBreaker, supaya pemanggil yang digabung atau kena cache tidak memakai permit :
+ * singleFlight.decorateSupplier("fjr", Decorators.ofSupplier(supplier).withRetry(retry).withRateLimiter(rateLimiter).decorate())
+ * singleFlight.decorateFunction(Decorators.ofFunction(function).withRateLimiter(rateLimiter).decorate())
+ */
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final long maximumSize;
+    private final Map<K, Flight<K, V>> flights = new ConcurrentHashMap<>();
+    //hasil yang disimpan, urut sesuai waktu selesai, jadi yang paling depan adalah yang paling dulu expired
+    private final ConcurrentLinkedQueue<Flight<K, V>> cached = new ConcurrentLinkedQueue<>();
+    //ConcurrentLinkedQueue.size() menghitung semua node, jadi jumlah nya disimpan sendiri
+    //hanya menghitung hasil yang masih ada di flights, node yang sudah dihapus lewat execute() / invalidate() tidak dihitung
+    private final AtomicLong cachedSize = new AtomicLong();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final SingleFlightMetrics metrics = new SingleFlightMetrics();
+
+    private SingleFlight(String name, Duration ttl, long maximumSize) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        Objects.requireNonNull(ttl, "Ttl must not be null");
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be greater than 0");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Hanya menggabungkan eksekusi yang bersamaan, hasil tidak disimpan
+     */
+    public static <K, V> SingleFlight<K, V> of(String name) {
+        return new SingleFlight<>(name, Duration.ZERO, Long.MAX_VALUE);
+    }
+
+    /**
+     * Menggabungkan eksekusi yang bersamaan dan menyimpan hasil yang sukses selama ttl, paling banyak maximumSize key
+     */
+    public static <K, V> SingleFlight<K, V> of(String name, Duration ttl, long maximumSize) {
+        return new SingleFlight<>(name, ttl, maximumSize);
+    }
+
+    /**
+     * Sama seperti Decorators.ofSupplier(singleFlight.decorateSupplier(key, supplier)), supplier nya sudah berisi RateLimiter dan lain-lain
+     */
+    public static <K, V> Decorators.DecorateSupplier<V> ofSupplier(SingleFlight<K, V> singleFlight, K key, Supplier<V> supplier) {
+        return Decorators.ofSupplier(singleFlight.decorateSupplier(key, supplier));
+    }
+
+    public static <K, V> Decorators.DecorateFunction<K, V> ofFunction(SingleFlight<K, V> singleFlight, Function<K, V> function) {
+        return Decorators.ofFunction(singleFlight.decorateFunction(function));
+    }
+
+    public Supplier<V> decorateSupplier(K key, Supplier<V> supplier) {
+        Objects.requireNonNull(key, "Key must not be null");
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        return () -> execute(key, supplier);
+    }
+
+    public Function<K, V> decorateFunction(Function<K, V> function) {
+        Objects.requireNonNull(function, "Function must not be null");
+        return key -> execute(key, () -> function.apply(key));
+    }
+
+    public V execute(K key, Supplier<V> supplier) {
+        while (true) {
+            Flight<K, V> flight = flights.get(key);
+            if (flight != null) {
+                if (!flight.isExpired(System.nanoTime())) {
+                    return await(flight);
+                }
+                discard(flight);
+            }
+            Flight<K, V> mine = new Flight<>(key);
+            if (flights.putIfAbsent(key, mine) == null) {
+                return run(mine, supplier);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Menghapus hasil yang disimpan untuk key tersebut, eksekusi yang sedang berjalan tidak dibatalkan
+     */
+    public void invalidate(K key) {
+        Flight<K, V> flight = flights.get(key);
+        if (flight != null && flight.future.isDone()) {
+            discard(flight);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlight '" + name + "'";
+    }
+
+    private V run(Flight<K, V> flight, Supplier<V> supplier) {
+        executions.increment();
+        V result;
+        try {
+            result = supplier.get();
+        } catch (Throwable throwable) {
+            flights.remove(flight.key, flight);
+            flight.future.completeExceptionally(throwable);
+            throw throwable;
+        }
+        if (ttlNanos == 0) {
+            flights.remove(flight.key, flight);
+        } else {
+            //dihitung sebelum expiresAt di set, karena setelah itu flight bisa di discard() oleh pemanggil lain
+            cachedSize.incrementAndGet();
+            flight.expiresAt = System.nanoTime() + ttlNanos;
+            cached.add(flight);
+            evict();
+        }
+        flight.future.complete(result);
+        return result;
+    }
+
+    private V await(Flight<K, V> flight) {
+        CompletableFuture<V> future = flight.future;
+        if (future.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    //hasil yang expired atau sudah dihapus di depan antrian dibuang, lalu yang paling lama disimpan dibuang sampai jumlah nya tidak melebihi maximumSize
+    //node yang sudah dihapus tidak mengurangi cachedSize lagi, jadi hasil yang masih berlaku tidak ikut dibuang terlalu cepat
+    private void evict() {
+        long now = System.nanoTime();
+        Flight<K, V> head;
+        while ((head = cached.peek()) != null && (head.isExpired(now) || flights.get(head.key) != head)) {
+            if (cached.remove(head)) {
+                discard(head);
+            }
+        }
+        while (cachedSize.get() > maximumSize && (head = cached.poll()) != null) {
+            discard(head);
+        }
+    }
+
+    //satu-satunya jalan flight yang sudah selesai keluar dari flights, cachedSize dikurangi sekali untuk flight yang disimpan
+    private void discard(Flight<K, V> flight) {
+        if (flights.remove(flight.key, flight) && flight.expiresAt != Long.MAX_VALUE) {
+            cachedSize.decrementAndGet();
+        }
+    }
+
+    public interface Metrics {
+
+        /**
+         * Jumlah eksekusi supplier yang benar-benar dijalankan
+         */
+        long getNumberOfExecutions();
+
+        /**
+         * Jumlah pemanggil yang menunggu eksekusi yang sedang berjalan
+         */
+        long getNumberOfCoalescedCalls();
+
+        /**
+         * Jumlah pemanggil yang mendapat hasil yang disimpan
+         */
+        long getNumberOfCacheHits();
+
+        long getNumberOfCachedEntries();
+    }
+
+    private class SingleFlightMetrics implements Metrics {
+
+        @Override
+        public long getNumberOfExecutions() {
+            return executions.sum();
+        }
+
+        @Override
+        public long getNumberOfCoalescedCalls() {
+            return coalesced.sum();
+        }
+
+        @Override
+        public long getNumberOfCacheHits() {
+            return hits.sum();
+        }
+
+        @Override
+        public long getNumberOfCachedEntries() {
+            return cachedSize.get();
+        }
+    }
+
+    private static final class Flight<K, V> {
+
+        private final K key;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        //selama eksekusi masih berjalan tidak pernah expired
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Flight(K key) {
+            this.key = key;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
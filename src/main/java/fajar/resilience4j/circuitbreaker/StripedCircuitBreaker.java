@@ -0,0 +1,991 @@
+package fajar.resilience4j.circuitbreaker;
+
+import fajar.resilience4j.core.FilteringEventProcessor;
+import fajar.resilience4j.core.HashedWheelTimer;
+import fajar.resilience4j.core.TimeSource;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+import io.github.resilience4j.circuitbreaker.ResultRecordedAsFailureException;
+import io.github.resilience4j.circuitbreaker.event.*;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.functions.Either;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import static io.github.resilience4j.circuitbreaker.CircuitBreaker.State.*;
+
+/** StripedCircuitBreaker
+ * CircuitBreaker dengan perilaku yang sama seperti CircuitBreaker.of(), tetapi sliding window nya tidak memakai lock
+ * Stock CircuitBreaker mencatat setiap hasil di dalam synchronized, sehingga di banyak thread semua pemanggil antri di satu lock
+ * Di sini setiap thread mencatat ke stripe nya sendiri (StripedSlidingWindow) dan failure rate baru dihitung saat dibutuhkan :
+ * - di CLOSED, setiap error / slow call selalu dicek, sedangkan success hanya dicek sampai minimumNumberOfCalls tercapai
+ *   (success yang tidak lambat tidak mungkin menaikkan failure rate atau slow call rate)
+ *   kecuali di TIME_BASED, success pertama di detik yang baru tetap dicek karena bucket lama yang expired bisa menaikkan failure rate,
+ *   sama seperti CircuitBreaker.of() yang langsung OPEN di eksekusi tersebut
+ * - di HALF_OPEN, setiap hasil dicek karena success juga bisa memindahkan state ke CLOSED
+ * Pindah state otomatis (OPEN -> HALF_OPEN dan maxWaitDurationInHalfOpenState) dijadwalkan di HashedWheelTimer
+ */
+@Slf4j
+public class StripedCircuitBreaker implements CircuitBreaker {
+
+    private static final HashedWheelTimer SHARED_TIMER = new HashedWheelTimer("circuitBreaker");
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final Map<String, String> tags;
+    private final Clock clock;
+    private final int stripeCount;
+    private final HashedWheelTimer timer;
+    private final AtomicReference<CircuitBreakerState> stateReference;
+    private final CircuitBreakerEventProcessor eventProcessor = new CircuitBreakerEventProcessor();
+
+    public StripedCircuitBreaker(String name, CircuitBreakerConfig config, Map<String, String> tags,
+                                 Clock clock, int stripeCount, HashedWheelTimer timer) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.clock = Objects.requireNonNull(clock, "Clock must not be null");
+        this.timer = Objects.requireNonNull(timer, "Timer must not be null");
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount must be greater than 0");
+        }
+        this.stripeCount = stripeCount;
+        this.stateReference = new AtomicReference<>(new ClosedState());
+    }
+
+    public static StripedCircuitBreaker ofDefaults(String name) {
+        return of(name, CircuitBreakerConfig.ofDefaults());
+    }
+
+    public static StripedCircuitBreaker of(String name, CircuitBreakerConfig config) {
+        return of(name, config, Collections.emptyMap());
+    }
+
+    public static StripedCircuitBreaker of(String name, CircuitBreakerConfig config, Map<String, String> tags) {
+        return new StripedCircuitBreaker(name, config, tags, Clock.systemUTC(), defaultStripeCount(), SHARED_TIMER);
+    }
+
+    /**
+     * waitDurationInOpenState, sliding window TIME_BASED dan durasi slow call dihitung dari TimeSource
+     * Pindah state otomatis (automaticTransitionFromOpenToHalfOpenEnabled) tetap dijadwalkan di HashedWheelTimer dengan waktu sungguhan,
+     * dengan VirtualTimeSource OPEN -> HALF_OPEN terjadi saat ada panggilan setelah waitDurationInOpenState
+     */
+    public static StripedCircuitBreaker of(String name, CircuitBreakerConfig config, TimeSource timeSource) {
+        CircuitBreakerConfig timedConfig = CircuitBreakerConfig.from(config)
+                .currentTimestampFunction(clock -> timeSource.nanoTime(), TimeUnit.NANOSECONDS)
+                .build();
+        return new StripedCircuitBreaker(name, timedConfig, Collections.emptyMap(), timeSource.clock(),
+                defaultStripeCount(), SHARED_TIMER);
+    }
+
+    //minimal 2x jumlah processor, supaya peluang dua thread aktif berbagi stripe kecil
+    static int defaultStripeCount() {
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors() * 2) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    @Override
+    public boolean tryAcquirePermission() {
+        boolean callPermitted = stateReference.get().tryAcquirePermission();
+        if (!callPermitted) {
+            publishCallNotPermittedEvent();
+        }
+        return callPermitted;
+    }
+
+    @Override
+    public void releasePermission() {
+        stateReference.get().releasePermission();
+    }
+
+    @Override
+    public void acquirePermission() {
+        try {
+            stateReference.get().acquirePermission();
+        } catch (Exception e) {
+            publishCallNotPermittedEvent();
+            throw e;
+        }
+    }
+
+    @Override
+    public void onError(long duration, TimeUnit durationUnit, Throwable throwable) {
+        //CompletionException / ExecutionException dibuka dulu, yang dicek adalah exception aslinya
+        if (throwable instanceof CompletionException || throwable instanceof ExecutionException) {
+            handleThrowable(duration, durationUnit, throwable.getCause());
+        } else {
+            handleThrowable(duration, durationUnit, throwable);
+        }
+    }
+
+    private void handleThrowable(long duration, TimeUnit durationUnit, Throwable throwable) {
+        if (config.getIgnoreExceptionPredicate().test(throwable)) {
+            log.debug("CircuitBreaker '{}' ignored an exception:", name, throwable);
+            releasePermission();
+            if (eventProcessor.hasConsumers(CircuitBreakerOnIgnoredErrorEvent.class)) {
+                publishEvent(new CircuitBreakerOnIgnoredErrorEvent(name,
+                        elapsedDuration(duration, durationUnit), throwable));
+            }
+            return;
+        }
+        if (config.getRecordExceptionPredicate().test(throwable)) {
+            publishCircuitErrorEvent(duration, durationUnit, throwable);
+            stateReference.get().onError(duration, durationUnit);
+        } else {
+            publishSuccessEvent(duration, durationUnit);
+            stateReference.get().onSuccess(duration, durationUnit);
+        }
+        handlePossibleTransition(Either.right(throwable));
+    }
+
+    @Override
+    public void onSuccess(long duration, TimeUnit durationUnit) {
+        publishSuccessEvent(duration, durationUnit);
+        stateReference.get().onSuccess(duration, durationUnit);
+    }
+
+    @Override
+    public void onResult(long duration, TimeUnit durationUnit, Object result) {
+        if (result != null && config.getRecordResultPredicate().test(result)) {
+            ResultRecordedAsFailureException failure = new ResultRecordedAsFailureException(name, result);
+            publishCircuitErrorEvent(duration, durationUnit, failure);
+            stateReference.get().onError(duration, durationUnit);
+        } else {
+            onSuccess(duration, durationUnit);
+            if (result != null) {
+                handlePossibleTransition(Either.left(result));
+            }
+        }
+    }
+
+    private void handlePossibleTransition(Either<Object, Throwable> result) {
+        stateReference.get().handlePossibleTransition(config.getTransitionOnResult().apply(result));
+    }
+
+    @Override
+    public void reset() {
+        CircuitBreakerState previousState = stateReference.getAndUpdate(currentState -> {
+            currentState.preTransitionHook();
+            return new ClosedState();
+        });
+        if (previousState.getState() != CLOSED) {
+            publishStateTransitionEvent(StateTransition.transitionBetween(name, previousState.getState(), CLOSED));
+        }
+        if (eventProcessor.hasConsumers(CircuitBreakerOnResetEvent.class)) {
+            publishEvent(new CircuitBreakerOnResetEvent(name));
+        }
+    }
+
+    private void stateTransition(State newState, UnaryOperator<CircuitBreakerState> newStateGenerator) {
+        CircuitBreakerState previousState = stateReference.getAndUpdate(currentState -> {
+            StateTransition.transitionBetween(name, currentState.getState(), newState);
+            currentState.preTransitionHook();
+            return newStateGenerator.apply(currentState);
+        });
+        publishStateTransitionEvent(StateTransition.transitionBetween(name, previousState.getState(), newState));
+    }
+
+    @Override
+    public void transitionToClosedState() {
+        stateTransition(CLOSED, currentState -> new ClosedState());
+    }
+
+    @Override
+    public void transitionToOpenState() {
+        stateTransition(OPEN, currentState -> new OpenState(currentState.attempts() + 1,
+                config.getWaitIntervalFunctionInOpenState().apply(currentState.attempts() + 1),
+                currentState.getMetrics()));
+    }
+
+    @Override
+    public void transitionToOpenStateFor(Duration waitDuration) {
+        stateTransition(OPEN, currentState -> new OpenState(currentState.attempts(),
+                waitDuration.toMillis(), currentState.getMetrics()));
+    }
+
+    @Override
+    public void transitionToOpenStateUntil(Instant waitUntil) {
+        stateTransition(OPEN, currentState -> new OpenState(currentState.attempts(),
+                Duration.between(clock.instant(), waitUntil).toMillis(), currentState.getMetrics()));
+    }
+
+    @Override
+    public void transitionToHalfOpenState() {
+        stateTransition(HALF_OPEN, currentState -> new HalfOpenState(currentState.attempts()));
+    }
+
+    @Override
+    public void transitionToDisabledState() {
+        stateTransition(DISABLED, currentState -> new PassThroughState(DISABLED));
+    }
+
+    @Override
+    public void transitionToMetricsOnlyState() {
+        stateTransition(METRICS_ONLY, currentState -> new MetricsOnlyState());
+    }
+
+    @Override
+    public void transitionToForcedOpenState() {
+        stateTransition(FORCED_OPEN, currentState -> new ForcedOpenState(currentState.attempts() + 1));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public State getState() {
+        return stateReference.get().getState();
+    }
+
+    @Override
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return config;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return stateReference.get().getMetrics();
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public long getCurrentTimestamp() {
+        return config.getCurrentTimestampFunction().apply(clock);
+    }
+
+    @Override
+    public TimeUnit getTimestampUnit() {
+        return config.getTimestampUnit();
+    }
+
+    /**
+     * Jumlah stripe yang dipakai sliding window di state CLOSED
+     */
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StripedCircuitBreaker '%s'", name);
+    }
+
+    private void publishStateTransitionEvent(StateTransition stateTransition) {
+        if (StateTransition.isInternalTransition(stateTransition)) {
+            return;
+        }
+        if (eventProcessor.hasConsumers(CircuitBreakerOnStateTransitionEvent.class)) {
+            publishEvent(new CircuitBreakerOnStateTransitionEvent(name, stateTransition));
+        }
+    }
+
+    private void publishCallNotPermittedEvent() {
+        if (eventProcessor.hasConsumers(CircuitBreakerOnCallNotPermittedEvent.class)) {
+            publishEvent(new CircuitBreakerOnCallNotPermittedEvent(name));
+        }
+    }
+
+    //event hanya dibuat jika ada consumer untuk tipe event tersebut, supaya jalur utama tidak membuat object
+    private void publishSuccessEvent(long duration, TimeUnit durationUnit) {
+        if (eventProcessor.hasConsumers(CircuitBreakerOnSuccessEvent.class)) {
+            publishEvent(new CircuitBreakerOnSuccessEvent(name, elapsedDuration(duration, durationUnit)));
+        }
+    }
+
+    private void publishCircuitErrorEvent(long duration, TimeUnit durationUnit, Throwable throwable) {
+        if (eventProcessor.hasConsumers(CircuitBreakerOnErrorEvent.class)) {
+            publishEvent(new CircuitBreakerOnErrorEvent(name, elapsedDuration(duration, durationUnit), throwable));
+        }
+    }
+
+    private void publishThresholdsExceededEvent(Result result, StripedMetrics metrics) {
+        if (result == Result.ABOVE_THRESHOLDS || result == Result.FAILURE_RATE_ABOVE_THRESHOLDS) {
+            if (eventProcessor.hasConsumers(CircuitBreakerOnFailureRateExceededEvent.class)) {
+                publishEvent(new CircuitBreakerOnFailureRateExceededEvent(name, metrics.getFailureRate()));
+            }
+        }
+        if (result == Result.ABOVE_THRESHOLDS || result == Result.SLOW_CALL_RATE_ABOVE_THRESHOLDS) {
+            if (eventProcessor.hasConsumers(CircuitBreakerOnSlowCallRateExceededEvent.class)) {
+                publishEvent(new CircuitBreakerOnSlowCallRateExceededEvent(name, metrics.getSlowCallRate()));
+            }
+        }
+    }
+
+    private void publishEvent(CircuitBreakerEvent event) {
+        if (event.getEventType().forcePublish || stateReference.get().getState().allowPublish) {
+            try {
+                eventProcessor.consumeEvent(event);
+            } catch (Throwable throwable) {
+                log.warn("Failed to handle event {}", event.getEventType(), throwable);
+            }
+        }
+    }
+
+    private static Duration elapsedDuration(long duration, TimeUnit durationUnit) {
+        return Duration.ofNanos(durationUnit.toNanos(duration));
+    }
+
+    private enum Result {
+        BELOW_THRESHOLDS,
+        FAILURE_RATE_ABOVE_THRESHOLDS,
+        SLOW_CALL_RATE_ABOVE_THRESHOLDS,
+        ABOVE_THRESHOLDS,
+        BELOW_MINIMUM_CALLS_THRESHOLD;
+
+        boolean hasExceededThresholds() {
+            return this == FAILURE_RATE_ABOVE_THRESHOLDS || this == SLOW_CALL_RATE_ABOVE_THRESHOLDS
+                    || this == ABOVE_THRESHOLDS;
+        }
+    }
+
+    /** StripedMetrics
+     * Metrics untuk satu state, hasil nya dijumlahkan dari semua stripe saat dibaca
+     */
+    private class StripedMetrics implements Metrics {
+
+        private final StripedSlidingWindow window;
+        private final int minimumNumberOfCalls;
+        private final long slowCallDurationThresholdInNanos;
+        private final LongAdder numberOfNotPermittedCalls = new LongAdder();
+        //menandakan window sudah pernah mencapai minimumNumberOfCalls, setelah itu success biasa tidak perlu dicek
+        private volatile boolean minimumNumberOfCallsReached;
+        //detik terakhir success biasa dicek (TIME_BASED), selalu 0 untuk COUNT_BASED
+        private volatile long lastEvaluatedEpochSecond;
+
+        StripedMetrics(SlidingWindowType type, int windowSize, int stripes) {
+            this.window = new StripedSlidingWindow(type, Math.max(1, windowSize), stripes, clock);
+            this.minimumNumberOfCalls = type == SlidingWindowType.COUNT_BASED
+                    ? Math.min(config.getMinimumNumberOfCalls(), windowSize)
+                    : config.getMinimumNumberOfCalls();
+            this.slowCallDurationThresholdInNanos = config.getSlowCallDurationThreshold().toNanos();
+        }
+
+        /**
+         * @param evaluateSuccess false jika success biasa boleh dicatat tanpa menghitung ulang threshold
+         */
+        Result onSuccess(long duration, TimeUnit durationUnit, boolean evaluateSuccess) {
+            if (durationUnit.toNanos(duration) > slowCallDurationThresholdInNanos) {
+                window.record(StripedSlidingWindow.SLOW_SUCCESS);
+                return checkIfThresholdsExceeded();
+            }
+            long epochSecond = window.record(StripedSlidingWindow.SUCCESS);
+            if (!evaluateSuccess && minimumNumberOfCallsReached && epochSecond == lastEvaluatedEpochSecond) {
+                return Result.BELOW_THRESHOLDS;
+            }
+            //beberapa thread bisa mengecek di detik yang sama, hasilnya tetap benar hanya dicek lebih dari sekali
+            lastEvaluatedEpochSecond = epochSecond;
+            return checkIfThresholdsExceeded();
+        }
+
+        Result onError(long duration, TimeUnit durationUnit) {
+            if (durationUnit.toNanos(duration) > slowCallDurationThresholdInNanos) {
+                window.record(StripedSlidingWindow.SLOW_FAILURE);
+            } else {
+                window.record(StripedSlidingWindow.FAILURE);
+            }
+            return checkIfThresholdsExceeded();
+        }
+
+        void onCallNotPermitted() {
+            numberOfNotPermittedCalls.increment();
+        }
+
+        private Result checkIfThresholdsExceeded() {
+            StripedSlidingWindow.Aggregate aggregate = window.aggregate();
+            if (aggregate.totalCalls() == 0 || aggregate.totalCalls() < minimumNumberOfCalls) {
+                return Result.BELOW_MINIMUM_CALLS_THRESHOLD;
+            }
+            minimumNumberOfCallsReached = true;
+            boolean failureRateExceeded = aggregate.failureRate() >= config.getFailureRateThreshold();
+            boolean slowCallRateExceeded = aggregate.slowCallRate() >= config.getSlowCallRateThreshold();
+            if (failureRateExceeded && slowCallRateExceeded) {
+                return Result.ABOVE_THRESHOLDS;
+            }
+            if (failureRateExceeded) {
+                return Result.FAILURE_RATE_ABOVE_THRESHOLDS;
+            }
+            if (slowCallRateExceeded) {
+                return Result.SLOW_CALL_RATE_ABOVE_THRESHOLDS;
+            }
+            return Result.BELOW_THRESHOLDS;
+        }
+
+        @Override
+        public float getFailureRate() {
+            StripedSlidingWindow.Aggregate aggregate = window.aggregate();
+            if (aggregate.totalCalls() == 0 || aggregate.totalCalls() < minimumNumberOfCalls) {
+                return -1.0f;
+            }
+            return aggregate.failureRate();
+        }
+
+        @Override
+        public float getSlowCallRate() {
+            StripedSlidingWindow.Aggregate aggregate = window.aggregate();
+            if (aggregate.totalCalls() == 0 || aggregate.totalCalls() < minimumNumberOfCalls) {
+                return -1.0f;
+            }
+            return aggregate.slowCallRate();
+        }
+
+        @Override
+        public int getNumberOfSlowCalls() {
+            return window.aggregate().slowCalls();
+        }
+
+        @Override
+        public int getNumberOfSlowSuccessfulCalls() {
+            StripedSlidingWindow.Aggregate aggregate = window.aggregate();
+            return aggregate.slowCalls() - aggregate.slowFailedCalls();
+        }
+
+        @Override
+        public int getNumberOfSlowFailedCalls() {
+            return window.aggregate().slowFailedCalls();
+        }
+
+        @Override
+        public int getNumberOfBufferedCalls() {
+            return window.aggregate().totalCalls();
+        }
+
+        @Override
+        public int getNumberOfFailedCalls() {
+            return window.aggregate().failedCalls();
+        }
+
+        @Override
+        public long getNumberOfNotPermittedCalls() {
+            return numberOfNotPermittedCalls.sum();
+        }
+
+        @Override
+        public int getNumberOfSuccessfulCalls() {
+            StripedSlidingWindow.Aggregate aggregate = window.aggregate();
+            return aggregate.totalCalls() - aggregate.failedCalls();
+        }
+    }
+
+    private interface CircuitBreakerState {
+
+        boolean tryAcquirePermission();
+
+        void acquirePermission();
+
+        void releasePermission();
+
+        void onError(long duration, TimeUnit durationUnit);
+
+        void onSuccess(long duration, TimeUnit durationUnit);
+
+        default void handlePossibleTransition(CircuitBreakerConfig.TransitionCheckResult result) {
+            // noOp
+        }
+
+        int attempts();
+
+        State getState();
+
+        StripedMetrics getMetrics();
+
+        //dipanggil sebelum pindah ke state lain
+        default void preTransitionHook() {
+            // noOp
+        }
+    }
+
+    private class ClosedState implements CircuitBreakerState {
+
+        private final StripedMetrics metrics = new StripedMetrics(config.getSlidingWindowType(),
+                config.getSlidingWindowSize(), stripeCount);
+        private final AtomicBoolean isClosed = new AtomicBoolean(true);
+
+        @Override
+        public boolean tryAcquirePermission() {
+            return isClosed.get();
+        }
+
+        @Override
+        public void acquirePermission() {
+            // noOp
+        }
+
+        @Override
+        public void releasePermission() {
+            // noOp
+        }
+
+        @Override
+        public void onError(long duration, TimeUnit durationUnit) {
+            checkIfThresholdsExceeded(metrics.onError(duration, durationUnit));
+        }
+
+        @Override
+        public void onSuccess(long duration, TimeUnit durationUnit) {
+            checkIfThresholdsExceeded(metrics.onSuccess(duration, durationUnit, false));
+        }
+
+        @Override
+        public void handlePossibleTransition(CircuitBreakerConfig.TransitionCheckResult result) {
+            if (result.isTransitionToOpen() && isClosed.compareAndSet(true, false)) {
+                if (result.getWaitDuration() != null) {
+                    transitionToOpenStateFor(result.getWaitDuration());
+                } else if (result.getWaitUntil() != null) {
+                    transitionToOpenStateUntil(result.getWaitUntil());
+                } else {
+                    throw new IllegalArgumentException("Transition check resulted in open request but no wait attribute was set");
+                }
+            }
+        }
+
+        private void checkIfThresholdsExceeded(Result result) {
+            if (result.hasExceededThresholds() && isClosed.compareAndSet(true, false)) {
+                publishThresholdsExceededEvent(result, metrics);
+                transitionToOpenState();
+            }
+        }
+
+        @Override
+        public int attempts() {
+            return 0;
+        }
+
+        @Override
+        public State getState() {
+            return CLOSED;
+        }
+
+        @Override
+        public StripedMetrics getMetrics() {
+            return metrics;
+        }
+    }
+
+    private class OpenState implements CircuitBreakerState {
+
+        private final int attempts;
+        private final Instant retryAfterWaitDuration;
+        private final StripedMetrics metrics;
+        private final AtomicBoolean isOpen = new AtomicBoolean(true);
+        private final HashedWheelTimer.Timeout transitionToHalfOpenTimeout;
+
+        OpenState(int attempts, long waitDurationInMillis, StripedMetrics metrics) {
+            this.attempts = attempts;
+            this.retryAfterWaitDuration = clock.instant().plusMillis(waitDurationInMillis);
+            this.metrics = metrics;
+            this.transitionToHalfOpenTimeout = config.isAutomaticTransitionFromOpenToHalfOpenEnabled()
+                    ? timer.newTimeout(this::toHalfOpenState, waitDurationInMillis, TimeUnit.MILLISECONDS)
+                    : null;
+        }
+
+        @Override
+        public boolean tryAcquirePermission() {
+            if (clock.instant().isAfter(retryAfterWaitDuration)) {
+                toHalfOpenState();
+                //cek lagi di state HALF_OPEN, karena permit nya terbatas
+                boolean callPermitted = stateReference.get().tryAcquirePermission();
+                if (!callPermitted) {
+                    publishCallNotPermittedEvent();
+                    metrics.onCallNotPermitted();
+                }
+                return callPermitted;
+            }
+            metrics.onCallNotPermitted();
+            return false;
+        }
+
+        @Override
+        public void acquirePermission() {
+            if (!tryAcquirePermission()) {
+                throw CallNotPermittedException.createCallNotPermittedException(StripedCircuitBreaker.this);
+            }
+        }
+
+        @Override
+        public void releasePermission() {
+            // noOp
+        }
+
+        //hasil dari call yang dimulai saat masih CLOSED tetap dicatat
+        @Override
+        public void onError(long duration, TimeUnit durationUnit) {
+            metrics.onError(duration, durationUnit);
+        }
+
+        @Override
+        public void onSuccess(long duration, TimeUnit durationUnit) {
+            metrics.onSuccess(duration, durationUnit, false);
+        }
+
+        @Override
+        public int attempts() {
+            return attempts;
+        }
+
+        @Override
+        public State getState() {
+            return OPEN;
+        }
+
+        @Override
+        public StripedMetrics getMetrics() {
+            return metrics;
+        }
+
+        @Override
+        public void preTransitionHook() {
+            if (transitionToHalfOpenTimeout != null) {
+                transitionToHalfOpenTimeout.cancel();
+            }
+        }
+
+        private void toHalfOpenState() {
+            if (isOpen.compareAndSet(true, false)) {
+                transitionToHalfOpenState();
+            }
+        }
+    }
+
+    private class HalfOpenState implements CircuitBreakerState {
+
+        private final int attempts;
+        private final StripedMetrics metrics;
+        private final AtomicInteger permittedNumberOfCalls;
+        private final AtomicBoolean isHalfOpen = new AtomicBoolean(true);
+        private final HashedWheelTimer.Timeout transitionToOpenTimeout;
+
+        HalfOpenState(int attempts) {
+            int permittedNumberOfCallsInHalfOpenState = config.getPermittedNumberOfCallsInHalfOpenState();
+            this.attempts = attempts;
+            //jumlah call di HALF_OPEN sedikit dan harus dihitung tepat, jadi cukup satu stripe
+            this.metrics = new StripedMetrics(SlidingWindowType.COUNT_BASED, permittedNumberOfCallsInHalfOpenState, 1);
+            this.permittedNumberOfCalls = new AtomicInteger(permittedNumberOfCallsInHalfOpenState);
+            long maxWaitDurationInHalfOpenState = config.getMaxWaitDurationInHalfOpenState().toMillis();
+            this.transitionToOpenTimeout = maxWaitDurationInHalfOpenState >= 1
+                    ? timer.newTimeout(this::toOpenState, maxWaitDurationInHalfOpenState, TimeUnit.MILLISECONDS)
+                    : null;
+        }
+
+        @Override
+        public boolean tryAcquirePermission() {
+            if (permittedNumberOfCalls.getAndUpdate(current -> current == 0 ? current : current - 1) > 0) {
+                return true;
+            }
+            metrics.onCallNotPermitted();
+            return false;
+        }
+
+        @Override
+        public void acquirePermission() {
+            if (!tryAcquirePermission()) {
+                throw CallNotPermittedException.createCallNotPermittedException(StripedCircuitBreaker.this);
+            }
+        }
+
+        @Override
+        public void releasePermission() {
+            permittedNumberOfCalls.incrementAndGet();
+        }
+
+        @Override
+        public void onError(long duration, TimeUnit durationUnit) {
+            checkIfThresholdsExceeded(metrics.onError(duration, durationUnit));
+        }
+
+        @Override
+        public void onSuccess(long duration, TimeUnit durationUnit) {
+            checkIfThresholdsExceeded(metrics.onSuccess(duration, durationUnit, true));
+        }
+
+        private void checkIfThresholdsExceeded(Result result) {
+            if (result.hasExceededThresholds() && isHalfOpen.compareAndSet(true, false)) {
+                transitionToOpenState();
+            }
+            if (result == Result.BELOW_THRESHOLDS && isHalfOpen.compareAndSet(true, false)) {
+                transitionToClosedState();
+            }
+        }
+
+        private void toOpenState() {
+            if (isHalfOpen.compareAndSet(true, false)) {
+                transitionToOpenState();
+            }
+        }
+
+        @Override
+        public void preTransitionHook() {
+            if (transitionToOpenTimeout != null) {
+                transitionToOpenTimeout.cancel();
+            }
+        }
+
+        @Override
+        public int attempts() {
+            return attempts;
+        }
+
+        @Override
+        public State getState() {
+            return HALF_OPEN;
+        }
+
+        @Override
+        public StripedMetrics getMetrics() {
+            return metrics;
+        }
+    }
+
+    private class MetricsOnlyState implements CircuitBreakerState {
+
+        private final StripedMetrics metrics = new StripedMetrics(config.getSlidingWindowType(),
+                config.getSlidingWindowSize(), stripeCount);
+        private final AtomicBoolean isFailureRateExceeded = new AtomicBoolean(false);
+        private final AtomicBoolean isSlowCallRateExceeded = new AtomicBoolean(false);
+
+        @Override
+        public boolean tryAcquirePermission() {
+            return true;
+        }
+
+        @Override
+        public void acquirePermission() {
+            // noOp
+        }
+
+        @Override
+        public void releasePermission() {
+            // noOp
+        }
+
+        @Override
+        public void onError(long duration, TimeUnit durationUnit) {
+            checkIfThresholdsExceeded(metrics.onError(duration, durationUnit));
+        }
+
+        @Override
+        public void onSuccess(long duration, TimeUnit durationUnit) {
+            checkIfThresholdsExceeded(metrics.onSuccess(duration, durationUnit, false));
+        }
+
+        //di METRICS_ONLY event threshold hanya dikirim sekali, state tidak berubah
+        private void checkIfThresholdsExceeded(Result result) {
+            boolean failureRateExceeded = result == Result.ABOVE_THRESHOLDS || result == Result.FAILURE_RATE_ABOVE_THRESHOLDS;
+            boolean slowCallRateExceeded = result == Result.ABOVE_THRESHOLDS || result == Result.SLOW_CALL_RATE_ABOVE_THRESHOLDS;
+            if (failureRateExceeded && isFailureRateExceeded.compareAndSet(false, true)) {
+                if (eventProcessor.hasConsumers(CircuitBreakerOnFailureRateExceededEvent.class)) {
+                    publishEvent(new CircuitBreakerOnFailureRateExceededEvent(name, metrics.getFailureRate()));
+                }
+            }
+            if (slowCallRateExceeded && isSlowCallRateExceeded.compareAndSet(false, true)) {
+                if (eventProcessor.hasConsumers(CircuitBreakerOnSlowCallRateExceededEvent.class)) {
+                    publishEvent(new CircuitBreakerOnSlowCallRateExceededEvent(name, metrics.getSlowCallRate()));
+                }
+            }
+        }
+
+        @Override
+        public int attempts() {
+            return 0;
+        }
+
+        @Override
+        public State getState() {
+            return METRICS_ONLY;
+        }
+
+        @Override
+        public StripedMetrics getMetrics() {
+            return metrics;
+        }
+    }
+
+    //DISABLED : semua call diizinkan dan tidak ada yang dicatat
+    private class PassThroughState implements CircuitBreakerState {
+
+        private final State state;
+        private final StripedMetrics metrics = new StripedMetrics(SlidingWindowType.COUNT_BASED, 0, 1);
+
+        PassThroughState(State state) {
+            this.state = state;
+        }
+
+        @Override
+        public boolean tryAcquirePermission() {
+            return true;
+        }
+
+        @Override
+        public void acquirePermission() {
+            // noOp
+        }
+
+        @Override
+        public void releasePermission() {
+            // noOp
+        }
+
+        @Override
+        public void onError(long duration, TimeUnit durationUnit) {
+            // noOp
+        }
+
+        @Override
+        public void onSuccess(long duration, TimeUnit durationUnit) {
+            // noOp
+        }
+
+        @Override
+        public int attempts() {
+            return 0;
+        }
+
+        @Override
+        public State getState() {
+            return state;
+        }
+
+        @Override
+        public StripedMetrics getMetrics() {
+            return metrics;
+        }
+    }
+
+    private class ForcedOpenState implements CircuitBreakerState {
+
+        private final int attempts;
+        private final StripedMetrics metrics = new StripedMetrics(SlidingWindowType.COUNT_BASED, 0, 1);
+
+        ForcedOpenState(int attempts) {
+            this.attempts = attempts;
+        }
+
+        @Override
+        public boolean tryAcquirePermission() {
+            metrics.onCallNotPermitted();
+            return false;
+        }
+
+        @Override
+        public void acquirePermission() {
+            metrics.onCallNotPermitted();
+            throw CallNotPermittedException.createCallNotPermittedException(StripedCircuitBreaker.this);
+        }
+
+        @Override
+        public void releasePermission() {
+            // noOp
+        }
+
+        @Override
+        public void onError(long duration, TimeUnit durationUnit) {
+            // noOp
+        }
+
+        @Override
+        public void onSuccess(long duration, TimeUnit durationUnit) {
+            // noOp
+        }
+
+        @Override
+        public int attempts() {
+            return attempts;
+        }
+
+        @Override
+        public State getState() {
+            return FORCED_OPEN;
+        }
+
+        @Override
+        public StripedMetrics getMetrics() {
+            return metrics;
+        }
+    }
+
+    private class CircuitBreakerEventProcessor extends FilteringEventProcessor<CircuitBreakerEvent> implements
+            EventConsumer<CircuitBreakerEvent>, EventPublisher {
+
+        @Override
+        public EventPublisher onSuccess(EventConsumer<CircuitBreakerOnSuccessEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnSuccessEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onError(EventConsumer<CircuitBreakerOnErrorEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnErrorEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onStateTransition(EventConsumer<CircuitBreakerOnStateTransitionEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnStateTransitionEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onReset(EventConsumer<CircuitBreakerOnResetEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnResetEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onIgnoredError(EventConsumer<CircuitBreakerOnIgnoredErrorEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnIgnoredErrorEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onCallNotPermitted(EventConsumer<CircuitBreakerOnCallNotPermittedEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnCallNotPermittedEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onFailureRateExceeded(EventConsumer<CircuitBreakerOnFailureRateExceededEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnFailureRateExceededEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onSlowCallRateExceeded(EventConsumer<CircuitBreakerOnSlowCallRateExceededEvent> eventConsumer) {
+            registerConsumer(CircuitBreakerOnSlowCallRateExceededEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(CircuitBreakerEvent event) {
+            super.processEvent(event);
+        }
+    }
+}
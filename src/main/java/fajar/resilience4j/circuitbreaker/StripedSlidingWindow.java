@@ -0,0 +1,243 @@
+package fajar.resilience4j.circuitbreaker;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** StripedSlidingWindow
+ * Sliding window untuk circuit breaker yang dipecah menjadi beberapa stripe, setiap thread mencatat ke stripe nya sendiri
+ * Tidak ada lock, counter total nya ada di setiap stripe dan baru dijumlahkan saat dibaca (aggregate)
+ * COUNT_BASED : slidingWindowSize hasil terakhir disimpan di satu ring bersama (CountRing), setiap hasil mendapat nomor urut global
+ *               dan menggeser hasil dengan nomor urut - slidingWindowSize, counter nya (kurangi yang tergeser, tambah yang baru) dicatat
+ *               di stripe thread yang mencatat. Gabungan semua stripe selalu tepat slidingWindowSize hasil terakhir dari semua thread,
+ *               sama seperti FixedSizeSlidingWindowMetrics. Semua thread tetap berebut getAndIncrement nomor urut dan slot ring yang sama,
+ *               jadi COUNT_BASED tidak lebih paralel dari satu stripe, lihat hasil StripedCircuitBreakerBenchmark
+ * TIME_BASED  : setiap stripe punya bucket per detik sebanyak slidingWindowSize, hasil gabungannya sama dengan SlidingTimeWindowMetrics
+ */
+final class StripedSlidingWindow {
+
+    static final int SUCCESS = 1;
+    static final int FAILURE = 2;
+    static final int SLOW_SUCCESS = 3;
+    static final int SLOW_FAILURE = 4;
+
+    private static final int TOTAL = 0;
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+    private static final int SLOW_FAILED = 3;
+    private static final int COUNTERS = 4;
+
+    //counter setiap stripe diberi jarak (padding) supaya stripe yang berbeda tidak berbagi cache line
+    private static final int PADDING = 8;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    StripedSlidingWindow(SlidingWindowType type, int windowSize, int stripeCount, Clock clock) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        CountRing ring = type == SlidingWindowType.COUNT_BASED ? new CountRing(windowSize) : null;
+        for (int i = 0; i < count; i++) {
+            if (ring != null) {
+                stripes[i] = new CountStripe(ring);
+            } else {
+                stripes[i] = new TimeStripe(windowSize, clock);
+            }
+        }
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * @return detik bucket tempat hasil dicatat (TIME_BASED), selalu 0 untuk COUNT_BASED
+     */
+    long record(int outcome) {
+        return stripes[stripeIndex()].record(outcome);
+    }
+
+    Aggregate aggregate() {
+        long total = 0;
+        long failed = 0;
+        long slow = 0;
+        long slowFailed = 0;
+        for (Stripe stripe : stripes) {
+            long[] counts = stripe.counts();
+            total += counts[TOTAL];
+            failed += counts[FAILED];
+            slow += counts[SLOW];
+            slowFailed += counts[SLOW_FAILED];
+        }
+        return new Aggregate((int) total, (int) failed, (int) slow, (int) slowFailed);
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static void apply(AtomicLongArray counters, int outcome, int delta) {
+        if (outcome == 0) {
+            return;
+        }
+        counters.getAndAdd(PADDING + TOTAL, delta);
+        if (outcome == FAILURE || outcome == SLOW_FAILURE) {
+            counters.getAndAdd(PADDING + FAILED, delta);
+        }
+        if (outcome == SLOW_SUCCESS || outcome == SLOW_FAILURE) {
+            counters.getAndAdd(PADDING + SLOW, delta);
+        }
+        if (outcome == SLOW_FAILURE) {
+            counters.getAndAdd(PADDING + SLOW_FAILED, delta);
+        }
+    }
+
+    private static AtomicLongArray newCounters() {
+        return new AtomicLongArray(COUNTERS + 2 * PADDING);
+    }
+
+    private interface Stripe {
+
+        long record(int outcome);
+
+        long[] counts();
+    }
+
+    /** CountRing
+     * slidingWindowSize hasil terakhir dari semua stripe, setiap slot berisi nomor urut x 8 + outcome (0 artinya kosong)
+     */
+    private static final class CountRing {
+
+        private static final int OUTCOME_BITS = 3;
+        private static final long OUTCOME_MASK = (1 << OUTCOME_BITS) - 1;
+
+        private final AtomicLongArray slots;
+        private final AtomicLong sequence = new AtomicLong();
+
+        CountRing(int size) {
+            this.slots = new AtomicLongArray(size);
+        }
+
+        /**
+         * @return outcome yang tergeser (0 jika slot nya masih kosong),
+         * -1 jika hasil dengan nomor urut + slidingWindowSize sudah lebih dulu mengisi slot (hasil ini sudah keluar dari window)
+         */
+        int put(int outcome) {
+            long seq = sequence.getAndIncrement();
+            int slot = (int) (seq % slots.length());
+            long value = (seq << OUTCOME_BITS) | outcome;
+            while (true) {
+                long current = slots.get(slot);
+                if ((current >>> OUTCOME_BITS) > seq) {
+                    return -1;
+                }
+                if (slots.compareAndSet(slot, current, value)) {
+                    return (int) (current & OUTCOME_MASK);
+                }
+            }
+        }
+    }
+
+    private static final class CountStripe implements Stripe {
+
+        private final CountRing ring;
+        private final AtomicLongArray counters = newCounters();
+
+        CountStripe(CountRing ring) {
+            this.ring = ring;
+        }
+
+        //counter satu stripe bisa negatif (mengurangi hasil dari stripe lain), yang selalu benar adalah jumlah semua stripe
+        @Override
+        public long record(int outcome) {
+            int previous = ring.put(outcome);
+            if (previous >= 0) {
+                apply(counters, previous, -1);
+                apply(counters, outcome, 1);
+            }
+            return 0;
+        }
+
+        @Override
+        public long[] counts() {
+            long[] counts = new long[COUNTERS];
+            for (int i = 0; i < COUNTERS; i++) {
+                counts[i] = counters.get(PADDING + i);
+            }
+            return counts;
+        }
+    }
+
+    private static final class TimeStripe implements Stripe {
+
+        private final AtomicReferenceArray<Bucket> buckets;
+        private final Clock clock;
+
+        TimeStripe(int windowSizeInSeconds, Clock clock) {
+            this.buckets = new AtomicReferenceArray<>(windowSizeInSeconds);
+            this.clock = clock;
+        }
+
+        @Override
+        public long record(int outcome) {
+            long epochSecond = clock.instant().getEpochSecond();
+            int index = (int) Math.floorMod(epochSecond, (long) buckets.length());
+            Bucket bucket = buckets.get(index);
+            while (bucket == null || bucket.epochSecond < epochSecond) {
+                //bucket lama (detik sebelumnya) diganti bucket baru, hanya satu thread yang berhasil
+                Bucket fresh = new Bucket(epochSecond);
+                if (buckets.compareAndSet(index, bucket, fresh)) {
+                    bucket = fresh;
+                } else {
+                    bucket = buckets.get(index);
+                }
+            }
+            apply(bucket.counters, outcome, 1);
+            return epochSecond;
+        }
+
+        @Override
+        public long[] counts() {
+            long oldestEpochSecond = clock.instant().getEpochSecond() - buckets.length();
+            long[] counts = new long[COUNTERS];
+            for (int i = 0; i < buckets.length(); i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket != null && bucket.epochSecond > oldestEpochSecond) {
+                    for (int j = 0; j < COUNTERS; j++) {
+                        counts[j] += bucket.counters.get(PADDING + j);
+                    }
+                }
+            }
+            return counts;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long epochSecond;
+        private final AtomicLongArray counters = newCounters();
+
+        Bucket(long epochSecond) {
+            this.epochSecond = epochSecond;
+        }
+    }
+
+    /** Aggregate
+     * Hasil penjumlahan semua stripe pada saat dibaca
+     */
+    record Aggregate(int totalCalls, int failedCalls, int slowCalls, int slowFailedCalls) {
+
+        float failureRate() {
+            return totalCalls == 0 ? 0 : failedCalls * 100.0f / totalCalls;
+        }
+
+        float slowCallRate() {
+            return totalCalls == 0 ? 0 : slowCalls * 100.0f / totalCalls;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package fajar.resilience4j.core;
+
+import io.github.resilience4j.core.EventConsumer;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/** AsyncEventDispatcher
+ * Secara default consumer dari getEventPublisher() berjalan di thread pemanggil, jadi consumer yang lambat (misal appender log) menambah latency setiap eksekusi
+ * Dengan AsyncEventDispatcher, consumer dibungkus dengan async(), event hanya dimasukkan ke ring buffer dan pemanggil langsung lanjut
+ * Satu thread khusus mengambil event dari ring buffer per batch lalu menjalankan consumer nya, urutan event tetap sama seperti urutan masuk
+ * Ring buffer nya terbatas (capacity) dan lock-free, jika penuh yang dilakukan tergantung OverflowPolicy :
+ * - DROP_NEWEST : event baru dibuang
+ * - DROP_OLDEST : event paling lama di ring buffer dibuang, event baru dimasukkan
+ * - BLOCK : pemanggil menunggu sampai ada tempat kosong (tidak ada event yang hilang, tapi consumer lambat kembali memperlambat pemanggil)
+ * Event yang dibuang dihitung di getDroppedEvents()
+ * Contoh : retry.getEventPublisher().onRetry(dispatcher.async(event -> log.info("Try to Retry")))
+ */
+public final class AsyncEventDispatcher implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    //batas waktu tidur thread dispatcher dan pemanggil BLOCK, supaya sinyal unpark yang terlewat tidak membuat event tertahan lama
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    public enum OverflowPolicy {
+        DROP_NEWEST, DROP_OLDEST, BLOCK
+    }
+
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final int mask;
+    //ring buffer bounded MPMC (Vyukov), sequence di setiap slot menandakan slot siap ditulis atau siap dibaca
+    private final AtomicLongArray sequences;
+    private final Object[] events;
+    private final EventConsumer<Object>[] consumers;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final Thread worker;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    public AsyncEventDispatcher(String name, int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(name, "Name must not be null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "OverflowPolicy must not be null");
+        this.batchSize = batchSize;
+        int normalizedCapacity = normalizeCapacity(capacity);
+        this.mask = normalizedCapacity - 1;
+        this.sequences = new AtomicLongArray(normalizedCapacity);
+        for (int i = 0; i < normalizedCapacity; i++) {
+            sequences.set(i, i);
+        }
+        this.events = new Object[normalizedCapacity];
+        @SuppressWarnings("unchecked")
+        EventConsumer<Object>[] consumers = (EventConsumer<Object>[]) new EventConsumer<?>[normalizedCapacity];
+        this.consumers = consumers;
+        this.worker = Thread.ofPlatform()
+                .daemon(true)
+                .name("event-dispatcher-" + name)
+                .unstarted(this::run);
+        this.worker.start();
+    }
+
+    public static AsyncEventDispatcher of(String name) {
+        return new AsyncEventDispatcher(name, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.DROP_NEWEST);
+    }
+
+    public static AsyncEventDispatcher of(String name, int capacity, OverflowPolicy overflowPolicy) {
+        return new AsyncEventDispatcher(name, capacity, DEFAULT_BATCH_SIZE, overflowPolicy);
+    }
+
+    //capacity dibulatkan ke pangkat 2, supaya index slot cukup dihitung dengan mask
+    private static int normalizeCapacity(int capacity) {
+        int normalized = 1;
+        while (normalized < capacity) {
+            normalized <<= 1;
+        }
+        return normalized;
+    }
+
+    /**
+     * Membungkus consumer supaya dijalankan di thread dispatcher, hasilnya didaftarkan ke EventPublisher seperti consumer biasa
+     */
+    public <T> EventConsumer<T> async(EventConsumer<T> consumer) {
+        Objects.requireNonNull(consumer, "Consumer must not be null");
+        @SuppressWarnings("unchecked")
+        EventConsumer<Object> target = (EventConsumer<Object>) consumer;
+        return event -> dispatch(target, event);
+    }
+
+    private void dispatch(EventConsumer<Object> consumer, Object event) {
+        if (closed) {
+            droppedEvents.increment();
+            return;
+        }
+        while (!offer(consumer, event)) {
+            switch (overflowPolicy) {
+                case DROP_NEWEST -> {
+                    droppedEvents.increment();
+                    return;
+                }
+                case DROP_OLDEST -> {
+                    if (poll(false)) {
+                        droppedEvents.increment();
+                    }
+                }
+                case BLOCK -> {
+                    if (closed) {
+                        droppedEvents.increment();
+                        return;
+                    }
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+            }
+        }
+        if (waiting) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private boolean offer(EventConsumer<Object> consumer, Object event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    consumers[index] = consumer;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                //slot masih berisi event satu putaran sebelumnya, ring buffer penuh
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    //mengambil satu event, dipakai thread dispatcher (deliver = true) dan pemanggil DROP_OLDEST (deliver = false)
+    private boolean poll(boolean deliver) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Object event = events[index];
+                    EventConsumer<Object> consumer = consumers[index];
+                    events[index] = null;
+                    consumers[index] = null;
+                    sequences.set(index, position + mask + 1);
+                    if (deliver) {
+                        deliver(consumer, event);
+                    }
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    private void deliver(EventConsumer<Object> consumer, Object event) {
+        try {
+            consumer.consumeEvent(event);
+        } catch (Throwable throwable) {
+            //error dari consumer tidak boleh menghentikan thread dispatcher
+            Thread.currentThread().getUncaughtExceptionHandler()
+                    .uncaughtException(Thread.currentThread(), throwable);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            int delivered = 0;
+            while (delivered < batchSize && poll(true)) {
+                delivered++;
+            }
+            if (delivered > 0) {
+                continue;
+            }
+            if (closed) {
+                //event yang masuk sebelum close() tetap dikirim
+                if (!poll(true)) {
+                    return;
+                }
+                continue;
+            }
+            waiting = true;
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            waiting = false;
+        }
+    }
+
+    private boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * Jumlah event yang dibuang karena ring buffer penuh atau dispatcher sudah di close()
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Jumlah event di ring buffer yang belum dikirim ke consumer
+     */
+    public int getPendingEvents() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Event yang sudah ada di ring buffer tetap dikirim, event baru setelah close() dibuang
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Menunggu sampai thread dispatcher selesai mengirim semua event, dipanggil setelah close()
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return worker.join(Duration.ofNanos(unit.toNanos(timeout)));
+    }
+}
@@ -0,0 +1,104 @@
+package fajar.resilience4j.core;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+/** BoundedRegistries
+ * Membuat registry yang memakai BoundedRegistryStore, store nya langsung di-attach supaya event onEntryRemoved dikirim
+ * Selain evictable dari builder, setiap registry punya pengaman sendiri :
+ * - CircuitBreaker : hanya yang CLOSED/DISABLED/METRICS_ONLY yang boleh dihapus, yang OPEN/HALF_OPEN/FORCED_OPEN tetap disimpan
+ *   kalau dihapus, request berikutnya membuat CircuitBreaker baru yang CLOSED dan backend yang sedang gagal langsung dibanjiri lagi
+ * - Bulkhead : hanya yang tidak punya panggilan yang sedang berjalan
+ * - ThreadPoolBulkhead : hanya yang queue nya kosong, ThreadPoolBulkhead yang dihapus di-close supaya thread nya berhenti
+ * TimeLimiterRegistry tidak punya builder withRegistryStore, jadi tidak ada di sini
+ */
+public final class BoundedRegistries {
+
+    private BoundedRegistries() {
+    }
+
+    public static CircuitBreakerRegistry circuitBreakerRegistry(CircuitBreakerConfig config,
+                                                                BoundedRegistryStore.Builder<CircuitBreaker> builder) {
+        BoundedRegistryStore<CircuitBreaker> store = builder
+                .evictable(circuitBreaker -> switch (circuitBreaker.getState()) {
+                    case CLOSED, DISABLED, METRICS_ONLY -> true;
+                    default -> false;
+                })
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.custom()
+                .withCircuitBreakerConfig(config)
+                .withRegistryStore(store)
+                .build();
+        store.attach(registry);
+        return registry;
+    }
+
+    public static RateLimiterRegistry rateLimiterRegistry(RateLimiterConfig config,
+                                                          BoundedRegistryStore.Builder<RateLimiter> builder) {
+        BoundedRegistryStore<RateLimiter> store = builder.build();
+        RateLimiterRegistry registry = RateLimiterRegistry.custom()
+                .withRateLimiterConfig(config)
+                .withRegistryStore(store)
+                .build();
+        store.attach(registry);
+        return registry;
+    }
+
+    public static RetryRegistry retryRegistry(RetryConfig config, BoundedRegistryStore.Builder<Retry> builder) {
+        BoundedRegistryStore<Retry> store = builder.build();
+        RetryRegistry registry = RetryRegistry.custom()
+                .withRetryConfig(config)
+                .withRegistryStore(store)
+                .build();
+        store.attach(registry);
+        return registry;
+    }
+
+    public static BulkheadRegistry bulkheadRegistry(BulkheadConfig config, BoundedRegistryStore.Builder<Bulkhead> builder) {
+        BoundedRegistryStore<Bulkhead> store = builder
+                .evictable(bulkhead -> bulkhead.getMetrics().getAvailableConcurrentCalls()
+                        == bulkhead.getMetrics().getMaxAllowedConcurrentCalls())
+                .build();
+        BulkheadRegistry registry = BulkheadRegistry.custom()
+                .withBulkheadConfig(config)
+                .withRegistryStore(store)
+                .build();
+        store.attach(registry);
+        return registry;
+    }
+
+    public static ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry(ThreadPoolBulkheadConfig config,
+                                                                        BoundedRegistryStore.Builder<ThreadPoolBulkhead> builder) {
+        BoundedRegistryStore<ThreadPoolBulkhead> store = builder
+                .evictable(bulkhead -> bulkhead.getMetrics().getQueueDepth() == 0)
+                .build();
+        ThreadPoolBulkheadRegistry registry = ThreadPoolBulkheadRegistry.custom()
+                .withThreadPoolBulkheadConfig(config)
+                .withRegistryStore(store)
+                .build();
+        store.attach(registry);
+        registry.getEventPublisher().onEntryRemoved(event -> closeQuietly(event.getRemovedEntry()));
+        return registry;
+    }
+
+    private static void closeQuietly(ThreadPoolBulkhead bulkhead) {
+        try {
+            bulkhead.close();
+        } catch (Exception ignored) {
+            //bulkhead sudah tidak dipakai, error saat close tidak perlu diteruskan
+        }
+    }
+}
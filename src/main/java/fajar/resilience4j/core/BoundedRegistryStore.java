@@ -0,0 +1,372 @@
+package fajar.resilience4j.core;
+
+import io.github.resilience4j.core.Registry;
+import io.github.resilience4j.core.RegistryStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/** BoundedRegistryStore
+ * RegistryStore default (InMemoryRegistryStore) tidak pernah menghapus entry, jadi registry.circuitBreaker(tenant) per tenant membuat memory terus bertambah
+ * BoundedRegistryStore membatasi jumlah entry (maximumSize) dan menghapus entry yang lama tidak dipakai (expireAfterAccess)
+ * Dipasang lewat builder registry : CircuitBreakerRegistry.custom().withRegistryStore(store).build(), lalu store.attach(registry)
+ * Setelah attach(), entry yang dihapus lewat registry.remove() sehingga event onEntryRemoved tetap dikirim
+ * EvictionPolicy :
+ * - LRU : entry yang paling lama tidak diakses dihapus duluan
+ * - TINY_LFU : entry yang paling jarang diakses dihapus duluan, frekuensi dihitung dengan FrequencySketch (termasuk nama yang sudah pernah dihapus)
+ *   jadi tenant yang sering datang tidak tergeser oleh banyak nama baru yang hanya dipakai sekali (scan)
+ * Entry yang tidak lolos evictable (misal CircuitBreaker yang OPEN) tidak pernah dihapus, walaupun jumlah entry jadi melebihi maximumSize
+ * Penghapusan dilakukan per batch (sekitar 10% maximumSize) di thread yang menambah entry, tanpa thread tambahan
+ */
+public final class BoundedRegistryStore<E> implements RegistryStore<E> {
+
+    public enum EvictionPolicy {
+        LRU, TINY_LFU
+    }
+
+    //jumlah sample untuk menentukan batas entry yang dihapus, supaya tidak perlu mengurutkan semua entry
+    private static final int SAMPLE_SIZE = 1024;
+
+    private final Map<String, Node<E>> entries = new ConcurrentHashMap<>();
+    private final long maximumSize;
+    private final long evictionBatch;
+    private final long expireAfterAccessNanos;
+    private final EvictionPolicy evictionPolicy;
+    private final Predicate<E> evictable;
+    private final FrequencySketch sketch;
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private volatile Registry<E, ?> registry;
+    private volatile long nextExpiryCheck;
+
+    private BoundedRegistryStore(Builder<E> builder) {
+        this.maximumSize = builder.maximumSize;
+        this.evictionBatch = Math.max(1, builder.maximumSize / 10);
+        this.expireAfterAccessNanos = builder.expireAfterAccess == null ? 0 : builder.expireAfterAccess.toNanos();
+        this.evictionPolicy = builder.evictionPolicy;
+        this.evictable = builder.evictable;
+        this.sketch = evictionPolicy == EvictionPolicy.TINY_LFU ? new FrequencySketch(builder.maximumSize) : null;
+        this.nextExpiryCheck = System.nanoTime() + expireAfterAccessNanos;
+    }
+
+    public static <E> Builder<E> custom() {
+        return new Builder<>();
+    }
+
+    /**
+     * Entry yang dihapus selanjutnya lewat registry.remove(), supaya event onEntryRemoved dikirim
+     */
+    public void attach(Registry<E, ?> registry) {
+        this.registry = Objects.requireNonNull(registry, "Registry must not be null");
+    }
+
+    @Override
+    public E computeIfAbsent(String key, Function<? super String, ? extends E> mappingFunction) {
+        Node<E> node = entries.get(key);
+        if (node != null && isExpired(node, System.nanoTime())) {
+            //entry yang expired dihapus dulu lewat registry, supaya event onEntryRemoved tetap dikirim
+            removeEntry(node);
+            node = null;
+        }
+        if (node == null) {
+            node = entries.computeIfAbsent(key, k -> new Node<>(k, mappingFunction.apply(k)));
+        }
+        touch(node);
+        //penghapusan dilakukan di luar compute(), karena registry.remove() kembali memanggil store ini
+        maintenance();
+        return node.entry;
+    }
+
+    @Override
+    public E putIfAbsent(String key, E value) {
+        Node<E> node = entries.putIfAbsent(key, new Node<>(key, value));
+        maintenance();
+        return node == null ? null : node.entry;
+    }
+
+    @Override
+    public Optional<E> find(String key) {
+        Node<E> node = entries.get(key);
+        if (node == null || isExpired(node, System.nanoTime())) {
+            return Optional.empty();
+        }
+        touch(node);
+        return Optional.of(node.entry);
+    }
+
+    @Override
+    public Optional<E> remove(String name) {
+        return Optional.ofNullable(entries.remove(name)).map(node -> node.entry);
+    }
+
+    @Override
+    public Optional<E> replace(String name, E newEntry) {
+        Node<E> previous = entries.replace(name, new Node<>(name, newEntry));
+        return Optional.ofNullable(previous).map(node -> node.entry);
+    }
+
+    @Override
+    public Collection<E> values() {
+        return entries.values().stream().map(node -> node.entry).toList();
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    /**
+     * Menghapus entry yang sudah expired dan entry yang melebihi maximumSize sekarang juga
+     */
+    public void cleanUp() {
+        maintenanceLock.lock();
+        try {
+            long now = System.nanoTime();
+            expire(now);
+            evict(now);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void touch(Node<E> node) {
+        node.lastAccess = System.nanoTime();
+        if (sketch != null) {
+            sketch.increment(node.name.hashCode());
+        }
+    }
+
+    private boolean isExpired(Node<E> node, long now) {
+        return expireAfterAccessNanos > 0 && now - node.lastAccess > expireAfterAccessNanos && evictable.test(node.entry);
+    }
+
+    private void maintenance() {
+        long now = System.nanoTime();
+        boolean expiryDue = expireAfterAccessNanos > 0 && now - nextExpiryCheck >= 0;
+        boolean overflow = entries.size() > maximumSize;
+        if ((!expiryDue && !overflow) || !maintenanceLock.tryLock()) {
+            return;
+        }
+        try {
+            if (expiryDue) {
+                expire(now);
+            }
+            if (overflow) {
+                evict(now);
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    //pemeriksaan expiry dijalankan paling sering setiap seperempat expireAfterAccess
+    private void expire(long now) {
+        if (expireAfterAccessNanos == 0) {
+            return;
+        }
+        nextExpiryCheck = now + Math.max(1, expireAfterAccessNanos / 4);
+        for (Node<E> node : entries.values()) {
+            if (isExpired(node, now)) {
+                removeEntry(node);
+            }
+        }
+    }
+
+    //menghapus sekitar evictionBatch entry dengan skor paling rendah, batas skor nya ditentukan dari sample
+    private void evict(long now) {
+        long excess = entries.size() - maximumSize;
+        if (excess <= 0) {
+            return;
+        }
+        long toEvict = excess + evictionBatch;
+        Comparator<Node<E>> order = evictionOrder(now);
+        List<Node<E>> sample = sample();
+        if (sample.isEmpty()) {
+            return;
+        }
+        sample.sort(order);
+        int thresholdIndex = (int) Math.min(sample.size() - 1, toEvict * sample.size() / Math.max(1, entries.size()));
+        Node<E> threshold = sample.get(thresholdIndex);
+        long evicted = 0;
+        for (Node<E> node : entries.values()) {
+            if (evicted >= toEvict) {
+                break;
+            }
+            if (order.compare(node, threshold) <= 0 && evictable.test(node.entry) && removeEntry(node)) {
+                evicted++;
+            }
+        }
+    }
+
+    private Comparator<Node<E>> evictionOrder(long now) {
+        Comparator<Node<E>> lru = Comparator.comparingLong(node -> node.lastAccess - now);
+        if (sketch == null) {
+            return lru;
+        }
+        return Comparator.<Node<E>>comparingInt(node -> sketch.frequency(node.name.hashCode())).thenComparing(lru);
+    }
+
+    //reservoir sampling dari entry yang boleh dihapus
+    private List<Node<E>> sample() {
+        List<Node<E>> sample = new ArrayList<>(SAMPLE_SIZE);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int seen = 0;
+        for (Node<E> node : entries.values()) {
+            if (!evictable.test(node.entry)) {
+                continue;
+            }
+            seen++;
+            if (sample.size() < SAMPLE_SIZE) {
+                sample.add(node);
+            } else {
+                int index = random.nextInt(seen);
+                if (index < SAMPLE_SIZE) {
+                    sample.set(index, node);
+                }
+            }
+        }
+        return sample;
+    }
+
+    //hanya menghapus jika node nya belum diganti, lalu lewat registry supaya event onEntryRemoved dikirim
+    private boolean removeEntry(Node<E> node) {
+        Registry<E, ?> attached = registry;
+        if (attached == null) {
+            return entries.remove(node.name, node);
+        }
+        if (entries.get(node.name) != node) {
+            return false;
+        }
+        return attached.remove(node.name).isPresent();
+    }
+
+    public static final class Builder<E> {
+
+        private long maximumSize = Long.MAX_VALUE;
+        private Duration expireAfterAccess;
+        private EvictionPolicy evictionPolicy = EvictionPolicy.TINY_LFU;
+        private Predicate<E> evictable = entry -> true;
+
+        public Builder<E> maximumSize(long maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximumSize must be greater than 0");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder<E> expireAfterAccess(Duration expireAfterAccess) {
+            if (expireAfterAccess.isNegative() || expireAfterAccess.isZero()) {
+                throw new IllegalArgumentException("expireAfterAccess must be greater than 0");
+            }
+            this.expireAfterAccess = expireAfterAccess;
+            return this;
+        }
+
+        public Builder<E> evictionPolicy(EvictionPolicy evictionPolicy) {
+            this.evictionPolicy = Objects.requireNonNull(evictionPolicy, "EvictionPolicy must not be null");
+            return this;
+        }
+
+        /**
+         * Entry yang tidak lolos predicate tidak pernah dihapus, misal circuitBreaker -> circuitBreaker.getState() == CLOSED
+         * Jika dipanggil lebih dari sekali, semua predicate harus lolos
+         */
+        public Builder<E> evictable(Predicate<E> evictable) {
+            this.evictable = this.evictable.and(Objects.requireNonNull(evictable, "Evictable must not be null"));
+            return this;
+        }
+
+        public BoundedRegistryStore<E> build() {
+            if (maximumSize == Long.MAX_VALUE && expireAfterAccess == null) {
+                throw new IllegalStateException("maximumSize or expireAfterAccess must be configured");
+            }
+            return new BoundedRegistryStore<>(this);
+        }
+    }
+
+    private static final class Node<E> {
+
+        private final String name;
+        private final E entry;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Node(String name, E entry) {
+            this.name = name;
+            this.entry = entry;
+        }
+    }
+
+    /** FrequencySketch
+     * Count-min sketch dengan counter 4 bit (maksimal 15), perkiraan berapa kali sebuah nama diakses
+     * Semua counter dibagi dua setiap 10 x maximumSize akses (aging), supaya nama yang dulu sering dipakai pelan-pelan dilupakan
+     * Update nya tidak atomic, hasil yang sedikit meleset tidak masalah untuk menentukan urutan penghapusan
+     */
+    static final class FrequencySketch {
+
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(long maximumSize) {
+            int capacity = (int) Math.min(1 << 24, Math.max(16, maximumSize));
+            int length = Integer.highestOneBit(capacity - 1) << 1;
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * capacity);
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                long spread = spread(hash, i);
+                int index = (int) (spread & tableMask);
+                int offset = (int) ((spread >>> 32) & 15) << 2;
+                frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                long spread = spread(hash, i);
+                int index = (int) (spread & tableMask);
+                int offset = (int) ((spread >>> 32) & 15) << 2;
+                long mask = 0xfL << offset;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++size >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size /= 2;
+        }
+
+        private static long spread(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            return h ^ (h >>> 29);
+        }
+    }
+}
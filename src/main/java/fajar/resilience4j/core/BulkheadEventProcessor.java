@@ -0,0 +1,39 @@
+package fajar.resilience4j.core;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallFinishedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallPermittedEvent;
+import io.github.resilience4j.bulkhead.event.BulkheadOnCallRejectedEvent;
+import io.github.resilience4j.core.EventConsumer;
+
+/** BulkheadEventProcessor
+ * Bulkhead.EventPublisher untuk implementasi Bulkhead di fajar.resilience4j (AdaptiveBulkhead, PriorityBulkhead)
+ * Event dikirim dengan publishEvent(tipe event, supplier) supaya event hanya dibuat jika ada consumer nya
+ */
+public class BulkheadEventProcessor extends FilteringEventProcessor<BulkheadEvent> implements
+        Bulkhead.EventPublisher, EventConsumer<BulkheadEvent> {
+
+    @Override
+    public Bulkhead.EventPublisher onCallPermitted(EventConsumer<BulkheadOnCallPermittedEvent> onCallPermittedEventConsumer) {
+        registerConsumer(BulkheadOnCallPermittedEvent.class.getName(), onCallPermittedEventConsumer);
+        return this;
+    }
+
+    @Override
+    public Bulkhead.EventPublisher onCallRejected(EventConsumer<BulkheadOnCallRejectedEvent> onCallRejectedEventConsumer) {
+        registerConsumer(BulkheadOnCallRejectedEvent.class.getName(), onCallRejectedEventConsumer);
+        return this;
+    }
+
+    @Override
+    public Bulkhead.EventPublisher onCallFinished(EventConsumer<BulkheadOnCallFinishedEvent> onCallFinishedEventConsumer) {
+        registerConsumer(BulkheadOnCallFinishedEvent.class.getName(), onCallFinishedEventConsumer);
+        return this;
+    }
+
+    @Override
+    public void consumeEvent(BulkheadEvent event) {
+        super.processEvent(event);
+    }
+}
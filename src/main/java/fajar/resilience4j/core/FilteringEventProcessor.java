@@ -0,0 +1,59 @@
+package fajar.resilience4j.core;
+
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.core.EventProcessor;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/** FilteringEventProcessor
+ * EventProcessor.hasConsumers() bernilai true jika ada consumer untuk event apa saja
+ * Jadi subscribe onRetry() saja sudah membuat event sukses dan error ikut dibuat (lalu dibuang karena tidak ada consumer nya)
+ * hasConsumers(eventType) hanya bernilai true jika ada consumer untuk tipe event tersebut, atau ada consumer onEvent() (semua event)
+ * Pola pakainya : if (eventProcessor.hasConsumers(XxxEvent.class)) { eventProcessor.consumeEvent(new XxxEvent(...)); }
+ * sehingga tanpa consumer yang cocok, object event sama sekali tidak dibuat
+ */
+public class FilteringEventProcessor<T> extends EventProcessor<T> {
+
+    //jumlah tipe event sedikit (maksimal 8 di CircuitBreaker), jadi array copy-on-write lebih murah dicek daripada Set
+    private volatile String[] registeredEventTypes = new String[0];
+    private volatile boolean allEventsConsumerRegistered;
+
+    public boolean hasConsumers(Class<? extends T> eventType) {
+        return hasConsumers() && (allEventsConsumerRegistered || isRegistered(eventType.getName()));
+    }
+
+    /**
+     * Event hanya dibuat (eventSupplier dipanggil) jika ada consumer untuk tipe event tersebut
+     */
+    public void publishEvent(Class<? extends T> eventType, Supplier<? extends T> eventSupplier) {
+        if (hasConsumers(eventType)) {
+            processEvent(eventSupplier.get());
+        }
+    }
+
+    private boolean isRegistered(String eventType) {
+        for (String registeredEventType : registeredEventTypes) {
+            if (registeredEventType.equals(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void registerConsumer(String className, EventConsumer<? extends T> eventConsumer) {
+        super.registerConsumer(className, eventConsumer);
+        if (!isRegistered(className)) {
+            String[] eventTypes = Arrays.copyOf(registeredEventTypes, registeredEventTypes.length + 1);
+            eventTypes[eventTypes.length - 1] = className;
+            registeredEventTypes = eventTypes;
+        }
+    }
+
+    @Override
+    public synchronized void onEvent(EventConsumer<T> onEventConsumer) {
+        super.onEvent(onEventConsumer);
+        allEventsConsumerRegistered = true;
+    }
+}
@@ -0,0 +1,283 @@
+package fajar.resilience4j.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/** HashedWheelTimer
+ * Timer untuk ribuan timeout sekaligus dengan satu thread saja
+ * Timeout dimasukkan ke bucket berdasarkan tick (wheel), jadi mendaftarkan dan membatalkan timeout biayanya O(1)
+ * Ketelitian waktunya sebesar tickDuration, cocok untuk timeout (bukan untuk jadwal yang harus tepat)
+ * Task yang dijalankan saat expired berjalan di thread timer, jadi task harus singkat dan non-blocking
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    //timeout baru dan timeout yang dibatalkan ditumpuk tanpa node tambahan, lalu diambil sekaligus oleh thread timer setiap tick
+    private final AtomicReference<Timeout> newTimeouts = new AtomicReference<>();
+    private final AtomicReference<Timeout> cancelledTimeouts = new AtomicReference<>();
+    private final LongAdder pendingTimeouts = new LongAdder();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean closed;
+    private long tick;
+
+    public HashedWheelTimer(String name) {
+        this(name, DEFAULT_TICK_DURATION, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    public HashedWheelTimer(String name, Duration tickDuration, int ticksPerWheel) {
+        Objects.requireNonNull(name, "Name must not be null");
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel must be greater than 0");
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[normalizeTicksPerWheel(ticksPerWheel)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = System.nanoTime();
+        this.worker = Thread.ofPlatform()
+                .daemon(true)
+                .name("wheel-timer-" + name)
+                .unstarted(this::run);
+        this.worker.start();
+    }
+
+    //jumlah bucket dibulatkan ke pangkat 2, supaya index bucket cukup dihitung dengan mask
+    private static int normalizeTicksPerWheel(int ticksPerWheel) {
+        int normalized = 1;
+        while (normalized < ticksPerWheel) {
+            normalized <<= 1;
+        }
+        return normalized;
+    }
+
+    /**
+     * Menjadwalkan task setelah delay, task tidak dijalankan jika Timeout sudah di cancel()
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        Objects.requireNonNull(task, "Task must not be null");
+        if (closed) {
+            throw new IllegalStateException("HashedWheelTimer is already closed");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingTimeouts.increment();
+        Timeout head;
+        do {
+            head = newTimeouts.get();
+            timeout.nextNew = head;
+        } while (!newTimeouts.compareAndSet(head, timeout));
+        return timeout;
+    }
+
+    public Timeout newTimeout(Runnable task, Duration delay) {
+        return newTimeout(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Jumlah timeout yang belum expired dan belum dibatalkan
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (!closed) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            removeCancelledTimeouts();
+            transferTimeoutsToBuckets();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepNanos = deadline - currentTime;
+            if (sleepNanos <= 0) {
+                return currentTime;
+            }
+            if (closed) {
+                return -1;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        Timeout timeout = newTimeouts.getAndSet(null);
+        while (timeout != null) {
+            Timeout next = timeout.nextNew;
+            timeout.nextNew = null;
+            if (timeout.state == Timeout.ST_INIT) {
+                long calculated = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                //timeout yang sudah lewat dijalankan di tick sekarang
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout = cancelledTimeouts.getAndSet(null);
+        while (timeout != null) {
+            Timeout next = timeout.nextCancelled;
+            timeout.nextCancelled = null;
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    /** Timeout
+     * Handle untuk timeout yang sudah didaftarkan, bisa dibatalkan dengan cancel()
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+        private Timeout nextNew;
+        private Timeout nextCancelled;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return true jika berhasil dibatalkan, false jika sudah expired atau sudah dibatalkan sebelumnya
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingTimeouts.decrement();
+            Timeout head;
+            do {
+                head = timer.cancelledTimeouts.get();
+                nextCancelled = head;
+            } while (!timer.cancelledTimeouts.compareAndSet(head, this));
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingTimeouts.decrement();
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                //error dari task tidak boleh menghentikan thread timer
+                Thread.currentThread().getUncaughtExceptionHandler()
+                        .uncaughtException(Thread.currentThread(), throwable);
+            }
+        }
+    }
+
+    //hanya diakses oleh thread timer
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
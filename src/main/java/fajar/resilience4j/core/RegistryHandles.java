@@ -0,0 +1,169 @@
+package fajar.resilience4j.core;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.Registry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/** RegistryHandles
+ * registry.retry("fjr") setiap request berarti hashing String, lookup ConcurrentHashMap dan resolusi config setiap kali
+ * RegistryHandles memberi handle (int) yang tetap untuk setiap nama, cukup di-resolve sekali saat startup
+ * get(handle) hanya membaca satu elemen array, tanpa hashing dan tanpa lookup ke registry
+ * Handle tetap valid walaupun entry di registry diganti (replace) atau dihapus (remove), karena tabel nya mengikuti event registry
+ * - replace : get(handle) mengembalikan entry yang baru
+ * - remove : get(handle) berikutnya membuat ulang entry lewat registry dengan default config, sama seperti registry.retry("fjr")
+ * Entry dengan config tertentu dibuat dulu lewat registry, misal registry.circuitBreaker("fjr", "config"), lalu handle("fjr")
+ */
+public final class RegistryHandles<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Function<String, E> lookup;
+    private final Function<E, String> nameOf;
+    private final Map<String, Integer> handles = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    //tabel hanya ditulis di dalam lock, dan diganti dengan array yang lebih besar saat penuh
+    private volatile AtomicReferenceArray<E> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int size;
+
+    public RegistryHandles(Registry<E, ?> registry, Function<String, E> lookup, Function<E, String> nameOf) {
+        Objects.requireNonNull(registry, "Registry must not be null");
+        this.lookup = Objects.requireNonNull(lookup, "Lookup must not be null");
+        this.nameOf = Objects.requireNonNull(nameOf, "NameOf must not be null");
+        registry.getEventPublisher()
+                .onEntryReplaced(event -> update(nameOf.apply(event.getNewEntry()), event.getNewEntry()))
+                .onEntryRemoved(event -> update(nameOf.apply(event.getRemovedEntry()), null));
+    }
+
+    public static <E> RegistryHandles<E> of(Registry<E, ?> registry, Function<String, E> lookup, Function<E, String> nameOf) {
+        return new RegistryHandles<>(registry, lookup, nameOf);
+    }
+
+    public static RegistryHandles<Retry> of(RetryRegistry registry) {
+        return of(registry, registry::retry, Retry::getName);
+    }
+
+    public static RegistryHandles<CircuitBreaker> of(CircuitBreakerRegistry registry) {
+        return of(registry, registry::circuitBreaker, CircuitBreaker::getName);
+    }
+
+    public static RegistryHandles<RateLimiter> of(RateLimiterRegistry registry) {
+        return of(registry, registry::rateLimiter, RateLimiter::getName);
+    }
+
+    public static RegistryHandles<Bulkhead> of(BulkheadRegistry registry) {
+        return of(registry, registry::bulkhead, Bulkhead::getName);
+    }
+
+    public static RegistryHandles<ThreadPoolBulkhead> of(ThreadPoolBulkheadRegistry registry) {
+        return of(registry, registry::bulkhead, ThreadPoolBulkhead::getName);
+    }
+
+    public static RegistryHandles<TimeLimiter> of(TimeLimiterRegistry registry) {
+        return of(registry, registry::timeLimiter, TimeLimiter::getName);
+    }
+
+    /**
+     * Handle untuk nama tersebut, nama yang sama selalu mendapat handle yang sama
+     * Jika belum ada di registry, entry dibuat lewat lookup (default config)
+     */
+    public int handle(String name) {
+        Objects.requireNonNull(name, "Name must not be null");
+        Integer handle = handles.get(name);
+        if (handle != null) {
+            return handle;
+        }
+        lock.lock();
+        try {
+            handle = handles.get(name);
+            if (handle != null) {
+                return handle;
+            }
+            E entry = lookup.apply(name);
+            if (size == names.length) {
+                grow();
+            }
+            names[size] = name;
+            table.setRelease(size, entry);
+            handles.put(name, size);
+            return size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entry untuk handle tersebut, hanya satu pembacaan array
+     * Handle yang tidak dikenal (negatif atau tidak pernah dibuat) selalu melempar IllegalArgumentException
+     */
+    public E get(int handle) {
+        AtomicReferenceArray<E> current = table;
+        if (handle < 0 || handle >= current.length()) {
+            return resolve(handle);
+        }
+        E entry = current.getAcquire(handle);
+        return entry != null ? entry : resolve(handle);
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    //entry sudah dihapus dari registry (atau handle tidak dikenal), dibuat ulang lewat lookup
+    private E resolve(int handle) {
+        lock.lock();
+        try {
+            if (handle < 0 || handle >= size) {
+                throw new IllegalArgumentException("Unknown handle " + handle);
+            }
+            E entry = table.get(handle);
+            if (entry == null) {
+                entry = lookup.apply(names[handle]);
+                table.setRelease(handle, entry);
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(String name, E entry) {
+        lock.lock();
+        try {
+            Integer handle = handles.get(name);
+            if (handle != null) {
+                table.setRelease(handle, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void grow() {
+        AtomicReferenceArray<E> current = table;
+        AtomicReferenceArray<E> grown = new AtomicReferenceArray<>(current.length() * 2);
+        for (int i = 0; i < size; i++) {
+            grown.setPlain(i, current.getPlain(i));
+        }
+        names = Arrays.copyOf(names, grown.length());
+        table = grown;
+    }
+}
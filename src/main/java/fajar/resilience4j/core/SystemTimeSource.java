@@ -0,0 +1,71 @@
+package fajar.resilience4j.core;
+
+import java.time.Clock;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+
+/** SystemTimeSource
+ * TimeSource.system(), waktu dan scheduler sungguhan
+ */
+final class SystemTimeSource implements TimeSource {
+
+    static final SystemTimeSource INSTANCE = new SystemTimeSource();
+
+    private final Clock clock = Clock.systemUTC();
+
+    private SystemTimeSource() {
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
+    }
+
+    @Override
+    public void sleep(long nanos) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public long awaitNanos(Condition condition, long nanosTimeout) throws InterruptedException {
+        return condition.awaitNanos(nanosTimeout);
+    }
+
+    @Override
+    public ScheduledExecutorService scheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSource.system()";
+    }
+
+    //scheduler baru dibuat saat pertama kali dipakai
+    private static final class SchedulerHolder {
+
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform()
+                    .daemon(true)
+                    .name("time-source-scheduler-", 1)
+                    .factory());
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
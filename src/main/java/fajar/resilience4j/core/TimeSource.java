@@ -0,0 +1,49 @@
+package fajar.resilience4j.core;
+
+import java.time.Clock;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.Condition;
+
+/** TimeSource
+ * Sumber waktu untuk RateLimiter, Retry, CircuitBreaker, Bulkhead dan TimeLimiter : membaca waktu, menunggu, dan menjadwalkan task
+ * TimeSource.system() memakai System.nanoTime(), Clock.systemUTC(), LockSupport.parkNanos() dan ScheduledExecutorService biasa
+ * VirtualTimeSource memakai waktu virtual : menunggu 2 menit langsung selesai, dan task yang dijadwalkan dijalankan sesuai urutan waktunya
+ * Jadi kode yang sama bisa dites (atau disimulasikan jutaan kali) dalam hitungan milidetik
+ * Yang bisa menerima TimeSource : BatchRateLimiter, AdaptiveBulkhead, StripedCircuitBreaker dan ClockedRetry,
+ * sedangkan Retry.decorateCompletionStage() dan TimeLimiter.decorateCompletionStage() cukup diberi scheduler()
+ */
+public interface TimeSource {
+
+    /**
+     * Sama seperti System.nanoTime(), hanya untuk menghitung selisih waktu
+     */
+    long nanoTime();
+
+    /**
+     * Clock dengan waktu yang sama seperti nanoTime(), untuk CircuitBreaker dan sliding window berbasis waktu
+     */
+    Clock clock();
+
+    /**
+     * Menunggu nanos nanodetik di thread pemanggil
+     */
+    void sleep(long nanos) throws InterruptedException;
+
+    /**
+     * Sama seperti condition.awaitNanos(nanosTimeout), dipanggil saat lock dari condition sedang dipegang
+     * Seperti Condition, bisa kembali lebih awal, jadi pemanggil harus mengecek ulang kondisi nya di dalam loop
+     *
+     * @return sisa waktu tunggu, 0 atau negatif jika sudah timeout
+     */
+    long awaitNanos(Condition condition, long nanosTimeout) throws InterruptedException;
+
+    /**
+     * Scheduler yang mengikuti waktu dari TimeSource ini, misal untuk Retry.decorateCompletionStage(retry, scheduler, supplier)
+     * dan TimeLimiter.decorateCompletionStage(scheduler, supplier)
+     */
+    ScheduledExecutorService scheduler();
+
+    static TimeSource system() {
+        return SystemTimeSource.INSTANCE;
+    }
+}
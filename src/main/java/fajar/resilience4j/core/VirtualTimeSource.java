@@ -0,0 +1,383 @@
+package fajar.resilience4j.core;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+/** VirtualTimeSource
+ * TimeSource dengan waktu virtual, waktu hanya maju jika ada yang menunggu (sleep / awaitNanos) atau advance() dipanggil
+ * Task dari scheduler() tidak berjalan di thread lain, tetapi di thread yang sedang memajukan waktu, sesuai urutan waktu jadwalnya
+ * (jadwal yang sama dijalankan sesuai urutan schedule()), jadi hasil test dan simulasi selalu sama setiap dijalankan
+ * - sleep(2 menit) langsung selesai, waktu maju 2 menit, dan task yang jadwalnya terlewati ikut dijalankan
+ * - awaitNanos() tidak benar-benar menunggu signal : task berikutnya sebelum timeout dijalankan (misal task yang melepas permit),
+ *   lalu kembali supaya pemanggil mengecek ulang kondisi nya, jika tidak ada task lagi waktu maju sampai timeout
+ * Karena semuanya berjalan di satu thread, yang melepas permit atau menyelesaikan CompletableFuture harus task dari scheduler()
+ * VirtualTimeSource dipakai dari satu thread (thread test atau simulasi), bukan untuk dipakai bersama oleh banyak thread
+ * Contoh :
+ * VirtualTimeSource time = new VirtualTimeSource();
+ * BatchRateLimiter rateLimiter = BatchRateLimiter.of("fjr", config, time);
+ * time.advance(Duration.ofMinutes(2));
+ */
+public final class VirtualTimeSource implements TimeSource {
+
+    private final Instant origin;
+    private final VirtualClock clock;
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    //task yang dibatalkan tetap di antrian (seperti ScheduledThreadPoolExecutor), dan dilewati saat diambil
+    private final PriorityQueue<VirtualTask<?>> queue = new PriorityQueue<>();
+    private long sequence;
+    private int queuedTasks;
+    private int queuedOneShotTasks;
+    private volatile long now;
+
+    public VirtualTimeSource() {
+        this(Instant.EPOCH);
+    }
+
+    /**
+     * @param origin waktu clock() saat nanoTime() masih 0
+     */
+    public VirtualTimeSource(Instant origin) {
+        this.origin = Objects.requireNonNull(origin, "Origin must not be null");
+        this.clock = new VirtualClock(ZoneOffset.UTC);
+    }
+
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    @Override
+    public Clock clock() {
+        return clock;
+    }
+
+    @Override
+    public void sleep(long nanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        advanceTo(now + Math.max(0, nanos));
+    }
+
+    /**
+     * Condition tidak dipakai, yang ditunggu adalah task berikutnya di scheduler()
+     * Lock dari condition tetap dipegang selama task berjalan, jadi lock nya harus reentrant (ReentrantLock)
+     */
+    @Override
+    public long awaitNanos(Condition condition, long nanosTimeout) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (nanosTimeout <= 0) {
+            return nanosTimeout;
+        }
+        long deadline = now + nanosTimeout;
+        VirtualTask<?> task = poll(deadline);
+        if (task == null) {
+            moveTo(deadline);
+            return 0;
+        }
+        task.run();
+        return deadline - now;
+    }
+
+    @Override
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Memajukan waktu, semua task yang jadwalnya terlewati dijalankan sesuai urutan waktu
+     */
+    public void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("duration must not be negative");
+        }
+        advanceTo(now + duration.toNanos());
+    }
+
+    /**
+     * Menjalankan task sampai tidak ada task (selain task periodik) yang tersisa, waktu maju ke jadwal task terakhir
+     *
+     * @return jumlah task yang dijalankan
+     */
+    public long runAll() {
+        long executed = 0;
+        VirtualTask<?> task;
+        while ((task = pollWhileOneShotTasksQueued()) != null) {
+            task.run();
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Jumlah task di scheduler() yang belum dijalankan dan belum dibatalkan
+     */
+    public synchronized int pendingTasks() {
+        return queuedTasks;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(now);
+    }
+
+    private void advanceTo(long target) {
+        VirtualTask<?> task;
+        while ((task = poll(target)) != null) {
+            task.run();
+        }
+        moveTo(target);
+    }
+
+    //waktu tidak pernah mundur, misal task yang berjalan di dalam advance() memanggil sleep() sendiri
+    private synchronized void moveTo(long target) {
+        if (target > now) {
+            now = target;
+        }
+    }
+
+    private synchronized VirtualTask<?> poll(long deadline) {
+        VirtualTask<?> head;
+        while ((head = queue.peek()) != null && head.time <= deadline) {
+            queue.poll();
+            if (dequeue(head)) {
+                moveTo(head.time);
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private synchronized VirtualTask<?> pollWhileOneShotTasksQueued() {
+        return queuedOneShotTasks > 0 ? poll(Long.MAX_VALUE) : null;
+    }
+
+    private synchronized void enqueue(VirtualTask<?> task) {
+        task.queued = true;
+        queuedTasks++;
+        if (!task.isPeriodic()) {
+            queuedOneShotTasks++;
+        }
+        queue.add(task);
+    }
+
+    private synchronized boolean dequeue(VirtualTask<?> task) {
+        if (!task.queued) {
+            return false;
+        }
+        task.queued = false;
+        queuedTasks--;
+        if (!task.isPeriodic()) {
+            queuedOneShotTasks--;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VirtualTimeSource %s", clock.instant());
+    }
+
+    private final class VirtualClock extends Clock {
+
+        private final ZoneId zone;
+
+        private VirtualClock(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new VirtualClock(zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return origin.plusNanos(now);
+        }
+    }
+
+    /** VirtualTask
+     * period positif untuk scheduleAtFixedRate(), negatif untuk scheduleWithFixedDelay() (sama seperti ScheduledThreadPoolExecutor)
+     */
+    private final class VirtualTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final long sequenceNumber;
+        private final long period;
+        private long time;
+        //hanya diubah di dalam synchronized VirtualTimeSource
+        private boolean queued;
+
+        private VirtualTask(Callable<V> callable, long time, long sequenceNumber) {
+            super(callable);
+            this.time = time;
+            this.period = 0;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        private VirtualTask(Runnable runnable, long time, long period, long sequenceNumber) {
+            super(runnable, null);
+            this.time = time;
+            this.period = period;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - now, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            if (other instanceof VirtualTask<?> task) {
+                int compare = Long.compare(time, task.time);
+                return compare != 0 ? compare : Long.compare(sequenceNumber, task.sequenceNumber);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+            } else if (super.runAndReset() && !scheduler.shutdown) {
+                time = period > 0 ? time + period : now - period;
+                enqueue(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                dequeue(this);
+            }
+            return cancelled;
+        }
+    }
+
+    private final class VirtualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+        private volatile boolean shutdown;
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            Objects.requireNonNull(command, "Command must not be null");
+            return enqueueTask(new VirtualTask<>(command, timeAfter(delay, unit), 0, nextSequence()));
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            Objects.requireNonNull(callable, "Callable must not be null");
+            return enqueueTask(new VirtualTask<>(callable, timeAfter(delay, unit), nextSequence()));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            Objects.requireNonNull(command, "Command must not be null");
+            if (period <= 0) {
+                throw new IllegalArgumentException("period must be greater than 0");
+            }
+            return enqueueTask(new VirtualTask<>(command, timeAfter(initialDelay, unit), unit.toNanos(period), nextSequence()));
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            Objects.requireNonNull(command, "Command must not be null");
+            if (delay <= 0) {
+                throw new IllegalArgumentException("delay must be greater than 0");
+            }
+            return enqueueTask(new VirtualTask<>(command, timeAfter(initialDelay, unit), -unit.toNanos(delay), nextSequence()));
+        }
+
+        //execute() dan submit() dijadwalkan di waktu sekarang, dijalankan saat waktu dimajukan berikutnya
+        @Override
+        public void execute(Runnable command) {
+            schedule(command, 0, TimeUnit.NANOSECONDS);
+        }
+
+        private <V> VirtualTask<V> enqueueTask(VirtualTask<V> task) {
+            if (shutdown) {
+                throw new RejectedExecutionException("VirtualTimeSource scheduler has been shut down");
+            }
+            enqueue(task);
+            return task;
+        }
+
+        private long timeAfter(long delay, TimeUnit unit) {
+            return now + Math.max(0, unit.toNanos(delay));
+        }
+
+        private long nextSequence() {
+            synchronized (VirtualTimeSource.this) {
+                return sequence++;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> tasks = new ArrayList<>();
+            synchronized (VirtualTimeSource.this) {
+                VirtualTask<?> task;
+                while ((task = queue.poll()) != null) {
+                    if (dequeue(task)) {
+                        tasks.add(task);
+                    }
+                }
+            }
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && pendingTasks() == 0;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package fajar.resilience4j.decorators;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.retry.Retry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** CompiledPipeline
+ * Pengganti Decorators.ofSupplier(...).withRetry(...).withRateLimiter(...).withFallback(...).decorate()
+ * Decorators membungkus supplier lapis demi lapis dengan lambda, dan setiap eksekusi Retry membuat Retry.Context baru
+ * Di sini urutan module disusun sekali saat compile() menjadi rantai Stage (satu object per module), lalu dipakai berulang kali
+ * Urutan with...() sama seperti Decorators : module yang ditambahkan terakhir adalah lapisan paling luar
+ * Pada jalur sukses pipeline tidak membuat object apapun, Retry.Context baru dibuat jika percobaan pertama gagal
+ * atau jika Retry memakai retryOnResult (hasil nya selalu diperiksa lewat Retry.Context, sama seperti Decorators)
+ * (alokasi yang masih terjadi berasal dari module nya sendiri, misal State baru di setiap acquirePermission() RateLimiter.of())
+ */
+public final class CompiledPipeline<T> implements Supplier<T> {
+
+    private final Stage<T> head;
+
+    private CompiledPipeline(Stage<T> head) {
+        this.head = head;
+    }
+
+    public static <T> Builder<T> ofSupplier(Supplier<T> supplier) {
+        return new Builder<>(Objects.requireNonNull(supplier, "Supplier must not be null"));
+    }
+
+    public static Builder<Void> ofRunnable(Runnable runnable) {
+        Objects.requireNonNull(runnable, "Runnable must not be null");
+        return new Builder<>(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    @Override
+    public T get() {
+        return head.call();
+    }
+
+    /** Builder
+     * Menyusun urutan module, compile() menghasilkan pipeline yang bisa dipakai berulang kali oleh banyak thread
+     */
+    public static final class Builder<T> {
+
+        private final Supplier<T> supplier;
+        //urutan penambahan, yang terakhir ditambahkan menjadi lapisan paling luar
+        private final List<Function<Stage<T>, Stage<T>>> stages = new ArrayList<>();
+
+        private Builder(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        public Builder<T> withRetry(Retry retry) {
+            Objects.requireNonNull(retry, "Retry must not be null");
+            stages.add(next -> new RetryStage<>(retry, next));
+            return this;
+        }
+
+        public Builder<T> withCircuitBreaker(CircuitBreaker circuitBreaker) {
+            Objects.requireNonNull(circuitBreaker, "CircuitBreaker must not be null");
+            stages.add(next -> new CircuitBreakerStage<>(circuitBreaker, next));
+            return this;
+        }
+
+        public Builder<T> withRateLimiter(RateLimiter rateLimiter) {
+            Objects.requireNonNull(rateLimiter, "RateLimiter must not be null");
+            stages.add(next -> new RateLimiterStage<>(rateLimiter, next));
+            return this;
+        }
+
+        public Builder<T> withBulkhead(Bulkhead bulkhead) {
+            Objects.requireNonNull(bulkhead, "Bulkhead must not be null");
+            stages.add(next -> new BulkheadStage<>(bulkhead, next));
+            return this;
+        }
+
+        public Builder<T> withFallback(Function<Throwable, T> fallback) {
+            Objects.requireNonNull(fallback, "Fallback must not be null");
+            stages.add(next -> new FallbackStage<>(fallback, next));
+            return this;
+        }
+
+        public CompiledPipeline<T> compile() {
+            Stage<T> head = new SupplierStage<>(supplier);
+            for (Function<Stage<T>, Stage<T>> stage : stages) {
+                head = stage.apply(head);
+            }
+            return new CompiledPipeline<>(head);
+        }
+    }
+
+    //satu langkah di pipeline, next adalah lapisan di dalamnya
+    private abstract static class Stage<T> {
+
+        abstract T call();
+    }
+
+    private static final class SupplierStage<T> extends Stage<T> {
+
+        private final Supplier<T> supplier;
+
+        SupplierStage(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        T call() {
+            return supplier.get();
+        }
+    }
+
+    private static final class RetryStage<T> extends Stage<T> {
+
+        private final Retry retry;
+        private final Stage<T> next;
+        //result predicate bisa punya efek samping (misal RetryBudget), jadi hanya dievaluasi oleh context.onResult(), sekali per percobaan
+        private final boolean retryOnResult;
+        //context ini tidak pernah menerima onError / onResult, jadi aman dipakai bersama oleh semua thread
+        private final Retry.Context<T> successContext;
+
+        RetryStage(Retry retry, Stage<T> next) {
+            this.retry = retry;
+            this.next = next;
+            this.retryOnResult = retry.getRetryConfig().getResultPredicate() != null;
+            this.successContext = retry.context();
+        }
+
+        @Override
+        T call() {
+            if (retryOnResult) {
+                return retryWithContext(retry.context());
+            }
+            T result;
+            try {
+                result = next.call();
+            } catch (RuntimeException runtimeException) {
+                Retry.Context<T> context = retry.context();
+                context.onRuntimeError(runtimeException);
+                return retryWithContext(context);
+            }
+            //percobaan pertama sukses, context bersama hanya menambah counter succeededWithoutRetry
+            successContext.onComplete();
+            return result;
+        }
+
+        //jalur yang sama dengan Retry.decorateSupplier()
+        private T retryWithContext(Retry.Context<T> context) {
+            while (true) {
+                try {
+                    T result = next.call();
+                    if (!context.onResult(result)) {
+                        context.onComplete();
+                        return result;
+                    }
+                } catch (RuntimeException runtimeException) {
+                    context.onRuntimeError(runtimeException);
+                }
+            }
+        }
+    }
+
+    private static final class CircuitBreakerStage<T> extends Stage<T> {
+
+        private final CircuitBreaker circuitBreaker;
+        private final Stage<T> next;
+
+        CircuitBreakerStage(CircuitBreaker circuitBreaker, Stage<T> next) {
+            this.circuitBreaker = circuitBreaker;
+            this.next = next;
+        }
+
+        @Override
+        T call() {
+            circuitBreaker.acquirePermission();
+            long start = circuitBreaker.getCurrentTimestamp();
+            try {
+                T result = next.call();
+                long duration = circuitBreaker.getCurrentTimestamp() - start;
+                circuitBreaker.onResult(duration, circuitBreaker.getTimestampUnit(), result);
+                return result;
+            } catch (Exception exception) {
+                long duration = circuitBreaker.getCurrentTimestamp() - start;
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), exception);
+                throw exception;
+            }
+        }
+    }
+
+    private static final class RateLimiterStage<T> extends Stage<T> {
+
+        private final RateLimiter rateLimiter;
+        private final Stage<T> next;
+
+        RateLimiterStage(RateLimiter rateLimiter, Stage<T> next) {
+            this.rateLimiter = rateLimiter;
+            this.next = next;
+        }
+
+        @Override
+        T call() {
+            RateLimiter.waitForPermission(rateLimiter);
+            try {
+                T result = next.call();
+                rateLimiter.onResult(result);
+                return result;
+            } catch (Exception exception) {
+                rateLimiter.onError(exception);
+                throw exception;
+            }
+        }
+    }
+
+    private static final class BulkheadStage<T> extends Stage<T> {
+
+        private final Bulkhead bulkhead;
+        private final Stage<T> next;
+
+        BulkheadStage(Bulkhead bulkhead, Stage<T> next) {
+            this.bulkhead = bulkhead;
+            this.next = next;
+        }
+
+        @Override
+        T call() {
+            bulkhead.acquirePermission();
+            try {
+                return next.call();
+            } finally {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    private static final class FallbackStage<T> extends Stage<T> {
+
+        private final Function<Throwable, T> fallback;
+        private final Stage<T> next;
+
+        FallbackStage(Function<Throwable, T> fallback, Stage<T> next) {
+            this.fallback = fallback;
+            this.next = next;
+        }
+
+        @Override
+        T call() {
+            try {
+                return next.call();
+            } catch (Exception exception) {
+                return fallback.apply(exception);
+            }
+        }
+    }
+}
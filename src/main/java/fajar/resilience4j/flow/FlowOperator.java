@@ -0,0 +1,208 @@
+package fajar.resilience4j.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** FlowOperator
+ * Dasar semua Processor di FlowOperators : satu upstream dan satu downstream, elemen diteruskan apa adanya
+ * Upstream dan downstream boleh datang dengan urutan apapun, downstream.onSubscribe() dipanggil saat keduanya sudah ada
+ * onError / onComplete dari upstream sebelum itu disimpan dulu, lalu dikirim setelah downstream.onSubscribe()
+ * Setelah terminated (error, complete atau cancel) tidak ada signal lagi ke downstream
+ */
+abstract class FlowOperator<T> implements Flow.Processor<T, T>, Flow.Subscription {
+
+    private static final Flow.Subscription EMPTY_SUBSCRIPTION = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super T> downstream;
+    //dijaga synchronized, hanya dipakai saat connect
+    private boolean connecting;
+    private boolean connected;
+    private Throwable pendingError;
+    private boolean pendingComplete;
+
+    @Override
+    public final void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber must not be null");
+        synchronized (this) {
+            if (downstream == null) {
+                downstream = subscriber;
+                subscriber = null;
+            }
+        }
+        if (subscriber != null) {
+            subscriber.onSubscribe(EMPTY_SUBSCRIPTION);
+            subscriber.onError(new IllegalStateException(this + " allows only one subscriber"));
+            return;
+        }
+        connect();
+    }
+
+    @Override
+    public final void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "Subscription must not be null");
+        synchronized (this) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+        }
+        connect();
+    }
+
+    private void connect() {
+        synchronized (this) {
+            if (upstream == null || downstream == null || connecting) {
+                return;
+            }
+            connecting = true;
+        }
+        Throwable rejection = onStart();
+        if (rejection != null) {
+            terminated.set(true);
+            upstream.cancel();
+            onTerminate();
+        }
+        downstream.onSubscribe(this);
+        Throwable error;
+        boolean complete;
+        synchronized (this) {
+            connected = true;
+            error = pendingError;
+            complete = pendingComplete;
+        }
+        if (rejection != null) {
+            downstream.onError(rejection);
+        } else if (error != null) {
+            handleError(error);
+        } else if (complete) {
+            handleComplete();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        emit(item);
+    }
+
+    @Override
+    public final void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "Throwable must not be null");
+        synchronized (this) {
+            if (!connected) {
+                pendingError = throwable;
+                return;
+            }
+        }
+        handleError(throwable);
+    }
+
+    @Override
+    public final void onComplete() {
+        synchronized (this) {
+            if (!connected) {
+                pendingComplete = true;
+                return;
+            }
+        }
+        handleComplete();
+    }
+
+    @Override
+    public final void request(long n) {
+        if (terminated.get()) {
+            return;
+        }
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Request must be greater than 0, but was " + n));
+            return;
+        }
+        handleRequest(n);
+    }
+
+    @Override
+    public final void cancel() {
+        if (terminated.compareAndSet(false, true)) {
+            upstream.cancel();
+            onTerminate();
+        }
+    }
+
+    /**
+     * Dipanggil sekali sebelum downstream.onSubscribe(), mengembalikan error jika stream ditolak (misal Bulkhead penuh)
+     */
+    protected Throwable onStart() {
+        return null;
+    }
+
+    /**
+     * Dipanggil sekali saat stream selesai dengan cara apapun, untuk melepas permit atau membatalkan timer
+     */
+    protected void onTerminate() {
+    }
+
+    protected void handleRequest(long n) {
+        upstream.request(n);
+    }
+
+    protected void handleError(Throwable throwable) {
+        error(throwable);
+    }
+
+    protected void handleComplete() {
+        complete();
+    }
+
+    protected final void emit(T item) {
+        if (!terminated.get()) {
+            downstream.onNext(item);
+        }
+    }
+
+    /**
+     * Error dari upstream, upstream sudah selesai jadi tidak perlu di cancel
+     */
+    protected final void error(Throwable throwable) {
+        if (terminated.compareAndSet(false, true)) {
+            onTerminate();
+            downstream.onError(throwable);
+        }
+    }
+
+    protected final void complete() {
+        if (terminated.compareAndSet(false, true)) {
+            onTerminate();
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * Error dari operator sendiri (misal CircuitBreaker OPEN atau timeout), upstream di cancel
+     */
+    protected final void fail(Throwable throwable) {
+        if (terminated.compareAndSet(false, true)) {
+            upstream.cancel();
+            onTerminate();
+            downstream.onError(throwable);
+        }
+    }
+
+    protected final boolean isTerminated() {
+        return terminated.get();
+    }
+
+    protected final Flow.Subscription upstream() {
+        return upstream;
+    }
+}
@@ -0,0 +1,516 @@
+package fajar.resilience4j.flow;
+
+import fajar.resilience4j.core.HashedWheelTimer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.internal.AtomicRateLimiter;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/** FlowOperators
+ * Semua contoh di test memakai Runnable, Supplier, Callable dan Future yang menahan thread pemanggil
+ * FlowOperators menyediakan operator untuk java.util.concurrent.Flow, resilience diterapkan per elemen tanpa menahan thread
+ * - rateLimiter : permit RateLimiter diubah menjadi demand, upstream.request(n) hanya dikirim sebanyak permit yang didapat
+ *   permit di reserve per batch (limitForPeriod, atau beberapa periode jika limitRefreshPeriod kurang dari 1ms)
+ *   elemen tidak pernah ditolak, yang menunggu permit adalah demand nya (dijadwalkan di timer, bukan sleep)
+ *   timeoutDuration menentukan seberapa jauh permit boleh dipesan ke depan, dengan 0 hanya permit periode yang sedang berjalan
+ * - circuitBreaker : setiap elemen adalah satu panggilan sukses (result predicate tetap berlaku), error dari upstream dicatat sebagai error
+ *   jika CircuitBreaker OPEN, upstream di cancel dan downstream mendapat CallNotPermittedException
+ * - bulkhead : satu permit untuk satu stream (subscription), dilepas saat stream selesai atau di cancel
+ *   maxWaitDuration sebaiknya 0, karena tryAcquirePermission() menunggu di thread yang men-subscribe
+ * - timeLimiter : timeoutDuration berlaku untuk jeda antar elemen selama downstream masih menunggu elemen (ada demand)
+ * - retry : subscribe ulang ke upstream setelah error, demand yang belum terpenuhi diteruskan ke subscription yang baru
+ *   Processor hanya bisa di subscribe sekali, jadi retry membungkus Publisher (atau Supplier Publisher), bukan Processor
+ * Setiap Processor hanya untuk satu stream, dipasang dengan source.subscribe(processor) lalu processor.subscribe(subscriber),
+ * atau langsung dengan compose(source, processor...)
+ * Jadwal (permit RateLimiter, timeout, jeda retry) memakai satu HashedWheelTimer bersama (tick 1ms),
+ * lalu dilanjutkan di virtual thread, karena upstream.request() bisa mengirim elemen langsung di thread pemanggil
+ */
+public final class FlowOperators {
+
+    private static final HashedWheelTimer SHARED_TIMER = new HashedWheelTimer("flow", Duration.ofMillis(1), 512);
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("flow-", 1)
+            .factory());
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private FlowOperators() {
+    }
+
+    public static <T> Flow.Processor<T, T> rateLimiter(RateLimiter rateLimiter) {
+        return new RateLimiterOperator<>(Objects.requireNonNull(rateLimiter, "RateLimiter must not be null"));
+    }
+
+    public static <T> Flow.Processor<T, T> circuitBreaker(CircuitBreaker circuitBreaker) {
+        return new CircuitBreakerOperator<>(Objects.requireNonNull(circuitBreaker, "CircuitBreaker must not be null"));
+    }
+
+    public static <T> Flow.Processor<T, T> bulkhead(Bulkhead bulkhead) {
+        return new BulkheadOperator<>(Objects.requireNonNull(bulkhead, "Bulkhead must not be null"));
+    }
+
+    public static <T> Flow.Processor<T, T> timeLimiter(TimeLimiter timeLimiter) {
+        return new TimeLimiterOperator<>(Objects.requireNonNull(timeLimiter, "TimeLimiter must not be null"));
+    }
+
+    /**
+     * Publisher yang sama di subscribe ulang, jadi source harus bisa di subscribe lebih dari sekali (cold publisher)
+     */
+    public static <T> Flow.Publisher<T> retry(Retry retry, Flow.Publisher<T> source) {
+        Objects.requireNonNull(source, "Publisher must not be null");
+        return retry(retry, () -> source);
+    }
+
+    /**
+     * Setiap percobaan memakai Publisher baru dari supplier, misal compose() dengan Processor baru
+     */
+    public static <T> Flow.Publisher<T> retry(Retry retry, Supplier<? extends Flow.Publisher<T>> source) {
+        Objects.requireNonNull(retry, "Retry must not be null");
+        Objects.requireNonNull(source, "Supplier must not be null");
+        return subscriber -> new RetrySubscription<>(retry, source, subscriber).start();
+    }
+
+    /**
+     * Menyambungkan source dengan processor secara berurutan, hasilnya processor terakhir
+     */
+    @SafeVarargs
+    public static <T> Flow.Publisher<T> compose(Flow.Publisher<T> source, Flow.Processor<T, T>... processors) {
+        Flow.Publisher<T> publisher = Objects.requireNonNull(source, "Publisher must not be null");
+        for (Flow.Processor<T, T> processor : processors) {
+            publisher.subscribe(processor);
+            publisher = processor;
+        }
+        return publisher;
+    }
+
+    private static HashedWheelTimer.Timeout schedule(Runnable task, long delayNanos) {
+        return SHARED_TIMER.newTimeout(() -> SHARED_EXECUTOR.execute(task), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static long addCap(AtomicLong value, long n) {
+        return value.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+    }
+
+    //Long.MAX_VALUE berarti demand tidak terbatas, tidak dikurangi
+    private static void produced(AtomicLong value, long n) {
+        value.getAndAccumulate(n, (current, sub) -> current == Long.MAX_VALUE ? current : current - sub);
+    }
+
+    private static final class RateLimiterOperator<T> extends FlowOperator<T> {
+
+        private final RateLimiter rateLimiter;
+        private final int limitForPeriod;
+        private final int batchSize;
+        //demand dari downstream yang belum diteruskan ke upstream
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean waiting;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private RateLimiterOperator(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            //timer tidak bisa menunggu kurang dari 1ms, jadi satu batch berisi permit untuk minimal 1ms (beberapa periode sekaligus)
+            long periodNanos = Math.max(1, rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toNanos());
+            long periods = Math.max(1, (MIN_WAIT_NANOS + periodNanos - 1) / periodNanos);
+            this.limitForPeriod = Math.max(1, rateLimiter.getRateLimiterConfig().getLimitForPeriod());
+            this.batchSize = (int) Math.min(Integer.MAX_VALUE, (long) limitForPeriod * periods);
+        }
+
+        @Override
+        protected void handleRequest(long n) {
+            addCap(demand, n);
+            drain();
+        }
+
+        //hanya satu thread yang reserve permit, request yang datang bersamaan cukup menambah wip
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                reserve();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void reserve() {
+            while (!waiting && !isTerminated()) {
+                long requested = demand.get();
+                if (requested == 0) {
+                    return;
+                }
+                int batch = (int) Math.min(requested, batchSize);
+                long nanosToWait = rateLimiter.reservePermission(batch);
+                if (nanosToWait < 0 && batch > limitForPeriod) {
+                    //batch beberapa periode melebihi timeoutDuration, coba satu periode saja
+                    batch = Math.min(batch, limitForPeriod);
+                    nanosToWait = rateLimiter.reservePermission(batch);
+                }
+                if (nanosToWait == 0) {
+                    produced(demand, batch);
+                    upstream().request(batch);
+                    continue;
+                }
+                waiting = true;
+                if (nanosToWait > 0) {
+                    //permit sudah dipesan untuk nanti, request ke upstream dikirim saat waktunya tiba
+                    long reserved = batch;
+                    produced(demand, reserved);
+                    timeout = schedule(() -> {
+                        if (!isTerminated()) {
+                            upstream().request(reserved);
+                        }
+                        resume();
+                    }, nanosToWait);
+                } else {
+                    //melebihi timeoutDuration, coba lagi saat permit berikutnya tersedia
+                    timeout = schedule(this::resume, nanosToNextPermit());
+                }
+            }
+        }
+
+        private void resume() {
+            waiting = false;
+            drain();
+        }
+
+        private long nanosToNextPermit() {
+            long nanos = rateLimiter instanceof AtomicRateLimiter atomicRateLimiter
+                    ? atomicRateLimiter.getDetailedMetrics().getNanosToWait()
+                    : rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toNanos();
+            return Math.max(MIN_WAIT_NANOS, nanos);
+        }
+
+        @Override
+        protected void onTerminate() {
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "RateLimiterOperator '" + rateLimiter.getName() + "'";
+        }
+    }
+
+    private static final class CircuitBreakerOperator<T> extends FlowOperator<T> {
+
+        private final CircuitBreaker circuitBreaker;
+
+        private CircuitBreakerOperator(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        //stream langsung ditolak jika CircuitBreaker OPEN, permit nya dikembalikan karena belum ada elemen
+        @Override
+        protected Throwable onStart() {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            }
+            circuitBreaker.releasePermission();
+            return null;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (isTerminated()) {
+                return;
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                fail(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+                return;
+            }
+            //elemen tidak punya durasi, slow call tidak berlaku di sini (pakai timeLimiter)
+            circuitBreaker.onResult(0, TimeUnit.NANOSECONDS, item);
+            emit(item);
+        }
+
+        @Override
+        protected void handleError(Throwable throwable) {
+            if (!isTerminated() && circuitBreaker.tryAcquirePermission()) {
+                circuitBreaker.onError(0, TimeUnit.NANOSECONDS, throwable);
+            }
+            error(throwable);
+        }
+
+        @Override
+        public String toString() {
+            return "CircuitBreakerOperator '" + circuitBreaker.getName() + "'";
+        }
+    }
+
+    private static final class BulkheadOperator<T> extends FlowOperator<T> {
+
+        private final Bulkhead bulkhead;
+        private volatile boolean acquired;
+
+        private BulkheadOperator(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        protected Throwable onStart() {
+            if (!bulkhead.tryAcquirePermission()) {
+                return BulkheadFullException.createBulkheadFullException(bulkhead);
+            }
+            acquired = true;
+            return null;
+        }
+
+        @Override
+        protected void onTerminate() {
+            if (acquired) {
+                bulkhead.onComplete();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BulkheadOperator '" + bulkhead.getName() + "'";
+        }
+    }
+
+    private static final class TimeLimiterOperator<T> extends FlowOperator<T> {
+
+        private final TimeLimiter timeLimiter;
+        private final long timeoutNanos;
+        //timeout dari thread timer dan onNext dari upstream tidak boleh sampai ke downstream bersamaan
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicLong outstanding = new AtomicLong();
+        private final AtomicBoolean armed = new AtomicBoolean();
+        private volatile long lastSignal;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private TimeLimiterOperator(TimeLimiter timeLimiter) {
+            this.timeLimiter = timeLimiter;
+            this.timeoutNanos = Math.max(MIN_WAIT_NANOS, timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toNanos());
+        }
+
+        @Override
+        protected void handleRequest(long n) {
+            if (addCap(outstanding, n) == 0) {
+                lastSignal = System.nanoTime();
+            }
+            //timer tidak dibuat ulang setiap elemen, cukup satu yang memeriksa lastSignal saat expired
+            if (armed.compareAndSet(false, true)) {
+                timeout = SHARED_TIMER.newTimeout(this::check, timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            upstream().request(n);
+        }
+
+        @Override
+        public void onNext(T item) {
+            lock.lock();
+            try {
+                if (isTerminated()) {
+                    return;
+                }
+                lastSignal = System.nanoTime();
+                produced(outstanding, 1);
+                emit(item);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void check() {
+            if (isTerminated()) {
+                return;
+            }
+            long idle = System.nanoTime() - lastSignal;
+            if (outstanding.get() > 0 && idle >= timeoutNanos) {
+                lock.lock();
+                try {
+                    if (!isTerminated()) {
+                        TimeoutException exception = TimeLimiter.createdTimeoutExceptionWithName(timeLimiter.getName(), null);
+                        timeLimiter.onError(exception);
+                        fail(exception);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            long delay = outstanding.get() > 0 ? timeoutNanos - idle : timeoutNanos;
+            timeout = SHARED_TIMER.newTimeout(this::check, Math.max(MIN_WAIT_NANOS, delay), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        protected void handleError(Throwable throwable) {
+            if (!isTerminated()) {
+                timeLimiter.onError(throwable);
+            }
+            error(throwable);
+        }
+
+        @Override
+        protected void handleComplete() {
+            if (!isTerminated()) {
+                timeLimiter.onSuccess();
+            }
+            complete();
+        }
+
+        @Override
+        protected void onTerminate() {
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "TimeLimiterOperator '" + timeLimiter.getName() + "'";
+        }
+    }
+
+    private static final class RetrySubscription<T> implements Flow.Subscription {
+
+        private final Retry.AsyncContext<T> context;
+        private final Supplier<? extends Flow.Publisher<T>> source;
+        private final Flow.Subscriber<? super T> downstream;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        //demand downstream yang belum terpenuhi, diteruskan ke setiap percobaan baru
+        private final AtomicLong requested = new AtomicLong();
+        //percobaan yang sedang berjalan, null saat menunggu retry, dijaga synchronized bersama request()
+        private Attempt current;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private RetrySubscription(Retry retry, Supplier<? extends Flow.Publisher<T>> source, Flow.Subscriber<? super T> downstream) {
+            this.context = retry.asyncContext();
+            this.source = source;
+            this.downstream = Objects.requireNonNull(downstream, "Subscriber must not be null");
+        }
+
+        private void start() {
+            downstream.onSubscribe(this);
+            subscribeNext();
+        }
+
+        private void subscribeNext() {
+            if (terminated.get()) {
+                return;
+            }
+            Attempt attempt = new Attempt();
+            synchronized (this) {
+                current = attempt;
+            }
+            try {
+                source.get().subscribe(attempt);
+            } catch (RuntimeException e) {
+                attempt.onError(e);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Request must be greater than 0, but was " + n));
+                return;
+            }
+            Flow.Subscription subscription;
+            synchronized (this) {
+                addCap(requested, n);
+                subscription = current == null ? null : current.upstream;
+            }
+            //percobaan yang belum dapat upstream akan me-request semua demand di onSubscribe
+            if (subscription != null) {
+                subscription.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (terminated.compareAndSet(false, true)) {
+                HashedWheelTimer.Timeout pending = timeout;
+                if (pending != null) {
+                    pending.cancel();
+                }
+                Flow.Subscription subscription;
+                synchronized (this) {
+                    subscription = current == null ? null : current.upstream;
+                }
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            }
+        }
+
+        private final class Attempt implements Flow.Subscriber<T> {
+
+            private Flow.Subscription upstream;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                long demand;
+                synchronized (RetrySubscription.this) {
+                    if (upstream != null || current != this) {
+                        subscription.cancel();
+                        return;
+                    }
+                    upstream = subscription;
+                    demand = requested.get();
+                }
+                if (terminated.get()) {
+                    subscription.cancel();
+                } else if (demand > 0) {
+                    subscription.request(demand);
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (!terminated.get()) {
+                    produced(requested, 1);
+                    downstream.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if (terminated.get()) {
+                    return;
+                }
+                long delayMillis = context.onError(throwable);
+                if (delayMillis < 0) {
+                    if (terminated.compareAndSet(false, true)) {
+                        downstream.onError(throwable);
+                    }
+                    return;
+                }
+                synchronized (RetrySubscription.this) {
+                    current = null;
+                }
+                timeout = schedule(RetrySubscription.this::subscribeNext,
+                        Math.max(MIN_WAIT_NANOS, TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+            }
+
+            @Override
+            public void onComplete() {
+                if (terminated.compareAndSet(false, true)) {
+                    context.onComplete();
+                    downstream.onComplete();
+                }
+            }
+        }
+    }
+}
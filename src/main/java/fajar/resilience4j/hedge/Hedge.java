@@ -0,0 +1,416 @@
+package fajar.resilience4j.hedge;
+
+import fajar.resilience4j.core.HashedWheelTimer;
+import io.github.resilience4j.decorators.Decorators;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/** Hedge
+ * TimeLimiter hanya bisa menyerah setelah timeout, Hedge mengirim percobaan kedua (hedge) jika percobaan pertama belum selesai setelah delay
+ * Hasil yang paling cepat selesai yang dipakai, percobaan yang kalah dibatalkan (cancelRunningFuture)
+ * Hanya untuk operasi yang idempotent (misal read), karena operasi yang sama bisa berjalan lebih dari sekali
+ * - delay bisa tetap, atau adaptive dari latency percentile (misal p95) percobaan sebelumnya
+ * - beban tambahan dibatasi maxHedgeRatio, setiap eksekusi menambah maxHedgeRatio token dan setiap hedge memakai satu token
+ * - error tidak membuat hedge baru (itu tugas Retry), error dikembalikan jika tidak ada percobaan lain yang masih berjalan
+ * Hedge dijadwalkan di satu HashedWheelTimer bersama (tick 1ms), jadi supplier CompletionStage harus non-blocking
+ * Supplier biasa dijalankan di ExecutorService (default virtual thread per percobaan), thread pemanggil menunggu hasil pertama
+ * Integrasi dengan Decorators : Hedge.ofSupplier(hedge, supplier).withCircuitBreaker(...) atau Decorators.ofSupplier(hedge.decorateSupplier(supplier))
+ */
+public final class Hedge {
+
+    private static final HashedWheelTimer SHARED_TIMER = new HashedWheelTimer("hedge", Duration.ofMillis(1), 512);
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("hedge-", 1)
+            .factory());
+    //token disimpan dalam satuan per sejuta, supaya maxHedgeRatio pecahan tetap bisa dihitung dengan AtomicLong
+    private static final long TOKEN = 1_000_000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final String name;
+    private final HedgeConfig config;
+    private final HashedWheelTimer timer;
+    private final ExecutorService executorService;
+    private final LatencyWindow latencyWindow;
+    private final long tokensPerCall;
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder rejectedHedges = new LongAdder();
+    private final HedgeMetrics metrics = new HedgeMetrics();
+
+    public Hedge(String name, HedgeConfig config, HashedWheelTimer timer, ExecutorService executorService) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.timer = Objects.requireNonNull(timer, "Timer must not be null");
+        this.executorService = Objects.requireNonNull(executorService, "ExecutorService must not be null");
+        this.latencyWindow = new LatencyWindow(config);
+        this.tokensPerCall = (long) (config.getMaxHedgeRatio() * TOKEN);
+    }
+
+    public static Hedge ofDefaults(String name) {
+        return of(name, HedgeConfig.ofDefaults());
+    }
+
+    public static Hedge of(String name, HedgeConfig config) {
+        return new Hedge(name, config, SHARED_TIMER, SHARED_EXECUTOR);
+    }
+
+    public static Hedge of(String name, HedgeConfig config, ExecutorService executorService) {
+        return new Hedge(name, config, SHARED_TIMER, executorService);
+    }
+
+    /**
+     * Sama seperti Decorators.ofSupplier(hedge.decorateSupplier(supplier)), hasilnya bisa dilanjutkan dengan withCircuitBreaker() dan lain-lain
+     */
+    public static <T> Decorators.DecorateSupplier<T> ofSupplier(Hedge hedge, Supplier<T> supplier) {
+        return Decorators.ofSupplier(hedge.decorateSupplier(supplier));
+    }
+
+    public static <T> Decorators.DecorateCompletionStage<T> ofCompletionStage(Hedge hedge, Supplier<CompletionStage<T>> supplier) {
+        return Decorators.ofCompletionStage(hedge.decorateCompletionStage(supplier));
+    }
+
+    public <T> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<? extends CompletionStage<T>> supplier) {
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        return () -> new HedgedCall<T>(supplier).start();
+    }
+
+    public <T> CompletionStage<T> executeCompletionStage(Supplier<? extends CompletionStage<T>> supplier) {
+        return decorateCompletionStage(supplier).get();
+    }
+
+    /**
+     * Setiap percobaan berjalan di ExecutorService, percobaan yang kalah di-interrupt jika cancelRunningFuture true
+     */
+    public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        Supplier<CompletionStage<T>> decorated = decorateCompletionStage(() -> submit(supplier));
+        return () -> {
+            CompletableFuture<T> result = decorated.get().toCompletableFuture();
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new CompletionException(cause);
+            } catch (InterruptedException e) {
+                result.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        };
+    }
+
+    public <T> T executeSupplier(Supplier<T> supplier) {
+        return decorateSupplier(supplier).get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HedgeConfig getHedgeConfig() {
+        return config;
+    }
+
+    /**
+     * Delay yang dipakai untuk eksekusi berikutnya
+     */
+    public Duration getCurrentDelay() {
+        return Duration.ofNanos(latencyWindow.delayNanos);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "Hedge '" + name + "'";
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+        InterruptibleFuture<T> future = new InterruptibleFuture<>();
+        future.task = executorService.submit(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    private boolean tryAcquireToken() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    private void addTokens() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= MAX_TOKENS) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(MAX_TOKENS, current + tokensPerCall)));
+    }
+
+    public interface Metrics {
+
+        long getNumberOfCalls();
+
+        /**
+         * Jumlah hedge yang dikirim
+         */
+        long getNumberOfHedges();
+
+        /**
+         * Jumlah eksekusi yang hasilnya berasal dari hedge, bukan dari percobaan pertama
+         */
+        long getNumberOfHedgeWins();
+
+        /**
+         * Jumlah hedge yang tidak dikirim karena melebihi maxHedgeRatio
+         */
+        long getNumberOfRejectedHedges();
+    }
+
+    private class HedgeMetrics implements Metrics {
+
+        @Override
+        public long getNumberOfCalls() {
+            return calls.sum();
+        }
+
+        @Override
+        public long getNumberOfHedges() {
+            return hedges.sum();
+        }
+
+        @Override
+        public long getNumberOfHedgeWins() {
+            return hedgeWins.sum();
+        }
+
+        @Override
+        public long getNumberOfRejectedHedges() {
+            return rejectedHedges.sum();
+        }
+    }
+
+    /** HedgedCall
+     * State satu eksekusi, semua perubahan state di dalam synchronized karena bisa datang dari thread timer dan thread percobaan
+     */
+    private final class HedgedCall<T> {
+
+        private final Supplier<? extends CompletionStage<T>> supplier;
+        private final CompletableFuture<T> promise = new CompletableFuture<>();
+        private final CompletionStage<?>[] attempts = new CompletionStage<?>[config.getMaxHedgedAttempts() + 1];
+        private final long[] startTimes = new long[attempts.length];
+        private final long delayNanos = latencyWindow.delayNanos;
+        private int launched;
+        private int running;
+        private HashedWheelTimer.Timeout timeout;
+
+        private HedgedCall(Supplier<? extends CompletionStage<T>> supplier) {
+            this.supplier = supplier;
+        }
+
+        private CompletionStage<T> start() {
+            calls.increment();
+            addTokens();
+            //jika pemanggil membatalkan hasilnya, semua percobaan ikut dibatalkan
+            promise.whenComplete((result, throwable) -> {
+                if (promise.isCancelled()) {
+                    cancelAttempts(-1);
+                }
+            });
+            synchronized (this) {
+                launch();
+                scheduleHedge();
+            }
+            return promise;
+        }
+
+        private void launch() {
+            int attempt = launched++;
+            running++;
+            startTimes[attempt] = System.nanoTime();
+            CompletionStage<T> stage;
+            try {
+                stage = supplier.get();
+            } catch (Throwable throwable) {
+                stage = CompletableFuture.failedFuture(throwable);
+            }
+            attempts[attempt] = stage;
+            stage.whenComplete((result, throwable) -> onComplete(attempt, result, throwable));
+        }
+
+        private void scheduleHedge() {
+            if (launched < attempts.length && !promise.isDone()) {
+                timeout = timer.newTimeout(this::hedge, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        //dijalankan di thread timer
+        private synchronized void hedge() {
+            if (promise.isDone() || running == 0) {
+                return;
+            }
+            if (!tryAcquireToken()) {
+                rejectedHedges.increment();
+                return;
+            }
+            hedges.increment();
+            launch();
+            scheduleHedge();
+        }
+
+        private void onComplete(int attempt, T result, Throwable throwable) {
+            long latency = System.nanoTime() - startTimes[attempt];
+            synchronized (this) {
+                running--;
+                if (throwable == null) {
+                    latencyWindow.record(latency);
+                    if (promise.complete(result)) {
+                        if (attempt > 0) {
+                            hedgeWins.increment();
+                        }
+                        finish(attempt);
+                    }
+                    return;
+                }
+                //masih ada percobaan lain yang berjalan, tunggu hasilnya
+                if (running > 0 || promise.isDone()) {
+                    return;
+                }
+                Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                if (promise.completeExceptionally(cause)) {
+                    finish(attempt);
+                }
+            }
+        }
+
+        private void finish(int winner) {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            cancelAttempts(winner);
+        }
+
+        private void cancelAttempts(int winner) {
+            if (!config.shouldCancelRunningFuture()) {
+                return;
+            }
+            long now = System.nanoTime();
+            CompletionStage<?>[] snapshot;
+            synchronized (this) {
+                snapshot = Arrays.copyOf(attempts, launched);
+            }
+            for (int i = 0; i < snapshot.length; i++) {
+                if (i != winner && snapshot[i] instanceof Future<?> future && !future.isDone()) {
+                    //latency percobaan yang kalah minimal selama ini, dicatat supaya percentile tidak hanya berisi percobaan yang cepat
+                    latencyWindow.record(now - startTimes[i]);
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /** LatencyWindow
+     * Menyimpan windowSize latency terakhir, percentile dihitung ulang setiap windowSize / 10 sample
+     * Penulisan sample tidak di-lock, sample yang sedikit meleset tidak masalah untuk menentukan delay
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private final AtomicLong count = new AtomicLong();
+        private final ReentrantLock recomputeLock = new ReentrantLock();
+        private final boolean adaptive;
+        private final double percentile;
+        private final long minDelayNanos;
+        private final long maxDelayNanos;
+        private final int minimumNumberOfCalls;
+        private final int recomputeEvery;
+        private volatile long delayNanos;
+
+        private LatencyWindow(HedgeConfig config) {
+            this.samples = new long[config.getWindowSize()];
+            this.adaptive = config.isAdaptive();
+            this.percentile = config.getPercentile();
+            this.minDelayNanos = config.getMinDelay().toNanos();
+            this.maxDelayNanos = config.getMaxDelay().toNanos();
+            this.minimumNumberOfCalls = config.getMinimumNumberOfCalls();
+            this.recomputeEvery = Math.max(1, samples.length / 10);
+            this.delayNanos = config.getDelay().toNanos();
+        }
+
+        private void record(long latencyNanos) {
+            if (!adaptive) {
+                return;
+            }
+            long n = count.getAndIncrement();
+            samples[(int) (n % samples.length)] = latencyNanos;
+            long recorded = n + 1;
+            if (recorded >= minimumNumberOfCalls && recorded % recomputeEvery == 0 && recomputeLock.tryLock()) {
+                try {
+                    recompute((int) Math.min(recorded, samples.length));
+                } finally {
+                    recomputeLock.unlock();
+                }
+            }
+        }
+
+        private void recompute(int size) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = Math.max(0, (int) Math.ceil(percentile * size) - 1);
+            delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, sorted[index]));
+        }
+    }
+
+    /** InterruptibleFuture
+     * CompletableFuture.cancel() tidak menghentikan task nya, future ini juga meng-interrupt thread yang menjalankan supplier
+     */
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+
+        private volatile Future<?> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> running = task;
+            if (cancelled && running != null) {
+                running.cancel(mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package fajar.resilience4j.hedge;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/** HedgeConfig
+ * Konfigurasi untuk Hedge, dibuat dengan HedgeConfig.custom()...build() seperti config Resilience4J yang lain
+ * - delay : hedge dikirim jika percobaan pertama belum selesai setelah delay ini (fixed)
+ * - adaptiveDelay(percentile, minDelay, maxDelay) : delay dihitung dari latency percentile (misal p95) dari windowSize percobaan terakhir
+ *   sebelum ada minimumNumberOfCalls sample, delay awal yang dipakai
+ * - maxHedgedAttempts : jumlah hedge maksimal per eksekusi (di luar percobaan pertama)
+ * - maxHedgeRatio : batas beban tambahan, misal 0.1 artinya hedge paling banyak 10% dari jumlah eksekusi
+ * - cancelRunningFuture : percobaan yang kalah dibatalkan (CompletableFuture.cancel / interrupt thread nya)
+ */
+public final class HedgeConfig {
+
+    private final Duration delay;
+    private final boolean adaptive;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final int windowSize;
+    private final int minimumNumberOfCalls;
+    private final int maxHedgedAttempts;
+    private final double maxHedgeRatio;
+    private final boolean cancelRunningFuture;
+
+    private HedgeConfig(Builder builder) {
+        this.delay = builder.delay;
+        this.adaptive = builder.adaptive;
+        this.percentile = builder.percentile;
+        this.minDelay = builder.minDelay;
+        this.maxDelay = builder.maxDelay;
+        this.windowSize = builder.windowSize;
+        this.minimumNumberOfCalls = builder.minimumNumberOfCalls;
+        this.maxHedgedAttempts = builder.maxHedgedAttempts;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.cancelRunningFuture = builder.cancelRunningFuture;
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public static HedgeConfig ofDefaults() {
+        return custom().build();
+    }
+
+    public Duration getDelay() {
+        return delay;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public int getMaxHedgedAttempts() {
+        return maxHedgedAttempts;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public boolean shouldCancelRunningFuture() {
+        return cancelRunningFuture;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgeConfig{" +
+                "delay=" + delay +
+                ", adaptive=" + adaptive +
+                ", percentile=" + percentile +
+                ", maxHedgedAttempts=" + maxHedgedAttempts +
+                ", maxHedgeRatio=" + maxHedgeRatio +
+                ", cancelRunningFuture=" + cancelRunningFuture +
+                '}';
+    }
+
+    public static final class Builder {
+
+        private Duration delay = Duration.ofMillis(100);
+        private boolean adaptive;
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(1);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private int windowSize = 1_000;
+        private int minimumNumberOfCalls = 100;
+        private int maxHedgedAttempts = 1;
+        private double maxHedgeRatio = 0.1;
+        private boolean cancelRunningFuture = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Delay tetap, atau delay awal jika adaptiveDelay() dipakai
+         */
+        public Builder delay(Duration delay) {
+            Objects.requireNonNull(delay, "Delay must not be null");
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("delay must not be negative");
+            }
+            this.delay = delay;
+            return this;
+        }
+
+        public Builder adaptiveDelay(double percentile, Duration minDelay, Duration maxDelay) {
+            if (percentile <= 0 || percentile >= 1) {
+                throw new IllegalArgumentException("percentile must be between 0 and 1");
+            }
+            Objects.requireNonNull(minDelay, "MinDelay must not be null");
+            Objects.requireNonNull(maxDelay, "MaxDelay must not be null");
+            if (minDelay.isNegative() || maxDelay.compareTo(minDelay) < 0) {
+                throw new IllegalArgumentException("minDelay must not be negative and not greater than maxDelay");
+            }
+            this.adaptive = true;
+            this.percentile = percentile;
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder windowSize(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("windowSize must be greater than 0");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+            if (minimumNumberOfCalls <= 0) {
+                throw new IllegalArgumentException("minimumNumberOfCalls must be greater than 0");
+            }
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        public Builder maxHedgedAttempts(int maxHedgedAttempts) {
+            if (maxHedgedAttempts <= 0) {
+                throw new IllegalArgumentException("maxHedgedAttempts must be greater than 0");
+            }
+            this.maxHedgedAttempts = maxHedgedAttempts;
+            return this;
+        }
+
+        public Builder maxHedgeRatio(double maxHedgeRatio) {
+            if (maxHedgeRatio <= 0) {
+                throw new IllegalArgumentException("maxHedgeRatio must be greater than 0");
+            }
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        public Builder cancelRunningFuture(boolean cancelRunningFuture) {
+            this.cancelRunningFuture = cancelRunningFuture;
+            return this;
+        }
+
+        public HedgeConfig build() {
+            if (minimumNumberOfCalls > windowSize) {
+                minimumNumberOfCalls = windowSize;
+            }
+            return new HedgeConfig(this);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package fajar.resilience4j.load;
+
+import fajar.resilience4j.metrics.LatencyRecorder;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/** LoadGenerator
+ * Di BulkHeadTest, DecoratorsTest dan RateLimiterTest request dikirim dengan loop + new Thread() lalu Thread.sleep(), tanpa assertion
+ * LoadGenerator mengirim request open-loop dengan arrival rate tetap : request ke-i dijadwalkan pada start + i / arrivalRate,
+ * dan dijalankan di virtual thread sendiri, jadi request berikutnya tidak menunggu request sebelumnya selesai
+ * Latency dihitung dari waktu jadwal, bukan dari waktu supplier mulai dipanggil (koreksi coordinated omission) :
+ * jika sistem melambat, waktu request yang seharusnya sudah dikirim ikut terhitung, tidak hilang seperti pada loop closed-loop
+ * Instance yang di observe() dihitung event nya (rejected, retry, state transition) selama run berjalan
+ * Event publisher Resilience4J tidak bisa unsubscribe, jadi consumer hanya didaftarkan sekali per instance (Observation)
+ * dan LoadGenerator hanya terdaftar di Observation selama run() berjalan, instance yang sama aman dipakai untuk banyak run
+ * Hasilnya LoadReport, dengan toJson() untuk dibandingkan antar run
+ * Contoh : LoadGenerator.custom("fjr").arrivalRate(1_000).duration(Duration.ofSeconds(10)).observe(circuitBreaker).build().run(supplier)
+ */
+public final class LoadGenerator {
+
+    private final String name;
+    private final int arrivalRate;
+    private final Duration duration;
+    private final ThreadFactory threadFactory;
+    private final List<Observation> observations;
+    private final AtomicReference<Run> current = new AtomicReference<>();
+
+    private LoadGenerator(Builder builder) {
+        this.name = builder.name;
+        this.arrivalRate = builder.arrivalRate;
+        this.duration = builder.duration;
+        this.threadFactory = Thread.ofVirtual().name("load-" + name + "-", 1).factory();
+        this.observations = List.copyOf(builder.observations);
+    }
+
+    public static Builder custom(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Mengirim arrivalRate x duration request ke supplier, lalu menunggu semua request selesai
+     * Hanya satu run dalam satu waktu untuk satu LoadGenerator
+     */
+    public LoadReport run(Supplier<?> supplier) {
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+        long total = arrivalRate * duration.toNanos() / TimeUnit.SECONDS.toNanos(1);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) arrivalRate;
+        Run run = new Run(System.nanoTime());
+        if (!current.compareAndSet(null, run)) {
+            throw new IllegalStateException("LoadGenerator '" + name + "' is already running");
+        }
+        observations.forEach(observation -> observation.generators.add(this));
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(threadFactory)) {
+            for (long i = 0; i < total; i++) {
+                long intended = run.startNanos + (long) (i * intervalNanos);
+                for (long delay = intended - System.nanoTime(); delay > 0; delay = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(delay);
+                }
+                executor.execute(() -> run.call(supplier, intended));
+            }
+        } finally {
+            observations.forEach(observation -> observation.generators.remove(this));
+            current.set(null);
+        }
+        return run.report(total);
+    }
+
+    private void event(String key) {
+        Run run = current.get();
+        if (run != null) {
+            run.events.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    private void stateTransition(String instance, CircuitBreaker.StateTransition transition) {
+        Run run = current.get();
+        if (run != null) {
+            long atMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - run.startNanos);
+            run.stateTransitions.add(new LoadReport.StateTransition(atMillis, instance,
+                    transition.getFromState().name(), transition.getToState().name()));
+        }
+    }
+
+    private static boolean isRejection(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException
+                || throwable instanceof BulkheadFullException
+                || throwable instanceof RequestNotPermitted;
+    }
+
+    //ThreadPoolBulkhead dan TimeLimiter membungkus exception aslinya
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /** Observation
+     * Consumer yang didaftarkan sekali ke event publisher satu instance, event nya diteruskan ke LoadGenerator yang sedang run
+     * Disimpan per instance di WeakHashMap, consumer nya tidak menyimpan referensi ke instance jadi instance tetap bisa di GC
+     */
+    private static final class Observation {
+
+        private static final Map<Object, Observation> OBSERVATIONS = new WeakHashMap<>();
+
+        private final Set<LoadGenerator> generators = new CopyOnWriteArraySet<>();
+
+        //subscribe hanya dipanggil untuk instance yang belum pernah di observe
+        private static Observation of(Object instance, Consumer<Observation> subscribe) {
+            synchronized (OBSERVATIONS) {
+                Observation observation = OBSERVATIONS.get(instance);
+                if (observation == null) {
+                    observation = new Observation();
+                    subscribe.accept(observation);
+                    OBSERVATIONS.put(instance, observation);
+                }
+                return observation;
+            }
+        }
+
+        private void event(String key) {
+            for (LoadGenerator generator : generators) {
+                generator.event(key);
+            }
+        }
+
+        private void stateTransition(String instance, CircuitBreaker.StateTransition transition) {
+            for (LoadGenerator generator : generators) {
+                generator.stateTransition(instance, transition);
+            }
+        }
+    }
+
+    private final class Run {
+
+        private final long startNanos;
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final LatencyRecorder serviceTime = new LatencyRecorder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicLong lastCompletionNanos;
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> events = new ConcurrentHashMap<>();
+        private final List<LoadReport.StateTransition> stateTransitions = new CopyOnWriteArrayList<>();
+
+        private Run(long startNanos) {
+            this.startNanos = startNanos;
+            this.lastCompletionNanos = new AtomicLong(startNanos);
+        }
+
+        private void call(Supplier<?> supplier, long intendedNanos) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            long start = System.nanoTime();
+            try {
+                supplier.get();
+                succeeded.increment();
+            } catch (Throwable throwable) {
+                Throwable cause = unwrap(throwable);
+                if (isRejection(cause)) {
+                    rejected.increment();
+                } else {
+                    failed.increment();
+                }
+                errors.computeIfAbsent(cause.getClass().getName(), k -> new LongAdder()).increment();
+            } finally {
+                long end = System.nanoTime();
+                latency.record(end - intendedNanos);
+                serviceTime.record(end - start);
+                lastCompletionNanos.accumulateAndGet(end, Math::max);
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private LoadReport report(long sent) {
+            return new LoadReport(name, arrivalRate, duration, sent, succeeded.sum(), failed.sum(), rejected.sum(),
+                    Duration.ofNanos(lastCompletionNanos.get() - startNanos), maxInFlight.get(),
+                    latency.totalSnapshot(), serviceTime.totalSnapshot(), sums(errors), sums(events), stateTransitions);
+        }
+
+        private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+            Map<String, Long> sums = new HashMap<>();
+            counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+            return sums;
+        }
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private int arrivalRate = 100;
+        private Duration duration = Duration.ofSeconds(10);
+        private final List<Observation> observations = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "Name must not be null");
+        }
+
+        /**
+         * @param arrivalRate request per detik
+         */
+        public Builder arrivalRate(int arrivalRate) {
+            if (arrivalRate <= 0) {
+                throw new IllegalArgumentException("arrivalRate must be greater than 0");
+            }
+            this.arrivalRate = arrivalRate;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            Objects.requireNonNull(duration, "Duration must not be null");
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("duration must be greater than 0");
+            }
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Menghitung NOT_PERMITTED dan mencatat state transition
+         */
+        public Builder observe(CircuitBreaker circuitBreaker) {
+            Objects.requireNonNull(circuitBreaker, "CircuitBreaker must not be null");
+            String instanceName = circuitBreaker.getName();
+            String key = "CircuitBreaker " + instanceName + " NOT_PERMITTED";
+            observations.add(Observation.of(circuitBreaker, observation -> {
+                circuitBreaker.getEventPublisher().onCallNotPermitted(event -> observation.event(key));
+                circuitBreaker.getEventPublisher().onStateTransition(event ->
+                        observation.stateTransition(instanceName, event.getStateTransition()));
+            }));
+            return this;
+        }
+
+        /**
+         * Menghitung CALL_REJECTED
+         */
+        public Builder observe(Bulkhead bulkhead) {
+            Objects.requireNonNull(bulkhead, "Bulkhead must not be null");
+            String key = "Bulkhead " + bulkhead.getName() + " CALL_REJECTED";
+            observations.add(Observation.of(bulkhead, observation ->
+                    bulkhead.getEventPublisher().onCallRejected(event -> observation.event(key))));
+            return this;
+        }
+
+        /**
+         * Menghitung FAILED_ACQUIRE
+         */
+        public Builder observe(RateLimiter rateLimiter) {
+            Objects.requireNonNull(rateLimiter, "RateLimiter must not be null");
+            String key = "RateLimiter " + rateLimiter.getName() + " FAILED_ACQUIRE";
+            observations.add(Observation.of(rateLimiter, observation ->
+                    rateLimiter.getEventPublisher().onFailure(event -> observation.event(key))));
+            return this;
+        }
+
+        /**
+         * Menghitung RETRY (setiap percobaan ulang) dan ERROR (gagal setelah maxAttempts)
+         */
+        public Builder observe(Retry retry) {
+            Objects.requireNonNull(retry, "Retry must not be null");
+            String retryKey = "Retry " + retry.getName() + " RETRY";
+            String errorKey = "Retry " + retry.getName() + " ERROR";
+            observations.add(Observation.of(retry, observation -> {
+                retry.getEventPublisher().onRetry(event -> observation.event(retryKey));
+                retry.getEventPublisher().onError(event -> observation.event(errorKey));
+            }));
+            return this;
+        }
+
+        public LoadGenerator build() {
+            return new LoadGenerator(this);
+        }
+    }
+}
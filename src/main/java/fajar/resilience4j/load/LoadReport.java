@@ -0,0 +1,222 @@
+package fajar.resilience4j.load;
+
+import fajar.resilience4j.metrics.LatencySnapshot;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** LoadReport
+ * Hasil satu LoadGenerator.run(), toJson() untuk dibandingkan antar run (misal disimpan di target/ lalu di diff oleh CI)
+ * - latency : dari waktu request seharusnya dikirim (jadwal arrival rate) sampai selesai, sudah dikoreksi coordinated omission
+ * - serviceTime : dari supplier mulai dipanggil sampai selesai, yang biasa diukur closed-loop, sebagai pembanding
+ * - rejected : CallNotPermittedException, BulkheadFullException dan RequestNotPermitted, failed : exception lain
+ * - events : jumlah event dari instance yang di observe (misal "Bulkhead fjr CALL_REJECTED"), termasuk yang tertutup fallback
+ * - stateTransitions : perubahan state CircuitBreaker, atMillis dihitung dari awal run
+ */
+public final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private final String name;
+    private final int arrivalRate;
+    private final Duration duration;
+    private final long sent;
+    private final long succeeded;
+    private final long failed;
+    private final long rejected;
+    private final Duration elapsed;
+    private final int maxInFlight;
+    private final LatencySnapshot latency;
+    private final LatencySnapshot serviceTime;
+    private final Map<String, Long> errors;
+    private final Map<String, Long> events;
+    private final List<StateTransition> stateTransitions;
+
+    LoadReport(String name, int arrivalRate, Duration duration, long sent, long succeeded, long failed, long rejected,
+               Duration elapsed, int maxInFlight, LatencySnapshot latency, LatencySnapshot serviceTime,
+               Map<String, Long> errors, Map<String, Long> events, List<StateTransition> stateTransitions) {
+        this.name = name;
+        this.arrivalRate = arrivalRate;
+        this.duration = duration;
+        this.sent = sent;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.elapsed = elapsed;
+        this.maxInFlight = maxInFlight;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.errors = Map.copyOf(errors);
+        this.events = Map.copyOf(events);
+        this.stateTransitions = List.copyOf(stateTransitions);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Panggilan sukses per detik, dihitung dari awal run sampai panggilan terakhir selesai
+     */
+    public double getThroughput() {
+        return elapsed.isZero() ? 0 : succeeded * 1_000_000_000.0 / elapsed.toNanos();
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+
+    public LatencySnapshot getServiceTime() {
+        return serviceTime;
+    }
+
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+
+    public Map<String, Long> getEvents() {
+        return events;
+    }
+
+    public long getEvents(String key) {
+        return events.getOrDefault(key, 0L);
+    }
+
+    public List<StateTransition> getStateTransitions() {
+        return stateTransitions;
+    }
+
+    /**
+     * Satu object JSON dalam satu baris, waktu dalam milidetik
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512);
+        json.append('{');
+        field(json, "name").append(quote(name)).append(',');
+        field(json, "arrivalRate").append(arrivalRate).append(',');
+        field(json, "durationMillis").append(duration.toMillis()).append(',');
+        field(json, "elapsedMillis").append(elapsed.toMillis()).append(',');
+        field(json, "sent").append(sent).append(',');
+        field(json, "succeeded").append(succeeded).append(',');
+        field(json, "failed").append(failed).append(',');
+        field(json, "rejected").append(rejected).append(',');
+        field(json, "throughput").append(format(getThroughput())).append(',');
+        field(json, "maxInFlight").append(maxInFlight).append(',');
+        field(json, "latencyMillis");
+        percentiles(json, latency).append(',');
+        field(json, "serviceTimeMillis");
+        percentiles(json, serviceTime).append(',');
+        field(json, "errors");
+        counts(json, errors).append(',');
+        field(json, "events");
+        counts(json, events).append(',');
+        field(json, "stateTransitions").append('[');
+        for (int i = 0; i < stateTransitions.size(); i++) {
+            StateTransition transition = stateTransitions.get(i);
+            json.append(i == 0 ? "{" : ",{");
+            field(json, "atMillis").append(transition.atMillis()).append(',');
+            field(json, "name").append(quote(transition.name())).append(',');
+            field(json, "from").append(quote(transition.from())).append(',');
+            field(json, "to").append(quote(transition.to())).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String field) {
+        return json.append(quote(field)).append(':');
+    }
+
+    private static StringBuilder percentiles(StringBuilder json, LatencySnapshot snapshot) {
+        json.append('{');
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            field(json, PERCENTILE_NAMES[i]).append(millis(snapshot.getValueAtPercentile(PERCENTILES[i]))).append(',');
+        }
+        field(json, "max").append(millis(snapshot.getMax()));
+        return json.append('}');
+    }
+
+    private static StringBuilder counts(StringBuilder json, Map<String, Long> counts) {
+        json.append('{');
+        counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> field(json, entry.getKey()).append(entry.getValue()).append(','));
+        if (json.charAt(json.length() - 1) == ',') {
+            json.setLength(json.length() - 1);
+        }
+        return json.append('}');
+    }
+
+    private static String millis(Duration duration) {
+        return format(duration.toNanos() / 1_000_000.0);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: sent %d, succeeded %d, failed %d, rejected %d, %.1f/s, p50 %.1fms, p99 %.1fms, max %.1fms",
+                name, sent, succeeded, failed, rejected, getThroughput(),
+                latency.getValueAtPercentile(50).toNanos() / 1_000_000.0,
+                latency.getValueAtPercentile(99).toNanos() / 1_000_000.0,
+                latency.getMax().toNanos() / 1_000_000.0);
+    }
+
+    /**
+     * @param atMillis dihitung dari awal run
+     */
+    public record StateTransition(long atMillis, String name, String from, String to) {
+    }
+}
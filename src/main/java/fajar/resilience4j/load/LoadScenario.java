@@ -0,0 +1,101 @@
+package fajar.resilience4j.load;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/** LoadScenario
+ * Definisi load test yang bisa diulang : arrival rate, durasi, SimulatedBackend, dan cara membuat Supplier yang di decorate
+ * Setiap run() membuat backend baru dan memanggil Setup lagi, jadi RateLimiter, Bulkhead, CircuitBreaker dan Retry nya
+ * juga baru (state dari run sebelumnya tidak terbawa), dan dengan seed yang sama backend memberi latency dan error yang sama
+ * Contoh :
+ * LoadScenario.custom("semaphoreBulkhead")
+ *         .arrivalRate(500)
+ *         .backend(SimulatedBackend.custom().latency(LatencyDistribution.fixed(Duration.ofMillis(50))))
+ *         .setup((backend, generator) -> {
+ *             Bulkhead bulkhead = Bulkhead.ofDefaults("fjr");
+ *             generator.observe(bulkhead);
+ *             return Bulkhead.decorateSupplier(bulkhead, backend::call);
+ *         })
+ *         .build()
+ *         .run();
+ */
+public final class LoadScenario {
+
+    private final String name;
+    private final int arrivalRate;
+    private final Duration duration;
+    private final SimulatedBackend.Builder backend;
+    private final Setup setup;
+
+    private LoadScenario(Builder builder) {
+        this.name = builder.name;
+        this.arrivalRate = builder.arrivalRate;
+        this.duration = builder.duration;
+        this.backend = builder.backend;
+        this.setup = builder.setup;
+    }
+
+    public static Builder custom(String name) {
+        return new Builder(name);
+    }
+
+    public LoadReport run() {
+        SimulatedBackend simulatedBackend = backend.build();
+        LoadGenerator.Builder generator = LoadGenerator.custom(name)
+                .arrivalRate(arrivalRate)
+                .duration(duration);
+        Supplier<?> supplier = setup.decorate(simulatedBackend, generator);
+        return generator.build().run(supplier);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Membuat instance resilience4j baru, mendaftarkan nya ke generator.observe(), lalu mengembalikan Supplier yang di decorate
+     */
+    @FunctionalInterface
+    public interface Setup {
+
+        Supplier<?> decorate(SimulatedBackend backend, LoadGenerator.Builder generator);
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private int arrivalRate = 100;
+        private Duration duration = Duration.ofSeconds(10);
+        private SimulatedBackend.Builder backend = SimulatedBackend.custom();
+        private Setup setup = (backend, generator) -> backend.supplier();
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "Name must not be null");
+        }
+
+        public Builder arrivalRate(int arrivalRate) {
+            this.arrivalRate = arrivalRate;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = Objects.requireNonNull(duration, "Duration must not be null");
+            return this;
+        }
+
+        public Builder backend(SimulatedBackend.Builder backend) {
+            this.backend = Objects.requireNonNull(backend, "Backend must not be null");
+            return this;
+        }
+
+        public Builder setup(Setup setup) {
+            this.setup = Objects.requireNonNull(setup, "Setup must not be null");
+            return this;
+        }
+
+        public LoadScenario build() {
+            return new LoadScenario(this);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package fajar.resilience4j.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/** SimulatedBackend
+ * Pengganti Thread.sleep() + throw di sayHello() / saySomething() pada test, untuk dijalankan oleh LoadGenerator
+ * - latency : LatencyDistribution (fixed, uniform, logNormal), menunggu dengan parkNanos jadi cocok untuk virtual thread
+ * - errorRate : bagian panggilan yang gagal dengan SimulatedBackendException setelah latency nya
+ * - outage : selama jendela waktu tertentu (dihitung dari panggilan pertama) semua panggilan langsung gagal tanpa latency
+ * Angka acak panggilan ke-n hanya bergantung pada seed dan n, jadi dua backend dengan seed sama memberi urutan latency dan error yang sama
+ */
+public final class SimulatedBackend {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final List<Outage> outages;
+    private final long seed;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong startNanos = new AtomicLong();
+    private final LongAdder errors = new LongAdder();
+
+    private SimulatedBackend(Builder builder) {
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.outages = List.copyOf(builder.outages);
+        this.seed = builder.seed;
+    }
+
+    public static Builder custom() {
+        return new Builder();
+    }
+
+    public static SimulatedBackend of(LatencyDistribution latency) {
+        return custom().latency(latency).build();
+    }
+
+    public String call() {
+        long n = sequence.getAndIncrement();
+        long now = System.nanoTime();
+        if (startNanos.get() == 0) {
+            startNanos.compareAndSet(0, now);
+        }
+        long elapsed = now - startNanos.get();
+        for (Outage outage : outages) {
+            if (outage.contains(elapsed)) {
+                errors.increment();
+                throw new SimulatedBackendException("Outage");
+            }
+        }
+        SplittableRandom random = new SplittableRandom(seed + n * GOLDEN_GAMMA);
+        park(latency.nextNanos(random));
+        if (random.nextDouble() < errorRate) {
+            errors.increment();
+            throw new SimulatedBackendException("ERROR");
+        }
+        return "Fajar";
+    }
+
+    public Supplier<String> supplier() {
+        return this::call;
+    }
+
+    private static void park(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    public long getCalls() {
+        return sequence.get();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public static final class Builder {
+
+        private LatencyDistribution latency = LatencyDistribution.fixed(Duration.ZERO);
+        private double errorRate;
+        private final List<Outage> outages = new ArrayList<>();
+        private long seed = 42;
+
+        private Builder() {
+        }
+
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = Objects.requireNonNull(latency, "LatencyDistribution must not be null");
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            if (!(errorRate >= 0.0 && errorRate <= 1.0)) {
+                throw new IllegalArgumentException("errorRate must be between 0.0 and 1.0");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * @param start dihitung dari panggilan pertama ke backend
+         */
+        public Builder outage(Duration start, Duration duration) {
+            Objects.requireNonNull(start, "Start must not be null");
+            Objects.requireNonNull(duration, "Duration must not be null");
+            outages.add(new Outage(start.toNanos(), start.toNanos() + duration.toNanos()));
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Setiap build() membuat backend baru dengan jam outage dan urutan acak dari awal, satu Builder bisa dipakai berulang kali
+         */
+        public SimulatedBackend build() {
+            return new SimulatedBackend(this);
+        }
+    }
+
+    private record Outage(long startNanos, long endNanos) {
+
+        boolean contains(long elapsedNanos) {
+            return elapsedNanos >= startNanos && elapsedNanos < endNanos;
+        }
+    }
+
+    /** LatencyDistribution
+     * Latency satu panggilan dalam nanodetik
+     */
+    @FunctionalInterface
+    public interface LatencyDistribution {
+
+        long nextNanos(SplittableRandom random);
+
+        static LatencyDistribution fixed(Duration latency) {
+            long nanos = latency.toNanos();
+            return random -> nanos;
+        }
+
+        static LatencyDistribution uniform(Duration min, Duration max) {
+            long minNanos = min.toNanos();
+            long maxNanos = max.toNanos();
+            if (maxNanos < minNanos) {
+                throw new IllegalArgumentException("max must not be less than min");
+            }
+            return random -> minNanos + (long) (random.nextDouble() * (maxNanos - minNanos));
+        }
+
+        /**
+         * Ekor panjang seperti latency layanan sungguhan, ditentukan oleh median dan p99 nya
+         */
+        static LatencyDistribution logNormal(Duration median, Duration p99) {
+            double mu = Math.log(median.toNanos());
+            //2.326 adalah z-score percentile 99 distribusi normal
+            double sigma = (Math.log(p99.toNanos()) - mu) / 2.326;
+            if (sigma < 0) {
+                throw new IllegalArgumentException("p99 must not be less than median");
+            }
+            return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+
+    public static final class SimulatedBackendException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public SimulatedBackendException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,633 @@
+package fajar.resilience4j.logging;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.event.BulkheadEvent;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnErrorEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnFailureRateExceededEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnIgnoredErrorEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnSlowCallRateExceededEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnSuccessEvent;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.event.RetryEvent;
+import io.github.resilience4j.retry.event.RetryOnRetryEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/** ResilienceEventLog
+ * Di RateLimiterTest dan CirkuitBreakerTest setiap panggilan menulis log lewat logback (appender synchronous),
+ * jadi biaya format String dan tulis ke console/file ikut terukur sebagai biaya panggilan yang di decorate
+ * ResilienceEventLog adalah jembatan log khusus event CircuitBreaker, Retry, RateLimiter dan Bulkhead :
+ * - di thread pemanggil event hanya disalin sebagai angka (modul, tipe, id instance, nilai, id class error, waktu) ke ring buffer,
+ *   tidak ada String yang dibuat dan tidak ada alokasi, jika ring buffer penuh record dibuang (getDroppedRecords), pemanggil tidak pernah menunggu
+ * - satu thread background memformat record menjadi satu baris teks (nama instance dan class error sudah di encode sekali saat pertama dipakai)
+ *   lalu menulis langsung ke file memory-mapped, tanpa alokasi per record
+ * - file bergulir : name-0.log, name-1.log, ... setiap file paling besar fileSize byte, hanya maxFiles file terakhir yang disimpan
+ * - sampleRate per instance untuk event frekuensi tinggi (CircuitBreaker SUCCESS, RateLimiter SUCCESSFUL_ACQUIRE,
+ *   Bulkhead CALL_PERMITTED dan CALL_FINISHED), event lain (error, state transition, rejected) selalu ditulis
+ * Contoh baris : 2026-10-17T08:15:30.123Z CircuitBreaker fjr ERROR elapsedMicros=12 error=java.lang.IllegalArgumentException
+ * Contoh : ResilienceEventLog.of(Path.of("logs"), "resilience").register(circuitBreaker, 0.01).register(retry)
+ */
+public final class ResilienceEventLog implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_FILE_SIZE = 16 * 1024 * 1024;
+    public static final int DEFAULT_MAX_FILES = 4;
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    //nilai tail setelah thread background selesai, tidak ada slot yang bisa diambil lagi
+    private static final long SEALED = Long.MIN_VALUE;
+    //nama instance dan class error dipotong, supaya satu baris selalu muat di LINE_SIZE
+    private static final int MAX_NAME_LENGTH = 200;
+    private static final int MAX_ERROR_LENGTH = 300;
+    private static final int LINE_SIZE = 1024;
+
+    private static final byte CIRCUIT_BREAKER = 0;
+    private static final byte RETRY = 1;
+    private static final byte RATE_LIMITER = 2;
+    private static final byte BULKHEAD = 3;
+    private static final byte[][] MODULE_NAMES = encode("CircuitBreaker", "Retry", "RateLimiter", "Bulkhead");
+    private static final byte[][][] TYPE_NAMES = {
+            encode((Object[]) CircuitBreakerEvent.Type.values()),
+            encode((Object[]) RetryEvent.Type.values()),
+            encode((Object[]) RateLimiterEvent.Type.values()),
+            encode((Object[]) BulkheadEvent.Type.values())
+    };
+    private static final byte[][] STATE_NAMES = encode((Object[]) CircuitBreaker.State.values());
+
+    private final Path directory;
+    private final String name;
+    private final int fileSize;
+    private final int maxFiles;
+
+    //ring buffer bounded MPSC (Vyukov), setiap field record disimpan di array primitif sendiri
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final byte[] modules;
+    private final byte[] types;
+    private final int[] instances;
+    private final long[] firstValues;
+    private final long[] secondValues;
+    private final int[] errors;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    //copy-on-write, dibaca thread background tanpa lock
+    private volatile byte[][] instanceNames = new byte[0][];
+    private volatile byte[][] errorNames = new byte[0][];
+    private final ConcurrentHashMap<Class<?>, Integer> errorIds = new ConcurrentHashMap<>();
+
+    private final LongAdder droppedRecords = new LongAdder();
+    private final LongAdder sampledOutRecords = new LongAdder();
+    private volatile long writtenRecords;
+    private final Thread worker;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    //hanya dipakai thread background
+    private final byte[] line = new byte[LINE_SIZE];
+    private volatile int fileIndex;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long cachedSecond = Long.MIN_VALUE;
+    private final byte[] cachedTimestamp = new byte[20];
+
+    public ResilienceEventLog(Path directory, String name, int fileSize, int maxFiles, int capacity) {
+        this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        if (fileSize < LINE_SIZE) {
+            throw new IllegalArgumentException("fileSize must be at least " + LINE_SIZE);
+        }
+        if (maxFiles <= 0) {
+            throw new IllegalArgumentException("maxFiles must be greater than 0");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.fileSize = fileSize;
+        this.maxFiles = maxFiles;
+        int normalizedCapacity = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = normalizedCapacity - 1;
+        this.sequences = new AtomicLongArray(normalizedCapacity);
+        for (int i = 0; i < normalizedCapacity; i++) {
+            sequences.set(i, i);
+        }
+        this.timestamps = new long[normalizedCapacity];
+        this.modules = new byte[normalizedCapacity];
+        this.types = new byte[normalizedCapacity];
+        this.instances = new int[normalizedCapacity];
+        this.firstValues = new long[normalizedCapacity];
+        this.secondValues = new long[normalizedCapacity];
+        this.errors = new int[normalizedCapacity];
+        try {
+            Files.createDirectories(directory);
+            openFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.worker = Thread.ofPlatform()
+                .daemon(true)
+                .name("event-log-" + name)
+                .unstarted(this::run);
+        this.worker.start();
+    }
+
+    public static ResilienceEventLog of(Path directory, String name) {
+        return new ResilienceEventLog(directory, name, DEFAULT_FILE_SIZE, DEFAULT_MAX_FILES, DEFAULT_CAPACITY);
+    }
+
+    public ResilienceEventLog register(CircuitBreaker circuitBreaker) {
+        return register(circuitBreaker, 1.0);
+    }
+
+    /**
+     * @param sampleRate 0.0 sampai 1.0, bagian dari event SUCCESS yang ditulis
+     */
+    public ResilienceEventLog register(CircuitBreaker circuitBreaker, double sampleRate) {
+        Objects.requireNonNull(circuitBreaker, "CircuitBreaker must not be null");
+        int instance = registerInstance(circuitBreaker.getName());
+        checkSampleRate(sampleRate);
+        circuitBreaker.getEventPublisher().onEvent(event -> {
+            CircuitBreakerEvent.Type type = event.getEventType();
+            long first = 0;
+            long second = 0;
+            Throwable throwable = null;
+            switch (type) {
+                case SUCCESS -> {
+                    if (sampledOut(sampleRate)) {
+                        return;
+                    }
+                    first = toMicros(((CircuitBreakerOnSuccessEvent) event).getElapsedDuration());
+                }
+                case ERROR -> {
+                    CircuitBreakerOnErrorEvent errorEvent = (CircuitBreakerOnErrorEvent) event;
+                    first = toMicros(errorEvent.getElapsedDuration());
+                    throwable = errorEvent.getThrowable();
+                }
+                case IGNORED_ERROR -> {
+                    CircuitBreakerOnIgnoredErrorEvent errorEvent = (CircuitBreakerOnIgnoredErrorEvent) event;
+                    first = toMicros(errorEvent.getElapsedDuration());
+                    throwable = errorEvent.getThrowable();
+                }
+                case STATE_TRANSITION -> {
+                    CircuitBreaker.StateTransition transition = ((CircuitBreakerOnStateTransitionEvent) event).getStateTransition();
+                    first = transition.getFromState().ordinal();
+                    second = transition.getToState().ordinal();
+                }
+                //rate disimpan dikali 100, supaya bisa ditulis dengan 2 angka di belakang koma tanpa format float
+                case FAILURE_RATE_EXCEEDED ->
+                        first = Math.round(((CircuitBreakerOnFailureRateExceededEvent) event).getFailureRate() * 100.0);
+                case SLOW_CALL_RATE_EXCEEDED ->
+                        first = Math.round(((CircuitBreakerOnSlowCallRateExceededEvent) event).getSlowCallRate() * 100.0);
+                default -> {
+                }
+            }
+            publish(CIRCUIT_BREAKER, type.ordinal(), instance, first, second, throwable);
+        });
+        return this;
+    }
+
+    /**
+     * Event Retry hanya muncul saat ada retry atau error, jadi tidak ada sampling
+     */
+    public ResilienceEventLog register(Retry retry) {
+        Objects.requireNonNull(retry, "Retry must not be null");
+        int instance = registerInstance(retry.getName());
+        retry.getEventPublisher().onEvent(event -> {
+            long waitMillis = event instanceof RetryOnRetryEvent retryEvent ? retryEvent.getWaitInterval().toMillis() : 0;
+            publish(RETRY, event.getEventType().ordinal(), instance,
+                    event.getNumberOfRetryAttempts(), waitMillis, event.getLastThrowable());
+        });
+        return this;
+    }
+
+    public ResilienceEventLog register(RateLimiter rateLimiter) {
+        return register(rateLimiter, 1.0);
+    }
+
+    /**
+     * @param sampleRate 0.0 sampai 1.0, bagian dari event SUCCESSFUL_ACQUIRE yang ditulis
+     */
+    public ResilienceEventLog register(RateLimiter rateLimiter, double sampleRate) {
+        Objects.requireNonNull(rateLimiter, "RateLimiter must not be null");
+        int instance = registerInstance(rateLimiter.getName());
+        checkSampleRate(sampleRate);
+        rateLimiter.getEventPublisher().onEvent(event -> {
+            RateLimiterEvent.Type type = event.getEventType();
+            if (type == RateLimiterEvent.Type.SUCCESSFUL_ACQUIRE && sampledOut(sampleRate)) {
+                return;
+            }
+            publish(RATE_LIMITER, type.ordinal(), instance, event.getNumberOfPermits(), 0, null);
+        });
+        return this;
+    }
+
+    public ResilienceEventLog register(Bulkhead bulkhead) {
+        return register(bulkhead, 1.0);
+    }
+
+    /**
+     * @param sampleRate 0.0 sampai 1.0, bagian dari event CALL_PERMITTED dan CALL_FINISHED yang ditulis
+     */
+    public ResilienceEventLog register(Bulkhead bulkhead, double sampleRate) {
+        Objects.requireNonNull(bulkhead, "Bulkhead must not be null");
+        int instance = registerInstance(bulkhead.getName());
+        checkSampleRate(sampleRate);
+        bulkhead.getEventPublisher().onEvent(event -> {
+            BulkheadEvent.Type type = event.getEventType();
+            if (type != BulkheadEvent.Type.CALL_REJECTED && sampledOut(sampleRate)) {
+                return;
+            }
+            publish(BULKHEAD, type.ordinal(), instance, 0, 0, null);
+        });
+        return this;
+    }
+
+    private static void checkSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0");
+        }
+    }
+
+    private boolean sampledOut(double sampleRate) {
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return false;
+        }
+        sampledOutRecords.increment();
+        return true;
+    }
+
+    private static long toMicros(Duration duration) {
+        return TimeUnit.NANOSECONDS.toMicros(duration.toNanos());
+    }
+
+    private synchronized int registerInstance(String instanceName) {
+        byte[][] names = Arrays.copyOf(instanceNames, instanceNames.length + 1);
+        names[names.length - 1] = truncate(instanceName, MAX_NAME_LENGTH);
+        instanceNames = names;
+        return names.length - 1;
+    }
+
+    private synchronized int registerError(Class<?> type) {
+        byte[][] names = Arrays.copyOf(errorNames, errorNames.length + 1);
+        names[names.length - 1] = truncate(type.getName(), MAX_ERROR_LENGTH);
+        errorNames = names;
+        return names.length - 1;
+    }
+
+    private int errorId(Throwable throwable) {
+        if (throwable == null) {
+            return -1;
+        }
+        Integer id = errorIds.get(throwable.getClass());
+        if (id == null) {
+            id = errorIds.computeIfAbsent(throwable.getClass(), this::registerError);
+        }
+        return id;
+    }
+
+    private void publish(byte module, int type, int instance, long first, long second, Throwable throwable) {
+        if (closed) {
+            droppedRecords.increment();
+            return;
+        }
+        int error = errorId(throwable);
+        long position = tail.get();
+        while (true) {
+            if (position == SEALED) {
+                //close() sudah selesai menulis semua record, thread background tidak akan membaca slot lagi
+                droppedRecords.increment();
+                return;
+            }
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    timestamps[index] = System.currentTimeMillis();
+                    modules[index] = module;
+                    types[index] = (byte) type;
+                    instances[index] = instance;
+                    firstValues[index] = first;
+                    secondValues[index] = second;
+                    errors[index] = error;
+                    sequences.set(index, position + 1);
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                //ring buffer penuh, record dibuang supaya pemanggil tidak menunggu thread background
+                droppedRecords.increment();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+        if (waiting) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    //hanya satu consumer (thread background), jadi head tidak perlu CAS
+    private boolean poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return false;
+        }
+        int length = format(index);
+        sequences.set(index, position + mask + 1);
+        write(length);
+        //head baru maju setelah record ditulis, flush() menunggu head
+        head.set(position + 1);
+        return true;
+    }
+
+    private void run() {
+        while (true) {
+            if (poll()) {
+                continue;
+            }
+            if (closed) {
+                //record yang masuk sebelum close() tetap ditulis
+                //tail baru ditutup (SEALED) jika tidak ada producer yang sudah mengambil slot tetapi belum selesai mengisi nya,
+                //producer yang lolos cek closed setelah ini dihitung sebagai dropped
+                if (!poll()) {
+                    if (tail.compareAndSet(head.get(), SEALED)) {
+                        closeFile();
+                        return;
+                    }
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            waiting = true;
+            if (tail.get() == head.get()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            waiting = false;
+        }
+    }
+
+    private int format(int index) {
+        int module = modules[index];
+        int type = types[index];
+        int position = putTimestamp(timestamps[index]);
+        line[position++] = ' ';
+        position = put(MODULE_NAMES[module], position);
+        line[position++] = ' ';
+        position = put(instanceNames[instances[index]], position);
+        line[position++] = ' ';
+        position = put(TYPE_NAMES[module][type], position);
+        long first = firstValues[index];
+        long second = secondValues[index];
+        switch (module) {
+            case CIRCUIT_BREAKER -> {
+                if (type == CircuitBreakerEvent.Type.SUCCESS.ordinal()
+                        || type == CircuitBreakerEvent.Type.ERROR.ordinal()
+                        || type == CircuitBreakerEvent.Type.IGNORED_ERROR.ordinal()) {
+                    position = putLong(put(" elapsedMicros=", position), first);
+                } else if (type == CircuitBreakerEvent.Type.STATE_TRANSITION.ordinal()) {
+                    position = put(STATE_NAMES[(int) first], put(" from=", position));
+                    position = put(STATE_NAMES[(int) second], put(" to=", position));
+                } else if (type == CircuitBreakerEvent.Type.FAILURE_RATE_EXCEEDED.ordinal()
+                        || type == CircuitBreakerEvent.Type.SLOW_CALL_RATE_EXCEEDED.ordinal()) {
+                    position = putLong(put(" rate=", position), first / 100);
+                    line[position++] = '.';
+                    position = putDigits(position, first % 100, 2);
+                }
+            }
+            case RETRY -> {
+                position = putLong(put(" attempts=", position), first);
+                if (type == RetryEvent.Type.RETRY.ordinal()) {
+                    position = putLong(put(" waitMillis=", position), second);
+                }
+            }
+            case RATE_LIMITER -> position = putLong(put(" permits=", position), first);
+            default -> {
+            }
+        }
+        int error = errors[index];
+        if (error >= 0) {
+            position = put(errorNames[error], put(" error=", position));
+        }
+        line[position++] = '\n';
+        return position;
+    }
+
+    //format ISO-8601 UTC, bagian sampai detik hanya dihitung ulang saat detik nya berganti
+    private int putTimestamp(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            long days = Math.floorDiv(second, 86_400);
+            long secondOfDay = second - days * 86_400;
+            //civil from days (Howard Hinnant), tanpa LocalDateTime
+            long z = days + 719_468;
+            long era = Math.floorDiv(z, 146_097);
+            long dayOfEra = z - era * 146_097;
+            long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+            long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            long mp = (5 * dayOfYear + 2) / 153;
+            long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+            long month = mp < 10 ? mp + 3 : mp - 9;
+            long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+            putDigits(cachedTimestamp, 0, year, 4);
+            cachedTimestamp[4] = '-';
+            putDigits(cachedTimestamp, 5, month, 2);
+            cachedTimestamp[7] = '-';
+            putDigits(cachedTimestamp, 8, day, 2);
+            cachedTimestamp[10] = 'T';
+            putDigits(cachedTimestamp, 11, secondOfDay / 3600, 2);
+            cachedTimestamp[13] = ':';
+            putDigits(cachedTimestamp, 14, secondOfDay / 60 % 60, 2);
+            cachedTimestamp[16] = ':';
+            putDigits(cachedTimestamp, 17, secondOfDay % 60, 2);
+            cachedTimestamp[19] = '.';
+        }
+        System.arraycopy(cachedTimestamp, 0, line, 0, cachedTimestamp.length);
+        int position = putDigits(cachedTimestamp.length, millis - second * 1000, 3);
+        line[position++] = 'Z';
+        return position;
+    }
+
+    private int put(byte[] bytes, int position) {
+        System.arraycopy(bytes, 0, line, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    //hanya untuk literal ASCII, String literal di intern jadi tidak ada alokasi
+    private int put(String ascii, int position) {
+        for (int i = 0; i < ascii.length(); i++) {
+            line[position++] = (byte) ascii.charAt(i);
+        }
+        return position;
+    }
+
+    private int putLong(int position, long value) {
+        if (value < 0) {
+            line[position++] = '-';
+            if (value == Long.MIN_VALUE) {
+                return put("9223372036854775808", position);
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        return putDigits(position, value, digits);
+    }
+
+    private int putDigits(int position, long value, int digits) {
+        return putDigits(line, position, value, digits);
+    }
+
+    private static int putDigits(byte[] target, int position, long value, int digits) {
+        for (int i = position + digits - 1; i >= position; i--) {
+            target[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
+    }
+
+    private void write(int length) {
+        try {
+            if (buffer.remaining() < length) {
+                rollFile();
+            }
+            buffer.put(line, 0, length);
+            writtenRecords++;
+        } catch (IOException | RuntimeException e) {
+            droppedRecords.increment();
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    private Path file(int index) {
+        return directory.resolve(name + "-" + index + ".log");
+    }
+
+    private void openFile() throws IOException {
+        channel = FileChannel.open(file(fileIndex), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+    }
+
+    private void rollFile() throws IOException {
+        finishFile();
+        fileIndex++;
+        Files.deleteIfExists(file(fileIndex - maxFiles));
+        openFile();
+    }
+
+    //file di potong sesuai isi, supaya tidak ada byte 0 di akhir file
+    private void finishFile() throws IOException {
+        buffer.force();
+        channel.truncate(buffer.position());
+        channel.close();
+    }
+
+    private void closeFile() {
+        try {
+            finishFile();
+        } catch (IOException e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    private static byte[] truncate(String value, int maxLength) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > maxLength ? Arrays.copyOf(bytes, maxLength) : bytes;
+    }
+
+    private static byte[][] encode(Object... values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i].toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return encoded;
+    }
+
+    /**
+     * Menunggu sampai semua record yang sudah masuk ditulis ke file
+     */
+    public void flush() {
+        long target = tail.get();
+        while (head.get() < target && worker.isAlive()) {
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(this, PARK_NANOS / 10);
+        }
+    }
+
+    /**
+     * Jumlah record yang sudah ditulis ke file
+     */
+    public long getWrittenRecords() {
+        return writtenRecords;
+    }
+
+    /**
+     * Jumlah record yang dibuang karena ring buffer penuh, gagal ditulis, atau sudah di close()
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    /**
+     * Jumlah event frekuensi tinggi yang tidak ditulis karena sampleRate
+     */
+    public long getSampledOutRecords() {
+        return sampledOutRecords.sum();
+    }
+
+    public Path getCurrentFile() {
+        return file(fileIndex);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Record yang sudah ada di ring buffer tetap ditulis, lalu file terakhir dipotong sesuai isi dan ditutup
+     * Menunggu sampai thread background selesai
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package fajar.resilience4j.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/** LatencyMetrics
+ * Histogram latency untuk satu instance (misal satu CircuitBreaker "fjr"), satu LatencyRecorder per Type
+ * - CALL_DURATION : lama eksekusi yang di decorate (untuk Retry, total semua percobaan termasuk backoff)
+ * - PERMIT_WAIT : lama menunggu permission dari RateLimiter, Bulkhead atau antrian ThreadPoolBulkhead
+ * - RETRY_BACKOFF : total waktu menunggu backoff Retry dalam satu eksekusi
+ * Diisi oleh TimedDecorators, atau langsung dengan record() / timeSupplier()
+ */
+public final class LatencyMetrics {
+
+    public enum Type {
+        CALL_DURATION, PERMIT_WAIT, RETRY_BACKOFF
+    }
+
+    private final String name;
+    private final Map<Type, LatencyRecorder> recorders = new EnumMap<>(Type.class);
+    //field terpisah supaya jalur record tidak perlu lookup EnumMap
+    private final LatencyRecorder callDuration = new LatencyRecorder();
+    private final LatencyRecorder permitWait = new LatencyRecorder();
+    private final LatencyRecorder retryBackoff = new LatencyRecorder();
+
+    public LatencyMetrics(String name) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        recorders.put(Type.CALL_DURATION, callDuration);
+        recorders.put(Type.PERMIT_WAIT, permitWait);
+        recorders.put(Type.RETRY_BACKOFF, retryBackoff);
+    }
+
+    public static LatencyMetrics of(String name) {
+        return new LatencyMetrics(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(Type type, long nanos) {
+        recorders.get(type).record(nanos);
+    }
+
+    public void recordCallDuration(long nanos) {
+        callDuration.record(nanos);
+    }
+
+    public void recordPermitWait(long nanos) {
+        permitWait.record(nanos);
+    }
+
+    public void recordRetryBackoff(long nanos) {
+        retryBackoff.record(nanos);
+    }
+
+    public LatencySnapshot intervalSnapshot(Type type) {
+        return recorders.get(type).intervalSnapshot();
+    }
+
+    public LatencySnapshot totalSnapshot(Type type) {
+        return recorders.get(type).totalSnapshot();
+    }
+
+    /**
+     * Hanya mencatat CALL_DURATION, bisa dipakai dengan Decorators : Decorators.ofSupplier(metrics.timeSupplier(supplier))
+     */
+    public <T> Supplier<T> timeSupplier(Supplier<T> supplier) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                callDuration.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * CALL_DURATION dihitung sampai CompletionStage selesai, misal untuk TimeLimiter atau AsyncRetry
+     */
+    public <T> Supplier<CompletionStage<T>> timeCompletionStage(Supplier<? extends CompletionStage<T>> supplier) {
+        return () -> {
+            long start = System.nanoTime();
+            CompletionStage<T> stage = supplier.get();
+            stage.whenComplete((result, throwable) -> callDuration.record(System.nanoTime() - start));
+            return stage;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyMetrics '" + name + "'";
+    }
+}
@@ -0,0 +1,38 @@
+package fajar.resilience4j.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** LatencyMetricsRegistry
+ * Satu LatencyMetrics per nama instance, sama seperti registry Resilience4J, misal metrics("fjr") untuk CircuitBreaker "fjr"
+ * Nama yang sama dengan nama di CircuitBreakerRegistry / RetryRegistry supaya histogram nya mudah dicocokkan
+ */
+public final class LatencyMetricsRegistry {
+
+    private final Map<String, LatencyMetrics> entries = new ConcurrentHashMap<>();
+
+    public static LatencyMetricsRegistry ofDefaults() {
+        return new LatencyMetricsRegistry();
+    }
+
+    public LatencyMetrics metrics(String name) {
+        Objects.requireNonNull(name, "Name must not be null");
+        return entries.computeIfAbsent(name, LatencyMetrics::new);
+    }
+
+    public Optional<LatencyMetrics> find(String name) {
+        return Optional.ofNullable(entries.get(name));
+    }
+
+    public Optional<LatencyMetrics> remove(String name) {
+        return Optional.ofNullable(entries.remove(name));
+    }
+
+    public Collection<LatencyMetrics> getAllMetrics() {
+        return List.copyOf(entries.values());
+    }
+}
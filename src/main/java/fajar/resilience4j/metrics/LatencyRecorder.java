@@ -0,0 +1,102 @@
+package fajar.resilience4j.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** LatencyRecorder
+ * Histogram HdrHistogram yang dibagi menjadi beberapa stripe, setiap thread mencatat ke stripe berdasarkan threadId
+ * Recorder bawaan HdrHistogram memakai ConcurrentHistogram dan WriterReaderPhaser (beberapa operasi atomic per record), sekitar 3x lebih lambat
+ * Setiap stripe adalah Histogram biasa yang dijaga satu CAS, jika stripe sedang dipakai thread lain, record() pindah ke stripe berikutnya
+ * Jumlah stripe tetap (bukan satu per thread), jadi aman dipakai dari banyak virtual thread
+ * intervalSnapshot() mengambil isi semua stripe lalu mengosongkannya, isinya adalah latency sejak snapshot sebelumnya
+ * Nilai dicatat dalam nanodetik dengan 2 digit presisi (error maksimal 1%), ukuran histogram menyesuaikan nilai terbesar
+ */
+public final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final int STRIPES = stripes();
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    //sample yang sudah diambil dari stripe oleh totalSnapshot() tapi belum dikembalikan oleh intervalSnapshot()
+    private final Histogram pending = new Histogram(SIGNIFICANT_DIGITS);
+
+    public LatencyRecorder() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    //pangkat 2 terdekat di atas 2 x jumlah core, supaya index stripe cukup dihitung dengan mask
+    private static int stripes() {
+        int target = Runtime.getRuntime().availableProcessors() * 2;
+        int stripes = 1;
+        while (stripes < target) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int index = (int) Thread.currentThread().threadId();
+        while (true) {
+            Stripe stripe = stripes[index & (STRIPES - 1)];
+            if (stripe.lock.compareAndSet(0, 1)) {
+                try {
+                    stripe.histogram.recordValue(value);
+                } finally {
+                    stripe.lock.setRelease(0);
+                }
+                return;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Latency sejak intervalSnapshot() sebelumnya
+     */
+    public synchronized LatencySnapshot intervalSnapshot() {
+        drain();
+        LatencySnapshot snapshot = new LatencySnapshot(pending.copy());
+        pending.reset();
+        return snapshot;
+    }
+
+    /**
+     * Latency sejak recorder dibuat, termasuk yang belum diambil oleh intervalSnapshot()
+     */
+    public synchronized LatencySnapshot totalSnapshot() {
+        drain();
+        return new LatencySnapshot(total.copy());
+    }
+
+    public synchronized void reset() {
+        drain();
+        total.reset();
+        pending.reset();
+    }
+
+    private void drain() {
+        for (Stripe stripe : stripes) {
+            while (!stripe.lock.compareAndSet(0, 1)) {
+                Thread.onSpinWait();
+            }
+            try {
+                total.add(stripe.histogram);
+                pending.add(stripe.histogram);
+                stripe.histogram.reset();
+            } finally {
+                stripe.lock.setRelease(0);
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final AtomicInteger lock = new AtomicInteger();
+        private final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,53 @@
+package fajar.resilience4j.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/** LatencySnapshot
+ * Salinan histogram yang tidak berubah lagi, untuk query percentile, mean, max dan jumlah sample
+ */
+public final class LatencySnapshot {
+
+    private final Histogram histogram;
+
+    LatencySnapshot(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * @param percentile 0 sampai 100, misal 99.9
+     */
+    public Duration getValueAtPercentile(double percentile) {
+        return Duration.ofNanos(histogram.getValueAtPercentile(percentile));
+    }
+
+    public Duration getMean() {
+        return Duration.ofNanos((long) histogram.getMean());
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(histogram.getMaxValue());
+    }
+
+    /**
+     * Histogram HdrHistogram nya, misal untuk outputPercentileDistribution() atau dikirim ke sistem monitoring
+     */
+    public Histogram getHistogram() {
+        return histogram.copy();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{" +
+                "count=" + getCount() +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
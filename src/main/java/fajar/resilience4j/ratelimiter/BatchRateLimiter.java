@@ -0,0 +1,346 @@
+package fajar.resilience4j.ratelimiter;
+
+import fajar.resilience4j.core.FilteringEventProcessor;
+import fajar.resilience4j.core.TimeSource;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnDrainedEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/** BatchRateLimiter
+ * RateLimiter dengan algoritma yang sama seperti RateLimiter.of() (AtomicRateLimiter) : permit dihitung per cycle limitRefreshPeriod
+ * Bedanya ada acquirePermissions(maxPermits), banyak permit diambil dengan satu CAS dan boleh diberikan sebagian (partial grant)
+ * Jadi untuk memproses 1024 record cukup beberapa kali CAS dan perhitungan cycle, bukan 1024 kali seperti decorateRunnable() per record
+ * decorateConsumer() memecah List sesuai permit yang didapat, dan tetap mengikuti limitForPeriod dan timeoutDuration dari RateLimiterConfig
+ * Cycle dan waktu tunggu permit dihitung dari TimeSource, dengan VirtualTimeSource limitRefreshPeriod 2 menit tidak perlu ditunggu sungguhan
+ */
+public class BatchRateLimiter implements RateLimiter {
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final TimeSource timeSource;
+    private final long nanoTimeStart;
+    private final AtomicInteger waitingThreads = new AtomicInteger(0);
+    private final AtomicReference<State> state;
+    private final BatchRateLimiterEventProcessor eventProcessor = new BatchRateLimiterEventProcessor();
+
+    public BatchRateLimiter(String name, RateLimiterConfig config, Map<String, String> tags) {
+        this(name, config, tags, TimeSource.system());
+    }
+
+    public BatchRateLimiter(String name, RateLimiterConfig config, Map<String, String> tags, TimeSource timeSource) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.timeSource = Objects.requireNonNull(timeSource, "TimeSource must not be null");
+        this.nanoTimeStart = timeSource.nanoTime();
+        Objects.requireNonNull(config, "Config must not be null");
+        this.state = new AtomicReference<>(new State(config, 0, config.getLimitForPeriod(), 0));
+    }
+
+    public static BatchRateLimiter ofDefaults(String name) {
+        return of(name, RateLimiterConfig.ofDefaults());
+    }
+
+    public static BatchRateLimiter of(String name, RateLimiterConfig config) {
+        return new BatchRateLimiter(name, config, Collections.emptyMap());
+    }
+
+    public static BatchRateLimiter of(String name, RateLimiterConfig config, Map<String, String> tags) {
+        return new BatchRateLimiter(name, config, tags);
+    }
+
+    public static BatchRateLimiter of(String name, RateLimiterConfig config, TimeSource timeSource) {
+        return new BatchRateLimiter(name, config, Collections.emptyMap(), timeSource);
+    }
+
+    /**
+     * Mengambil sampai maxPermits permit dengan satu operasi
+     * Jika di cycle sekarang masih ada permit, langsung diberikan sebanyak yang tersedia (bisa kurang dari maxPermits)
+     * Jika sudah habis, menunggu cycle berikutnya maksimal timeoutDuration untuk min(maxPermits, limitForPeriod) permit
+     *
+     * @return jumlah permit yang didapat, 0 jika tidak mendapat permit dalam timeoutDuration
+     */
+    public int acquirePermissions(int maxPermits) {
+        if (maxPermits <= 0) {
+            throw new IllegalArgumentException("maxPermits must be greater than 0");
+        }
+        long timeoutInNanos = state.get().config.getTimeoutDuration().toNanos();
+        State previous;
+        State next;
+        int granted;
+        do {
+            previous = state.get();
+            State refreshed = refresh(previous);
+            RateLimiterConfig config = refreshed.config;
+            if (refreshed.activePermissions > 0) {
+                granted = Math.min(maxPermits, refreshed.activePermissions);
+                next = new State(config, refreshed.activeCycle, refreshed.activePermissions - granted, 0);
+            } else {
+                //permit habis, reservasi permit di cycle berikutnya jika masih sempat dalam timeout
+                granted = Math.min(maxPermits, config.getLimitForPeriod());
+                long nanosToWait = nanosToWaitForPermission(granted, refreshed);
+                if (timeoutInNanos >= nanosToWait) {
+                    next = new State(config, refreshed.activeCycle, refreshed.activePermissions - granted, nanosToWait);
+                } else {
+                    granted = 0;
+                    next = new State(config, refreshed.activeCycle, refreshed.activePermissions, nanosToWait);
+                }
+            }
+        } while (!compareAndSet(previous, next));
+
+        boolean result = granted > 0 ? waitForPermissionIfNecessary(next.nanosToWait) : waitForTimeout(timeoutInNanos);
+        publishRateLimiterAcquisitionEvent(result, result ? granted : maxPermits);
+        return result ? granted : 0;
+    }
+
+    @Override
+    public boolean acquirePermission(int permits) {
+        long timeoutInNanos = state.get().config.getTimeoutDuration().toNanos();
+        State next = updateStateWithBackOff(permits, timeoutInNanos);
+        boolean result = timeoutInNanos >= next.nanosToWait
+                ? waitForPermissionIfNecessary(next.nanosToWait)
+                : waitForTimeout(timeoutInNanos);
+        publishRateLimiterAcquisitionEvent(result, permits);
+        return result;
+    }
+
+    @Override
+    public long reservePermission(int permits) {
+        long timeoutInNanos = state.get().config.getTimeoutDuration().toNanos();
+        State next = updateStateWithBackOff(permits, timeoutInNanos);
+        boolean canAcquireInTime = timeoutInNanos >= next.nanosToWait;
+        publishRateLimiterAcquisitionEvent(canAcquireInTime, permits);
+        return canAcquireInTime ? Math.max(0, next.nanosToWait) : -1;
+    }
+
+    @Override
+    public void drainPermissions() {
+        State previous;
+        State next;
+        int drained;
+        do {
+            previous = state.get();
+            State refreshed = refresh(previous);
+            drained = Math.max(0, refreshed.activePermissions);
+            next = new State(refreshed.config, refreshed.activeCycle, refreshed.activePermissions - drained, 0);
+        } while (!compareAndSet(previous, next));
+        if (eventProcessor.hasConsumers(RateLimiterOnDrainedEvent.class)) {
+            eventProcessor.consumeEvent(new RateLimiterOnDrainedEvent(name, drained));
+        }
+    }
+
+    @Override
+    public void changeTimeoutDuration(Duration timeoutDuration) {
+        RateLimiterConfig newConfig = RateLimiterConfig.from(state.get().config).timeoutDuration(timeoutDuration).build();
+        state.updateAndGet(current -> new State(newConfig, current.activeCycle, current.activePermissions, current.nanosToWait));
+    }
+
+    @Override
+    public void changeLimitForPeriod(int limitForPeriod) {
+        RateLimiterConfig newConfig = RateLimiterConfig.from(state.get().config).limitForPeriod(limitForPeriod).build();
+        state.updateAndGet(current -> new State(newConfig, current.activeCycle, current.activePermissions, current.nanosToWait));
+    }
+
+    private State updateStateWithBackOff(int permits, long timeoutInNanos) {
+        State previous;
+        State next;
+        do {
+            previous = state.get();
+            State refreshed = refresh(previous);
+            long nanosToWait = nanosToWaitForPermission(permits, refreshed);
+            int permissions = timeoutInNanos >= nanosToWait
+                    ? refreshed.activePermissions - permits
+                    : refreshed.activePermissions;
+            next = new State(refreshed.config, refreshed.activeCycle, permissions, nanosToWait);
+        } while (!compareAndSet(previous, next));
+        return next;
+    }
+
+    //sama seperti AtomicRateLimiter, jika CAS gagal tunggu sebentar supaya tidak berebut terus
+    private boolean compareAndSet(State current, State next) {
+        if (state.compareAndSet(current, next)) {
+            return true;
+        }
+        LockSupport.parkNanos(1);
+        return false;
+    }
+
+    //menambah permit untuk cycle yang sudah lewat, maksimal limitForPeriod
+    private State refresh(State current) {
+        long cyclePeriodInNanos = current.config.getLimitRefreshPeriod().toNanos();
+        int permissionsPerCycle = current.config.getLimitForPeriod();
+        long currentCycle = currentNanoTime() / cyclePeriodInNanos;
+        if (current.activeCycle == currentCycle) {
+            return current;
+        }
+        long elapsedCycles = currentCycle - current.activeCycle;
+        long accumulatedPermissions = elapsedCycles * permissionsPerCycle;
+        int permissions = (int) Math.min(current.activePermissions + accumulatedPermissions, permissionsPerCycle);
+        return new State(current.config, currentCycle, permissions, 0);
+    }
+
+    private long nanosToWaitForPermission(int permits, State refreshed) {
+        if (refreshed.activePermissions >= permits) {
+            return 0L;
+        }
+        long cyclePeriodInNanos = refreshed.config.getLimitRefreshPeriod().toNanos();
+        int permissionsPerCycle = refreshed.config.getLimitForPeriod();
+        long nanosToNextCycle = (refreshed.activeCycle + 1) * cyclePeriodInNanos - currentNanoTime();
+        int permissionsAtTheStartOfNextCycle = refreshed.activePermissions + permissionsPerCycle;
+        int fullCyclesToWait = divCeil(-(permissionsAtTheStartOfNextCycle - permits), permissionsPerCycle);
+        return (fullCyclesToWait * cyclePeriodInNanos) + nanosToNextCycle;
+    }
+
+    private static int divCeil(int x, int y) {
+        return (x + y - 1) / y;
+    }
+
+    private boolean waitForPermissionIfNecessary(long nanosToWait) {
+        if (nanosToWait <= 0) {
+            return true;
+        }
+        waitingThreads.incrementAndGet();
+        boolean wasInterrupted = false;
+        try {
+            timeSource.sleep(nanosToWait);
+        } catch (InterruptedException e) {
+            wasInterrupted = true;
+        }
+        waitingThreads.decrementAndGet();
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return !wasInterrupted;
+    }
+
+    //sama seperti AtomicRateLimiter, jika tidak mungkin dapat permit tetap menunggu timeoutDuration sebelum gagal
+    private boolean waitForTimeout(long timeoutInNanos) {
+        if (timeoutInNanos > 0) {
+            try {
+                timeSource.sleep(timeoutInNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return false;
+    }
+
+    private long currentNanoTime() {
+        return timeSource.nanoTime() - nanoTimeStart;
+    }
+
+    private void publishRateLimiterAcquisitionEvent(boolean permissionAcquired, int permits) {
+        //subscribe onFailure() saja tidak membuat event sukses ikut dibuat
+        if (permissionAcquired) {
+            if (eventProcessor.hasConsumers(RateLimiterOnSuccessEvent.class)) {
+                eventProcessor.consumeEvent(new RateLimiterOnSuccessEvent(name, permits));
+            }
+        } else if (eventProcessor.hasConsumers(RateLimiterOnFailureEvent.class)) {
+            eventProcessor.consumeEvent(new RateLimiterOnFailureEvent(name, permits));
+        }
+    }
+
+    /**
+     * Consumer untuk satu batch record, batch dipecah sesuai permit yang didapat dari acquirePermissions()
+     * Setiap bagian dijalankan langsung setelah permit nya didapat, jika tidak mendapat permit dalam timeoutDuration
+     * bagian sisanya tidak dijalankan dan RequestNotPermitted dilempar
+     */
+    public static <T> Consumer<List<T>> decorateConsumer(BatchRateLimiter rateLimiter, Consumer<List<T>> consumer) {
+        return batch -> {
+            int offset = 0;
+            while (offset < batch.size()) {
+                int granted = rateLimiter.acquirePermissions(batch.size() - offset);
+                if (granted == 0) {
+                    throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+                }
+                consumer.accept(batch.subList(offset, offset + granted));
+                offset += granted;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RateLimiterConfig getRateLimiterConfig() {
+        return state.get().config;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return new BatchRateLimiterMetrics();
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchRateLimiter '%s'", name);
+    }
+
+    /** State
+     * Satu snapshot immutable, diganti seluruhnya dengan CAS
+     * activePermissions bisa negatif, artinya permit di cycle berikutnya sudah direservasi
+     */
+    private record State(RateLimiterConfig config, long activeCycle, int activePermissions, long nanosToWait) {
+    }
+
+    private class BatchRateLimiterMetrics implements Metrics {
+
+        @Override
+        public int getNumberOfWaitingThreads() {
+            return waitingThreads.get();
+        }
+
+        @Override
+        public int getAvailablePermissions() {
+            return refresh(state.get()).activePermissions;
+        }
+    }
+
+    private static class BatchRateLimiterEventProcessor extends FilteringEventProcessor<RateLimiterEvent> implements
+            EventConsumer<RateLimiterEvent>, EventPublisher {
+
+        @Override
+        public EventPublisher onSuccess(EventConsumer<RateLimiterOnSuccessEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnSuccessEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onFailure(EventConsumer<RateLimiterOnFailureEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnFailureEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(RateLimiterEvent event) {
+            super.processEvent(event);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package fajar.resilience4j.ratelimiter;
+
+import fajar.resilience4j.core.FilteringEventProcessor;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnDrainedEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** DistributedRateLimiter
+ * RateLimiter.of() menghitung limitForPeriod per JVM, jadi N replica aplikasi mengizinkan N x limitForPeriod eksekusi per periode
+ * DistributedRateLimiter menghitung jatah limitForPeriod bersama di RateLimiterStore, dengan nama rate limiter sebagai key
+ * Supaya store tidak dipanggil setiap eksekusi, setiap node mengambil permit per lease (leaseSize permit sekaligus)
+ * lalu eksekusi berikutnya cukup mengurangi lease lokal dengan CAS, store baru dipanggil lagi saat lease habis
+ * Total permit semua node tidak pernah melebihi limitForPeriod, tapi sisa lease yang tidak terpakai di akhir cycle hangus
+ * (paling banyak jumlah node x leaseSize per cycle), jadi leaseSize adalah tawar-menawar antara akurasi dan jumlah panggilan ke store
+ * cycle dihitung dari System.currentTimeMillis(), karena System.nanoTime() tidak bisa dibandingkan antar JVM
+ */
+public class DistributedRateLimiter implements RateLimiter {
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final RateLimiterStore store;
+    private final int leaseSize;
+    private final AtomicReference<Lease> lease = new AtomicReference<>(new Lease(Long.MIN_VALUE, 0));
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final AtomicInteger waitingThreads = new AtomicInteger(0);
+    private final DistributedRateLimiterEventProcessor eventProcessor = new DistributedRateLimiterEventProcessor();
+    private volatile RateLimiterConfig config;
+    //cycle dimana jatah di store sudah habis, supaya node tidak terus memanggil store sampai cycle berikutnya
+    private volatile long exhaustedCycle = Long.MIN_VALUE;
+
+    public DistributedRateLimiter(String name, RateLimiterConfig config, RateLimiterStore store, int leaseSize,
+                                  Map<String, String> tags) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.store = Objects.requireNonNull(store, "Store must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        if (leaseSize <= 0) {
+            throw new IllegalArgumentException("leaseSize must be greater than 0");
+        }
+        if (config.getLimitRefreshPeriod().toMillis() <= 0) {
+            throw new IllegalArgumentException("limitRefreshPeriod must be at least 1 millisecond");
+        }
+        this.leaseSize = leaseSize;
+    }
+
+    /**
+     * leaseSize default adalah limitForPeriod / 32, jadi setiap node paling banyak menghanguskan sekitar 3% jatah per cycle
+     */
+    public static DistributedRateLimiter of(String name, RateLimiterConfig config, RateLimiterStore store) {
+        return of(name, config, store, defaultLeaseSize(config));
+    }
+
+    public static DistributedRateLimiter of(String name, RateLimiterConfig config, RateLimiterStore store, int leaseSize) {
+        return new DistributedRateLimiter(name, config, store, leaseSize, Collections.emptyMap());
+    }
+
+    public static DistributedRateLimiter of(String name, RateLimiterConfig config, RateLimiterStore store, int leaseSize,
+                                            Map<String, String> tags) {
+        return new DistributedRateLimiter(name, config, store, leaseSize, tags);
+    }
+
+    static int defaultLeaseSize(RateLimiterConfig config) {
+        return Math.max(1, config.getLimitForPeriod() / 32);
+    }
+
+    @Override
+    public boolean acquirePermission(int permits) {
+        long deadline = System.nanoTime() + config.getTimeoutDuration().toNanos();
+        while (true) {
+            long cycle = currentCycle();
+            if (tryTakeFromLease(cycle, permits) || refillLease(cycle, permits)) {
+                publishRateLimiterAcquisitionEvent(true, permits);
+                return true;
+            }
+            //jatah cycle ini sudah habis di semua node, tunggu cycle berikutnya jika masih sempat
+            long nanosToNextCycle = nanosToNextCycle(cycle);
+            long remainingNanos = deadline - System.nanoTime();
+            if (nanosToNextCycle > remainingNanos) {
+                waitForTimeout(remainingNanos);
+                publishRateLimiterAcquisitionEvent(false, permits);
+                return false;
+            }
+            if (!waitForNextCycle(nanosToNextCycle)) {
+                publishRateLimiterAcquisitionEvent(false, permits);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Jika lease lokal tidak cukup, permit direservasi langsung di store untuk cycle berikutnya
+     *
+     * @return nanodetik yang harus ditunggu, atau -1 jika tidak bisa mendapat permit dalam timeoutDuration
+     */
+    @Override
+    public long reservePermission(int permits) {
+        long cycle = currentCycle();
+        if (tryTakeFromLease(cycle, permits) || refillLease(cycle, permits)) {
+            publishRateLimiterAcquisitionEvent(true, permits);
+            return 0;
+        }
+        long nanosToNextCycle = nanosToNextCycle(cycle);
+        boolean reserved = nanosToNextCycle <= config.getTimeoutDuration().toNanos()
+                && store.acquire(name, cycle + 1, permits, config.getLimitForPeriod()) == permits;
+        publishRateLimiterAcquisitionEvent(reserved, permits);
+        return reserved ? nanosToNextCycle : -1;
+    }
+
+    //jalur utama, hanya CAS di lease lokal
+    private boolean tryTakeFromLease(long cycle, int permits) {
+        while (true) {
+            Lease current = lease.get();
+            if (current.cycle != cycle || current.remaining < permits) {
+                return false;
+            }
+            if (lease.compareAndSet(current, new Lease(cycle, current.remaining - permits))) {
+                return true;
+            }
+        }
+    }
+
+    //hanya satu thread per node yang memanggil store, thread lain menunggu lalu memakai lease yang baru
+    private boolean refillLease(long cycle, int permits) {
+        if (exhaustedCycle == cycle) {
+            return false;
+        }
+        refillLock.lock();
+        try {
+            if (tryTakeFromLease(cycle, permits)) {
+                return true;
+            }
+            if (exhaustedCycle == cycle) {
+                return false;
+            }
+            Lease current = lease.get();
+            int carried = current.cycle == cycle ? current.remaining : 0;
+            int granted = store.acquire(name, cycle, Math.max(leaseSize, permits - carried), config.getLimitForPeriod());
+            if (granted == 0) {
+                exhaustedCycle = cycle;
+                return false;
+            }
+            lease.updateAndGet(previous -> new Lease(cycle, (previous.cycle == cycle ? previous.remaining : 0) + granted));
+            return tryTakeFromLease(cycle, permits);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private long currentCycle() {
+        return System.currentTimeMillis() / config.getLimitRefreshPeriod().toMillis();
+    }
+
+    private long nanosToNextCycle(long cycle) {
+        long periodMillis = config.getLimitRefreshPeriod().toMillis();
+        return TimeUnit.MILLISECONDS.toNanos((cycle + 1) * periodMillis - System.currentTimeMillis());
+    }
+
+    private boolean waitForNextCycle(long nanosToWait) {
+        waitingThreads.incrementAndGet();
+        long deadline = System.nanoTime() + nanosToWait;
+        boolean wasInterrupted = false;
+        while (System.nanoTime() < deadline && !wasInterrupted) {
+            LockSupport.parkNanos(deadline - System.nanoTime());
+            wasInterrupted = Thread.interrupted();
+        }
+        waitingThreads.decrementAndGet();
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return !wasInterrupted;
+    }
+
+    //sama seperti AtomicRateLimiter, jika tidak mungkin dapat permit tetap menunggu timeoutDuration sebelum gagal
+    private void waitForTimeout(long timeoutInNanos) {
+        if (timeoutInNanos > 0) {
+            LockSupport.parkNanos(timeoutInNanos);
+        }
+    }
+
+    /**
+     * Menghabiskan lease lokal dan sisa jatah cycle ini di store, jadi semua node ikut kehabisan permit sampai cycle berikutnya
+     */
+    @Override
+    public void drainPermissions() {
+        long cycle = currentCycle();
+        Lease previous = lease.getAndSet(new Lease(cycle, 0));
+        int drained = previous.cycle == cycle ? previous.remaining : 0;
+        drained += store.acquire(name, cycle, config.getLimitForPeriod(), config.getLimitForPeriod());
+        exhaustedCycle = cycle;
+        if (eventProcessor.hasConsumers(RateLimiterOnDrainedEvent.class)) {
+            eventProcessor.consumeEvent(new RateLimiterOnDrainedEvent(name, drained));
+        }
+    }
+
+    /**
+     * Hanya berlaku di node ini, limitForPeriod harus diubah di semua node supaya jatah bersama nya konsisten
+     */
+    @Override
+    public void changeLimitForPeriod(int limitForPeriod) {
+        config = RateLimiterConfig.from(config).limitForPeriod(limitForPeriod).build();
+    }
+
+    @Override
+    public void changeTimeoutDuration(Duration timeoutDuration) {
+        config = RateLimiterConfig.from(config).timeoutDuration(timeoutDuration).build();
+    }
+
+    private void publishRateLimiterAcquisitionEvent(boolean permissionAcquired, int permits) {
+        if (permissionAcquired) {
+            if (eventProcessor.hasConsumers(RateLimiterOnSuccessEvent.class)) {
+                eventProcessor.consumeEvent(new RateLimiterOnSuccessEvent(name, permits));
+            }
+        } else if (eventProcessor.hasConsumers(RateLimiterOnFailureEvent.class)) {
+            eventProcessor.consumeEvent(new RateLimiterOnFailureEvent(name, permits));
+        }
+    }
+
+    public RateLimiterStore getStore() {
+        return store;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RateLimiterConfig getRateLimiterConfig() {
+        return config;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public Metrics getMetrics() {
+        return new DistributedRateLimiterMetrics();
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DistributedRateLimiter '%s'", name);
+    }
+
+    /** Lease
+     * Permit yang sudah diambil node ini dari store untuk satu cycle, diganti seluruhnya dengan CAS
+     */
+    private record Lease(long cycle, int remaining) {
+    }
+
+    private class DistributedRateLimiterMetrics implements Metrics {
+
+        @Override
+        public int getNumberOfWaitingThreads() {
+            return waitingThreads.get();
+        }
+
+        //hanya permit di lease lokal, sisa jatah di store tidak ikut dihitung supaya metric tidak memanggil store
+        @Override
+        public int getAvailablePermissions() {
+            Lease current = lease.get();
+            return current.cycle == currentCycle() ? current.remaining : 0;
+        }
+    }
+
+    private static class DistributedRateLimiterEventProcessor extends FilteringEventProcessor<RateLimiterEvent> implements
+            EventConsumer<RateLimiterEvent>, EventPublisher {
+
+        @Override
+        public EventPublisher onSuccess(EventConsumer<RateLimiterOnSuccessEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnSuccessEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onFailure(EventConsumer<RateLimiterOnFailureEvent> eventConsumer) {
+            registerConsumer(RateLimiterOnFailureEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(RateLimiterEvent event) {
+            super.processEvent(event);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package fajar.resilience4j.ratelimiter;
+
+import io.github.resilience4j.core.ConfigurationNotFoundException;
+import io.github.resilience4j.core.registry.AbstractRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/** DistributedRateLimiterRegistry
+ * Registry seperti RateLimiterRegistry, tetapi setiap rate limiter yang dibuat adalah DistributedRateLimiter dengan RateLimiterStore yang sama
+ * Jadi rateLimiter("fjr") di semua node yang memakai store yang sama berbagi jatah limitForPeriod yang sama
+ * Cara pakainya sama : addConfiguration(), rateLimiter("fjr"), rateLimiter("fjr", "config")
+ */
+public class DistributedRateLimiterRegistry extends AbstractRegistry<RateLimiter, RateLimiterConfig> implements RateLimiterRegistry {
+
+    private final RateLimiterStore store;
+
+    public DistributedRateLimiterRegistry(RateLimiterStore store) {
+        this(RateLimiterConfig.ofDefaults(), store);
+    }
+
+    public DistributedRateLimiterRegistry(RateLimiterConfig defaultConfig, RateLimiterStore store) {
+        super(defaultConfig);
+        this.store = Objects.requireNonNull(store, "Store must not be null");
+    }
+
+    public DistributedRateLimiterRegistry(Map<String, RateLimiterConfig> configs, RateLimiterStore store) {
+        this(configs.getOrDefault(DEFAULT_CONFIG, RateLimiterConfig.ofDefaults()), store);
+        this.configurations.putAll(configs);
+    }
+
+    public static DistributedRateLimiterRegistry of(RateLimiterStore store) {
+        return new DistributedRateLimiterRegistry(store);
+    }
+
+    public static DistributedRateLimiterRegistry of(RateLimiterConfig defaultConfig, RateLimiterStore store) {
+        return new DistributedRateLimiterRegistry(defaultConfig, store);
+    }
+
+    @Override
+    public Set<RateLimiter> getAllRateLimiters() {
+        return new HashSet<>(entryMap.values());
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name) {
+        return rateLimiter(name, getDefaultConfig());
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, Map<String, String> tags) {
+        return rateLimiter(name, getDefaultConfig(), tags);
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, RateLimiterConfig config) {
+        return rateLimiter(name, config, Collections.emptyMap());
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, RateLimiterConfig config, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newRateLimiter(name,
+                Objects.requireNonNull(config, CONFIG_MUST_NOT_BE_NULL), tags));
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, Supplier<RateLimiterConfig> configSupplier) {
+        return rateLimiter(name, configSupplier, Collections.emptyMap());
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, Supplier<RateLimiterConfig> configSupplier, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newRateLimiter(name, Objects.requireNonNull(
+                Objects.requireNonNull(configSupplier, SUPPLIER_MUST_NOT_BE_NULL).get(),
+                CONFIG_MUST_NOT_BE_NULL), tags));
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, String configName) {
+        return rateLimiter(name, configName, Collections.emptyMap());
+    }
+
+    @Override
+    public RateLimiter rateLimiter(String name, String configName, Map<String, String> tags) {
+        return computeIfAbsent(name, () -> newRateLimiter(name, getConfiguration(configName)
+                .orElseThrow(() -> new ConfigurationNotFoundException(configName)), tags));
+    }
+
+    private DistributedRateLimiter newRateLimiter(String name, RateLimiterConfig config, Map<String, String> tags) {
+        return DistributedRateLimiter.of(name, config, store, DistributedRateLimiter.defaultLeaseSize(config), getAllTags(tags));
+    }
+}
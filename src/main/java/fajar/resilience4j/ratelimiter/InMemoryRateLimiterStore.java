@@ -0,0 +1,45 @@
+package fajar.resilience4j.ratelimiter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/** InMemoryRateLimiterStore
+ * Implementasi RateLimiterStore di dalam satu JVM, untuk test dan simulasi beberapa node di satu proses
+ * Setiap key punya counter permit yang sudah dipakai per cycle, counter cycle lama dihapus saat cycle baru pertama kali dipakai
+ * Counter disimpan per key, jadi menghapus cycle lama hanya menyentuh cycle milik key tersebut
+ */
+public class InMemoryRateLimiterStore implements RateLimiterStore {
+
+    private final Map<String, ConcurrentNavigableMap<Long, Integer>> usedPermits = new ConcurrentHashMap<>();
+    private final Map<String, Long> latestCycles = new ConcurrentHashMap<>();
+
+    @Override
+    public int acquire(String key, long cycle, int permits, int limitForPeriod) {
+        ConcurrentNavigableMap<Long, Integer> cycles = usedPermits.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>());
+        if (latestCycles.merge(key, cycle, Math::max) == cycle) {
+            evictBefore(cycles, cycle);
+        }
+        int[] granted = new int[1];
+        cycles.compute(cycle, (k, used) -> {
+            int current = used == null ? 0 : used;
+            granted[0] = Math.max(0, Math.min(permits, limitForPeriod - current));
+            return current + granted[0];
+        });
+        return granted[0];
+    }
+
+    /**
+     * Jumlah permit yang sudah dipakai semua node di cycle tersebut
+     */
+    public int getUsedPermits(String key, long cycle) {
+        ConcurrentNavigableMap<Long, Integer> cycles = usedPermits.get(key);
+        return cycles == null ? 0 : cycles.getOrDefault(cycle, 0);
+    }
+
+    //cycle sebelumnya tetap disimpan untuk node yang jam nya sedikit terlambat
+    private void evictBefore(ConcurrentNavigableMap<Long, Integer> cycles, long cycle) {
+        cycles.headMap(cycle - 1).clear();
+    }
+}
@@ -0,0 +1,17 @@
+package fajar.resilience4j.ratelimiter;
+
+/** RateLimiterStore
+ * SPI untuk tempat menyimpan jumlah permit yang sudah dipakai bersama oleh beberapa node (JVM), dipakai oleh DistributedRateLimiter
+ * Implementasi nya bisa Redis, database, atau service lain, selama acquire() atomic untuk satu key dan cycle
+ * cycle adalah nomor periode limitRefreshPeriod dihitung dari epoch (System.currentTimeMillis()), jadi sama di semua node
+ * acquire() tidak dipanggil setiap eksekusi, DistributedRateLimiter mengambil permit per lease (beberapa permit sekaligus)
+ */
+public interface RateLimiterStore {
+
+    /**
+     * Mengambil sampai permits permit dari jatah limitForPeriod di cycle tersebut
+     *
+     * @return jumlah permit yang didapat, 0 sampai permits (boleh kurang jika jatah cycle tinggal sedikit)
+     */
+    int acquire(String key, long cycle, int permits, int limitForPeriod);
+}
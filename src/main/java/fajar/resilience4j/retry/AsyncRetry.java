@@ -0,0 +1,55 @@
+package fajar.resilience4j.retry;
+
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.retry.Retry;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/** AsyncRetry
+ * Retry.decorateSupplier() menahan thread pemanggil selama waitDuration (Thread.sleep) di setiap percobaan
+ * AsyncRetry membungkus Supplier<CompletionStage<T>>, dan percobaan berikutnya dijadwalkan di satu ScheduledExecutorService bersama
+ * Jadi selama menunggu retry tidak ada thread yang tertahan, berapapun jumlah eksekusi yang sedang di retry
+ */
+public final class AsyncRetry {
+
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    private AsyncRetry() {
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform()
+                .daemon(true)
+                .name("retry-scheduler-", 1)
+                .factory());
+        //retry yang sudah selesai langsung dibuang dari antrian, supaya antrian tidak menahan memory
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Scheduler bersama untuk semua AsyncRetry, supplier yang dijadwalkan harus non-blocking (langsung mengembalikan CompletionStage)
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    public static <T> Supplier<CompletionStage<T>> decorateCompletionStage(Retry retry, Supplier<CompletionStage<T>> supplier) {
+        return Retry.decorateCompletionStage(retry, SCHEDULER, supplier);
+    }
+
+    public static <T> CompletionStage<T> executeCompletionStage(Retry retry, Supplier<CompletionStage<T>> supplier) {
+        return decorateCompletionStage(retry, supplier).get();
+    }
+
+    /**
+     * Sama seperti Decorators.ofCompletionStage(supplier).withRetry(retry, scheduler), dengan scheduler bersama
+     * Hasilnya masih bisa dilanjutkan dengan withRateLimiter(), withCircuitBreaker(), withFallback() dan lain-lain
+     */
+    public static <T> Decorators.DecorateCompletionStage<T> ofCompletionStage(Retry retry, Supplier<CompletionStage<T>> supplier) {
+        return Decorators.ofCompletionStage(supplier).withRetry(retry, SCHEDULER);
+    }
+}
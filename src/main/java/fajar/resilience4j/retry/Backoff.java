@@ -0,0 +1,89 @@
+package fajar.resilience4j.retry;
+
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Backoff
+ * waitDuration(Duration.ofSeconds(2)) membuat semua pemanggil yang gagal bersamaan, retry bersamaan juga (thundering herd)
+ * Backoff berisi IntervalBiFunction yang menyebar waktu retry secara acak :
+ * - fullJitter : acak antara 0 dan min(cap, base x 2^(attempt-1))
+ * - decorrelatedJitter : acak antara base dan 3x waktu tunggu sebelumnya, paling lama cap
+ * - latencyAware : seperti fullJitter, tapi base nya mengikuti latency dependency yang baru diukur, lihat LatencyAwareBackoff
+ * Dipasang lewat RetryConfig.custom().intervalBiFunction(...), atau withBackoff(config, ...) untuk config yang sudah ada
+ * Config hasil withBackoff() bisa didaftarkan ke RetryRegistry dengan addConfiguration()
+ */
+public final class Backoff {
+
+    private Backoff() {
+    }
+
+    public static IntervalBiFunction<Object> fullJitter(Duration base, Duration cap) {
+        long baseMillis = checkBase(base);
+        long capMillis = checkCap(cap, baseMillis);
+        return (attempt, either) -> ThreadLocalRandom.current().nextLong(exponential(baseMillis, capMillis, attempt) + 1);
+    }
+
+    /**
+     * Waktu tunggu sebelumnya tidak disimpan (IntervalBiFunction hanya menerima attempt), jadi rantai acak nya diulang dari attempt 1
+     * Hasilnya punya distribusi yang sama dengan decorrelated jitter biasa, tanpa state per eksekusi
+     */
+    public static IntervalBiFunction<Object> decorrelatedJitter(Duration base, Duration cap) {
+        long baseMillis = checkBase(base);
+        long capMillis = checkCap(cap, baseMillis);
+        return (attempt, either) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long sleep = baseMillis;
+            for (int i = 0; i < attempt; i++) {
+                long upper = Math.min(capMillis, sleep * 3);
+                sleep = upper > baseMillis ? random.nextLong(baseMillis, upper + 1) : baseMillis;
+            }
+            return sleep;
+        };
+    }
+
+    public static LatencyAwareBackoff latencyAware(double multiplier, Duration minInterval, Duration maxInterval) {
+        return LatencyAwareBackoff.of(multiplier, minInterval, maxInterval);
+    }
+
+    /**
+     * Config yang sama dengan intervalBiFunction yang baru
+     * intervalFunction dari config asal di hapus, karena RetryConfig tidak boleh punya keduanya
+     */
+    public static RetryConfig withBackoff(RetryConfig config, IntervalBiFunction<Object> intervalBiFunction) {
+        Objects.requireNonNull(config, "Config must not be null");
+        Objects.requireNonNull(intervalBiFunction, "IntervalBiFunction must not be null");
+        return RetryConfig.from(config)
+                .intervalFunction(null)
+                .intervalBiFunction(intervalBiFunction)
+                .build();
+    }
+
+    static long exponential(long base, long cap, int attempt) {
+        //2^62 sudah lebih besar dari cap manapun, shift lebih dari itu overflow
+        int shift = Math.min(Math.max(attempt - 1, 0), 62);
+        if (base > cap >> shift) {
+            return cap;
+        }
+        return Math.min(cap, base << shift);
+    }
+
+    private static long checkBase(Duration base) {
+        Objects.requireNonNull(base, "Base must not be null");
+        if (base.toMillis() < 1) {
+            throw new IllegalArgumentException("base must be at least 1ms");
+        }
+        return base.toMillis();
+    }
+
+    private static long checkCap(Duration cap, long baseMillis) {
+        Objects.requireNonNull(cap, "Cap must not be null");
+        if (cap.toMillis() < baseMillis) {
+            throw new IllegalArgumentException("cap must not be less than base");
+        }
+        return cap.toMillis();
+    }
+}
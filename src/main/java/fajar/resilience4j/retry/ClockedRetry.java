@@ -0,0 +1,71 @@
+package fajar.resilience4j.retry;
+
+import fajar.resilience4j.core.TimeSource;
+import io.github.resilience4j.retry.Retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** ClockedRetry
+ * Retry.decorateSupplier() menunggu waitDuration dengan RetryImpl.setSleepFunction(), satu fungsi sleep global untuk semua Retry
+ * ClockedRetry memakai Retry.asyncContext() (attempt, interval dari IntervalBiFunction dan event nya sama seperti Retry biasa),
+ * tetapi waktu tunggu antar percobaan dijalankan di TimeSource milik pemanggil
+ * Jadi satu Retry bisa memakai VirtualTimeSource di test tanpa mengubah sleep function Retry yang lain
+ * Untuk CompletionStage cukup Retry.decorateCompletionStage(retry, timeSource.scheduler(), supplier)
+ */
+public final class ClockedRetry {
+
+    private ClockedRetry() {
+    }
+
+    /**
+     * Jika thread di interrupt saat menunggu, flag interrupt di set lagi dan exception terakhir dilempar (hasil terakhir dikembalikan)
+     */
+    public static <T> Supplier<T> decorateSupplier(Retry retry, TimeSource timeSource, Supplier<T> supplier) {
+        return () -> {
+            Retry.AsyncContext<T> context = retry.asyncContext();
+            while (true) {
+                T result;
+                try {
+                    result = supplier.get();
+                } catch (RuntimeException exception) {
+                    long delay = context.onError(exception);
+                    if (delay < 0 || !sleep(timeSource, delay)) {
+                        throw exception;
+                    }
+                    continue;
+                }
+                long delay = context.onResult(result);
+                if (delay < 0) {
+                    context.onComplete();
+                    return result;
+                }
+                if (!sleep(timeSource, delay)) {
+                    return result;
+                }
+            }
+        };
+    }
+
+    public static <T> T executeSupplier(Retry retry, TimeSource timeSource, Supplier<T> supplier) {
+        return decorateSupplier(retry, timeSource, supplier).get();
+    }
+
+    public static Runnable decorateRunnable(Retry retry, TimeSource timeSource, Runnable runnable) {
+        Supplier<Void> supplier = decorateSupplier(retry, timeSource, () -> {
+            runnable.run();
+            return null;
+        });
+        return supplier::get;
+    }
+
+    private static boolean sleep(TimeSource timeSource, long delayMillis) {
+        try {
+            timeSource.sleep(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
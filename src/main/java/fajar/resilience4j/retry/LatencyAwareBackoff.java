@@ -0,0 +1,108 @@
+package fajar.resilience4j.retry;
+
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.core.functions.Either;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/** LatencyAwareBackoff
+ * Backoff dengan base yang mengikuti latency dependency : base = multiplier x latency rata-rata terbaru
+ * Saat dependency melambat karena beban, pemanggil otomatis menunggu lebih lama sebelum retry
+ * Latency rata-rata memakai EWMA dengan bobot 1/8 untuk sample baru, sama seperti smoothed RTT di TCP
+ * Waktu tunggu acak antara minInterval dan min(maxInterval, base x 2^(attempt-1)) (full jitter)
+ * Latency diisi lewat record(), atau dengan decorateSupplier() di dalam Retry, supaya setiap percobaan ikut diukur
+ * Sebelum ada sample, base nya minInterval
+ */
+public final class LatencyAwareBackoff implements IntervalBiFunction<Object> {
+
+    private final double multiplier;
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+    private final AtomicLong smoothedNanos = new AtomicLong();
+
+    private LatencyAwareBackoff(double multiplier, Duration minInterval, Duration maxInterval) {
+        if (multiplier <= 0) {
+            throw new IllegalArgumentException("multiplier must be greater than 0");
+        }
+        Objects.requireNonNull(minInterval, "MinInterval must not be null");
+        Objects.requireNonNull(maxInterval, "MaxInterval must not be null");
+        if (minInterval.isNegative() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("maxInterval must not be less than minInterval");
+        }
+        this.multiplier = multiplier;
+        this.minIntervalMillis = minInterval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+    }
+
+    public static LatencyAwareBackoff of(double multiplier, Duration minInterval, Duration maxInterval) {
+        return new LatencyAwareBackoff(multiplier, minInterval, maxInterval);
+    }
+
+    /**
+     * multiplier 10, minInterval 10ms, maxInterval 10 detik
+     */
+    public static LatencyAwareBackoff ofDefaults() {
+        return of(10, Duration.ofMillis(10), Duration.ofSeconds(10));
+    }
+
+    public void record(long latencyNanos) {
+        if (latencyNanos < 0) {
+            return;
+        }
+        smoothedNanos.accumulateAndGet(latencyNanos, (smoothed, sample) ->
+                smoothed == 0 ? Math.max(1, sample) : Math.max(1, smoothed + (sample - smoothed) / 8));
+    }
+
+    public void record(Duration latency) {
+        record(latency.toNanos());
+    }
+
+    public Duration getLatency() {
+        return Duration.ofNanos(smoothedNanos.get());
+    }
+
+    @Override
+    public Long apply(Integer attempt, Either<Throwable, Object> either) {
+        long base = Math.max(minIntervalMillis,
+                (long) (multiplier * TimeUnit.NANOSECONDS.toMillis(smoothedNanos.get())));
+        long upper = Backoff.exponential(Math.max(1, base), maxIntervalMillis, attempt);
+        if (upper <= minIntervalMillis) {
+            return minIntervalMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(minIntervalMillis, upper + 1);
+    }
+
+    /**
+     * Dipasang di dalam Retry (Retry.decorateSupplier(retry, backoff.decorateSupplier(supplier))), jadi yang diukur setiap percobaan
+     * Percobaan yang gagal juga diukur, karena timeout dan error lambat juga menandakan dependency sedang berat
+     */
+    public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    public <T> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<? extends CompletionStage<T>> supplier) {
+        return () -> {
+            long start = System.nanoTime();
+            CompletionStage<T> stage = supplier.get();
+            return stage.whenComplete((result, throwable) -> record(System.nanoTime() - start));
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyAwareBackoff{multiplier=" + multiplier + ", latency=" + getLatency() + "}";
+    }
+}
@@ -0,0 +1,217 @@
+package fajar.resilience4j.retry;
+
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/** RetryBudget
+ * maxAttempts(10) berarti saat dependency mati, setiap pemanggil mengirim sampai 10x request ke dependency yang sudah gagal
+ * RetryBudget adalah jatah retry bersama untuk banyak Retry (misal satu service) :
+ * retry dalam window (default 10 detik) paling banyak minRetriesPerSecond x window + ratio x percobaan pertama dalam window
+ * Jika jatah habis, retry ditolak dan error (atau result) percobaan terakhir langsung dikembalikan
+ * Dipasang lewat RetryConfig : predicate retryOnException dan retryOnResult dibungkus, jadi saat jatah habis percobaan tersebut
+ * dianggap tidak perlu di-retry (RetryImpl tidak menganggap interval -1 sebagai berhenti di jalur sync, Thread.sleep(-1) akan gagal)
+ * Jatah dicek di predicate lalu dicatat di intervalBiFunction, dengan banyak thread bersamaan budget bisa terlewati sebanyak thread yang
+ * lolos pengecekan bersamaan. Predicate juga dicek di percobaan terakhir, jadi getNumberOfRejectedRetries() bisa termasuk percobaan terakhir
+ * Jumlah percobaan dibaca dari retry.getMetrics().getNumberOfTotalCalls() setiap Retry yang di-track, jadi jalur sukses tidak bertambah biaya
+ * - budget.retry(name, config) : Retry.of() dengan config yang sudah dibungkus, langsung di-track
+ * - budget.retryRegistry(config) : RetryRegistry yang semua Retry nya memakai budget ini
+ * - budget.decorate(config) + budget.track(retry) : jika Retry nya dibuat sendiri
+ */
+public final class RetryBudget {
+
+    private static final int BUCKETS = 10;
+
+    private final String name;
+    private final double ratio;
+    private final double minRetries;
+    private final long bucketNanos;
+    private final Set<Retry> retries = ConcurrentHashMap.newKeySet();
+    //percobaan dari Retry yang sudah tidak di-track, supaya total percobaan tidak turun
+    private final LongAdder retiredAttempts = new LongAdder();
+    private final LongAdder grantedRetries = new LongAdder();
+    private final LongAdder rejectedRetries = new LongAdder();
+    //sliding window per bucket : total percobaan di awal bucket dan jumlah retry di dalam bucket, dijaga synchronized
+    private final long[] attemptsAtBucketStart = new long[BUCKETS];
+    private final long[] retriesInBucket = new long[BUCKETS];
+    private long currentBucket;
+    private long lastAttempts;
+    private long lastSampleTime;
+
+    private RetryBudget(String name, double ratio, int minRetriesPerSecond, Duration window) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        if (ratio < 0) {
+            throw new IllegalArgumentException("ratio must not be negative");
+        }
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("minRetriesPerSecond must not be negative");
+        }
+        Objects.requireNonNull(window, "Window must not be null");
+        if (window.toMillis() < BUCKETS) {
+            throw new IllegalArgumentException("window must be at least " + BUCKETS + "ms");
+        }
+        this.ratio = ratio;
+        this.minRetries = minRetriesPerSecond * (window.toNanos() / 1_000_000_000.0);
+        this.bucketNanos = window.toNanos() / BUCKETS;
+        long now = System.nanoTime();
+        this.currentBucket = now / bucketNanos;
+        this.lastSampleTime = now;
+    }
+
+    /**
+     * ratio 0.2, minRetriesPerSecond 10, window 10 detik
+     */
+    public static RetryBudget ofDefaults(String name) {
+        return of(name, 0.2, 10, Duration.ofSeconds(10));
+    }
+
+    public static RetryBudget of(String name, double ratio, int minRetriesPerSecond, Duration window) {
+        return new RetryBudget(name, ratio, minRetriesPerSecond, window);
+    }
+
+    /**
+     * Config yang sama, predicate nya dibungkus supaya setiap retry harus mendapat jatah dari budget ini
+     * retryExceptions dan ignoreExceptions sudah termasuk di getExceptionPredicate(), jadi dikosongkan supaya tidak digabung dua kali
+     * Retry yang dibuat dari config ini harus di-track(), supaya percobaan pertama nya ikut menambah jatah
+     */
+    public RetryConfig decorate(RetryConfig config) {
+        Objects.requireNonNull(config, "Config must not be null");
+        IntervalBiFunction<Object> intervalBiFunction = config.getIntervalBiFunction();
+        Predicate<Throwable> exceptionPredicate = config.getExceptionPredicate();
+        Predicate<Object> resultPredicate = config.getResultPredicate();
+        RetryConfig.Builder<Object> builder = RetryConfig.from(config)
+                .retryExceptions()
+                .ignoreExceptions()
+                .retryOnException(throwable -> exceptionPredicate.test(throwable) && canRetry())
+                .intervalFunction(null)
+                .intervalBiFunction((attempt, either) -> {
+                    recordRetry();
+                    return intervalBiFunction.apply(attempt, either);
+                });
+        if (resultPredicate != null) {
+            builder.retryOnResult(result -> resultPredicate.test(result) && canRetry());
+        }
+        return builder.build();
+    }
+
+    public Retry retry(String name, RetryConfig config) {
+        Retry retry = Retry.of(name, decorate(config));
+        track(retry);
+        return retry;
+    }
+
+    /**
+     * RetryRegistry dengan default config yang sudah dibungkus, semua Retry yang ditambahkan ke registry otomatis di-track
+     * Config lain yang didaftarkan dengan addConfiguration() juga harus dibungkus dengan decorate()
+     */
+    public RetryRegistry retryRegistry(RetryConfig config) {
+        RetryRegistry registry = RetryRegistry.of(decorate(config));
+        registry.getEventPublisher()
+                .onEntryAdded(event -> track(event.getAddedEntry()))
+                .onEntryRemoved(event -> untrack(event.getRemovedEntry()))
+                .onEntryReplaced(event -> {
+                    untrack(event.getOldEntry());
+                    track(event.getNewEntry());
+                });
+        return registry;
+    }
+
+    public void track(Retry retry) {
+        Objects.requireNonNull(retry, "Retry must not be null");
+        retries.add(retry);
+    }
+
+    public void untrack(Retry retry) {
+        if (retries.remove(retry)) {
+            retiredAttempts.add(retry.getMetrics().getNumberOfTotalCalls());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNumberOfGrantedRetries() {
+        return grantedRetries.sum();
+    }
+
+    public long getNumberOfRejectedRetries() {
+        return rejectedRetries.sum();
+    }
+
+    /**
+     * Mengambil satu jatah retry, untuk retry yang tidak dipasang lewat decorate()
+     */
+    public synchronized boolean tryAcquire() {
+        if (!canRetry()) {
+            return false;
+        }
+        recordRetry();
+        return true;
+    }
+
+    //hanya mengecek jatah, dipanggil di jalur gagal sebelum RetryImpl memutuskan retry
+    private synchronized boolean canRetry() {
+        long attempts = totalAttempts();
+        advance(System.nanoTime(), attempts);
+        int oldest = (int) ((currentBucket + 1) % BUCKETS);
+        long retriesInWindow = 0;
+        for (long retriesInBucket : retriesInBucket) {
+            retriesInWindow += retriesInBucket;
+        }
+        //setiap retry yang diizinkan menjadi satu percobaan, sisanya adalah percobaan pertama
+        long firstAttempts = Math.max(0, attempts - attemptsAtBucketStart[oldest] - retriesInWindow);
+        if (retriesInWindow + 1 > minRetries + ratio * firstAttempts) {
+            rejectedRetries.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized void recordRetry() {
+        advance(System.nanoTime(), totalAttempts());
+        retriesInBucket[(int) (currentBucket % BUCKETS)]++;
+        grantedRetries.increment();
+    }
+
+    private long totalAttempts() {
+        long attempts = retiredAttempts.sum();
+        for (Retry retry : retries) {
+            attempts += retry.getMetrics().getNumberOfTotalCalls();
+        }
+        return attempts;
+    }
+
+    //bucket yang terlewati diisi dengan perkiraan linear antara sample sebelumnya dan sekarang, karena budget hanya dibaca saat ada retry
+    private void advance(long now, long attempts) {
+        long bucket = now / bucketNanos;
+        long skipped = bucket - currentBucket;
+        if (skipped > 0) {
+            long first = Math.max(currentBucket + 1, bucket - BUCKETS + 1);
+            long elapsed = Math.max(1, now - lastSampleTime);
+            for (long b = first; b <= bucket; b++) {
+                long bucketStart = b * bucketNanos;
+                double progress = Math.max(0, Math.min(1, (double) (bucketStart - lastSampleTime) / elapsed));
+                int index = (int) (b % BUCKETS);
+                attemptsAtBucketStart[index] = lastAttempts + (long) ((attempts - lastAttempts) * progress);
+                retriesInBucket[index] = 0;
+            }
+            currentBucket = bucket;
+        }
+        lastAttempts = attempts;
+        lastSampleTime = now;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget '" + name + "'";
+    }
+}
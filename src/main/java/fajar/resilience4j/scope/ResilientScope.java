@@ -0,0 +1,384 @@
+package fajar.resilience4j.scope;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/** ResilientScope
+ * Di BulkHeadTest 1000 Thread dibuat manual, dan di TimeLimiterTest ExecutorService tidak pernah di shutdown
+ * ResilientScope adalah structured concurrency untuk fan-out : semua subtask dibuat di dalam scope, dan scope tidak bisa
+ * ditutup sebelum semua subtask selesai, jadi tidak ada thread yang tertinggal
+ * Bentuk nya mengikuti StructuredTaskScope.ShutdownOnFailure (fork, join, throwIfFailed, close), tapi tidak memakai preview API Java 21
+ * - setiap subtask berjalan di virtual thread sendiri
+ * - bulkhead : setiap subtask memakai satu permit Bulkhead selama berjalan
+ * - timeLimiter : satu deadline untuk seluruh scope (waktu open + timeoutDuration), join() melempar TimeoutException setelah deadline
+ *   scope yang dibuka di dalam subtask mewarisi deadline scope induk nya jika lebih cepat
+ * - circuitBreaker : setiap subtask dicatat sebagai satu panggilan, subtask yang dibatalkan karena scope shutdown tidak dicatat
+ * Subtask pertama yang gagal (atau timeout) membuat scope shutdown, subtask lain yang masih berjalan di interrupt
+ * fork(), join() dan close() hanya boleh dipanggil oleh thread yang membuka scope
+ */
+public final class ResilientScope implements AutoCloseable {
+
+    private static final ThreadLocal<ResilientScope> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final long deadlineNanos;
+    private final Thread owner;
+    private final ThreadFactory threadFactory;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition finished = lock.newCondition();
+    //dijaga lock
+    private int running;
+    private volatile boolean shutdown;
+    private boolean closed;
+
+    private ResilientScope(Builder builder) {
+        this.name = builder.name;
+        this.bulkhead = builder.bulkhead;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.timeLimiter = builder.timeLimiter;
+        this.owner = Thread.currentThread();
+        this.threadFactory = Thread.ofVirtual().name("scope-" + name + "-", 1).factory();
+        long deadline = timeLimiter == null ? Long.MAX_VALUE
+                : System.nanoTime() + timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toNanos();
+        ResilientScope parent = CURRENT.get();
+        if (parent != null && parent.deadlineNanos - deadline < 0) {
+            deadline = parent.deadlineNanos;
+        }
+        this.deadlineNanos = deadline;
+    }
+
+    public static Builder custom(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Scope tanpa Bulkhead, TimeLimiter dan CircuitBreaker, hanya fan-out dengan shutdown saat gagal
+     */
+    public static ResilientScope open(String name) {
+        return custom(name).open();
+    }
+
+    /**
+     * Scope tempat thread ini berjalan sebagai subtask, null jika bukan subtask
+     */
+    public static ResilientScope current() {
+        return CURRENT.get();
+    }
+
+    public <T> Subtask<T> fork(Callable<? extends T> task) {
+        Objects.requireNonNull(task, "Task must not be null");
+        ensureOwner();
+        SubtaskImpl<T> subtask = new SubtaskImpl<>();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException(this + " is closed");
+            }
+            //setelah shutdown subtask baru tidak dijalankan, state nya langsung UNAVAILABLE
+            if (shutdown) {
+                return subtask;
+            }
+            running++;
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = threadFactory.newThread(() -> run(subtask, task));
+        threads.add(thread);
+        thread.start();
+        return subtask;
+    }
+
+    /**
+     * Menunggu semua subtask selesai, atau subtask pertama gagal
+     * @throws TimeoutException jika deadline lewat, scope di shutdown dan TimeLimiter mencatat timeout
+     */
+    public ResilientScope join() throws InterruptedException, TimeoutException {
+        ensureOwner();
+        lock.lock();
+        try {
+            while (running > 0 && !shutdown) {
+                long remaining = deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    TimeoutException exception = TimeLimiter.createdTimeoutExceptionWithName(name, null);
+                    if (failure.compareAndSet(null, exception)) {
+                        shutdown();
+                        if (timeLimiter != null) {
+                            timeLimiter.onError(exception);
+                        }
+                        throw exception;
+                    }
+                    break;
+                }
+                finished.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (timeLimiter != null) {
+            Throwable throwable = failure.get();
+            if (throwable == null) {
+                timeLimiter.onSuccess();
+            } else {
+                timeLimiter.onError(throwable);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sama seperti ShutdownOnFailure.throwIfFailed(), error subtask pertama dibungkus ExecutionException
+     */
+    public void throwIfFailed() throws ExecutionException {
+        ensureOwner();
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throw new ExecutionException(throwable);
+        }
+    }
+
+    /**
+     * Membatalkan semua subtask yang masih berjalan, subtask baru tidak akan dijalankan
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            finished.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public Instant getDeadline() {
+        if (deadlineNanos == Long.MAX_VALUE) {
+            return Instant.MAX;
+        }
+        return Instant.now().plusNanos(deadlineNanos - System.nanoTime());
+    }
+
+    public Duration getRemaining() {
+        if (deadlineNanos == Long.MAX_VALUE) {
+            return Duration.ofSeconds(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Shutdown lalu menunggu semua subtask benar-benar selesai, walaupun thread ini di interrupt
+     */
+    @Override
+    public void close() {
+        ensureOwner();
+        shutdown();
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            closed = true;
+            while (running > 0) {
+                try {
+                    finished.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void run(SubtaskImpl<T> subtask, Callable<? extends T> task) {
+        CURRENT.set(this);
+        try {
+            if (shutdown) {
+                return;
+            }
+            if (bulkhead != null) {
+                bulkhead.acquirePermission();
+            }
+            try {
+                call(subtask, task);
+            } finally {
+                if (bulkhead != null) {
+                    bulkhead.onComplete();
+                }
+            }
+        } catch (Throwable throwable) {
+            //BulkheadFullException atau CallNotPermittedException
+            failed(subtask, throwable);
+        } finally {
+            CURRENT.remove();
+            threads.remove(Thread.currentThread());
+            lock.lock();
+            try {
+                running--;
+                finished.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private <T> void call(SubtaskImpl<T> subtask, Callable<? extends T> task) throws Exception {
+        if (circuitBreaker != null) {
+            circuitBreaker.acquirePermission();
+        }
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = task.call();
+        } catch (Throwable throwable) {
+            if (circuitBreaker != null) {
+                if (shutdown) {
+                    circuitBreaker.releasePermission();
+                } else {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, throwable);
+                }
+            }
+            failed(subtask, throwable);
+            return;
+        }
+        if (circuitBreaker != null) {
+            circuitBreaker.onResult(System.nanoTime() - start, TimeUnit.NANOSECONDS, result);
+        }
+        subtask.result = result;
+        subtask.state = Subtask.State.SUCCESS;
+    }
+
+    private void failed(SubtaskImpl<?> subtask, Throwable throwable) {
+        //subtask yang gagal karena di interrupt oleh shutdown bukan penyebab kegagalan scope
+        if (shutdown) {
+            return;
+        }
+        subtask.exception = throwable;
+        subtask.state = Subtask.State.FAILED;
+        if (failure.compareAndSet(null, throwable)) {
+            shutdown();
+        }
+    }
+
+    private void ensureOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Current thread is not the owner of " + this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResilientScope '" + name + "'";
+    }
+
+    /** Subtask
+     * Hasil satu fork(), sama seperti StructuredTaskScope.Subtask
+     * get() hanya boleh dipanggil setelah join(), jika state nya SUCCESS
+     */
+    public interface Subtask<T> extends Supplier<T> {
+
+        enum State {
+            UNAVAILABLE, SUCCESS, FAILED
+        }
+
+        State state();
+
+        Throwable exception();
+    }
+
+    private static final class SubtaskImpl<T> implements Subtask<T> {
+
+        private volatile State state = State.UNAVAILABLE;
+        private volatile T result;
+        private volatile Throwable exception;
+
+        @Override
+        public State state() {
+            return state;
+        }
+
+        @Override
+        public T get() {
+            if (state != State.SUCCESS) {
+                throw new IllegalStateException("Subtask is " + state);
+            }
+            return result;
+        }
+
+        @Override
+        public Throwable exception() {
+            if (state != State.FAILED) {
+                throw new IllegalStateException("Subtask is " + state);
+            }
+            return exception;
+        }
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private Bulkhead bulkhead;
+        private CircuitBreaker circuitBreaker;
+        private TimeLimiter timeLimiter;
+
+        private Builder(String name) {
+            this.name = Objects.requireNonNull(name, "Name must not be null");
+        }
+
+        public Builder withBulkhead(Bulkhead bulkhead) {
+            this.bulkhead = Objects.requireNonNull(bulkhead, "Bulkhead must not be null");
+            return this;
+        }
+
+        public Builder withCircuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "CircuitBreaker must not be null");
+            return this;
+        }
+
+        public Builder withTimeLimiter(TimeLimiter timeLimiter) {
+            this.timeLimiter = Objects.requireNonNull(timeLimiter, "TimeLimiter must not be null");
+            return this;
+        }
+
+        /**
+         * Deadline TimeLimiter dihitung dari saat scope dibuka
+         */
+        public ResilientScope open() {
+            return new ResilientScope(this);
+        }
+    }
+}
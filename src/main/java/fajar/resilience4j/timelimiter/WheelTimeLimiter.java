@@ -0,0 +1,237 @@
+package fajar.resilience4j.timelimiter;
+
+import fajar.resilience4j.core.FilteringEventProcessor;
+import fajar.resilience4j.core.HashedWheelTimer;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.event.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/** WheelTimeLimiter
+ * TimeLimiter yang mencatat semua timeout di satu HashedWheelTimer, bukan di ScheduledExecutorService atau Future.get(timeout)
+ * Untuk CompletionStage tidak ada thread yang menunggu per eksekusi, hasilnya diselesaikan dengan TimeoutException saat expired
+ * Jika cancelRunningFuture true, future asli juga dibatalkan saat timeout
+ * Timer dipakai bersama oleh semua WheelTimeLimiter, kecuali kita memberikan HashedWheelTimer sendiri
+ */
+public class WheelTimeLimiter implements TimeLimiter {
+
+    private static final HashedWheelTimer SHARED_TIMER = new HashedWheelTimer("timeLimiter");
+
+    private final String name;
+    private final TimeLimiterConfig config;
+    private final Map<String, String> tags;
+    private final HashedWheelTimer timer;
+    private final TimeLimiterEventProcessor eventProcessor = new TimeLimiterEventProcessor();
+
+    public WheelTimeLimiter(String name, TimeLimiterConfig config, Map<String, String> tags, HashedWheelTimer timer) {
+        this.name = Objects.requireNonNull(name, "Name must not be null");
+        this.config = Objects.requireNonNull(config, "Config must not be null");
+        this.tags = Objects.requireNonNull(tags, "Tags must not be null");
+        this.timer = Objects.requireNonNull(timer, "Timer must not be null");
+    }
+
+    public static WheelTimeLimiter ofDefaults(String name) {
+        return of(name, TimeLimiterConfig.ofDefaults());
+    }
+
+    public static WheelTimeLimiter of(String name, TimeLimiterConfig config) {
+        return new WheelTimeLimiter(name, config, Collections.emptyMap(), SHARED_TIMER);
+    }
+
+    public static WheelTimeLimiter of(String name, TimeLimiterConfig config, HashedWheelTimer timer) {
+        return new WheelTimeLimiter(name, config, Collections.emptyMap(), timer);
+    }
+
+    /**
+     * Sama seperti decorateCompletionStage(scheduler, supplier), tanpa perlu ScheduledExecutorService
+     */
+    public <T, F extends CompletionStage<T>> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<F> supplier) {
+        return () -> {
+            CompletableFuture<T> promise = new CompletableFuture<>();
+            CompletionStage<T> stage;
+            try {
+                stage = supplier.get();
+            } catch (Throwable throwable) {
+                onError(throwable);
+                promise.completeExceptionally(throwable);
+                return promise;
+            }
+
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> {
+                //future dibatalkan dulu, supaya saat promise selesai future asli juga sudah berhenti
+                if (config.shouldCancelRunningFuture() && stage instanceof Future<?> future) {
+                    future.cancel(true);
+                }
+                TimeoutException timeoutException = TimeLimiter.createdTimeoutExceptionWithName(name, null);
+                onError(timeoutException);
+                promise.completeExceptionally(timeoutException);
+            }, config.getTimeoutDuration());
+
+            stage.whenComplete((result, throwable) -> {
+                //sudah expired, hasil (termasuk CancellationException dari timer) diabaikan
+                if (!timeout.cancel() && timeout.isExpired()) {
+                    return;
+                }
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    if (promise.completeExceptionally(cause)) {
+                        onError(cause);
+                    }
+                } else if (promise.complete(result)) {
+                    onSuccess();
+                }
+            });
+            return promise;
+        };
+    }
+
+    public <T, F extends CompletionStage<T>> CompletionStage<T> executeCompletionStage(Supplier<F> supplier) {
+        return decorateCompletionStage(supplier).get();
+    }
+
+    /**
+     * Scheduler tidak dipakai, timeout selalu dicatat di HashedWheelTimer
+     */
+    @Override
+    public <T, F extends CompletionStage<T>> Supplier<CompletionStage<T>> decorateCompletionStage(
+            ScheduledExecutorService scheduler, Supplier<F> supplier) {
+        return decorateCompletionStage(supplier);
+    }
+
+    /**
+     * Callable tetap menunggu hasil di thread pemanggil (kontrak dari Callable)
+     * Future yang juga CompletionStage (CompletableFuture) memakai jalur HashedWheelTimer yang sama dengan decorateCompletionStage()
+     * Future biasa (misal dari ExecutorService.submit) dibatalkan oleh timer saat expired jika cancelRunningFuture true,
+     * jika cancelRunningFuture false tidak ada cara membangunkan pemanggil, jadi kembali memakai Future.get(timeout)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, F extends Future<T>> Callable<T> decorateFutureSupplier(Supplier<F> futureSupplier) {
+        return () -> {
+            Future<T> future = futureSupplier.get();
+            if (future instanceof CompletionStage<?> stage) {
+                try {
+                    return (T) executeCompletionStage(() -> stage).toCompletableFuture().join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof Exception exception ? exception : e;
+                }
+            }
+            if (!config.shouldCancelRunningFuture()) {
+                return awaitWithTimedGet(future);
+            }
+
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> future.cancel(true), config.getTimeoutDuration());
+            try {
+                T result = future.get();
+                onSuccess();
+                return result;
+            } catch (CancellationException e) {
+                if (!timeout.isExpired()) {
+                    throw e;
+                }
+                TimeoutException timeoutException = TimeLimiter.createdTimeoutExceptionWithName(name, null);
+                onError(timeoutException);
+                throw timeoutException;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                onError(cause);
+                throw cause instanceof Exception exception ? exception : e;
+            } finally {
+                //termasuk future yang dibatalkan pihak lain dan pemanggil yang di interrupt, cancel() tidak berpengaruh jika sudah expired
+                timeout.cancel();
+            }
+        };
+    }
+
+    private <T> T awaitWithTimedGet(Future<T> future) throws Exception {
+        try {
+            T result = future.get(config.getTimeoutDuration().toNanos(), TimeUnit.NANOSECONDS);
+            onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            TimeoutException timeoutException = TimeLimiter.createdTimeoutExceptionWithName(name, e);
+            onError(timeoutException);
+            throw timeoutException;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            onError(cause);
+            throw cause instanceof Exception exception ? exception : e;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public TimeLimiterConfig getTimeLimiterConfig() {
+        return config;
+    }
+
+    @Override
+    public EventPublisher getEventPublisher() {
+        return eventProcessor;
+    }
+
+    @Override
+    public void onSuccess() {
+        if (eventProcessor.hasConsumers(TimeLimiterOnSuccessEvent.class)) {
+            eventProcessor.consumeEvent(new TimeLimiterOnSuccessEvent(name));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (throwable instanceof TimeoutException) {
+            if (eventProcessor.hasConsumers(TimeLimiterOnTimeoutEvent.class)) {
+                eventProcessor.consumeEvent(new TimeLimiterOnTimeoutEvent(name));
+            }
+        } else if (eventProcessor.hasConsumers(TimeLimiterOnErrorEvent.class)) {
+            eventProcessor.consumeEvent(new TimeLimiterOnErrorEvent(name, throwable));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WheelTimeLimiter '%s'", name);
+    }
+
+    private static class TimeLimiterEventProcessor extends FilteringEventProcessor<TimeLimiterEvent> implements
+            EventConsumer<TimeLimiterEvent>, EventPublisher {
+
+        @Override
+        public EventPublisher onSuccess(EventConsumer<TimeLimiterOnSuccessEvent> eventConsumer) {
+            registerConsumer(TimeLimiterOnSuccessEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onError(EventConsumer<TimeLimiterOnErrorEvent> eventConsumer) {
+            registerConsumer(TimeLimiterOnErrorEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public EventPublisher onTimeout(EventConsumer<TimeLimiterOnTimeoutEvent> eventConsumer) {
+            registerConsumer(TimeLimiterOnTimeoutEvent.class.getName(), eventConsumer);
+            return this;
+        }
+
+        @Override
+        public void consumeEvent(TimeLimiterEvent event) {
+            super.processEvent(event);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+import fajar.resilience4j.bulkhead.AdaptiveBulkhead;
+import fajar.resilience4j.bulkhead.AdaptiveBulkheadRegistry;
+import fajar.resilience4j.bulkhead.limit.AdaptiveLimit;
+import fajar.resilience4j.bulkhead.limit.AimdLimit;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.decorators.Decorators;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class AdaptiveBulkheadTest {
+
+    /** AdaptiveBulkhead
+     * Sama seperti Bulkhead (semaphore), tapi maxConcurrentCalls tidak tetap
+     * Jumlah permit naik saat latency eksekusi rendah, dan turun saat latency naik melewati batas (AimdLimit) atau naik dari baseline (GradientLimit)
+     */
+
+    @SneakyThrows
+    void sayHello(long sleep) {
+        log.info("Hello");
+        Thread.sleep(sleep);
+    }
+
+    @Test
+    void testAimdLimit() {
+        AimdLimit aimdLimit = AimdLimit.of(4, 10, Duration.ofMillis(50));
+        //menghitung sample yang sampai ke AimdLimit
+        AtomicInteger samples = new AtomicInteger();
+        AdaptiveBulkhead bulkhead = AdaptiveBulkhead.of("fjr", BulkheadConfig.custom()
+                        .maxConcurrentCalls(10)
+                        .build(),
+                new AdaptiveLimit() {
+                    @Override
+                    public int getLimit() {
+                        return aimdLimit.getLimit();
+                    }
+
+                    @Override
+                    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+                        samples.incrementAndGet();
+                        aimdLimit.onSample(rttNanos, inFlight, dropped);
+                    }
+                });
+
+        //eksekusi cepat dan bersarang, satu thread memegang 2 permit sekaligus, setiap permit tetap menjadi satu sample
+        //limit naik jika inFlight minimal setengah limit
+        for (int i = 0; i < 4; i++) {
+            bulkhead.executeRunnable(() -> bulkhead.executeRunnable(() -> log.info("Hello")));
+        }
+        Assertions.assertEquals(8, samples.get());
+        Assertions.assertTrue(bulkhead.getMetrics().getMaxAllowedConcurrentCalls() > 4);
+
+        //eksekusi lambat, limit turun
+        int limitBefore = bulkhead.getMetrics().getMaxAllowedConcurrentCalls();
+        bulkhead.decorateRunnable(() -> sayHello(100)).run();
+        Assertions.assertTrue(bulkhead.getMetrics().getMaxAllowedConcurrentCalls() < limitBefore);
+
+        //Bulkhead.decorateRunnable() (static) hanya memanggil onComplete(), tidak ada sample
+        Bulkhead.decorateRunnable(bulkhead, () -> sayHello(100)).run();
+        Assertions.assertEquals(9, samples.get());
+    }
+
+    @Test
+    void testAdaptiveBulkheadCompletionStage() {
+        AdaptiveBulkhead bulkhead = AdaptiveBulkhead.of("fjr", BulkheadConfig.custom()
+                        .maxConcurrentCalls(10)
+                        .build(),
+                AimdLimit.of(4, 10, Duration.ofMillis(50)));
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            //permit didapat di thread pemanggil, eksekusi selesai di thread executorService setelah 100ms
+            Supplier<CompletionStage<String>> supplier = Decorators.ofCompletionStage(bulkhead.decorateCompletionStage(
+                    () -> CompletableFuture.supplyAsync(() -> {
+                        sayHello(100);
+                        return "Fajar";
+                    }, executorService))).decorate();
+
+            Assertions.assertEquals("Fajar", supplier.get().toCompletableFuture().join());
+            //latency 100ms melewati 50ms, limit turun dan permit kembali
+            Assertions.assertTrue(bulkhead.getMetrics().getMaxAllowedConcurrentCalls() < 4);
+            Assertions.assertEquals(bulkhead.getMetrics().getMaxAllowedConcurrentCalls(),
+                    bulkhead.getMetrics().getAvailableConcurrentCalls());
+
+            //error juga mengembalikan permit
+            CompletionStage<String> failed = bulkhead.executeCompletionStage(
+                    () -> CompletableFuture.failedFuture(new IllegalArgumentException("ERROR")));
+            Assertions.assertThrows(CompletionException.class, () -> failed.toCompletableFuture().join());
+            Assertions.assertEquals(bulkhead.getMetrics().getMaxAllowedConcurrentCalls(),
+                    bulkhead.getMetrics().getAvailableConcurrentCalls());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAdaptiveBulkheadFull() {
+        AdaptiveBulkhead bulkhead = AdaptiveBulkhead.of("fjr", BulkheadConfig.custom()
+                        .maxConcurrentCalls(2)
+                        .build(),
+                AimdLimit.of(2, 2, Duration.ofMillis(50)));
+
+        bulkhead.acquirePermission();
+        bulkhead.acquirePermission();
+        //limit 2 sudah terpakai semua dan maxWaitDuration 0, jadi langsung ditolak
+        Assertions.assertThrows(BulkheadFullException.class, bulkhead::acquirePermission);
+        Assertions.assertEquals(0, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void testAdaptiveBulkheadRegistry() {
+        BulkheadRegistry registry = AdaptiveBulkheadRegistry.ofDefaults();
+        registry.addConfiguration("config", BulkheadConfig.custom()
+                .maxConcurrentCalls(5)
+                .maxWaitDuration(Duration.ofSeconds(5))
+                .build());
+
+        Bulkhead bulkhead = registry.bulkhead("fjr", "config");
+        Assertions.assertInstanceOf(AdaptiveBulkhead.class, bulkhead);
+        Assertions.assertSame(bulkhead, registry.bulkhead("fjr"));
+        //limit dimulai dari setengah maxConcurrentCalls
+        Assertions.assertEquals(2, bulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+    }
+}
@@ -0,0 +1,131 @@
+import fajar.resilience4j.core.AsyncEventDispatcher;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+public class AsyncEventDispatcherTest {
+
+    /** AsyncEventDispatcher
+     * Consumer dari Event Publisher biasanya berjalan di thread yang sama dengan eksekusi nya
+     * Dengan dispatcher.async(consumer), event hanya dimasukkan ke ring buffer, dan consumer dijalankan oleh thread dispatcher
+     * Jika ring buffer penuh, OverflowPolicy menentukan event mana yang dibuang (atau pemanggil menunggu untuk BLOCK)
+     */
+
+    @SneakyThrows
+    private void await(CountDownLatch latch) {
+        latch.await();
+    }
+
+    @SneakyThrows
+    private void sleep(long millis) {
+        Thread.sleep(millis);
+    }
+
+    private String hello() {
+        throw new IllegalArgumentException("Ups error");
+    }
+
+    @Test
+    void testAsyncEventPublisher() throws InterruptedException {
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ZERO)
+                .build());
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+
+        try (AsyncEventDispatcher dispatcher = AsyncEventDispatcher.of("fjr")) {
+            retry.getEventPublisher().onRetry(dispatcher.async(event -> {
+                log.info("Try to Retry {}", event.getNumberOfRetryAttempts());
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            }));
+
+            Supplier<String> supplier = Retry.decorateSupplier(retry, this::hello);
+            Assertions.assertThrows(IllegalArgumentException.class, supplier::get);
+
+            //consumer dijalankan oleh thread dispatcher, bukan thread test
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(List.of("event-dispatcher-fjr", "event-dispatcher-fjr"), threads);
+            Assertions.assertEquals(0, dispatcher.getDroppedEvents());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void testDropNewest() {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AsyncEventDispatcher dispatcher = AsyncEventDispatcher.of("drop", 4, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        var consumer = dispatcher.<Integer>async(event -> {
+            await(blocked);
+            delivered.add(event);
+        });
+
+        //event pertama ditahan oleh consumer, 4 event berikutnya memenuhi ring buffer, sisanya dibuang
+        consumer.consumeEvent(0);
+        while (dispatcher.getPendingEvents() > 0) {
+            Thread.onSpinWait();
+        }
+        for (int i = 1; i <= 10; i++) {
+            consumer.consumeEvent(i);
+        }
+        Assertions.assertEquals(6, dispatcher.getDroppedEvents());
+
+        blocked.countDown();
+        dispatcher.close();
+        Assertions.assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4), delivered);
+    }
+
+    @Test
+    @SneakyThrows
+    void testDropOldestAndBlock() {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AsyncEventDispatcher dropOldest = AsyncEventDispatcher.of("oldest", 4, AsyncEventDispatcher.OverflowPolicy.DROP_OLDEST);
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        var consumer = dropOldest.<Integer>async(event -> {
+            await(blocked);
+            delivered.add(event);
+        });
+        consumer.consumeEvent(0);
+        while (dropOldest.getPendingEvents() > 0) {
+            Thread.onSpinWait();
+        }
+        for (int i = 1; i <= 10; i++) {
+            consumer.consumeEvent(i);
+        }
+        blocked.countDown();
+        dropOldest.close();
+        Assertions.assertTrue(dropOldest.awaitTermination(5, TimeUnit.SECONDS));
+        //yang tersisa adalah 4 event terbaru
+        Assertions.assertEquals(List.of(0, 7, 8, 9, 10), delivered);
+        Assertions.assertEquals(6, dropOldest.getDroppedEvents());
+
+        //BLOCK tidak membuang event, pemanggil menunggu consumer
+        AsyncEventDispatcher block = AsyncEventDispatcher.of("block", 4, AsyncEventDispatcher.OverflowPolicy.BLOCK);
+        List<Integer> all = new CopyOnWriteArrayList<>();
+        var blockingConsumer = block.<Integer>async(event -> {
+            sleep(1);
+            all.add(event);
+        });
+        for (int i = 0; i < 50; i++) {
+            blockingConsumer.consumeEvent(i);
+        }
+        block.close();
+        Assertions.assertTrue(block.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(50, all.size());
+        Assertions.assertEquals(0, block.getDroppedEvents());
+    }
+}
@@ -0,0 +1,86 @@
+import fajar.resilience4j.retry.AsyncRetry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class AsyncRetryTest {
+
+    /** AsyncRetry
+     * Retry biasa (Retry.decorateSupplier) melakukan sleep di thread pemanggil selama waitDuration
+     * Dengan AsyncRetry, percobaan berikutnya dijadwalkan di scheduler bersama, jadi thread pemanggil langsung bebas
+     */
+
+    CompletionStage<String> sayHello(AtomicInteger attempts) {
+        //gagal 2 kali, baru sukses di percobaan ke 3
+        if (attempts.incrementAndGet() < 3) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("ups error"));
+        }
+        return CompletableFuture.completedFuture("Hello " + Thread.currentThread().getName());
+    }
+
+    @Test
+    void testAsyncRetry() {
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(5)
+                .waitDuration(Duration.ofMillis(200))
+                .build());
+
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            AtomicInteger attempts = new AtomicInteger(0);
+            Supplier<CompletionStage<String>> supplier = AsyncRetry.decorateCompletionStage(retry, () -> {
+                threadNames.add(Thread.currentThread().getName());
+                return sayHello(attempts);
+            });
+            futures.add(supplier.get().toCompletableFuture());
+        }
+
+        //thread main tidak menunggu backoff, semua future masih berjalan
+        Assertions.assertTrue(futures.stream().noneMatch(CompletableFuture::isDone));
+
+        futures.forEach(future -> log.info("Result : {}", future.join()));
+
+        //percobaan pertama di thread main, sisanya hanya di thread scheduler bersama
+        Assertions.assertEquals(2, threadNames.size());
+        Assertions.assertEquals(100, retry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt());
+    }
+
+    @Test
+    void testAsyncRetryDecorators() {
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .build()
+        );
+
+        Retry retry = Retry.of("fjr-retry", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(100))
+                .build()
+        );
+
+        Supplier<CompletionStage<String>> supplier = AsyncRetry
+                .ofCompletionStage(retry, () -> CompletableFuture.<String>failedFuture(new IllegalArgumentException("ERROR")))
+                .withRateLimiter(rateLimiter)
+                .withFallback(throwable -> "===== FAILED ======")
+                .decorate();
+
+        Assertions.assertEquals("===== FAILED ======", supplier.get().toCompletableFuture().join());
+    }
+}
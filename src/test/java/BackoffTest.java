@@ -0,0 +1,99 @@
+import fajar.resilience4j.retry.Backoff;
+import fajar.resilience4j.retry.LatencyAwareBackoff;
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class BackoffTest {
+
+    /** Backoff
+     * Di RetryConfigTest semua retry menunggu waitDuration yang sama, jadi pemanggil yang gagal bersamaan akan retry bersamaan juga
+     * Backoff menyediakan IntervalBiFunction yang waktu tunggu nya acak (jitter), jadi retry nya tersebar
+     * intervalBiFunction di pasang di RetryConfig, sebagai ganti waitDuration
+     */
+
+    @Test
+    void testFullJitter() {
+        IntervalBiFunction<Object> backoff = Backoff.fullJitter(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        Set<Long> intervals = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            long first = backoff.apply(1, null);
+            Assertions.assertTrue(first >= 0 && first <= 100);
+            long third = backoff.apply(3, null);
+            Assertions.assertTrue(third >= 0 && third <= 400);
+            //attempt ke 10 seharusnya 51200ms, dibatasi cap
+            Assertions.assertTrue(backoff.apply(10, null) <= 1_000);
+            intervals.add(first);
+        }
+        Assertions.assertTrue(intervals.size() > 50);
+    }
+
+    @Test
+    void testDecorrelatedJitter() {
+        IntervalBiFunction<Object> backoff = Backoff.decorrelatedJitter(Duration.ofMillis(100), Duration.ofSeconds(2));
+
+        long sumFirst = 0;
+        long sumFifth = 0;
+        for (int i = 0; i < 1_000; i++) {
+            long first = backoff.apply(1, null);
+            Assertions.assertTrue(first >= 100 && first <= 300);
+            long fifth = backoff.apply(5, null);
+            Assertions.assertTrue(fifth >= 100 && fifth <= 2_000);
+            sumFirst += first;
+            sumFifth += fifth;
+        }
+        log.info("Mean first {}ms, fifth {}ms", sumFirst / 1_000, sumFifth / 1_000);
+        Assertions.assertTrue(sumFifth > sumFirst);
+    }
+
+    @Test
+    void testLatencyAwareBackoffRegistry() {
+        LatencyAwareBackoff backoff = Backoff.latencyAware(2, Duration.ofMillis(1), Duration.ofSeconds(1));
+        Assertions.assertTrue(backoff.apply(1, null) <= 1);
+
+        //dependency lambat, base jadi 2 x 100ms
+        for (int i = 0; i < 50; i++) {
+            backoff.record(Duration.ofMillis(100));
+        }
+        Assertions.assertEquals(100, backoff.getLatency().toMillis(), 5);
+        for (int i = 0; i < 1_000; i++) {
+            long interval = backoff.apply(2, null);
+            Assertions.assertTrue(interval >= 1 && interval <= 400);
+        }
+
+        //config dengan backoff didaftarkan ke registry, sama seperti di RetryRegisterTest
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofSeconds(2))
+                .build();
+        LatencyAwareBackoff fastBackoff = Backoff.latencyAware(1, Duration.ofMillis(1), Duration.ofMillis(20));
+        RetryRegistry retryRegistry = RetryRegistry.ofDefaults();
+        retryRegistry.addConfiguration("fullJitter",
+                Backoff.withBackoff(retryConfig, Backoff.fullJitter(Duration.ofMillis(1), Duration.ofMillis(10))));
+        retryRegistry.addConfiguration("latencyAware", Backoff.withBackoff(retryConfig, fastBackoff));
+
+        for (String configName : new String[]{"fullJitter", "latencyAware"}) {
+            Retry retry = retryRegistry.retry("fjr-" + configName, configName);
+            AtomicInteger attempts = new AtomicInteger();
+            long start = System.nanoTime();
+            Assertions.assertThrows(IllegalArgumentException.class, () -> retry.executeSupplier(fastBackoff.decorateSupplier(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalArgumentException("ERROR");
+            })));
+            //tanpa backoff, waitDuration 2 detik x 2 retry
+            Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+            Assertions.assertEquals(3, attempts.get());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import fajar.resilience4j.ratelimiter.BatchRateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+@Slf4j
+public class BatchRateLimiterTest {
+
+    /** BatchRateLimiter
+     * Sama seperti RateLimiter, tapi permit bisa diambil sekaligus untuk satu batch record
+     * acquirePermissions(n) mengembalikan jumlah permit yang didapat, bisa kurang dari n jika permit di periode ini tinggal sedikit
+     */
+
+    @Test
+    void testAcquirePermissions() {
+        //config sama seperti RateLimiterTest.testRateLimiterConfig, tapi tanpa menunggu
+        BatchRateLimiter rateLimiter = BatchRateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(100)
+                .limitRefreshPeriod(Duration.ofMinutes(2))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+
+        Assertions.assertEquals(64, rateLimiter.acquirePermissions(64));
+        //sisa permit hanya 36, jadi yang diberikan sebagian
+        Assertions.assertEquals(36, rateLimiter.acquirePermissions(64));
+        Assertions.assertEquals(0, rateLimiter.acquirePermissions(64));
+        Assertions.assertFalse(rateLimiter.acquirePermission());
+    }
+
+    @Test
+    void testDecorateConsumer() {
+        BatchRateLimiter rateLimiter = BatchRateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(100)
+                .limitRefreshPeriod(Duration.ofMillis(100))
+                .timeoutDuration(Duration.ofSeconds(1))
+                .build());
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        Consumer<List<Integer>> consumer = BatchRateLimiter.decorateConsumer(rateLimiter, records -> {
+            log.info("Process {} records", records.size());
+            chunkSizes.add(records.size());
+        });
+
+        //250 record dipecah per 100 permit, sisanya menunggu periode berikutnya (masih dalam timeoutDuration)
+        consumer.accept(IntStream.range(0, 250).boxed().toList());
+        Assertions.assertEquals(250, chunkSizes.stream().mapToInt(Integer::intValue).sum());
+        Assertions.assertTrue(chunkSizes.stream().allMatch(size -> size <= 100));
+    }
+
+    @Test
+    void testDecorateConsumerNotPermitted() {
+        BatchRateLimiter rateLimiter = BatchRateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(100)
+                .limitRefreshPeriod(Duration.ofMinutes(2))
+                .timeoutDuration(Duration.ofMillis(100))
+                .build());
+
+        List<Integer> processed = new ArrayList<>();
+        Consumer<List<Integer>> consumer = BatchRateLimiter.decorateConsumer(rateLimiter, processed::addAll);
+
+        //periode berikutnya baru 2 menit lagi, lebih lama dari timeoutDuration
+        Assertions.assertThrows(RequestNotPermitted.class, () -> consumer.accept(IntStream.range(0, 250).boxed().toList()));
+        Assertions.assertEquals(100, processed.size());
+    }
+}
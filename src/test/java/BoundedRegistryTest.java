@@ -0,0 +1,92 @@
+import fajar.resilience4j.core.BoundedRegistries;
+import fajar.resilience4j.core.BoundedRegistryStore;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+public class BoundedRegistryTest {
+
+    /** BoundedRegistryStore
+     * Registry biasa menyimpan semua entry selamanya, registry.circuitBreaker(tenant) per tenant membuat memory terus bertambah
+     * Dengan BoundedRegistryStore jumlah entry dibatasi (maximumSize) dan entry yang lama tidak dipakai dihapus (expireAfterAccess)
+     * Entry yang dihapus mengirim event onEntryRemoved, dan CircuitBreaker yang OPEN tidak pernah dihapus
+     */
+
+    @Test
+    void testBoundedRegistryEviction() {
+        RateLimiterRegistry registry = BoundedRegistries.rateLimiterRegistry(RateLimiterConfig.ofDefaults(),
+                BoundedRegistryStore.<RateLimiter>custom().maximumSize(100));
+        List<String> removed = new ArrayList<>();
+        registry.getEventPublisher().onEntryRemoved(event -> removed.add(event.getRemovedEntry().getName()));
+
+        //tenant fjr sering dipakai, tenant lain hanya sekali
+        for (int i = 0; i < 1_000; i++) {
+            registry.rateLimiter("fjr");
+            registry.rateLimiter("tenant-" + i);
+        }
+
+        Assertions.assertTrue(registry.getAllRateLimiters().size() <= 100);
+        Assertions.assertFalse(removed.isEmpty());
+        Assertions.assertFalse(removed.contains("fjr"));
+        Assertions.assertTrue(registry.find("fjr").isPresent());
+        log.info("Removed {} entries", removed.size());
+    }
+
+    @Test
+    void testBoundedRegistryKeepOpenCircuitBreaker() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(10)
+                .build();
+        CircuitBreakerRegistry registry = BoundedRegistries.circuitBreakerRegistry(config,
+                BoundedRegistryStore.<CircuitBreaker>custom()
+                        .maximumSize(10)
+                        .evictionPolicy(BoundedRegistryStore.EvictionPolicy.LRU));
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker("fjr");
+        circuitBreaker.transitionToOpenState();
+        for (int i = 0; i < 1_000; i++) {
+            registry.circuitBreaker("tenant-" + i);
+        }
+
+        //fjr paling lama tidak diakses, tapi tetap disimpan karena OPEN
+        Assertions.assertSame(circuitBreaker, registry.find("fjr").orElseThrow());
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, registry.circuitBreaker("fjr").getState());
+        Assertions.assertTrue(registry.getAllCircuitBreakers().size() <= 11);
+    }
+
+    @Test
+    void testBoundedRegistryExpireAfterAccess() {
+        RateLimiterRegistry registry = BoundedRegistries.rateLimiterRegistry(RateLimiterConfig.ofDefaults(),
+                BoundedRegistryStore.<RateLimiter>custom().expireAfterAccess(Duration.ofMillis(100)));
+        List<String> removed = new ArrayList<>();
+        registry.getEventPublisher().onEntryRemoved(event -> removed.add(event.getRemovedEntry().getName()));
+
+        RateLimiter rateLimiter = registry.rateLimiter("fjr");
+        registry.rateLimiter("fjr2");
+        sleep(200);
+
+        //entry yang expired dianggap tidak ada, dan dibuat ulang saat diminta lagi
+        Assertions.assertTrue(registry.find("fjr2").isEmpty());
+        Assertions.assertNotSame(rateLimiter, registry.rateLimiter("fjr"));
+        Assertions.assertTrue(removed.contains("fjr"));
+        Assertions.assertTrue(removed.contains("fjr2"));
+    }
+
+    @SneakyThrows
+    private static void sleep(long millis) {
+        Thread.sleep(millis);
+    }
+}
@@ -0,0 +1,151 @@
+import fajar.resilience4j.bulkhead.CoDelConfig;
+import fajar.resilience4j.bulkhead.CoDelThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+@Slf4j
+public class CoDelThreadPoolBulkheadTest {
+
+    /** CoDelThreadPoolBulkhead
+     * Sama seperti ThreadPoolBulkhead, tetapi task yang terlalu lama menunggu di antrian dibuang sebelum dieksekusi
+     * Saat antrian overload (CoDel) task terbaru dieksekusi lebih dulu (LIFO), dan task bisa punya deadline sendiri
+     */
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @SneakyThrows
+    String sayHello(String name, long sleep) {
+        log.info("Hello {}", name);
+        executed.add(name);
+        Thread.sleep(sleep);
+        return name;
+    }
+
+    @Test
+    @SneakyThrows
+    void testDeadline() {
+        CoDelThreadPoolBulkhead bulkhead = CoDelThreadPoolBulkhead.of("fjr", ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(1)
+                .coreThreadPoolSize(1)
+                .queueCapacity(10)
+                .build());
+        CountDownLatch latch = new CountDownLatch(1);
+        bulkhead.submit(() -> {
+            latch.await();
+            return "blocker";
+        });
+
+        List<CompletableFuture<String>> withDeadline = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String name = "deadline-" + i;
+            withDeadline.add(bulkhead.submit(() -> sayHello(name, 0), Duration.ofMillis(50)));
+        }
+        CompletableFuture<String> withoutDeadline = bulkhead.submit(() -> sayHello("no-deadline", 0));
+
+        //worker tertahan 100ms, task dengan deadline 50ms sudah tidak berguna lagi
+        Thread.sleep(100);
+        latch.countDown();
+        Assertions.assertEquals("no-deadline", withoutDeadline.join());
+        for (CompletableFuture<String> future : withDeadline) {
+            CompletionException exception = Assertions.assertThrows(CompletionException.class, future::join);
+            Assertions.assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        }
+        Assertions.assertEquals(List.of("no-deadline"), executed);
+        Assertions.assertEquals(3, bulkhead.getMetrics().getExpiredCalls());
+        Assertions.assertEquals(0, bulkhead.getMetrics().getShedCalls());
+        bulkhead.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void testCoDelLifo() {
+        CoDelThreadPoolBulkhead bulkhead = CoDelThreadPoolBulkhead.of("fjr", ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(1)
+                .coreThreadPoolSize(1)
+                .queueCapacity(10)
+                .build(), CoDelConfig.custom()
+                .target(Duration.ofMillis(40))
+                .interval(Duration.ofMillis(50))
+                .build());
+
+        //setiap task 100ms dengan 1 worker, antrian terus memanjang
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            String name = "task-" + i;
+            futures.add(bulkhead.submit(() -> sayHello(name, 100)));
+        }
+        Thread.sleep(150);
+        futures.add(bulkhead.submit(() -> sayHello("task-6", 100)));
+        futures.add(bulkhead.submit(() -> sayHello("task-7", 100)));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(throwable -> null).join();
+
+        //task-2 menunggu 100ms (lebih dari target) jadi antrian overload :
+        //task-3 sampai task-5 sudah menunggu lebih dari 2 x target dan dibuang, task-7 (terbaru) dieksekusi lebih dulu dari task-6
+        log.info("Executed {}", executed);
+        Assertions.assertEquals(List.of("task-1", "task-2", "task-7"), executed);
+        Assertions.assertEquals(4, bulkhead.getMetrics().getShedCalls());
+        Assertions.assertEquals(0, bulkhead.getMetrics().getQueueDepth());
+        bulkhead.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void testThreadPoolBulkhead() {
+        ThreadPoolBulkhead bulkhead = CoDelThreadPoolBulkhead.of("fjr", ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(2)
+                .coreThreadPoolSize(1)
+                .queueCapacity(2)
+                .build());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        //cara pakainya sama dengan ThreadPoolBulkhead di BulkHeadTest
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String name = "task-" + i;
+            futures.add(ThreadPoolBulkhead.decorateCallable(bulkhead, () -> {
+                latch.await();
+                return sayHello(name, 0);
+            }).get().toCompletableFuture());
+        }
+
+        //pool(2) + antrian(2) sudah penuh, eksekusi berikutnya ditolak
+        Assertions.assertThrows(BulkheadFullException.class, () -> bulkhead.executeSupplier(() -> sayHello("rejected", 0)));
+        latch.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        Assertions.assertEquals(4, executed.size());
+        Assertions.assertEquals(2, bulkhead.getMetrics().getThreadPoolSize());
+        Assertions.assertEquals(0, ((CoDelThreadPoolBulkhead) bulkhead).getMetrics().getShedCalls());
+        bulkhead.close();
+    }
+
+    @Test
+    void testClose() {
+        CoDelThreadPoolBulkhead bulkhead = CoDelThreadPoolBulkhead.of("fjr", ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(1)
+                .coreThreadPoolSize(1)
+                .queueCapacity(10)
+                .build());
+        CompletableFuture<String> first = bulkhead.submit(() -> sayHello("task-1", 100));
+        CompletableFuture<String> second = bulkhead.submit(() -> sayHello("task-2", 100));
+
+        //sama seperti ThreadPoolBulkhead, close() menunggu task di antrian selesai dieksekusi
+        bulkhead.close();
+        Assertions.assertTrue(first.isDone());
+        Assertions.assertTrue(second.isDone());
+        Assertions.assertEquals(List.of("task-1", "task-2"), executed);
+        Assertions.assertThrows(BulkheadFullException.class, () -> bulkhead.submit(() -> sayHello("rejected", 0)));
+    }
+}
@@ -0,0 +1,96 @@
+import fajar.resilience4j.decorators.CompiledPipeline;
+import fajar.resilience4j.retry.RetryBudget;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class CompiledPipelineTest {
+
+    /** CompiledPipeline
+     * Cara pakainya sama seperti Decorators, hanya diakhiri dengan compile() bukan decorate()
+     * Urutan module disusun sekali, lalu setiap eksekusi tidak perlu membuat object baru selama eksekusinya sukses
+     */
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    String saySomething() {
+        log.info("Say Something {}", counter.incrementAndGet());
+        throw new IllegalArgumentException("ERROR");
+    }
+
+    @Test
+    void testCompiledPipelineFallback() {
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .build());
+        Retry retry = Retry.of("fjr-retry", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .build());
+
+        //sama seperti DecoratorsTest.testFallback
+        Supplier<String> supplier = CompiledPipeline.ofSupplier(() -> saySomething())
+                .withRetry(retry)
+                .withRateLimiter(rateLimiter)
+                .withFallback(throwable -> "===== FAILED ======")
+                .compile();
+
+        Assertions.assertEquals("===== FAILED ======", supplier.get());
+        Assertions.assertEquals(3, counter.get());
+        //RateLimiter ada di luar Retry, jadi satu eksekusi hanya memakai satu permit walaupun di retry 3 kali
+        Assertions.assertEquals(4, rateLimiter.getMetrics().getAvailablePermissions());
+        Assertions.assertEquals(1, retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt());
+    }
+
+    @Test
+    void testCompiledPipelineSuccess() {
+        Retry retry = Retry.ofDefaults("fjr-retry");
+        Supplier<String> supplier = CompiledPipeline.ofSupplier(() -> {
+                    //gagal sekali, sukses di percobaan kedua
+                    if (counter.incrementAndGet() == 1) {
+                        throw new IllegalArgumentException("ERROR");
+                    }
+                    return "Fajar";
+                })
+                .withRetry(retry)
+                .compile();
+
+        Assertions.assertEquals("Fajar", supplier.get());
+        Assertions.assertEquals("Fajar", supplier.get());
+        Assertions.assertEquals(1, retry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt());
+        Assertions.assertEquals(1, retry.getMetrics().getNumberOfSuccessfulCallsWithoutRetryAttempt());
+    }
+
+    @Test
+    void testCompiledPipelineRetryOnResult() {
+        //jatah 0, sama seperti RetryBudgetTest.testRetryBudgetOnResult tapi lewat CompiledPipeline
+        RetryBudget budget = RetryBudget.of("fjr", 0.0, 0, Duration.ofSeconds(1));
+        AtomicInteger predicateCalls = new AtomicInteger();
+        Retry retry = budget.retry("fjr-retry", RetryConfig.<String>custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnResult(result -> {
+                    predicateCalls.incrementAndGet();
+                    return result.equals("bad");
+                })
+                .build());
+        Supplier<String> supplier = CompiledPipeline.ofSupplier(() -> "bad")
+                .withRetry(retry)
+                .compile();
+
+        //result predicate hanya dievaluasi sekali per percobaan, jadi retry yang ditolak budget hanya dihitung sekali
+        Assertions.assertEquals("bad", supplier.get());
+        Assertions.assertEquals(1, predicateCalls.get());
+        Assertions.assertEquals(1, budget.getNumberOfRejectedRetries());
+    }
+}
@@ -0,0 +1,120 @@
+import fajar.resilience4j.ratelimiter.DistributedRateLimiter;
+import fajar.resilience4j.ratelimiter.DistributedRateLimiterRegistry;
+import fajar.resilience4j.ratelimiter.InMemoryRateLimiterStore;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class DistributedRateLimiterTest {
+
+    /** DistributedRateLimiter
+     * RateLimiter biasa menghitung limitForPeriod per JVM, jadi 4 replica aplikasi mengizinkan 4 x 100 eksekusi
+     * DistributedRateLimiter menyimpan jumlah permit yang sudah dipakai di RateLimiterStore yang sama untuk semua node
+     * Setiap node mengambil permit per lease (beberapa permit sekaligus), supaya store tidak dipanggil setiap eksekusi
+     * InMemoryRateLimiterStore dipakai untuk mensimulasikan beberapa node di satu JVM
+     */
+
+    private final AtomicLong counter = new AtomicLong(0L);
+
+    //limitRefreshPeriod dibuat panjang, supaya selama test tidak berganti cycle
+    private final RateLimiterConfig config = RateLimiterConfig.custom()
+            .limitForPeriod(100)
+            .limitRefreshPeriod(Duration.ofDays(1))
+            .timeoutDuration(Duration.ZERO)
+            .build();
+
+    @Test
+    void testDistributedRateLimiter() {
+        InMemoryRateLimiterStore store = new InMemoryRateLimiterStore();
+        //4 node dengan nama rate limiter yang sama, jadi jatah 100 dipakai bersama
+        List<RateLimiter> nodes = List.of(
+                DistributedRateLimiter.of("fjr", config, store, 10),
+                DistributedRateLimiter.of("fjr", config, store, 10),
+                DistributedRateLimiter.of("fjr", config, store, 10),
+                DistributedRateLimiter.of("fjr", config, store, 10));
+
+        int rejected = 0;
+        for (int i = 0; i < 1_000; i++) {
+            Runnable runnable = RateLimiter.decorateRunnable(nodes.get(i % nodes.size()), () -> {
+                long result = counter.incrementAndGet();
+                log.info("Result : {}", result);
+            });
+            try {
+                runnable.run();
+            } catch (RequestNotPermitted e) {
+                rejected++;
+            }
+        }
+
+        Assertions.assertEquals(100, counter.get());
+        Assertions.assertEquals(900, rejected);
+    }
+
+    @Test
+    void testDistributedRateLimiterLease() {
+        InMemoryRateLimiterStore store = new InMemoryRateLimiterStore();
+        DistributedRateLimiter node1 = DistributedRateLimiter.of("fjr", config, store, 30);
+        DistributedRateLimiter node2 = DistributedRateLimiter.of("fjr", config, store, 30);
+
+        //permit pertama mengambil satu lease (30 permit) dari store, sisanya disimpan di node1
+        Assertions.assertTrue(node1.acquirePermission());
+        Assertions.assertEquals(29, node1.getMetrics().getAvailablePermissions());
+
+        //drain di node2 menghabiskan sisa jatah di store, node1 hanya bisa memakai lease nya sendiri
+        node2.drainPermissions();
+        for (int i = 0; i < 29; i++) {
+            Assertions.assertTrue(node1.acquirePermission());
+        }
+        Assertions.assertFalse(node1.acquirePermission());
+        Assertions.assertFalse(node2.acquirePermission());
+    }
+
+    @Test
+    void testDistributedRateLimiterRegistry() {
+        InMemoryRateLimiterStore store = new InMemoryRateLimiterStore();
+        //dua registry mensimulasikan dua replica aplikasi
+        RateLimiterRegistry registry1 = DistributedRateLimiterRegistry.of(store);
+        RateLimiterRegistry registry2 = DistributedRateLimiterRegistry.of(store);
+        registry1.addConfiguration("config", config);
+        registry2.addConfiguration("config", config);
+
+        RateLimiter rateLimiter1 = registry1.rateLimiter("fjr", "config");
+        RateLimiter rateLimiter2 = registry2.rateLimiter("fjr", "config");
+        Assertions.assertSame(rateLimiter1, registry1.rateLimiter("fjr"));
+
+        int permitted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (rateLimiter1.acquirePermission()) {
+                permitted++;
+            }
+            if (rateLimiter2.acquirePermission()) {
+                permitted++;
+            }
+        }
+        Assertions.assertEquals(100, permitted);
+    }
+
+    @Test
+    void testInMemoryRateLimiterStore() {
+        InMemoryRateLimiterStore store = new InMemoryRateLimiterStore();
+        Assertions.assertEquals(10, store.acquire("fjr", 1, 10, 15));
+        Assertions.assertEquals(5, store.acquire("fjr", 1, 10, 15));
+        Assertions.assertEquals(3, store.acquire("fjr2", 1, 3, 15));
+
+        //cycle 3 menghapus cycle 1 milik fjr saja, cycle 2 tetap bisa dipakai node yang jam nya terlambat
+        Assertions.assertEquals(1, store.acquire("fjr", 3, 1, 15));
+        Assertions.assertEquals(2, store.acquire("fjr", 2, 2, 15));
+        Assertions.assertEquals(0, store.getUsedPermits("fjr", 1));
+        Assertions.assertEquals(2, store.getUsedPermits("fjr", 2));
+        Assertions.assertEquals(3, store.getUsedPermits("fjr2", 1));
+    }
+}
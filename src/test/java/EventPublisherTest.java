@@ -1,8 +1,18 @@
+import fajar.resilience4j.core.FilteringEventProcessor;
+import fajar.resilience4j.ratelimiter.BatchRateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.event.RateLimiterEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnFailureEvent;
+import io.github.resilience4j.ratelimiter.event.RateLimiterOnSuccessEvent;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 @Slf4j
@@ -66,4 +76,39 @@ public class EventPublisherTest {
         retryRegistry.retry("fjr");// ketika manggil ini lagi log tidak akan dipanggil karna "fjr" sudah ada
         retryRegistry.retry("fjr2");//tapi ketika disini log akan dipanggil lagi karna ada penambahan retry
     }
+
+
+    /** Filter Event
+     * Event hanya dibuat jika ada consumer nya, tanpa consumer tidak ada object event yang dibuat sama sekali
+     * Di implementasi fajar.resilience4j (FilteringEventProcessor) pengecekannya per tipe event
+     * Jadi jika hanya subscribe onFailure(), event sukses tidak dibuat
+     */
+
+    @Test
+    void testEventPublisherFilter() {
+        RateLimiter rateLimiter = BatchRateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(2)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        AtomicInteger failures = new AtomicInteger();
+        rateLimiter.getEventPublisher().onFailure(event -> {
+            log.info("Rate limited {}", event.getRateLimiterName());
+            failures.incrementAndGet();
+        });
+
+        //BatchRateLimiter hanya membuat event jika hasConsumers(tipe event) bernilai true, jadi 2 eksekusi sukses tidak membuat RateLimiterOnSuccessEvent
+        FilteringEventProcessor<RateLimiterEvent> eventProcessor = (FilteringEventProcessor<RateLimiterEvent>) rateLimiter.getEventPublisher();
+        Assertions.assertFalse(eventProcessor.hasConsumers(RateLimiterOnSuccessEvent.class));
+        Assertions.assertTrue(eventProcessor.hasConsumers(RateLimiterOnFailureEvent.class));
+
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquirePermission(1);
+        }
+        Assertions.assertEquals(3, failures.get());
+
+        //consumer onEvent() menerima semua event, jadi setelah itu event sukses ikut dibuat
+        rateLimiter.getEventPublisher().onEvent(event -> log.info("Event {}", event.getEventType()));
+        Assertions.assertTrue(eventProcessor.hasConsumers(RateLimiterOnSuccessEvent.class));
+    }
 }
@@ -0,0 +1,244 @@
+import fajar.resilience4j.flow.FlowOperators;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class FlowOperatorsTest {
+
+    /** FlowOperators
+     * Semua test lain memakai Runnable, Supplier, Callable dan Future, satu eksekusi menahan satu thread
+     * Dengan java.util.concurrent.Flow, elemen dikirim sesuai demand (request(n)) dari subscriber
+     * FlowOperators menerapkan RateLimiter, CircuitBreaker, Bulkhead, TimeLimiter dan Retry ke stream tanpa menahan thread
+     */
+
+    @Test
+    void testRateLimiter() {
+        RateLimiter rateLimiter = RateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofMillis(100))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+
+        long start = System.nanoTime();
+        Flow.Publisher<Integer> publisher = FlowOperators.compose(range(20), FlowOperators.rateLimiter(rateLimiter));
+        List<Integer> items = collect(publisher);
+
+        //5 elemen per 100ms, 20 elemen butuh minimal 3 periode setelah periode pertama
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("20 elements in {}ms", elapsedMillis);
+        Assertions.assertEquals(20, items.size());
+        Assertions.assertTrue(elapsedMillis >= 250);
+    }
+
+    @Test
+    void testCircuitBreakerRetry() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("fjr", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(10)
+                .build());
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .build());
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        //dua percobaan pertama error setelah 1 elemen, percobaan ketiga sukses
+        Flow.Publisher<Integer> publisher = FlowOperators.retry(retry, () -> FlowOperators.compose(
+                subscriptions.incrementAndGet() < 3 ? failAfter(1) : range(3),
+                FlowOperators.circuitBreaker(circuitBreaker)));
+        List<Integer> items = collect(publisher);
+
+        //elemen dari percobaan yang gagal tetap terkirim, percobaan baru mulai dari awal
+        Assertions.assertEquals(List.of(0, 0, 0, 1, 2), items);
+        Assertions.assertEquals(3, subscriptions.get());
+        Assertions.assertEquals(2, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        Assertions.assertEquals(5, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+
+        //CircuitBreaker OPEN, stream baru langsung ditolak
+        circuitBreaker.transitionToOpenState();
+        Throwable throwable = collectError(FlowOperators.compose(range(3), FlowOperators.circuitBreaker(circuitBreaker)));
+        Assertions.assertInstanceOf(CallNotPermittedException.class, throwable);
+    }
+
+    @Test
+    void testBulkheadTimeLimiter() {
+        Bulkhead bulkhead = Bulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TimeLimiter timeLimiter = TimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(100))
+                .build());
+
+        //publisher yang tidak pernah mengirim elemen, stream pertama memegang permit Bulkhead sampai timeout
+        AtomicInteger cancelled = new AtomicInteger();
+        Flow.Publisher<Integer> never = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.incrementAndGet();
+            }
+        });
+        CollectingSubscriber<Integer> first = new CollectingSubscriber<>();
+        FlowOperators.compose(never, FlowOperators.bulkhead(bulkhead), FlowOperators.timeLimiter(timeLimiter)).subscribe(first);
+        Assertions.assertEquals(0, bulkhead.getMetrics().getAvailableConcurrentCalls());
+
+        Throwable full = collectError(FlowOperators.compose(range(3), FlowOperators.bulkhead(bulkhead)));
+        Assertions.assertInstanceOf(BulkheadFullException.class, full);
+
+        Throwable timeout = first.error();
+        Assertions.assertInstanceOf(TimeoutException.class, timeout);
+        Assertions.assertEquals(1, cancelled.get());
+        //permit dilepas saat stream di cancel oleh timeout
+        Assertions.assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        Assertions.assertEquals(List.of(0, 1, 2), collect(FlowOperators.compose(range(3), FlowOperators.bulkhead(bulkhead))));
+    }
+
+    private static <T> List<T> collect(Flow.Publisher<T> publisher) {
+        CollectingSubscriber<T> subscriber = new CollectingSubscriber<>();
+        publisher.subscribe(subscriber);
+        return subscriber.items();
+    }
+
+    private static Throwable collectError(Flow.Publisher<?> publisher) {
+        CollectingSubscriber<Object> subscriber = new CollectingSubscriber<>();
+        publisher.subscribe(subscriber);
+        return subscriber.error();
+    }
+
+    /**
+     * Publisher 0 sampai count - 1, elemen dikirim di thread yang memanggil request()
+     */
+    private static Flow.Publisher<Integer> range(int count) {
+        return subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private final AtomicLong requested = new AtomicLong();
+            private int next;
+            private volatile boolean cancelled;
+
+            @Override
+            public void request(long n) {
+                //request dari dalam onNext cukup menambah demand, dikirim oleh loop yang sedang berjalan
+                if (requested.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add) != 0) {
+                    return;
+                }
+                long demand = requested.get();
+                while (!cancelled) {
+                    long emitted = 0;
+                    while (emitted < demand && next < count && !cancelled) {
+                        subscriber.onNext(next++);
+                        emitted++;
+                    }
+                    if (next == count) {
+                        if (!cancelled) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    demand = requested.addAndGet(-emitted);
+                    if (demand == 0) {
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+        });
+    }
+
+    private static Flow.Publisher<Integer> failAfter(int count) {
+        return subscriber -> range(count).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onError(new IllegalStateException("ERROR"));
+            }
+        });
+    }
+
+    private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(items);
+        }
+
+        @SneakyThrows
+        private List<T> items() {
+            return result.get(5, TimeUnit.SECONDS);
+        }
+
+        @SneakyThrows
+        private Throwable error() {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                return e.getCause();
+            }
+            return Assertions.fail("Stream completed without error");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import fajar.resilience4j.hedge.Hedge;
+import fajar.resilience4j.hedge.HedgeConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class HedgeTest {
+
+    /** Hedge
+     * Di TimeLimiterTest, eksekusi yang lambat (sayHello sleep 2 detik) hanya bisa dihentikan setelah timeout
+     * Dengan Hedge, jika eksekusi pertama belum selesai setelah delay, percobaan kedua dikirim dan hasil yang paling cepat yang dipakai
+     * Percobaan yang kalah dibatalkan, hanya cocok untuk operasi yang idempotent (misal read)
+     */
+
+    @Test
+    void testHedge() {
+        Hedge hedge = Hedge.of("fjr", HedgeConfig.custom()
+                .delay(Duration.ofMillis(50))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Supplier<String> supplier = Hedge.ofSupplier(hedge, () -> {
+                    //percobaan pertama lambat, hedge nya cepat
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(2_000L);
+                        } catch (InterruptedException e) {
+                            interrupted.countDown();
+                        }
+                        return "slow";
+                    }
+                    return "fast";
+                })
+                .withCircuitBreaker(CircuitBreaker.ofDefaults("fjr"))
+                .decorate();
+
+        long start = System.nanoTime();
+        Assertions.assertEquals("fast", supplier.get());
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        //percobaan yang kalah di interrupt
+        Assertions.assertTrue(await(interrupted));
+        Assertions.assertEquals(1, hedge.getMetrics().getNumberOfHedges());
+        Assertions.assertEquals(1, hedge.getMetrics().getNumberOfHedgeWins());
+    }
+
+    @Test
+    void testHedgeCompletionStage() {
+        Hedge hedge = Hedge.of("fjr", HedgeConfig.custom()
+                .delay(Duration.ofMillis(50))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+
+        //eksekusi yang cepat tidak membuat hedge
+        Supplier<CompletionStage<String>> fast = Hedge.ofCompletionStage(hedge, () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture("fjr");
+        }).decorate();
+        Assertions.assertEquals("fjr", fast.get().toCompletableFuture().join());
+        Assertions.assertEquals(1, attempts.get());
+
+        //error tidak membuat hedge, itu tugas Retry
+        CompletionStage<String> failed = hedge.executeCompletionStage(() ->
+                CompletableFuture.failedFuture(new IllegalArgumentException("ERROR")));
+        Assertions.assertThrows(Exception.class, () -> failed.toCompletableFuture().join());
+        Assertions.assertEquals(0, hedge.getMetrics().getNumberOfHedges());
+        Assertions.assertEquals(2, hedge.getMetrics().getNumberOfCalls());
+    }
+
+    @Test
+    void testHedgeMaxHedgeRatio() {
+        Hedge hedge = Hedge.of("fjr", HedgeConfig.custom()
+                .delay(Duration.ZERO)
+                .maxHedgeRatio(0.1)
+                .build());
+        //semua eksekusi lambat, tapi hedge dibatasi 10% eksekusi (ditambah 10 token awal)
+        for (int i = 0; i < 200; i++) {
+            CompletableFuture<String> never = new CompletableFuture<>();
+            hedge.executeCompletionStage(() -> never);
+        }
+        sleep(100);
+        Hedge.Metrics metrics = hedge.getMetrics();
+        log.info("Hedges {}, rejected {}", metrics.getNumberOfHedges(), metrics.getNumberOfRejectedHedges());
+        Assertions.assertTrue(metrics.getNumberOfHedges() <= 10 + 20);
+        Assertions.assertEquals(200, metrics.getNumberOfHedges() + metrics.getNumberOfRejectedHedges());
+    }
+
+    @Test
+    void testHedgeAdaptiveDelay() {
+        Hedge hedge = Hedge.of("fjr", HedgeConfig.custom()
+                .delay(Duration.ofMillis(500))
+                .adaptiveDelay(0.95, Duration.ofMillis(1), Duration.ofSeconds(1))
+                .windowSize(100)
+                .minimumNumberOfCalls(100)
+                .build());
+        Assertions.assertEquals(Duration.ofMillis(500), hedge.getCurrentDelay());
+        for (int i = 0; i < 100; i++) {
+            hedge.executeSupplier(() -> {
+                sleep(5);
+                return "fjr";
+            });
+        }
+        //delay mengikuti p95 latency, jauh di bawah delay awal
+        log.info("Current delay {}", hedge.getCurrentDelay());
+        Assertions.assertTrue(hedge.getCurrentDelay().compareTo(Duration.ofMillis(5)) >= 0);
+        Assertions.assertTrue(hedge.getCurrentDelay().compareTo(Duration.ofMillis(500)) < 0);
+    }
+
+    @SneakyThrows
+    private static boolean await(CountDownLatch latch) {
+        return latch.await(1, TimeUnit.SECONDS);
+    }
+
+    @SneakyThrows
+    private static void sleep(long millis) {
+        Thread.sleep(millis);
+    }
+}
@@ -0,0 +1,100 @@
+import fajar.resilience4j.metrics.LatencyMetrics;
+import fajar.resilience4j.metrics.LatencyMetricsRegistry;
+import fajar.resilience4j.metrics.LatencySnapshot;
+import fajar.resilience4j.metrics.TimedDecorators;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class LatencyMetricsTest {
+
+    /** LatencyMetrics
+     * retry.getMetrics() hanya berisi counter (jumlah eksekusi), tidak ada distribusi latency
+     * LatencyMetrics mencatat histogram per instance : lama eksekusi, lama menunggu permission, dan total backoff Retry
+     * intervalSnapshot() berisi latency sejak snapshot sebelumnya, totalSnapshot() sejak awal
+     */
+
+    @Test
+    void testCallDuration() {
+        LatencyMetricsRegistry registry = LatencyMetricsRegistry.ofDefaults();
+        LatencyMetrics metrics = registry.metrics("fjr");
+        Supplier<String> supplier = TimedDecorators.decorateSupplier(CircuitBreaker.ofDefaults("fjr"), metrics, () -> {
+            sleep(20);
+            return "fjr";
+        });
+        for (int i = 0; i < 5; i++) {
+            supplier.get();
+        }
+
+        LatencySnapshot snapshot = metrics.intervalSnapshot(LatencyMetrics.Type.CALL_DURATION);
+        log.info("Call duration {}", snapshot);
+        Assertions.assertEquals(5, snapshot.getCount());
+        Assertions.assertTrue(snapshot.getValueAtPercentile(50).compareTo(Duration.ofMillis(19)) >= 0);
+
+        //interval berikutnya kosong, total tetap berisi semua sample
+        Assertions.assertEquals(0, metrics.intervalSnapshot(LatencyMetrics.Type.CALL_DURATION).getCount());
+        Assertions.assertEquals(5, metrics.totalSnapshot(LatencyMetrics.Type.CALL_DURATION).getCount());
+        Assertions.assertSame(metrics, registry.metrics("fjr"));
+    }
+
+    @Test
+    void testPermitWait() {
+        RateLimiter rateLimiter = RateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMillis(100))
+                .timeoutDuration(Duration.ofSeconds(1))
+                .build());
+        LatencyMetrics metrics = LatencyMetrics.of("fjr");
+        Supplier<String> supplier = TimedDecorators.decorateSupplier(rateLimiter, metrics, () -> "fjr");
+        for (int i = 0; i < 3; i++) {
+            supplier.get();
+        }
+
+        //permission kedua dan ketiga harus menunggu refresh period
+        LatencySnapshot snapshot = metrics.totalSnapshot(LatencyMetrics.Type.PERMIT_WAIT);
+        log.info("Permit wait {}", snapshot);
+        Assertions.assertEquals(3, snapshot.getCount());
+        Assertions.assertTrue(snapshot.getMax().compareTo(Duration.ofMillis(50)) >= 0);
+    }
+
+    @Test
+    void testRetryBackoff() {
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(50))
+                .build());
+        LatencyMetrics metrics = LatencyMetrics.of("fjr");
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> supplier = TimedDecorators.decorateSupplier(retry, metrics, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalArgumentException("ERROR");
+            }
+            return "fjr";
+        });
+        Assertions.assertEquals("fjr", supplier.get());
+
+        //dua kali backoff 50ms
+        LatencySnapshot backoff = metrics.totalSnapshot(LatencyMetrics.Type.RETRY_BACKOFF);
+        log.info("Retry backoff {}", backoff);
+        Assertions.assertEquals(1, backoff.getCount());
+        Assertions.assertTrue(backoff.getMax().compareTo(Duration.ofMillis(99)) >= 0);
+        Assertions.assertTrue(metrics.totalSnapshot(LatencyMetrics.Type.CALL_DURATION).getMax()
+                .compareTo(backoff.getMax()) >= 0);
+    }
+
+    @SneakyThrows
+    private static void sleep(long millis) {
+        Thread.sleep(millis);
+    }
+}
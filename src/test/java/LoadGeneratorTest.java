@@ -0,0 +1,90 @@
+import fajar.resilience4j.benchmark.LoadScenarios;
+import fajar.resilience4j.load.LoadGenerator;
+import fajar.resilience4j.load.LoadReport;
+import fajar.resilience4j.load.LoadScenario;
+import fajar.resilience4j.load.SimulatedBackend;
+import fajar.resilience4j.load.SimulatedBackend.LatencyDistribution;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+public class LoadGeneratorTest {
+
+    /** LoadGenerator
+     * Di BulkHeadTest dan RateLimiterTest request dikirim dengan loop lalu Thread.sleep(), hasilnya hanya dilihat di log
+     * LoadGenerator mengirim request dengan arrival rate tetap (open-loop) ke SimulatedBackend, lalu menghasilkan LoadReport
+     * yang bisa di assert : throughput, percentile latency, rejected, dan state transition CircuitBreaker
+     */
+
+    @Test
+    void testOpenLoop() {
+        SimulatedBackend backend = SimulatedBackend.of(LatencyDistribution.fixed(Duration.ofMillis(10)));
+        LoadReport report = LoadGenerator.custom("fjr")
+                .arrivalRate(500)
+                .duration(Duration.ofSeconds(1))
+                .build()
+                .run(backend::call);
+        log.info("{}", report);
+
+        Assertions.assertEquals(500, report.getSent());
+        Assertions.assertEquals(500, report.getSucceeded());
+        Assertions.assertEquals(500, backend.getCalls());
+        Assertions.assertTrue(report.getThroughput() > 400);
+        Assertions.assertTrue(report.getLatency().getValueAtPercentile(50).toMillis() >= 10);
+        Assertions.assertTrue(report.getLatency().getValueAtPercentile(50).toMillis() < 30);
+        //open-loop : 500 req/s x 10ms, request berikutnya tidak menunggu request sebelumnya
+        Assertions.assertTrue(report.getMaxInFlight() >= 5);
+    }
+
+    @Test
+    void testCoordinatedOmission() {
+        //kapasitas 1 / 10ms = 100 req/s, sementara arrival rate 200 req/s
+        SimulatedBackend backend = SimulatedBackend.of(LatencyDistribution.fixed(Duration.ofMillis(10)));
+        Bulkhead bulkhead = Bulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ofSeconds(10))
+                .build());
+        LoadReport report = LoadGenerator.custom("fjr")
+                .arrivalRate(200)
+                .duration(Duration.ofSeconds(1))
+                .observe(bulkhead)
+                .build()
+                .run(Bulkhead.decorateSupplier(bulkhead, backend::call));
+        log.info("{}", report);
+
+        //loop closed-loop hanya melihat 10ms per panggilan, antrian yang menumpuk ikut terukur di latency
+        Assertions.assertEquals(200, report.getSucceeded());
+        Assertions.assertTrue(report.getThroughput() < 120);
+        Assertions.assertTrue(report.getLatency().getValueAtPercentile(50).toMillis() > 300);
+        Assertions.assertTrue(report.getLatency().getValueAtPercentile(99).toMillis() > 800);
+    }
+
+    @Test
+    void testScenario() {
+        //skenario testFallback di DecoratorsTest : outage backend dari detik 0.5 sampai 1.17, semua error tertutup fallback
+        LoadScenario scenario = LoadScenarios.fallback(Duration.ofSeconds(2));
+        LoadReport first = scenario.run();
+        LoadReport second = scenario.run();
+        log.info("{}", first.toJson());
+        log.info("{}", second.toJson());
+
+        for (LoadReport report : List.of(first, second)) {
+            Assertions.assertEquals(400, report.getSent());
+            Assertions.assertEquals(400, report.getSucceeded());
+            Assertions.assertTrue(report.getEvents("CircuitBreaker fjr-circuitBreaker NOT_PERMITTED") > 0);
+            Assertions.assertEquals("OPEN", report.getStateTransitions().get(0).to());
+            //setelah outage selesai CircuitBreaker kembali CLOSED
+            Assertions.assertEquals("CLOSED", report.getStateTransitions().get(report.getStateTransitions().size() - 1).to());
+            Assertions.assertTrue(report.toJson().contains("\"from\":\"CLOSED\",\"to\":\"OPEN\""));
+        }
+        //setiap run memakai CircuitBreaker dan backend baru, jadi hasilnya bisa dibandingkan
+        Assertions.assertTrue(Math.abs(first.getStateTransitions().get(0).atMillis()
+                - second.getStateTransitions().get(0).atMillis()) < 100);
+    }
+}
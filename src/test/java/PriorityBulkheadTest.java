@@ -0,0 +1,153 @@
+import fajar.resilience4j.bulkhead.PriorityBulkhead;
+import fajar.resilience4j.bulkhead.PriorityBulkheadRegistry;
+import fajar.resilience4j.bulkhead.PriorityLanes;
+import fajar.resilience4j.core.VirtualTimeSource;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class PriorityBulkheadTest {
+
+    /** PriorityBulkhead
+     * Dengan Bulkhead.of() request critical dan batch job bulk berebut maxConcurrentCalls yang sama
+     * PriorityBulkhead membagi permit ke beberapa lane : setiap lane punya reservasi, boleh meminjam reservasi lane di bawahnya yang kosong,
+     * dan yang menunggu di lane lebih tinggi dilayani lebih dulu
+     */
+
+    @Test
+    void testReservedPermitsAndBorrowing() {
+        PriorityBulkheadRegistry registry = PriorityBulkheadRegistry.ofDefaults();
+        registry.addConfiguration("priority", BulkheadConfig.custom()
+                .maxConcurrentCalls(8)
+                .maxWaitDuration(Duration.ZERO)
+                .build(), PriorityLanes.custom()
+                .lane("critical", 1)
+                .lane("bulk", 3)
+                .build());
+
+        PriorityBulkhead bulkhead = (PriorityBulkhead) registry.bulkhead("fjr", "priority");
+        PriorityBulkhead.Lane critical = registry.lane("fjr", "critical");
+        PriorityBulkhead.Lane bulk = bulkhead.lane("bulk");
+        Assertions.assertSame(critical, bulkhead.lane("critical"));
+        Assertions.assertEquals(2, critical.getReservedPermits());
+        Assertions.assertEquals(6, bulk.getReservedPermits());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> bulkhead.lane("unknown"));
+
+        //bulk hanya bisa memakai 6 permit, 2 permit critical yang kosong tidak boleh dipinjam
+        for (int i = 0; i < 6; i++) {
+            bulk.acquirePermission();
+        }
+        Assertions.assertThrows(BulkheadFullException.class, bulk::acquirePermission);
+        Assertions.assertEquals(2, critical.getMetrics().getAvailableConcurrentCalls());
+        Assertions.assertEquals(0, bulk.getMetrics().getAvailableConcurrentCalls());
+
+        critical.acquirePermission();
+        critical.acquirePermission();
+        Assertions.assertFalse(critical.tryAcquirePermission());
+
+        //reservasi bulk yang kosong boleh dipinjam critical
+        bulk.onComplete();
+        Assertions.assertTrue(critical.tryAcquirePermission());
+        Assertions.assertEquals(3, critical.getInFlightCalls());
+        Assertions.assertEquals(5, bulk.getInFlightCalls());
+        Assertions.assertEquals(1, bulk.getRejectedCalls());
+        Assertions.assertEquals(1, critical.getRejectedCalls());
+
+        //memanggil PriorityBulkhead langsung sama dengan lane terendah
+        Assertions.assertEquals(bulk.getMetrics().getMaxAllowedConcurrentCalls(), bulkhead.getMetrics().getMaxAllowedConcurrentCalls() - 2);
+        Assertions.assertFalse(bulkhead.tryAcquirePermission());
+    }
+
+    @Test
+    @SneakyThrows
+    void testPriorityWaiters() {
+        //tanpa reservasi, 1 permit untuk semua lane
+        PriorityBulkhead bulkhead = PriorityBulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ofSeconds(5))
+                .build(), PriorityLanes.custom()
+                .lane("critical", 0)
+                .lane("bulk", 0)
+                .build());
+        PriorityBulkhead.Lane critical = bulkhead.lane("critical");
+        PriorityBulkhead.Lane bulk = bulkhead.lane("bulk");
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        bulk.acquirePermission();
+        Thread bulkThread = Thread.ofVirtual().start(() -> Bulkhead.decorateRunnable(bulk, () -> order.add("bulk")).run());
+        awaitWaiting(bulk);
+        Thread criticalThread = Thread.ofVirtual().start(() -> Bulkhead.decorateRunnable(critical, () -> order.add("critical")).run());
+        awaitWaiting(critical);
+
+        //bulk datang lebih dulu, tetapi critical yang mendapat permit
+        bulk.onComplete();
+        criticalThread.join();
+        bulkThread.join();
+        log.info("Order {}", order);
+        Assertions.assertEquals(List.of("critical", "bulk"), order);
+        Assertions.assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void testShedding() {
+        VirtualTimeSource time = new VirtualTimeSource();
+        PriorityBulkhead bulkhead = PriorityBulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ofSeconds(5))
+                .build(), PriorityLanes.custom()
+                .lane("critical", 1)
+                .lane("bulk", 1)
+                .build(), time);
+        PriorityBulkhead.Lane critical = bulkhead.lane("critical");
+        PriorityBulkhead.Lane bulk = bulkhead.lane("bulk");
+
+        //setiap eksekusi selesai 4 detik setelah mulai, permit kembali setiap 2 detik
+        critical.acquirePermission();
+        time.scheduler().schedule(() -> critical.onComplete(), 2, TimeUnit.SECONDS);
+        critical.acquirePermission();
+        time.scheduler().schedule(() -> critical.onComplete(), 4, TimeUnit.SECONDS);
+        critical.acquirePermission();
+        Assertions.assertEquals(Duration.ofSeconds(2), time.elapsed());
+        time.scheduler().schedule(() -> critical.onComplete(), 4, TimeUnit.SECONDS);
+        critical.acquirePermission();
+        Assertions.assertEquals(Duration.ofSeconds(4), time.elapsed());
+        time.scheduler().schedule(() -> critical.onComplete(), 4, TimeUnit.SECONDS);
+
+        //permit berikutnya baru kembali sekitar 2 detik lagi, lebih lama dari maxWaitDuration, jadi bulk langsung ditolak tanpa menunggu
+        bulkhead.changeConfig(BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ofSeconds(1))
+                .build());
+        Assertions.assertFalse(bulk.tryAcquirePermission());
+        Assertions.assertEquals(Duration.ofSeconds(4), time.elapsed());
+        Assertions.assertEquals(1, bulk.getShedCalls());
+        Assertions.assertEquals(1, bulk.getRejectedCalls());
+        Assertions.assertEquals(0, bulk.getWaitingCalls());
+
+        //maxWaitDuration 3 detik cukup, bulk menunggu sampai permit berikutnya kembali
+        bulkhead.changeConfig(BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ofSeconds(3))
+                .build());
+        Assertions.assertTrue(bulk.tryAcquirePermission());
+        Assertions.assertEquals(Duration.ofSeconds(6), time.elapsed());
+        Assertions.assertEquals(1, bulk.getShedCalls());
+    }
+
+    @SneakyThrows
+    private static void awaitWaiting(PriorityBulkhead.Lane lane) {
+        while (lane.getWaitingCalls() == 0) {
+            Thread.sleep(1);
+        }
+    }
+}
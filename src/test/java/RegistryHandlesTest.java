@@ -0,0 +1,77 @@
+import fajar.resilience4j.core.RegistryHandles;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+public class RegistryHandlesTest {
+
+    /** RegistryHandles
+     * Daripada memanggil registry.retry("fjr") setiap request, nama di-resolve sekali menjadi handle (int)
+     * Setelah itu handles.get(handle) hanya membaca satu elemen array
+     * Handle tetap mengikuti registry, jika entry di replace() atau di remove() handle nya tetap bisa dipakai
+     */
+
+    @Test
+    void testRegistryHandles() {
+        RetryRegistry registry = RetryRegistry.ofDefaults();
+        RegistryHandles<Retry> handles = RegistryHandles.of(registry);
+
+        int fjr = handles.handle("fjr");
+        int fjr2 = handles.handle("fjr2");
+        //nama yang sama selalu mendapat handle yang sama
+        Assertions.assertEquals(fjr, handles.handle("fjr"));
+        Assertions.assertNotEquals(fjr, fjr2);
+
+        //entry nya sama dengan yang ada di registry
+        Assertions.assertSame(registry.retry("fjr"), handles.get(fjr));
+        Assertions.assertSame(registry.retry("fjr2"), handles.get(fjr2));
+        //handle yang tidak dikenal, baik di dalam maupun di luar kapasitas tabel (16), gagal dengan cara yang sama
+        Assertions.assertThrows(IllegalArgumentException.class, () -> handles.get(fjr2 + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> handles.get(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> handles.get(16));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> handles.get(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testRegistryHandlesReplaceAndRemove() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        registry.addConfiguration("config", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .build());
+        //entry dengan config tertentu dibuat lewat registry dulu, baru diambil handle nya
+        CircuitBreaker circuitBreaker = registry.circuitBreaker("fjr", "config");
+        RegistryHandles<CircuitBreaker> handles = RegistryHandles.of(registry);
+        int handle = handles.handle("fjr");
+        Assertions.assertSame(circuitBreaker, handles.get(handle));
+
+        CircuitBreaker replacement = CircuitBreaker.ofDefaults("fjr");
+        registry.replace("fjr", replacement);
+        Assertions.assertSame(replacement, handles.get(handle));
+
+        //setelah remove, entry dibuat ulang dengan default config sama seperti registry.circuitBreaker("fjr")
+        registry.remove("fjr");
+        CircuitBreaker recreated = handles.get(handle);
+        Assertions.assertNotSame(replacement, recreated);
+        Assertions.assertSame(registry.circuitBreaker("fjr"), recreated);
+    }
+
+    @Test
+    void testRegistryHandlesGrow() {
+        RetryRegistry registry = RetryRegistry.of(RetryConfig.ofDefaults());
+        RegistryHandles<Retry> handles = RegistryHandles.of(registry);
+        for (int i = 0; i < 1_000; i++) {
+            Assertions.assertEquals(i, handles.handle("fjr-" + i));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            Assertions.assertEquals("fjr-" + i, handles.get(i).getName());
+        }
+        Assertions.assertEquals(1_000, handles.size());
+    }
+}
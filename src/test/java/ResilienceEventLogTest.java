@@ -0,0 +1,166 @@
+import fajar.resilience4j.logging.ResilienceEventLog;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Slf4j
+public class ResilienceEventLogTest {
+
+    /** ResilienceEventLog
+     * Di CirkuitBreakerTest dan RateLimiterTest log ditulis di dalam panggilan yang di decorate lewat logback
+     * ResilienceEventLog menulis event CircuitBreaker, Retry, RateLimiter dan Bulkhead ke file dari thread background
+     * Pemanggil hanya memasukkan angka ke ring buffer, format teks dan tulis file terjadi di thread lain
+     */
+
+    @TempDir
+    Path directory;
+
+    private String hello() {
+        throw new IllegalArgumentException("Ups error");
+    }
+
+    @Test
+    void testEventLog() throws IOException {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("fjr-circuitBreaker", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50f)
+                .build());
+        Retry retry = Retry.of("fjr-retry", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .build());
+
+        ResilienceEventLog eventLog = ResilienceEventLog.of(directory, "resilience");
+        eventLog.register(circuitBreaker).register(retry);
+        Supplier<String> supplier = Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker, this::hello));
+        Assertions.assertThrows(Exception.class, supplier::get);
+        //close() menulis semua record lalu memotong file sesuai isi nya
+        eventLog.close();
+
+        List<String> lines = Files.readAllLines(eventLog.getCurrentFile());
+        lines.forEach(log::info);
+        Assertions.assertEquals(eventLog.getWrittenRecords(), lines.size());
+        Assertions.assertEquals(0, eventLog.getDroppedRecords());
+        Assertions.assertTrue(lines.get(0).matches(
+                "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z CircuitBreaker fjr-circuitBreaker ERROR elapsedMicros=\\d+ error=java.lang.IllegalArgumentException"));
+        Assertions.assertTrue(lines.stream().anyMatch(line ->
+                line.endsWith("Retry fjr-retry RETRY attempts=1 waitMillis=10 error=java.lang.IllegalArgumentException")));
+        Assertions.assertTrue(lines.stream().anyMatch(line -> line.endsWith("FAILURE_RATE_EXCEEDED rate=100.00")));
+        Assertions.assertTrue(lines.stream().anyMatch(line -> line.endsWith("STATE_TRANSITION from=CLOSED to=OPEN")));
+        //percobaan ketiga ditolak CircuitBreaker yang sudah OPEN
+        Assertions.assertTrue(lines.stream().anyMatch(line -> line.endsWith("NOT_PERMITTED")));
+        Assertions.assertTrue(lines.get(lines.size() - 1).endsWith(
+                "Retry fjr-retry ERROR attempts=3 error=io.github.resilience4j.circuitbreaker.CallNotPermittedException"));
+    }
+
+    @Test
+    void testSampling() throws IOException {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr");
+        RateLimiter rateLimiter = RateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .build());
+
+        ResilienceEventLog eventLog = ResilienceEventLog.of(directory, "sampling");
+        //SUCCESS CircuitBreaker tidak ditulis sama sekali, SUCCESSFUL_ACQUIRE RateLimiter sekitar 10%
+        eventLog.register(circuitBreaker, 0.0).register(rateLimiter, 0.1);
+        Supplier<String> supplier = RateLimiter.decorateSupplier(rateLimiter,
+                CircuitBreaker.decorateSupplier(circuitBreaker, () -> "Fajar"));
+        for (int i = 0; i < 10_000; i++) {
+            supplier.get();
+        }
+        //error tidak pernah di sampling
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> circuitBreaker.executeSupplier(this::hello));
+        eventLog.close();
+
+        List<String> lines = Files.readAllLines(eventLog.getCurrentFile());
+        log.info("Written {}, sampled out {}", eventLog.getWrittenRecords(), eventLog.getSampledOutRecords());
+        Assertions.assertEquals(20_000, eventLog.getWrittenRecords() + eventLog.getSampledOutRecords() - 1);
+        Assertions.assertTrue(eventLog.getWrittenRecords() > 500 && eventLog.getWrittenRecords() < 1_500);
+        Assertions.assertEquals(0, lines.stream().filter(line -> line.contains(" SUCCESS ")).count());
+        Assertions.assertEquals(1, lines.stream().filter(line -> line.contains("CircuitBreaker fjr ERROR")).count());
+    }
+
+    @Test
+    void testRollingFile() throws IOException {
+        RateLimiter rateLimiter = RateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .build());
+
+        //file 4KB, satu baris sekitar 60 byte, 2000 baris butuh puluhan file
+        ResilienceEventLog eventLog = new ResilienceEventLog(directory, "rolling", 4096, 3, 4096);
+        eventLog.register(rateLimiter);
+        for (int i = 0; i < 2_000; i++) {
+            rateLimiter.acquirePermission();
+            if (i % 500 == 0) {
+                eventLog.flush();
+            }
+        }
+        eventLog.close();
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.sorted().toList();
+        }
+        log.info("Files {}", files);
+        Assertions.assertEquals(3, files.size());
+        Assertions.assertTrue(files.contains(eventLog.getCurrentFile()));
+        long lines = 0;
+        for (Path file : files) {
+            Assertions.assertTrue(Files.size(file) <= 4096);
+            List<String> content = Files.readAllLines(file);
+            Assertions.assertTrue(content.stream().allMatch(line -> line.endsWith("RateLimiter fjr SUCCESSFUL_ACQUIRE permits=1")));
+            lines += content.size();
+        }
+        //hanya 3 file terakhir yang disimpan
+        Assertions.assertEquals(2_000, eventLog.getWrittenRecords());
+        Assertions.assertTrue(lines < 2_000);
+    }
+
+    @Test
+    void testCloseWhilePublishing() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .build());
+
+        ResilienceEventLog eventLog = ResilienceEventLog.of(directory, "closing");
+        eventLog.register(rateLimiter);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 50_000; j++) {
+                    rateLimiter.acquirePermission();
+                }
+            });
+        }
+        //close() di tengah producer yang masih berjalan, record yang terlambat dihitung sebagai dropped
+        Thread.sleep(20);
+        eventLog.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        log.info("Written {}, dropped {}", eventLog.getWrittenRecords(), eventLog.getDroppedRecords());
+        Assertions.assertEquals(4 * 50_000, eventLog.getWrittenRecords() + eventLog.getDroppedRecords());
+        Assertions.assertEquals(eventLog.getWrittenRecords(), Files.readAllLines(eventLog.getCurrentFile()).size());
+    }
+}
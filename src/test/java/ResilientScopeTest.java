@@ -0,0 +1,136 @@
+import fajar.resilience4j.scope.ResilientScope;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ResilientScopeTest {
+
+    /** ResilientScope
+     * Di BulkHeadTest setiap eksekusi dijalankan dengan new Thread(runnable).start() dan tidak pernah ditunggu
+     * ResilientScope menjalankan fan-out di virtual thread, dan close() menunggu semua subtask selesai
+     * Subtask memakai permit Bulkhead, dicatat di CircuitBreaker, dan berbagi satu deadline dari TimeLimiter
+     * Jika satu subtask gagal atau deadline lewat, subtask lain dibatalkan (interrupt)
+     */
+
+    @Test
+    void testFanOut() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(10)
+                .maxWaitDuration(Duration.ofSeconds(5))
+                .build());
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr");
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        List<ResilientScope.Subtask<Integer>> subtasks = new ArrayList<>();
+        try (ResilientScope scope = ResilientScope.custom("fjr")
+                .withBulkhead(bulkhead)
+                .withCircuitBreaker(circuitBreaker)
+                .open()) {
+            for (int i = 0; i < 50; i++) {
+                int value = i;
+                subtasks.add(scope.fork(() -> {
+                    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    concurrent.decrementAndGet();
+                    return value;
+                }));
+            }
+            scope.join().throwIfFailed();
+        }
+
+        int sum = 0;
+        for (ResilientScope.Subtask<Integer> subtask : subtasks) {
+            sum += subtask.get();
+        }
+        Assertions.assertEquals(49 * 50 / 2, sum);
+        //Bulkhead membatasi 10 subtask bersamaan, dan semua permit sudah kembali setelah close()
+        Assertions.assertTrue(maxConcurrent.get() <= 10);
+        Assertions.assertEquals(10, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        Assertions.assertEquals(50, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void testShutdownOnFailure() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr");
+        AtomicInteger interrupted = new AtomicInteger();
+
+        long start = System.nanoTime();
+        ResilientScope.Subtask<String> failing;
+        try (ResilientScope scope = ResilientScope.custom("fjr")
+                .withCircuitBreaker(circuitBreaker)
+                .open()) {
+            for (int i = 0; i < 10; i++) {
+                scope.fork(() -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                        throw e;
+                    }
+                    return "slow";
+                });
+            }
+            failing = scope.fork(() -> {
+                throw new IllegalArgumentException("ERROR");
+            });
+            scope.join();
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, scope::throwIfFailed);
+            Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        }
+
+        //close() sudah menunggu semua subtask yang di interrupt
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals(10, interrupted.get());
+        Assertions.assertEquals(ResilientScope.Subtask.State.FAILED, failing.state());
+        //subtask yang dibatalkan tidak dihitung sebagai error
+        Assertions.assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        Assertions.assertEquals(0, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void testDeadline() {
+        TimeLimiter timeLimiter = TimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(200))
+                .build());
+        TimeLimiter nestedTimeLimiter = TimeLimiter.of("fjr-nested", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofSeconds(10))
+                .build());
+        AtomicInteger errors = new AtomicInteger();
+        timeLimiter.getEventPublisher().onTimeout(event -> errors.incrementAndGet());
+
+        long start = System.nanoTime();
+        try (ResilientScope scope = ResilientScope.custom("fjr").withTimeLimiter(timeLimiter).open()) {
+            ResilientScope.Subtask<Duration> nested = scope.fork(() -> {
+                //scope di dalam subtask mewarisi deadline 200ms, bukan 10 detik
+                try (ResilientScope inner = ResilientScope.custom("fjr-nested").withTimeLimiter(nestedTimeLimiter).open()) {
+                    return inner.getRemaining();
+                }
+            });
+            scope.fork(() -> {
+                Thread.sleep(5_000);
+                return Duration.ZERO;
+            });
+            Assertions.assertThrows(TimeoutException.class, scope::join);
+            Assertions.assertTrue(nested.get().toMillis() <= 200);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Timeout after {}ms", elapsedMillis);
+        Assertions.assertTrue(elapsedMillis < 1_000);
+        Assertions.assertEquals(1, errors.get());
+    }
+}
@@ -0,0 +1,128 @@
+import fajar.resilience4j.retry.RetryBudget;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class RetryBudgetTest {
+
+    /** RetryBudget
+     * Di RetryConfigTest maxAttempts(5), saat dependency mati setiap pemanggil mengirim 5x request
+     * RetryBudget membatasi jumlah retry bersama : minRetriesPerSecond x window + ratio x percobaan pertama dalam window
+     * Jika jatah habis retry ditolak, dan error percobaan pertama langsung dikembalikan ke pemanggil
+     */
+
+    @Test
+    void testRetryBudgetMinRetries() {
+        //ratio 0, hanya minRetries : 1 per detik x 10 detik = 10 retry
+        RetryBudget budget = RetryBudget.of("fjr", 0, 1, Duration.ofSeconds(10));
+        Retry retry = budget.retry("fjr", RetryConfig.custom()
+                .maxAttempts(5)
+                .waitDuration(Duration.ofMillis(1))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> supplier = Retry.decorateSupplier(retry, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("ERROR");
+        });
+
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertThrows(IllegalArgumentException.class, supplier::get);
+        }
+        //tanpa budget 20 x 5 = 100 percobaan
+        log.info("Attempts {}, granted {}, rejected {}", attempts.get(),
+                budget.getNumberOfGrantedRetries(), budget.getNumberOfRejectedRetries());
+        Assertions.assertEquals(10, budget.getNumberOfGrantedRetries());
+        Assertions.assertEquals(30, attempts.get());
+    }
+
+    @Test
+    void testRetryBudgetRatio() {
+        RetryBudget budget = RetryBudget.of("fjr", 0.1, 0, Duration.ofSeconds(10));
+        Retry retry = budget.retry("fjr", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .build());
+        AtomicInteger calls = new AtomicInteger();
+
+        //100 eksekusi sukses memberi jatah 10 retry
+        for (int i = 0; i < 100; i++) {
+            retry.executeSupplier(calls::incrementAndGet);
+        }
+        Supplier<Integer> failing = Retry.decorateSupplier(retry, () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("ERROR");
+        });
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertThrows(IllegalArgumentException.class, failing::get);
+        }
+        log.info("Granted {}, rejected {}", budget.getNumberOfGrantedRetries(), budget.getNumberOfRejectedRetries());
+        Assertions.assertTrue(budget.getNumberOfGrantedRetries() >= 10);
+        Assertions.assertTrue(budget.getNumberOfGrantedRetries() <= 13);
+        Assertions.assertTrue(budget.getNumberOfRejectedRetries() > 0);
+    }
+
+    @Test
+    void testRetryBudgetOnResult() {
+        //jatah 0, retryOnResult tidak boleh retry dan result terakhir dikembalikan ke pemanggil
+        RetryBudget budget = RetryBudget.of("fjr", 0.0, 0, Duration.ofSeconds(1));
+        Retry retry = budget.retry("fjr", RetryConfig.<String>custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnResult(result -> result.equals("bad"))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> supplier = Retry.decorateSupplier(retry, () -> {
+            attempts.incrementAndGet();
+            return "bad";
+        });
+
+        Assertions.assertEquals("bad", supplier.get());
+        Assertions.assertEquals(1, attempts.get());
+        Assertions.assertEquals(0, budget.getNumberOfGrantedRetries());
+        Assertions.assertEquals(1, budget.getNumberOfRejectedRetries());
+
+        //dengan jatah, result yang sama di-retry sampai maxAttempts
+        RetryBudget minRetries = RetryBudget.of("fjr2", 0.0, 10, Duration.ofSeconds(1));
+        Retry retryWithBudget = minRetries.retry("fjr2", RetryConfig.<String>custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnResult(result -> result.equals("bad"))
+                .build());
+        attempts.set(0);
+        Assertions.assertEquals("bad", retryWithBudget.executeSupplier(() -> {
+            attempts.incrementAndGet();
+            return "bad";
+        }));
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(2, minRetries.getNumberOfGrantedRetries());
+    }
+
+    @Test
+    void testRetryBudgetRegistry() {
+        RetryBudget budget = RetryBudget.of("fjr", 0, 1, Duration.ofSeconds(5));
+        RetryRegistry registry = budget.retryRegistry(RetryConfig.custom()
+                .maxAttempts(10)
+                .waitDuration(Duration.ofMillis(1))
+                .build());
+
+        //jatah 5 retry dipakai bersama oleh semua Retry di registry
+        AtomicInteger attempts = new AtomicInteger();
+        for (String name : new String[]{"fjr", "fjr2", "fjr3"}) {
+            Retry retry = registry.retry(name);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> retry.executeSupplier(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalArgumentException("ERROR");
+            }));
+        }
+        Assertions.assertEquals(5, budget.getNumberOfGrantedRetries());
+        Assertions.assertEquals(3 + 5, attempts.get());
+    }
+}
@@ -0,0 +1,139 @@
+import fajar.resilience4j.cache.SingleFlight;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+public class SingleFlightTest {
+
+    /** SingleFlight
+     * Di DecoratorsTest.testFallback, setiap pemanggil yang bersamaan memakai permit RateLimiter dan jatah Retry sendiri-sendiri
+     * SingleFlight menggabungkan eksekusi dengan key yang sama yang datang bersamaan menjadi satu eksekusi
+     * Jika ttl di set, hasil yang sukses juga disimpan, jadi pemanggil berikutnya tidak memakai permit sama sekali
+     * SingleFlight dipasang paling luar (setelah decorate()), supaya RateLimiter hanya dipanggil oleh eksekusi yang benar-benar berjalan
+     */
+
+    @Test
+    void testSingleFlight() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .build());
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = SingleFlight.of("fjr");
+        Supplier<String> supplier = singleFlight.decorateSupplier("fjr", Decorators.ofSupplier(() -> {
+                    executions.incrementAndGet();
+                    sleep(500);
+                    return "Fajar";
+                })
+                .withRateLimiter(rateLimiter)
+                .decorate());
+
+        //20 pemanggil bersamaan, padahal limit hanya 5
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(supplier::get));
+            }
+        }
+        for (Future<String> result : results) {
+            Assertions.assertEquals("Fajar", result.get());
+        }
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(4, rateLimiter.getMetrics().getAvailablePermissions());
+        Assertions.assertEquals(19, singleFlight.getMetrics().getNumberOfCoalescedCalls());
+    }
+
+    @Test
+    void testSingleFlightCache() {
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = SingleFlight.of("fjr", Duration.ofMillis(200), 2);
+        Function<String, String> function = SingleFlight.ofFunction(singleFlight, (String name) -> {
+            executions.incrementAndGet();
+            return "Hello " + name;
+        }).decorate();
+
+        Assertions.assertEquals("Hello fjr", function.apply("fjr"));
+        Assertions.assertEquals("Hello fjr", function.apply("fjr"));
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(1, singleFlight.getMetrics().getNumberOfCacheHits());
+
+        //maximumSize 2, fjr paling lama disimpan jadi dihapus duluan
+        function.apply("fjr2");
+        function.apply("fjr3");
+        Assertions.assertEquals(2, singleFlight.getMetrics().getNumberOfCachedEntries());
+        function.apply("fjr");
+        Assertions.assertEquals(4, executions.get());
+
+        //setelah ttl habis eksekusi dijalankan lagi
+        sleep(300);
+        function.apply("fjr");
+        Assertions.assertEquals(5, executions.get());
+    }
+
+    @Test
+    void testSingleFlightCacheInvalidate() {
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = SingleFlight.of("fjr", Duration.ofMillis(200), 2);
+        Function<String, String> function = singleFlight.decorateFunction(name -> {
+            executions.incrementAndGet();
+            return "Hello " + name;
+        });
+
+        function.apply("fjr");
+        function.apply("fjr2");
+        singleFlight.invalidate("fjr");
+        singleFlight.invalidate("fjr");
+        Assertions.assertEquals(1, singleFlight.getMetrics().getNumberOfCachedEntries());
+
+        //fjr yang sudah dihapus tidak dihitung, jadi fjr2 dan fjr3 tetap disimpan
+        function.apply("fjr3");
+        Assertions.assertEquals(2, singleFlight.getMetrics().getNumberOfCachedEntries());
+        function.apply("fjr2");
+        function.apply("fjr3");
+        Assertions.assertEquals(3, executions.get());
+
+        //hasil yang expired dan dihapus lewat execute() juga tidak dihitung lagi
+        sleep(300);
+        function.apply("fjr2");
+        Assertions.assertEquals(4, executions.get());
+        Assertions.assertEquals(1, singleFlight.getMetrics().getNumberOfCachedEntries());
+    }
+
+    @Test
+    void testSingleFlightError() {
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = SingleFlight.of("fjr", Duration.ofMinutes(1), 100);
+        Supplier<String> supplier = singleFlight.decorateSupplier("fjr", () -> {
+            if (executions.incrementAndGet() == 1) {
+                throw new IllegalArgumentException("ERROR");
+            }
+            return "Fajar";
+        });
+
+        //error tidak disimpan, eksekusi berikutnya dijalankan lagi
+        Assertions.assertThrows(IllegalArgumentException.class, supplier::get);
+        Assertions.assertEquals("Fajar", supplier.get());
+        Assertions.assertEquals("Fajar", supplier.get());
+        Assertions.assertEquals(2, executions.get());
+    }
+
+    @SneakyThrows
+    private static void sleep(long millis) {
+        Thread.sleep(millis);
+    }
+}
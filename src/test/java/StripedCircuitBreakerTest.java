@@ -0,0 +1,178 @@
+import fajar.resilience4j.circuitbreaker.StripedCircuitBreaker;
+import fajar.resilience4j.core.HashedWheelTimer;
+import fajar.resilience4j.core.VirtualTimeSource;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.internal.CircuitBreakerStateMachine;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class StripedCircuitBreakerTest {
+
+    /** StripedCircuitBreaker
+     * Cara pakainya sama dengan CircuitBreaker.of(), hanya sliding window nya dicatat tanpa lock di beberapa stripe
+     * Cocok untuk circuit breaker yang dipanggil oleh banyak thread sekaligus
+     */
+
+    void sayHello() {
+        log.info("Sayy Heyyyy");
+        throw new IllegalArgumentException("Error Say Hey");
+    }
+
+    @Test
+    void testStripedCircuitBreaker() {
+        //config sama seperti CirkuitBreakerTest.testCircuitBreakerConfig
+        CircuitBreaker circuitBreaker = StripedCircuitBreaker.of("fjr", CircuitBreakerConfig.custom()
+                .failureRateThreshold(10f)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(10)
+                .build());
+
+        Runnable runnable = CircuitBreaker.decorateRunnable(circuitBreaker, this::sayHello);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+            Assertions.assertThrows(IllegalArgumentException.class, runnable::run);
+        }
+
+        //setelah 10 eksekusi gagal, state menjadi OPEN dan request berikutnya ditolak
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertThrows(CallNotPermittedException.class, runnable::run);
+        Assertions.assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    @Test
+    void testStripedCircuitBreakerHalfOpen() throws Exception {
+        CircuitBreaker circuitBreaker = StripedCircuitBreaker.of("fjr", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(10)
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .waitDurationInOpenState(Duration.ofMillis(100))
+                .build());
+        circuitBreaker.transitionToOpenState();
+        Thread.sleep(200L);
+
+        //setelah waitDurationInOpenState, permit berikutnya memindahkan state ke HALF_OPEN
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testStripedCircuitBreakerMultiThread() throws Exception {
+        CircuitBreaker circuitBreaker = StripedCircuitBreaker.of("fjr", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                .slidingWindowSize(60)
+                .minimumNumberOfCalls(100)
+                .build());
+
+        //semua thread mencatat sukses bersamaan, hasil gabungan dari semua stripe harus lengkap
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    circuitBreaker.executeRunnable(() -> {
+                    });
+                }
+            });
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(8000, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+        Assertions.assertEquals(0f, circuitBreaker.getMetrics().getFailureRate());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testStripedCircuitBreakerCountWindowMultiThread() throws Exception {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(50f)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(10)
+                .build();
+        try (HashedWheelTimer timer = new HashedWheelTimer("test")) {
+            //16 stripe, sukses dari banyak thread tersebar di beberapa stripe lalu thread nya berhenti (stripe nya menganggur)
+            CircuitBreaker striped = new StripedCircuitBreaker("striped", config, Collections.emptyMap(),
+                    Clock.systemUTC(), 16, timer);
+            CircuitBreaker stock = CircuitBreaker.of("stock", config);
+
+            for (CircuitBreaker circuitBreaker : new CircuitBreaker[]{striped, stock}) {
+                ExecutorService executorService = Executors.newFixedThreadPool(8);
+                for (int i = 0; i < 8; i++) {
+                    executorService.execute(() -> {
+                        for (int j = 0; j < 100; j++) {
+                            circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+                        }
+                    });
+                }
+                executorService.shutdown();
+                Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+                Assertions.assertEquals(10, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+            }
+
+            //window tetap 10 hasil terakhir dari semua thread, jadi keduanya OPEN setelah 5 error (50% dari 10)
+            Assertions.assertEquals(5, failuresUntilOpen(striped));
+            Assertions.assertEquals(5, failuresUntilOpen(stock));
+        }
+    }
+
+    @Test
+    void testStripedCircuitBreakerTimeWindowExpiry() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(50f)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(3)
+                .build();
+        VirtualTimeSource time = new VirtualTimeSource();
+        try (HashedWheelTimer timer = new HashedWheelTimer("test")) {
+            CircuitBreaker striped = new StripedCircuitBreaker("striped", config, Collections.emptyMap(),
+                    time.clock(), 4, timer);
+            CircuitBreaker stock = new CircuitBreakerStateMachine("stock", config, time.clock());
+
+            for (CircuitBreaker circuitBreaker : new CircuitBreaker[]{striped, stock}) {
+                circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+                circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+                circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+            }
+            time.advance(Duration.ofSeconds(1));
+            //5 eksekusi, 2 error (40%)
+            for (CircuitBreaker circuitBreaker : new CircuitBreaker[]{striped, stock}) {
+                circuitBreaker.onError(0, TimeUnit.NANOSECONDS, new IllegalArgumentException("Error Say Hey"));
+                circuitBreaker.onError(0, TimeUnit.NANOSECONDS, new IllegalArgumentException("Error Say Hey"));
+                Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+            }
+
+            //3 success di detik pertama expired, success berikutnya membuat failure rate 2 dari 3, keduanya langsung OPEN
+            time.advance(Duration.ofSeconds(1));
+            for (CircuitBreaker circuitBreaker : new CircuitBreaker[]{striped, stock}) {
+                circuitBreaker.onSuccess(0, TimeUnit.NANOSECONDS);
+                Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+            }
+        }
+    }
+
+    private int failuresUntilOpen(CircuitBreaker circuitBreaker) {
+        int failures = 0;
+        while (circuitBreaker.getState() == CircuitBreaker.State.CLOSED && failures < 100) {
+            circuitBreaker.onError(0, TimeUnit.NANOSECONDS, new IllegalArgumentException("Error Say Hey"));
+            failures++;
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,85 @@
+import fajar.resilience4j.bulkhead.VirtualThreadBulkhead;
+import fajar.resilience4j.bulkhead.VirtualThreadBulkheadRegistry;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+public class VirtualThreadBulkheadTest {
+
+    /** VirtualThreadBulkhead
+     * Sama seperti ThreadPoolBulkhead, tapi setiap eksekusi berjalan di virtual thread
+     * Jumlah eksekusi paralel tetap dibatasi maxThreadPoolSize, sisanya menunggu di antrian sampai queueCapacity
+     * Karena virtual thread murah, eksekusi blocking (sleep, I/O) tidak lagi menahan thread platform
+     */
+
+    private final AtomicLong counter = new AtomicLong(0L);
+
+    @SneakyThrows
+    void sayHello() {
+        log.info("Hello - " + counter.incrementAndGet());
+        Thread.sleep(200L);
+    }
+
+    @Test
+    void testVirtualThreadBulkhead() {
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(10)
+                .coreThreadPoolSize(5)
+                .queueCapacity(40)
+                .build();
+
+        ThreadPoolBulkhead bulkhead = VirtualThreadBulkhead.of("fjr", config);
+
+        AtomicInteger maxActive = new AtomicInteger(0);
+        bulkhead.getEventPublisher().onCallPermitted(event ->
+                maxActive.accumulateAndGet(bulkhead.getMetrics().getActiveThreadCount(), Math::max));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            //cara pakainya sama persis dengan ThreadPoolBulkhead di BulkHeadTest
+            Supplier<CompletionStage<Void>> supplier = ThreadPoolBulkhead.decorateRunnable(bulkhead, this::sayHello);
+            futures.add(supplier.get().toCompletableFuture());
+        }
+
+        //pool(10) + antrian(40) sudah penuh, eksekusi berikutnya ditolak
+        Assertions.assertThrows(BulkheadFullException.class, () -> bulkhead.executeRunnable(this::sayHello));
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        Assertions.assertEquals(50, counter.get());
+        Assertions.assertTrue(maxActive.get() <= 10);
+    }
+
+    @Test
+    void testVirtualThreadBulkheadRegistry() {
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(10)
+                .coreThreadPoolSize(5)
+                .build();
+
+        try (VirtualThreadBulkheadRegistry registry = VirtualThreadBulkheadRegistry.ofDefaults()) {
+            registry.addConfiguration("config", config);
+
+            ThreadPoolBulkhead bulkhead = registry.bulkhead("fjr", "config");
+            Assertions.assertSame(bulkhead, registry.bulkhead("fjr", "config"));
+            Assertions.assertInstanceOf(VirtualThreadBulkhead.class, bulkhead);
+
+            String result = bulkhead.executeSupplier(() -> Thread.currentThread().isVirtual() ? "virtual" : "platform")
+                    .toCompletableFuture()
+                    .join();
+            Assertions.assertEquals("virtual", result);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+import fajar.resilience4j.bulkhead.AdaptiveBulkhead;
+import fajar.resilience4j.bulkhead.limit.AdaptiveLimit;
+import fajar.resilience4j.circuitbreaker.StripedCircuitBreaker;
+import fajar.resilience4j.core.VirtualTimeSource;
+import fajar.resilience4j.ratelimiter.BatchRateLimiter;
+import fajar.resilience4j.retry.ClockedRetry;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+public class VirtualTimeTest {
+
+    /** VirtualTimeSource
+     * RateLimiterTest (limitRefreshPeriod 2 menit), BulkHeadTest (Thread.sleep(20_000L)) dan TimeLimiterTest menunggu waktu sungguhan
+     * Dengan VirtualTimeSource waktu hanya maju saat ada yang menunggu, jadi menunggu berapa menit pun langsung selesai
+     * Eksekusi yang berjalan bersamaan dibuat sebagai task di scheduler(), yang dijalankan sesuai urutan waktunya
+     */
+
+    private final VirtualTimeSource time = new VirtualTimeSource();
+
+    @SneakyThrows
+    String sayHello(Duration duration) {
+        log.info("Hello at {}", time.elapsed());
+        time.sleep(duration.toNanos());
+        return "Fajar";
+    }
+
+    @Test
+    void testRateLimiter() {
+        //sama seperti testRateLimiterConfig di RateLimiterTest
+        BatchRateLimiter rateLimiter = BatchRateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(100)
+                .limitRefreshPeriod(Duration.ofMinutes(2))
+                .timeoutDuration(Duration.ofSeconds(2))
+                .build(), time);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(rateLimiter.acquirePermission());
+        }
+        Assertions.assertEquals(Duration.ZERO, time.elapsed());
+
+        //permit habis, menunggu timeoutDuration (2 detik virtual) lalu ditolak
+        Assertions.assertFalse(rateLimiter.acquirePermission());
+        Assertions.assertEquals(Duration.ofSeconds(2), time.elapsed());
+
+        //timeout lebih panjang dari sisa cycle, menunggu sampai cycle berikutnya
+        rateLimiter.changeTimeoutDuration(Duration.ofMinutes(3));
+        Assertions.assertTrue(rateLimiter.acquirePermission());
+        Assertions.assertEquals(Duration.ofMinutes(2), time.elapsed());
+        Assertions.assertEquals(99, rateLimiter.getMetrics().getAvailablePermissions());
+    }
+
+    @Test
+    void testBulkhead() {
+        //sama seperti testSemaphoreConfig di BulkHeadTest : 5 concurrent, maxWaitDuration 5 detik, setiap eksekusi 2 detik
+        AdaptiveBulkhead bulkhead = AdaptiveBulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(5)
+                .maxWaitDuration(Duration.ofSeconds(5))
+                .build(), AdaptiveLimit.fixed(5), time);
+        AtomicInteger finished = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            bulkhead.acquirePermission();
+            log.info("Permitted at {}", time.elapsed());
+            time.scheduler().schedule(() -> {
+                bulkhead.onComplete();
+                finished.incrementAndGet();
+            }, 2, TimeUnit.SECONDS);
+        }
+        //5 eksekusi kedua menunggu 2 detik sampai 5 eksekusi pertama selesai
+        Assertions.assertEquals(Duration.ofSeconds(2), time.elapsed());
+        Assertions.assertEquals(5, finished.get());
+
+        time.runAll();
+        Assertions.assertEquals(10, finished.get());
+        Assertions.assertEquals(Duration.ofSeconds(4), time.elapsed());
+
+        //eksekusi 10 detik, permit tidak kembali dalam maxWaitDuration
+        for (int i = 0; i < 5; i++) {
+            bulkhead.acquirePermission();
+            time.scheduler().schedule(() -> bulkhead.onComplete(), 10, TimeUnit.SECONDS);
+        }
+        Assertions.assertThrows(BulkheadFullException.class, bulkhead::acquirePermission);
+        Assertions.assertEquals(Duration.ofSeconds(9), time.elapsed());
+    }
+
+    @Test
+    void testCircuitBreaker() {
+        CircuitBreaker circuitBreaker = StripedCircuitBreaker.of("fjr", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .slowCallDurationThreshold(Duration.ofSeconds(2))
+                .slowCallRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build(), time);
+
+        //durasi eksekusi juga diukur dengan waktu virtual, 3 detik dianggap slow call
+        Supplier<String> supplier = CircuitBreaker.decorateSupplier(circuitBreaker, () -> sayHello(Duration.ofSeconds(3)));
+        for (int i = 0; i < 5; i++) {
+            supplier.get();
+        }
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertEquals(5, circuitBreaker.getMetrics().getNumberOfSlowCalls());
+        Assertions.assertThrows(CallNotPermittedException.class, supplier::get);
+
+        time.advance(Duration.ofSeconds(59));
+        Assertions.assertThrows(CallNotPermittedException.class, supplier::get);
+
+        //setelah waitDurationInOpenState (1 menit virtual) lewat, panggilan berikutnya boleh lewat (HALF_OPEN)
+        time.advance(Duration.ofSeconds(2));
+        Assertions.assertEquals("Fajar", supplier.get());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testRetryAndTimeLimiter() {
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofSeconds(10))
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> supplier = ClockedRetry.decorateSupplier(retry, time, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Ups error");
+        });
+
+        Assertions.assertThrows(IllegalArgumentException.class, supplier::get);
+        Assertions.assertEquals(3, attempts.get());
+        //2 kali menunggu waitDuration 10 detik
+        Assertions.assertEquals(Duration.ofSeconds(20), time.elapsed());
+
+        //TimeLimiter biasa dengan scheduler dari VirtualTimeSource, timeout 5 detik
+        TimeLimiter timeLimiter = TimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofSeconds(5))
+                .build());
+        CompletableFuture<String> fast = timeLimiter.executeCompletionStage(time.scheduler(),
+                () -> completeAfter(Duration.ofSeconds(2))).toCompletableFuture();
+        CompletableFuture<String> slow = timeLimiter.executeCompletionStage(time.scheduler(),
+                () -> completeAfter(Duration.ofSeconds(20))).toCompletableFuture();
+
+        time.runAll();
+        Assertions.assertEquals("Fajar", fast.join());
+        Assertions.assertTrue(slow.isCompletedExceptionally());
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, slow::get);
+        Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+        Assertions.assertEquals(Duration.ofSeconds(40), time.elapsed());
+    }
+
+    private CompletionStage<String> completeAfter(Duration duration) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        time.scheduler().schedule(() -> future.complete("Fajar"), duration.toNanos(), TimeUnit.NANOSECONDS);
+        return future;
+    }
+}
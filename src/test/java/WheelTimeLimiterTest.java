@@ -0,0 +1,98 @@
+import fajar.resilience4j.core.HashedWheelTimer;
+import fajar.resilience4j.timelimiter.WheelTimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class WheelTimeLimiterTest {
+
+    /** WheelTimeLimiter
+     * Sama seperti TimeLimiter, tapi semua timeout dicatat di satu HashedWheelTimer
+     * Untuk CompletionStage tidak ada thread yang diblok per eksekusi selama menunggu timeout
+     */
+
+    @SneakyThrows
+    String sayHello() {
+        log.info("heyyyy");
+        Thread.sleep(2000L);
+        return "Fajar";
+    }
+
+    @Test
+    void testWheelTimeLimiter() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> future = executorService.submit(() -> sayHello());
+
+            TimeLimiter timeLimiter = WheelTimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                    .timeoutDuration(Duration.ofMillis(200))
+                    .cancelRunningFuture(true)
+                    .build());
+            Callable<String> callable = TimeLimiter.decorateFutureSupplier(timeLimiter, () -> future);
+
+            //sama seperti TimeLimiterTest, sayHello() lebih lama dari timeout
+            Assertions.assertThrows(TimeoutException.class, callable::call);
+            Assertions.assertTrue(future.isCancelled());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWheelTimeLimiterCancelledFuture() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer("test")) {
+            TimeLimiter timeLimiter = WheelTimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                    .timeoutDuration(Duration.ofMinutes(1))
+                    .cancelRunningFuture(true)
+                    .build(), timer);
+
+            //future dibatalkan pihak lain sebelum timeout, timeout nya tidak boleh tertinggal di timer
+            FutureTask<String> future = new FutureTask<>(() -> "Fajar");
+            future.cancel(true);
+            Callable<String> callable = TimeLimiter.decorateFutureSupplier(timeLimiter, () -> future);
+            Assertions.assertThrows(CancellationException.class, callable::call);
+            Assertions.assertEquals(0, timer.pendingTimeouts());
+        }
+    }
+
+    @Test
+    void testWheelTimeLimiterCompletionStage() {
+        WheelTimeLimiter timeLimiter = WheelTimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(200))
+                .cancelRunningFuture(true)
+                .build());
+
+        AtomicInteger timeouts = new AtomicInteger(0);
+        timeLimiter.getEventPublisher().onTimeout(event -> timeouts.incrementAndGet());
+
+        //1000 eksekusi yang tidak pernah selesai, semuanya timeout tanpa thread yang menunggu
+        CompletableFuture<?>[] neverCompleted = new CompletableFuture<?>[1000];
+        CompletableFuture<?>[] results = new CompletableFuture<?>[1000];
+        for (int i = 0; i < neverCompleted.length; i++) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            neverCompleted[i] = future;
+            results[i] = timeLimiter.executeCompletionStage(() -> future).toCompletableFuture();
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            CompletionException exception = Assertions.assertThrows(CompletionException.class, results[i]::join);
+            Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+            Assertions.assertTrue(neverCompleted[i].isCancelled());
+        }
+        Assertions.assertEquals(1000, timeouts.get());
+
+        //eksekusi yang cepat selesai normal
+        String result = timeLimiter.executeCompletionStage(() -> CompletableFuture.supplyAsync(() -> "Fajar"))
+                .toCompletableFuture()
+                .join();
+        Assertions.assertEquals("Fajar", result);
+    }
+}
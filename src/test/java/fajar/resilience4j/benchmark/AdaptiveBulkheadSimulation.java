@@ -0,0 +1,123 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.bulkhead.AdaptiveBulkhead;
+import fajar.resilience4j.bulkhead.limit.AimdLimit;
+import fajar.resilience4j.bulkhead.limit.GradientLimit;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** AdaptiveBulkheadSimulation
+ * Bukan JMH, karena yang diukur adalah goodput dan p99 latency dari downstream yang disimulasikan
+ * Downstream punya 20 worker, setiap request memakai satu worker selama serviceTime, request lain antri menunggu worker
+ * serviceTime 10ms di paruh pertama lalu 25ms di paruh kedua (downstream melambat), jadi limit yang tepat ikut berubah
+ * 200 client (virtual thread) terus mengirim request, request yang lebih dari SLA 100ms dianggap gagal (timeout di sisi client)
+ * goodput = request yang sukses dalam SLA per detik
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.AdaptiveBulkheadSimulation -Dbenchmark.args=""
+ */
+public class AdaptiveBulkheadSimulation {
+
+    private static final int CLIENTS = 200;
+    private static final int DOWNSTREAM_WORKERS = 20;
+    private static final long SLA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Duration DURATION = Duration.ofSeconds(6);
+
+    public static void main(String[] args) throws Exception {
+        BulkheadConfig bulkheadTestConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(5)
+                .maxWaitDuration(Duration.ofMillis(50))
+                .build();
+        BulkheadConfig unboundedConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(CLIENTS)
+                .maxWaitDuration(Duration.ofMillis(50))
+                .build();
+
+        System.out.printf("%-22s %10s %10s %10s %10s %8s%n", "bulkhead", "goodput/s", "slow", "rejected", "p99(ms)", "limit");
+        run("fixed(5)", Bulkhead.of("fixed-5", bulkheadTestConfig));
+        run("fixed(200)", Bulkhead.of("fixed-200", unboundedConfig));
+        run("adaptive(aimd)", AdaptiveBulkhead.of("aimd", unboundedConfig,
+                AimdLimit.of(10, CLIENTS, Duration.ofMillis(50))));
+        run("adaptive(gradient)", AdaptiveBulkhead.of("gradient", unboundedConfig,
+                GradientLimit.of(10, CLIENTS)));
+    }
+
+    private static void run(String label, Bulkhead bulkhead) throws InterruptedException {
+        Semaphore workers = new Semaphore(DOWNSTREAM_WORKERS, true);
+        LongAdder good = new LongAdder();
+        LongAdder slow = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        long end = start + DURATION.toNanos();
+        long half = start + DURATION.toNanos() / 2;
+
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < end) {
+                    long callStart = System.nanoTime();
+                    try {
+                        bulkhead.acquirePermission();
+                    } catch (BulkheadFullException e) {
+                        rejected.increment();
+                        continue;
+                    }
+                    boolean timedOut;
+                    long permittedAt = System.nanoTime();
+                    try {
+                        callDownstream(workers, System.nanoTime() < half ? 10 : 25);
+                    } finally {
+                        long now = System.nanoTime();
+                        long latency = now - callStart;
+                        timedOut = latency > SLA_NANOS;
+                        //timeout di sisi client adalah sinyal overload untuk AdaptiveBulkhead
+                        if (bulkhead instanceof AdaptiveBulkhead adaptiveBulkhead) {
+                            if (timedOut) {
+                                adaptiveBulkhead.onDropped(now - permittedAt);
+                            } else {
+                                adaptiveBulkhead.onComplete(now - permittedAt);
+                            }
+                        } else {
+                            bulkhead.onComplete();
+                        }
+                        latencies.add(latency);
+                    }
+                    if (timedOut) {
+                        slow.increment();
+                    } else {
+                        good.increment();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double p99 = sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99)] / 1_000_000.0;
+        System.out.printf("%-22s %10d %10d %10d %10.1f %8d%n", label, good.sum() / DURATION.toSeconds(),
+                slow.sum(), rejected.sum(), p99, bulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+    }
+
+    //request menunggu worker (antrian di downstream), lalu memakai worker selama serviceTime
+    private static void callDownstream(Semaphore workers, long serviceTimeMillis) {
+        try {
+            workers.acquire();
+            try {
+                Thread.sleep(serviceTimeMillis);
+            } finally {
+                workers.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.core.AsyncEventDispatcher;
+import io.github.resilience4j.core.EventConsumer;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.event.RetryOnRetryEvent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** AsyncEventDispatcherLatency
+ * Bukan JMH, karena yang diukur adalah distribusi latency di sisi pemanggil (p50, p99, max), bukan throughput
+ * Setiap eksekusi gagal 2 kali lalu sukses, jadi ada 2 RetryOnRetryEvent per eksekusi seperti di EventPublisherTest
+ * Consumer nya sengaja lambat (200µs per event, seperti appender log yang menulis ke disk)
+ * - sync : consumer didaftarkan langsung ke onRetry(), berjalan di thread pemanggil
+ * - async : consumer dibungkus dispatcher.async(), dengan masing-masing OverflowPolicy
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.AsyncEventDispatcherLatency -Dbenchmark.args=""
+ */
+public class AsyncEventDispatcherLatency {
+
+    private static final int CALLS = 20_000;
+    private static final long CONSUMER_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-20s %10s %10s %10s %10s%n", "publisher", "p50(us)", "p99(us)", "max(us)", "dropped");
+        run("sync", consumer -> consumer, null);
+        for (AsyncEventDispatcher.OverflowPolicy policy : AsyncEventDispatcher.OverflowPolicy.values()) {
+            AsyncEventDispatcher dispatcher = AsyncEventDispatcher.of("latency", 1024, policy);
+            run("async " + policy, dispatcher::async, dispatcher);
+            dispatcher.close();
+        }
+    }
+
+    private static void run(String label, Function<EventConsumer<RetryOnRetryEvent>, EventConsumer<RetryOnRetryEvent>> wrapper,
+                            AsyncEventDispatcher dispatcher) {
+        Retry retry = Retry.of(label, RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ZERO)
+                .build());
+        retry.getEventPublisher().onRetry(wrapper.apply(event -> slowConsumer()));
+        AtomicInteger attempt = new AtomicInteger();
+        Supplier<Integer> supplier = Retry.decorateSupplier(retry, () -> {
+            if (attempt.incrementAndGet() % 3 != 0) {
+                throw new IllegalStateException("Ups error");
+            }
+            return attempt.get();
+        });
+
+        //warmup
+        for (int i = 0; i < CALLS / 10; i++) {
+            supplier.get();
+        }
+        long dropped = dispatcher == null ? 0 : dispatcher.getDroppedEvents();
+        long[] latencies = new long[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            long start = System.nanoTime();
+            supplier.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %10.1f %10.1f %10.1f %10d%n", label,
+                latencies[CALLS / 2] / 1000.0,
+                latencies[(int) (CALLS * 0.99)] / 1000.0,
+                latencies[CALLS - 1] / 1000.0,
+                dispatcher == null ? 0 : dispatcher.getDroppedEvents() - dropped);
+    }
+
+    //menunggu dengan parkNanos kecil (bukan spin), supaya di mesin dengan sedikit CPU thread pemanggil tidak ikut tertahan
+    private static void slowConsumer() {
+        long deadline = System.nanoTime() + CONSUMER_NANOS;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1);
+        }
+    }
+}
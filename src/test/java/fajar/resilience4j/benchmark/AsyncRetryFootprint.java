@@ -0,0 +1,110 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.retry.AsyncRetry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/** AsyncRetryFootprint
+ * Bukan JMH, karena yang diukur adalah jumlah thread dan memory saat banyak eksekusi sedang menunggu retry
+ * Menjalankan N eksekusi (default 10_000) yang gagal 2 kali lalu sukses, dengan waitDuration 1 detik
+ * blocking : setiap eksekusi di thread sendiri dengan Retry.decorateSupplier (seperti DecoratorsTest)
+ * async    : semua eksekusi memakai AsyncRetry dengan scheduler bersama
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.AsyncRetryFootprint -Dbenchmark.args="10000"
+ */
+public class AsyncRetryFootprint {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofSeconds(1))
+                .build();
+
+        report("async", calls, runAsync(Retry.of("fjr-async", config), calls));
+        report("blocking", calls, runBlocking(Retry.of("fjr-blocking", config), calls));
+    }
+
+    private static long[] runAsync(Retry retry, int calls) {
+        int threadsBefore = THREADS.getThreadCount();
+        List<CompletableFuture<String>> futures = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            AtomicInteger attempts = new AtomicInteger(0);
+            futures.add(AsyncRetry.executeCompletionStage(retry, () -> attempts.incrementAndGet() < 3
+                    ? CompletableFuture.<String>failedFuture(new IllegalStateException("ups error"))
+                    : CompletableFuture.completedFuture("Fajar")).toCompletableFuture());
+        }
+        long[] sample = sample(threadsBefore);
+        futures.forEach(CompletableFuture::join);
+        return sample;
+    }
+
+    private static long[] runBlocking(Retry retry, int calls) throws InterruptedException {
+        int threadsBefore = THREADS.getThreadCount();
+        CountDownLatch firstAttempts = new CountDownLatch(calls);
+        CountDownLatch done = new CountDownLatch(calls);
+        for (int i = 0; i < calls; i++) {
+            AtomicInteger attempts = new AtomicInteger(0);
+            Supplier<String> supplier = Retry.decorateSupplier(retry, () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    firstAttempts.countDown();
+                }
+                if (attempts.get() < 3) {
+                    throw new IllegalStateException("ups error");
+                }
+                return "Fajar";
+            });
+            new Thread(() -> {
+                supplier.get();
+                done.countDown();
+            }).start();
+        }
+        firstAttempts.await();
+        long[] sample = sample(threadsBefore);
+        done.await();
+        return sample;
+    }
+
+    //diambil saat semua eksekusi sedang menunggu backoff
+    private static long[] sample(int threadsBefore) {
+        System.gc();
+        long threads = THREADS.getThreadCount() - threadsBefore;
+        long heapBytes = MEMORY.getHeapMemoryUsage().getUsed();
+        return new long[]{threads, heapBytes, residentBytes()};
+    }
+
+    //stack thread platform tidak terlihat di heap, jadi dibaca juga VmRSS dari /proc (hanya Linux)
+    private static long residentBytes() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            //bukan Linux
+        }
+        return -1;
+    }
+
+    private static void report(String variant, int calls, long[] sample) {
+        System.out.printf("%-8s calls=%d extraThreads=%d heapUsed=%dMB rss=%dMB%n",
+                variant, calls, sample[0], sample[1] / (1024 * 1024), sample[2] / (1024 * 1024));
+    }
+}
@@ -0,0 +1,128 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.retry.Backoff;
+import fajar.resilience4j.retry.LatencyAwareBackoff;
+import io.github.resilience4j.core.IntervalBiFunction;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** BackoffSimulation
+ * Bukan JMH, karena yang diukur adalah lonjakan beban ke dependency, bukan biaya per operasi
+ * 1000 client (virtual thread) memanggil dependency bersamaan, dependency mati selama 1 detik pertama lalu pulih
+ * Latency dependency naik dengan jumlah pemanggil yang sedang berjalan : 5ms + 0.05ms per pemanggil
+ * Retry maxAttempts(10), strategi backoff :
+ * - fixed : waitDuration 100ms, seperti RetryConfigTest (di sana 2 detik)
+ * - exponential : IntervalFunction.ofExponentialBackoff(100ms, 2) bawaan Resilience4J, tanpa jitter
+ * - fullJitter, decorrelatedJitter : base 100ms, cap 2 detik
+ * - latencyAware : multiplier 10 x latency terbaru, minimal 10ms, maksimal 2 detik
+ * Gelombang pertama (1000 percobaan bersamaan) sama untuk semua strategi, jadi puncak yang dicetak hanya untuk retry :
+ * puncak retry bersamaan di dependency dan puncak retry dalam 10ms, lalu total percobaan,
+ * client yang tetap gagal setelah semua retry, dan waktu sampai sukses (p50, p99)
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.BackoffSimulation -Dbenchmark.args=""
+ */
+public class BackoffSimulation {
+
+    private static final int CLIENTS = 1_000;
+    private static final long OUTAGE_MILLIS = 1_000;
+    private static final long BUCKET_MILLIS = 10;
+    private static final int BUCKETS = 2_000;
+
+    public static void main(String[] args) {
+        Duration base = Duration.ofMillis(100);
+        Duration cap = Duration.ofSeconds(2);
+
+        System.out.printf("%-20s %12s %14s %10s %8s %10s %10s%n",
+                "backoff", "peak(inflight)", "peak(per10ms)", "attempts", "failed", "p50(ms)", "p99(ms)");
+        run("fixed", ignored -> IntervalBiFunction.ofIntervalFunction(IntervalFunction.of(base)));
+        run("exponential", ignored -> IntervalBiFunction.ofIntervalFunction(IntervalFunction.ofExponentialBackoff(base, 2)));
+        run("fullJitter", ignored -> Backoff.fullJitter(base, cap));
+        run("decorrelatedJitter", ignored -> Backoff.decorrelatedJitter(base, cap));
+        run("latencyAware", backoff -> backoff);
+    }
+
+    private static void run(String label, Function<LatencyAwareBackoff, IntervalBiFunction<Object>> strategy) {
+        LatencyAwareBackoff latencyAware = Backoff.latencyAware(10, Duration.ofMillis(10), Duration.ofSeconds(2));
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(10)
+                .intervalBiFunction(strategy.apply(latencyAware))
+                .build());
+
+        AtomicInteger inflight = new AtomicInteger();
+        AtomicInteger retryInflight = new AtomicInteger();
+        AtomicInteger peakRetryInflight = new AtomicInteger();
+        //setiap client satu virtual thread, dan Retry sync menjalankan semua percobaan di thread yang sama
+        ThreadLocal<int[]> clientAttempts = ThreadLocal.withInitial(() -> new int[1]);
+        AtomicLongArray retriesPerBucket = new AtomicLongArray(BUCKETS);
+        LongAdder attempts = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long[] completion = new long[CLIENTS];
+        long start = System.nanoTime();
+
+        Supplier<String> supplier = Retry.decorateSupplier(retry, latencyAware.decorateSupplier(() -> {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            attempts.increment();
+            boolean isRetry = clientAttempts.get()[0]++ > 0;
+            if (isRetry) {
+                retriesPerBucket.incrementAndGet((int) Math.min(BUCKETS - 1, elapsed / BUCKET_MILLIS));
+                peakRetryInflight.accumulateAndGet(retryInflight.incrementAndGet(), Math::max);
+            }
+            int current = inflight.incrementAndGet();
+            try {
+                sleepMicros(5_000 + current * 50L);
+                if (elapsed < OUTAGE_MILLIS) {
+                    throw new IllegalStateException("Dependency is down");
+                }
+                return "Fajar";
+            } finally {
+                inflight.decrementAndGet();
+                if (isRetry) {
+                    retryInflight.decrementAndGet();
+                }
+            }
+        }));
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                int index = i;
+                clients.execute(() -> {
+                    try {
+                        supplier.get();
+                    } catch (IllegalStateException e) {
+                        failed.increment();
+                    }
+                    completion[index] = System.nanoTime() - start;
+                });
+            }
+        }
+
+        long peakPerBucket = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            peakPerBucket = Math.max(peakPerBucket, retriesPerBucket.get(i));
+        }
+        Arrays.sort(completion);
+        System.out.printf("%-20s %12d %14d %10d %8d %10.0f %10.0f%n", label,
+                peakRetryInflight.get(), peakPerBucket, attempts.sum(), failed.sum(),
+                completion[CLIENTS / 2] / 1_000_000.0,
+                completion[(int) (CLIENTS * 0.99)] / 1_000_000.0);
+    }
+
+    private static void sleepMicros(long micros) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
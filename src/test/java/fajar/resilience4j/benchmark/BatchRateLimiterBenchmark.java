@@ -0,0 +1,75 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.ratelimiter.BatchRateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/** BatchRateLimiterBenchmark
+ * Memproses 10k record (sama seperti loop di RateLimiterTest) dengan batch size 1, 64 dan 1024
+ * perRecord : satu RateLimiter.decorateRunnable().run() per record, seperti RateLimiterTest
+ * batchConsumer : BatchRateLimiter.decorateConsumer(), permit diambil per batch
+ * Limit dibuat sangat besar, jadi yang terukur hanya biaya mengambil permit, bukan menunggu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchRateLimiterBenchmark {
+
+    private static final int RECORDS = 10_000;
+
+    @Param({"1", "64", "1024"})
+    public int batchSize;
+
+    private List<List<Integer>> batches;
+    private RateLimiter rateLimiter;
+    private Consumer<List<Integer>> batchConsumer;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        List<Integer> records = IntStream.range(0, RECORDS).boxed().toList();
+        batches = IntStream.range(0, (RECORDS + batchSize - 1) / batchSize)
+                .mapToObj(i -> records.subList(i * batchSize, Math.min(RECORDS, (i + 1) * batchSize)))
+                .toList();
+
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build();
+        rateLimiter = RateLimiter.of("fjr-stock", config);
+        batchConsumer = BatchRateLimiter.decorateConsumer(BatchRateLimiter.of("fjr-batch", config),
+                chunk -> chunk.forEach(blackhole::consume));
+    }
+
+    //satu operasi = 10k record
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void perRecord() {
+        for (List<Integer> batch : batches) {
+            for (Integer record : batch) {
+                RateLimiter.decorateRunnable(rateLimiter, () -> blackhole.consume(record)).run();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void batchConsumer() {
+        for (List<Integer> batch : batches) {
+            batchConsumer.accept(batch);
+        }
+    }
+}
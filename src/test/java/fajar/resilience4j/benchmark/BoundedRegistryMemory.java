@@ -0,0 +1,90 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.core.BoundedRegistries;
+import fajar.resilience4j.core.BoundedRegistryStore;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/** BoundedRegistryMemory
+ * Bukan JMH, karena yang diukur adalah sisa heap setelah GC, bukan waktu per operasi
+ * 1 juta nama berbeda (misal satu nama per tenant/user) dimasukkan ke registry, setiap 100 nama tenant "fjr" ikut dipakai lagi
+ * - unbounded : registry biasa (InMemoryRegistryStore), semua entry disimpan selamanya
+ * - bounded(LRU/TINY_LFU) : BoundedRegistries dengan maximumSize 10k
+ * Dicetak : selisih heap setelah GC sebelum dan sesudah load (registry masih dipegang), jumlah entry, dan waktu untuk 1 juta registry.xxx(name)
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.BoundedRegistryMemory -Dbenchmark.args=""
+ */
+public class BoundedRegistryMemory {
+
+    private static final int NAMES = 1_000_000;
+    private static final int MAXIMUM_SIZE = 10_000;
+
+    public static void main(String[] args) {
+        //CircuitBreaker mencatat log DEBUG untuk setiap event tanpa consumer
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        RateLimiterConfig rateLimiterConfig = RateLimiterConfig.ofDefaults();
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .build();
+
+        System.out.printf("%-32s %12s %12s %12s%n", "registry", "heap(MB)", "entries", "elapsed(ms)");
+        run("baseline", () -> RateLimiterRegistry.of(rateLimiterConfig), registry -> name -> null,
+                registry -> registry.getAllRateLimiters().size());
+
+        run("rateLimiter unbounded", () -> RateLimiterRegistry.of(rateLimiterConfig),
+                registry -> registry::rateLimiter, registry -> registry.getAllRateLimiters().size());
+        for (BoundedRegistryStore.EvictionPolicy policy : BoundedRegistryStore.EvictionPolicy.values()) {
+            run("rateLimiter bounded(" + policy + ")",
+                    () -> BoundedRegistries.rateLimiterRegistry(rateLimiterConfig,
+                            BoundedRegistryStore.<RateLimiter>custom().maximumSize(MAXIMUM_SIZE).evictionPolicy(policy)),
+                    registry -> registry::rateLimiter, registry -> registry.getAllRateLimiters().size());
+        }
+
+        run("circuitBreaker unbounded", () -> CircuitBreakerRegistry.of(circuitBreakerConfig),
+                registry -> registry::circuitBreaker, registry -> registry.getAllCircuitBreakers().size());
+        for (BoundedRegistryStore.EvictionPolicy policy : BoundedRegistryStore.EvictionPolicy.values()) {
+            run("circuitBreaker bounded(" + policy + ")",
+                    () -> BoundedRegistries.circuitBreakerRegistry(circuitBreakerConfig,
+                            BoundedRegistryStore.<CircuitBreaker>custom().maximumSize(MAXIMUM_SIZE).evictionPolicy(policy)),
+                    registry -> registry::circuitBreaker, registry -> registry.getAllCircuitBreakers().size());
+        }
+    }
+
+    //registry dibuat di dalam run(), jadi setelah run() selesai registry nya bisa di-GC dan tidak ikut terhitung di run berikutnya
+    private static <R> void run(String label, Supplier<R> registryFactory, Function<R, Function<String, ?>> lookup,
+                                ToIntFunction<R> size) {
+        long before = usedHeapAfterGc();
+        R registry = registryFactory.get();
+        Function<String, ?> entries = lookup.apply(registry);
+        long start = System.nanoTime();
+        for (int i = 0; i < NAMES; i++) {
+            entries.apply("tenant-" + i);
+            if (i % 100 == 0) {
+                entries.apply("fjr");
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%-32s %12.1f %12d %12d%n", label, retained / 1024.0 / 1024.0,
+                size.applyAsInt(registry), elapsed / 1_000_000);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,85 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.bulkhead.CoDelConfig;
+import fajar.resilience4j.bulkhead.CoDelThreadPoolBulkhead;
+import fajar.resilience4j.load.LoadGenerator;
+import fajar.resilience4j.load.LoadReport;
+import fajar.resilience4j.load.SimulatedBackend;
+import fajar.resilience4j.load.SimulatedBackend.LatencyDistribution;
+import fajar.resilience4j.metrics.LatencyRecorder;
+import fajar.resilience4j.metrics.LatencySnapshot;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** CoDelBulkheadSimulation
+ * Bukan JMH, yang diukur adalah goodput dan latency ThreadPoolBulkhead saat overload 2x
+ * 4 thread, backend 20ms (kapasitas 200 request per detik), queueCapacity 100, request dikirim 400 per detik (open-loop) selama DURATION
+ * Caller timeout setelah SLA 100ms, jadi goodput = request sukses dalam SLA per detik
+ * ThreadPoolBulkhead biasa : antrian selalu penuh, setiap task menunggu sekitar 100 x 20ms / 4 = 500ms sebelum dieksekusi
+ * CoDelThreadPoolBulkhead (target 5ms, interval 100ms) : task yang terlalu lama menunggu dibuang, dengan dan tanpa LIFO
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.CoDelBulkheadSimulation -Dbenchmark.args=""
+ */
+public class CoDelBulkheadSimulation {
+
+    private static final int ARRIVAL_RATE = 400;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final long SLA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    public static void main(String[] args) {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        ThreadPoolBulkheadConfig config = ThreadPoolBulkheadConfig.custom()
+                .maxThreadPoolSize(4)
+                .coreThreadPoolSize(4)
+                .queueCapacity(100)
+                .build();
+
+        System.out.printf("%-22s %8s %10s %10s %8s %10s %10s %10s%n",
+                "bulkhead", "sent", "goodput/s", "rejected", "shed", "p50(ms)", "p99(ms)", "max(ms)");
+        run("ThreadPoolBulkhead", ThreadPoolBulkhead.of("stock", config));
+        run("CoDel (FIFO)", CoDelThreadPoolBulkhead.of("fifo", config, CoDelConfig.custom()
+                .lifoUnderOverload(false)
+                .build()));
+        run("CoDel (LIFO)", CoDelThreadPoolBulkhead.of("lifo", config, CoDelConfig.ofDefaults()));
+    }
+
+    private static void run(String label, ThreadPoolBulkhead bulkhead) {
+        SimulatedBackend backend = SimulatedBackend.of(LatencyDistribution.fixed(Duration.ofMillis(20)));
+        LatencyRecorder succeeded = new LatencyRecorder();
+        LongAdder good = new LongAdder();
+        LoadReport report = LoadGenerator.custom(label)
+                .arrivalRate(ARRIVAL_RATE)
+                .duration(DURATION)
+                .build()
+                .run(() -> {
+                    long start = System.nanoTime();
+                    String result = bulkhead.executeSupplier(backend::call).toCompletableFuture().join();
+                    long latency = System.nanoTime() - start;
+                    succeeded.record(latency);
+                    if (latency <= SLA_NANOS) {
+                        good.increment();
+                    }
+                    return result;
+                });
+        long shed = bulkhead instanceof CoDelThreadPoolBulkhead coDel
+                ? coDel.getMetrics().getShedCalls() + coDel.getMetrics().getExpiredCalls()
+                : 0;
+        LatencySnapshot snapshot = succeeded.totalSnapshot();
+        System.out.printf("%-22s %8d %10d %10d %8d %10.1f %10.1f %10.1f%n", label, report.getSent(),
+                good.sum() / DURATION.toSeconds(), report.getRejected(), shed,
+                snapshot.getValueAtPercentile(50).toNanos() / 1e6,
+                snapshot.getValueAtPercentile(99).toNanos() / 1e6,
+                snapshot.getMax().toNanos() / 1e6);
+        try {
+            bulkhead.close();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.circuitbreaker.StripedCircuitBreaker;
+import fajar.resilience4j.decorators.CompiledPipeline;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** CompiledPipelineBenchmark
+ * Membandingkan Decorators (seperti DecoratorsTest) dengan CompiledPipeline untuk module yang sama, semua eksekusi sukses
+ * Jalankan dengan gc profiler (default di profile benchmark) dan lihat gc.alloc.rate.norm, yaitu byte yang dialokasikan per eksekusi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledPipelineBenchmark {
+
+    private Supplier<String> decoratorsRetryRateLimiterFallback;
+    private Supplier<String> compiledRetryRateLimiterFallback;
+    private Supplier<String> decoratorsAll;
+    private Supplier<String> compiledAll;
+    private Supplier<String> compiledRetryCircuitBreakerBulkheadFallback;
+
+    @Setup
+    public void setup() {
+        //tidak ada logback.xml, jadi default nya DEBUG dan CircuitBreaker mencatat log setiap eksekusi sukses
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        Supplier<String> supplier = () -> "Fajar";
+        Retry retry = Retry.ofDefaults("fjr-retry");
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr-circuitBreaker");
+        CircuitBreaker stripedCircuitBreaker = StripedCircuitBreaker.ofDefaults("fjr-stripedCircuitBreaker");
+        Bulkhead bulkhead = Bulkhead.of("fjr-bulkhead", BulkheadConfig.custom()
+                .maxConcurrentCalls(1_000)
+                .build());
+
+        //sama seperti DecoratorsTest.testFallback
+        decoratorsRetryRateLimiterFallback = Decorators.ofSupplier(supplier)
+                .withRetry(retry)
+                .withRateLimiter(rateLimiter)
+                .withFallback(throwable -> "===== FAILED ======")
+                .decorate();
+        compiledRetryRateLimiterFallback = CompiledPipeline.ofSupplier(supplier)
+                .withRetry(retry)
+                .withRateLimiter(rateLimiter)
+                .withFallback(throwable -> "===== FAILED ======")
+                .compile();
+
+        decoratorsAll = Decorators.ofSupplier(supplier)
+                .withRetry(retry)
+                .withCircuitBreaker(circuitBreaker)
+                .withRateLimiter(rateLimiter)
+                .withBulkhead(bulkhead)
+                .withFallback(throwable -> "===== FAILED ======")
+                .decorate();
+        compiledAll = CompiledPipeline.ofSupplier(supplier)
+                .withRetry(retry)
+                .withCircuitBreaker(circuitBreaker)
+                .withRateLimiter(rateLimiter)
+                .withBulkhead(bulkhead)
+                .withFallback(throwable -> "===== FAILED ======")
+                .compile();
+
+        //module yang tidak mengalokasikan object di jalur sukses
+        compiledRetryCircuitBreakerBulkheadFallback = CompiledPipeline.ofSupplier(supplier)
+                .withRetry(retry)
+                .withCircuitBreaker(stripedCircuitBreaker)
+                .withBulkhead(bulkhead)
+                .withFallback(throwable -> "===== FAILED ======")
+                .compile();
+    }
+
+    @Benchmark
+    public String decoratorsRetryRateLimiterFallback() {
+        return decoratorsRetryRateLimiterFallback.get();
+    }
+
+    @Benchmark
+    public String compiledRetryRateLimiterFallback() {
+        return compiledRetryRateLimiterFallback.get();
+    }
+
+    @Benchmark
+    public String decoratorsAll() {
+        return decoratorsAll.get();
+    }
+
+    @Benchmark
+    public String compiledAll() {
+        return compiledAll.get();
+    }
+
+    @Benchmark
+    public String compiledRetryCircuitBreakerBulkheadFallback() {
+        return compiledRetryCircuitBreakerBulkheadFallback.get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(CompiledPipelineBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,121 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** DecoratorOverheadBenchmark
+ * Mengukur biaya per eksekusi dari setiap decorator yang dipakai di test (RetryTest, CirkuitBreakerTest, RateLimiterTest, BulkHeadTest, DecoratorsTest)
+ * Semua eksekusi di sini selalu sukses, jadi yang terukur hanya overhead dari decorator nya saja, bukan sleep atau retry
+ * Jalankan main() untuk mendapatkan throughput, average time dan alokasi (gc profiler) pada 1, 4 dan semua core thread
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoratorOverheadBenchmark {
+
+    private Supplier<String> bareSupplier;
+    private Supplier<String> retrySupplier;
+    private Runnable circuitBreakerRunnable;
+    private Runnable rateLimiterRunnable;
+    private Runnable bulkheadRunnable;
+    private Supplier<String> decoratorsSupplier;
+
+    @Setup
+    public void setup() {
+        //tidak ada logback.xml, jadi default nya DEBUG dan CircuitBreaker mencatat log setiap eksekusi sukses
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        bareSupplier = () -> "Fajar";
+
+        Retry retry = Retry.ofDefaults("fjr-retry");
+        retrySupplier = Retry.decorateSupplier(retry, bareSupplier);
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr-circuitBreaker");
+        circuitBreakerRunnable = CircuitBreaker.decorateRunnable(circuitBreaker, () -> {
+        });
+
+        //limit dibuat sangat besar supaya benchmark tidak pernah menunggu permit
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        rateLimiterRunnable = RateLimiter.decorateRunnable(rateLimiter, () -> {
+        });
+
+        //maxConcurrentCalls lebih besar dari jumlah core supaya tidak ada BulkheadFullException
+        Bulkhead bulkhead = Bulkhead.of("fjr-bulkhead", BulkheadConfig.custom()
+                .maxConcurrentCalls(1_000)
+                .build());
+        bulkheadRunnable = Bulkhead.decorateRunnable(bulkhead, () -> {
+        });
+
+        //sama seperti DecoratorsTest.testFallback
+        decoratorsSupplier = Decorators.ofSupplier(bareSupplier)
+                .withRetry(retry)
+                .withRateLimiter(rateLimiter)
+                .withFallback(throwable -> "===== FAILED ======")
+                .decorate();
+    }
+
+    @Benchmark
+    public String bareSupplier() {
+        return bareSupplier.get();
+    }
+
+    @Benchmark
+    public String retryDecorateSupplier() {
+        return retrySupplier.get();
+    }
+
+    @Benchmark
+    public void circuitBreakerDecorateRunnable() {
+        circuitBreakerRunnable.run();
+    }
+
+    @Benchmark
+    public void rateLimiterDecorateRunnable() {
+        rateLimiterRunnable.run();
+    }
+
+    @Benchmark
+    public void bulkheadDecorateRunnable() {
+        bulkheadRunnable.run();
+    }
+
+    @Benchmark
+    public void decoratorsRetryRateLimiterFallback(Blackhole blackhole) {
+        blackhole.consume(decoratorsSupplier.get());
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[]{1, 4, Threads.MAX}) {
+            Options options = new OptionsBuilder()
+                    .include(DecoratorOverheadBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler("gc")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
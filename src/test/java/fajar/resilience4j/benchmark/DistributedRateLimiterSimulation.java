@@ -0,0 +1,117 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.ratelimiter.DistributedRateLimiter;
+import fajar.resilience4j.ratelimiter.InMemoryRateLimiterStore;
+import fajar.resilience4j.ratelimiter.RateLimiterStore;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/** DistributedRateLimiterSimulation
+ * Bukan JMH, karena yang diukur adalah akurasi jatah global per cycle dan distribusi latency acquirePermission()
+ * 4 node (masing-masing satu RateLimiter) dengan 4 client per node, limitForPeriod 500 per 100ms untuk semua node bersama
+ * RateLimiterStore dibungkus dengan latency 200us per panggilan, seperti round-trip ke Redis di jaringan lokal
+ * - local : RateLimiter.of() per node, jatah dihitung per JVM (4 x 500)
+ * - distributed(lease=N) : DistributedRateLimiter, lease=1 artinya store dipanggil setiap eksekusi
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.DistributedRateLimiterSimulation -Dbenchmark.args=""
+ */
+public class DistributedRateLimiterSimulation {
+
+    private static final int NODES = 4;
+    private static final int CLIENTS_PER_NODE = 4;
+    private static final int LIMIT_FOR_PERIOD = 500;
+    private static final Duration PERIOD = Duration.ofMillis(100);
+    private static final Duration DURATION = Duration.ofSeconds(3);
+    private static final long STORE_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    public static void main(String[] args) throws Exception {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(LIMIT_FOR_PERIOD)
+                .limitRefreshPeriod(PERIOD)
+                .timeoutDuration(Duration.ZERO)
+                .build();
+
+        System.out.printf("%-22s %10s %10s %10s %10s %10s%n",
+                "rateLimiter", "p50(ns)", "p99(ns)", "storeCalls", "maxCycle", "avgCycle");
+        run("local", config, store -> RateLimiter.of("fjr", config));
+        for (int leaseSize : new int[]{1, 16, 64}) {
+            run("distributed(lease=" + leaseSize + ")", config,
+                    store -> DistributedRateLimiter.of("fjr", config, store, leaseSize));
+        }
+    }
+
+    private static void run(String label, RateLimiterConfig config, Function<RateLimiterStore, RateLimiter> nodeFactory)
+            throws InterruptedException {
+        InMemoryRateLimiterStore inMemoryStore = new InMemoryRateLimiterStore();
+        LongAdder storeCalls = new LongAdder();
+        RateLimiterStore store = (key, cycle, permits, limitForPeriod) -> {
+            storeCalls.increment();
+            LockSupport.parkNanos(STORE_LATENCY_NANOS);
+            return inMemoryStore.acquire(key, cycle, permits, limitForPeriod);
+        };
+        List<RateLimiter> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(nodeFactory.apply(store));
+        }
+
+        long periodMillis = config.getLimitRefreshPeriod().toMillis();
+        Map<Long, LongAdder> permittedPerCycle = new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        long end = System.nanoTime() + DURATION.toNanos();
+
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        for (RateLimiter node : nodes) {
+            for (int i = 0; i < CLIENTS_PER_NODE; i++) {
+                clients.execute(() -> {
+                    long[] samples = new long[1 << 20];
+                    int count = 0;
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        boolean permitted = node.acquirePermission();
+                        long latency = System.nanoTime() - start;
+                        if (count < samples.length) {
+                            samples[count++] = latency;
+                        }
+                        if (permitted) {
+                            permittedPerCycle.computeIfAbsent(System.currentTimeMillis() / periodMillis,
+                                    cycle -> new LongAdder()).increment();
+                        }
+                        //client mengirim request lagi setelah jeda singkat
+                        LockSupport.parkNanos(50_000);
+                    }
+                    latencies.add(Arrays.copyOf(samples, count));
+                });
+            }
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        long[] sorted = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        //cycle pertama dan terakhir tidak penuh, jadi tidak dihitung
+        long[] perCycle = permittedPerCycle.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .skip(1)
+                .mapToLong(entry -> entry.getValue().sum())
+                .toArray();
+        long[] fullCycles = Arrays.copyOf(perCycle, Math.max(0, perCycle.length - 1));
+        System.out.printf("%-22s %10d %10d %10d %10d %10.1f%n", label,
+                sorted[sorted.length / 2],
+                sorted[(int) (sorted.length * 0.99)],
+                storeCalls.sum(),
+                Arrays.stream(fullCycles).max().orElse(0),
+                Arrays.stream(fullCycles).average().orElse(0));
+    }
+}
@@ -0,0 +1,78 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.ratelimiter.BatchRateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** EventAllocationBenchmark
+ * Loop 10k eksekusi seperti testRateLimiter() di RateLimiterTest (tanpa log.info, supaya yang terukur hanya RateLimiter nya)
+ * Dijalankan dengan -prof gc, lihat gc.alloc.rate.norm (byte per eksekusi)
+ * subscriber :
+ * - none : tidak ada consumer, kedua RateLimiter tidak membuat event sama sekali
+ * - onSuccess : ada consumer untuk event yang memang terjadi, event harus dibuat
+ * - onFailure : consumer untuk event yang tidak pernah terjadi (limit sangat besar)
+ *   RateLimiter.of() tetap membuat RateLimiterOnSuccessEvent karena hasConsumers() tidak melihat tipe event
+ *   BatchRateLimiter (FilteringEventProcessor) tidak membuat event sama sekali
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="EventAllocationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventAllocationBenchmark {
+
+    private static final int CALLS = 10_000;
+
+    @Param({"none", "onSuccess", "onFailure"})
+    public String subscriber;
+
+    private final AtomicLong counter = new AtomicLong(0L);
+    private RateLimiter stockRateLimiter;
+    private RateLimiter batchRateLimiter;
+
+    @Setup
+    public void setup() {
+        RateLimiterConfig config = RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build();
+        stockRateLimiter = RateLimiter.of("fjr-stock", config);
+        batchRateLimiter = BatchRateLimiter.of("fjr-batch", config);
+        for (RateLimiter rateLimiter : new RateLimiter[]{stockRateLimiter, batchRateLimiter}) {
+            switch (subscriber) {
+                case "onSuccess" -> rateLimiter.getEventPublisher().onSuccess(event -> counter.incrementAndGet());
+                case "onFailure" -> rateLimiter.getEventPublisher().onFailure(event -> counter.incrementAndGet());
+                default -> {
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public long stockRateLimiter() {
+        return loop(stockRateLimiter);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public long batchRateLimiter() {
+        return loop(batchRateLimiter);
+    }
+
+    private long loop(RateLimiter rateLimiter) {
+        for (int i = 0; i < CALLS; i++) {
+            Runnable runnable = RateLimiter.decorateRunnable(rateLimiter, counter::incrementAndGet);
+            runnable.run();
+        }
+        return counter.get();
+    }
+}
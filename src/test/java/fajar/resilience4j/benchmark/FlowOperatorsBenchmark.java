@@ -0,0 +1,165 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.flow.FlowOperators;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/** FlowOperatorsBenchmark
+ * Throughput elemen (elemen per detik) untuk stream 10 juta elemen, satu invocation adalah satu stream
+ * - plain : range langsung ke subscriber, sebagai pembanding
+ * - circuitBreaker, rateLimiter, rateLimiterCircuitBreaker : stream melewati FlowOperators
+ * - blockingRateLimiterCircuitBreaker : 10 juta panggilan Supplier dengan RateLimiter.decorateSupplier + CircuitBreaker.decorateSupplier
+ * RateLimiter 1000 permit per 10 mikrodetik (100 juta per detik), di atas throughput nya, jadi yang diukur adalah overhead bukan limit
+ * FlowOperators reserve permit untuk 1ms sekaligus (100 periode, 100000 permit), versi blocking acquire satu permit per panggilan
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="FlowOperatorsBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowOperatorsBenchmark {
+
+    private static final int ELEMENTS = 10_000_000;
+
+    private CircuitBreaker circuitBreaker;
+    private RateLimiter rateLimiter;
+    private Supplier<Integer> blocking;
+
+    @Setup
+    public void setup() {
+        //CircuitBreaker mencatat log DEBUG untuk setiap event tanpa consumer
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        circuitBreaker = CircuitBreaker.ofDefaults("fjr-circuitBreaker");
+        rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(1_000)
+                .limitRefreshPeriod(Duration.ofNanos(10_000))
+                .timeoutDuration(Duration.ofSeconds(1))
+                .build());
+        blocking = RateLimiter.decorateSupplier(rateLimiter, CircuitBreaker.decorateSupplier(circuitBreaker, () -> 1));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long plain(Blackhole blackhole) {
+        return consume(range(ELEMENTS), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long circuitBreaker(Blackhole blackhole) {
+        return consume(FlowOperators.compose(range(ELEMENTS), FlowOperators.circuitBreaker(circuitBreaker)), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long rateLimiter(Blackhole blackhole) {
+        return consume(FlowOperators.compose(range(ELEMENTS), FlowOperators.rateLimiter(rateLimiter)), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long rateLimiterCircuitBreaker(Blackhole blackhole) {
+        return consume(FlowOperators.compose(range(ELEMENTS),
+                FlowOperators.rateLimiter(rateLimiter),
+                FlowOperators.circuitBreaker(circuitBreaker)), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long blockingRateLimiterCircuitBreaker(Blackhole blackhole) {
+        long sum = 0;
+        for (int i = 0; i < ELEMENTS; i++) {
+            sum += blocking.get();
+        }
+        blackhole.consume(sum);
+        return sum;
+    }
+
+    private static long consume(Flow.Publisher<Integer> publisher, Blackhole blackhole) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private long count;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                blackhole.consume(item);
+                count++;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(count);
+            }
+        });
+        long count = done.join();
+        if (count != ELEMENTS) {
+            throw new IllegalStateException("Expected " + ELEMENTS + " elements but was " + count);
+        }
+        return count;
+    }
+
+    //publisher 0 sampai count - 1 yang mengirim elemen di thread yang memanggil request()
+    private static Flow.Publisher<Integer> range(int count) {
+        return subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private final AtomicLong requested = new AtomicLong();
+            private int next;
+            private volatile boolean cancelled;
+
+            @Override
+            public void request(long n) {
+                if (requested.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add) != 0) {
+                    return;
+                }
+                long demand = requested.get();
+                while (!cancelled) {
+                    long emitted = 0;
+                    while (emitted < demand && next < count && !cancelled) {
+                        subscriber.onNext(next++);
+                        emitted++;
+                    }
+                    if (next == count) {
+                        if (!cancelled) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    demand = requested.addAndGet(-emitted);
+                    if (demand == 0) {
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+        });
+    }
+}
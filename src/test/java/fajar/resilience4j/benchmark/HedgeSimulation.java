@@ -0,0 +1,114 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.hedge.Hedge;
+import fajar.resilience4j.hedge.HedgeConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** HedgeSimulation
+ * Bukan JMH, karena yang diukur adalah distribusi latency (p99) dengan backend yang latency nya bimodal
+ * Backend : 95% request selesai dalam 10ms, 5% request kena "pause" 300ms (misal GC atau disk), setiap percobaan diundi sendiri
+ * Request dikirim open-loop, satu request setiap 2ms selama 10 detik, jadi antrian tidak menyembunyikan latency
+ * - none : tanpa hedge, p99 mengikuti pause 300ms
+ * - fixed(20ms) : hedge setelah 20ms
+ * - adaptive(p95/p90) : delay dari percentile latency percobaan sebelumnya
+ *   dengan 5% request lambat, p95 tepat di batas dua mode latency sehingga delay nya kadang melompat ke maxDelay, p90 lebih stabil
+ * Dicetak juga extraLoad, jumlah percobaan tambahan dibanding jumlah request (dibatasi maxHedgeRatio)
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.HedgeSimulation -Dbenchmark.args=""
+ */
+public class HedgeSimulation {
+
+    private static final int REQUESTS = 5_000;
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long FAST_MILLIS = 10;
+    private static final long SLOW_MILLIS = 300;
+    private static final double SLOW_RATIO = 0.05;
+
+    private static final ScheduledThreadPoolExecutor BACKEND = new ScheduledThreadPoolExecutor(1);
+
+    public static void main(String[] args) throws InterruptedException {
+        //percobaan yang dibatalkan langsung dibuang dari antrian backend
+        BACKEND.setRemoveOnCancelPolicy(true);
+
+        System.out.printf("%-16s %8s %8s %8s %8s %10s%n", "hedge", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "extraLoad");
+        run("none", supplier -> supplier);
+        Hedge fixed = Hedge.of("fixed", HedgeConfig.custom()
+                .delay(Duration.ofMillis(20))
+                .maxHedgeRatio(0.1)
+                .build());
+        run("fixed(20ms)", supplier -> fixed.decorateCompletionStage(supplier));
+        for (double percentile : new double[]{0.95, 0.9}) {
+            Hedge adaptive = Hedge.of("adaptive", HedgeConfig.custom()
+                    .delay(Duration.ofMillis(50))
+                    .adaptiveDelay(percentile, Duration.ofMillis(5), Duration.ofMillis(200))
+                    .maxHedgeRatio(0.1)
+                    .build());
+            run("adaptive(p" + Math.round(percentile * 100) + ")", supplier -> adaptive.decorateCompletionStage(supplier));
+        }
+        BACKEND.shutdown();
+    }
+
+    private static void run(String label,
+                            Function<Supplier<CompletionStage<String>>, Supplier<CompletionStage<String>>> decorator)
+            throws InterruptedException {
+        LongAdder attempts = new LongAdder();
+        Supplier<CompletionStage<String>> decorated = decorator.apply(() -> {
+            attempts.increment();
+            return backend();
+        });
+        long[] latencies = new long[REQUESTS];
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            //waktu kirim dihitung dari jadwal, bukan dari kapan loop sempat mengirim (open-loop)
+            long scheduled = start + i * INTERVAL_NANOS;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            decorated.get().whenComplete((result, throwable) -> {
+                latencies[index] = System.nanoTime() - scheduled;
+                done.countDown();
+            });
+        }
+        done.await();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-16s %8.1f %8.1f %8.1f %8.1f %9.1f%%%n", label,
+                millis(latencies[REQUESTS / 2]),
+                millis(latencies[(int) (REQUESTS * 0.9)]),
+                millis(latencies[(int) (REQUESTS * 0.99)]),
+                millis(latencies[(int) (REQUESTS * 0.999)]),
+                100.0 * (attempts.sum() - REQUESTS) / REQUESTS);
+    }
+
+    //backend non-blocking, selesai setelah latency yang diundi, dan berhenti jika dibatalkan
+    private static CompletionStage<String> backend() {
+        long latency = ThreadLocalRandom.current().nextDouble() < SLOW_RATIO ? SLOW_MILLIS : FAST_MILLIS;
+        CompletableFuture<String> future = new CompletableFuture<>();
+        ScheduledFuture<?> task = BACKEND.schedule(() -> future.complete("fjr"), latency, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                task.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,117 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.metrics.LatencyMetrics;
+import fajar.resilience4j.metrics.TimedDecorators;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** LatencyMetricsBenchmark
+ * Overhead TimedDecorators dibanding decorator asli, untuk CircuitBreaker, RateLimiter, Bulkhead dan Retry
+ * Semua eksekusi sukses tanpa menunggu, jadi selisih nya adalah biaya System.nanoTime() dan LatencyRecorder.record()
+ * nanoTime() sebagai pembanding biaya membaca clock, CircuitBreaker asli sudah membaca clock sendiri jadi selisih nya hanya record()
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="LatencyMetricsBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyMetricsBenchmark {
+
+    private Supplier<String> circuitBreaker;
+    private Supplier<String> timedCircuitBreaker;
+    private Supplier<String> rateLimiter;
+    private Supplier<String> timedRateLimiter;
+    private Supplier<String> bulkhead;
+    private Supplier<String> timedBulkhead;
+    private Supplier<String> retry;
+    private Supplier<String> timedRetry;
+
+    @Setup
+    public void setup() {
+        //CircuitBreaker mencatat log DEBUG untuk setiap event tanpa consumer
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        Supplier<String> supplier = () -> "Fajar";
+
+        CircuitBreaker stockCircuitBreaker = CircuitBreaker.ofDefaults("fjr-circuitBreaker");
+        circuitBreaker = CircuitBreaker.decorateSupplier(stockCircuitBreaker, supplier);
+        timedCircuitBreaker = TimedDecorators.decorateSupplier(stockCircuitBreaker,
+                LatencyMetrics.of("fjr-circuitBreaker"), supplier);
+
+        RateLimiter stockRateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        rateLimiter = RateLimiter.decorateSupplier(stockRateLimiter, supplier);
+        timedRateLimiter = TimedDecorators.decorateSupplier(stockRateLimiter, LatencyMetrics.of("fjr-rateLimiter"), supplier);
+
+        Bulkhead stockBulkhead = Bulkhead.of("fjr-bulkhead", BulkheadConfig.custom()
+                .maxConcurrentCalls(1_000)
+                .build());
+        bulkhead = Bulkhead.decorateSupplier(stockBulkhead, supplier);
+        timedBulkhead = TimedDecorators.decorateSupplier(stockBulkhead, LatencyMetrics.of("fjr-bulkhead"), supplier);
+
+        Retry stockRetry = Retry.ofDefaults("fjr-retry");
+        retry = Retry.decorateSupplier(stockRetry, supplier);
+        timedRetry = TimedDecorators.decorateSupplier(stockRetry, LatencyMetrics.of("fjr-retry"), supplier);
+    }
+
+    @Benchmark
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public String circuitBreaker() {
+        return circuitBreaker.get();
+    }
+
+    @Benchmark
+    public String timedCircuitBreaker() {
+        return timedCircuitBreaker.get();
+    }
+
+    @Benchmark
+    public String rateLimiter() {
+        return rateLimiter.get();
+    }
+
+    @Benchmark
+    public String timedRateLimiter() {
+        return timedRateLimiter.get();
+    }
+
+    @Benchmark
+    public String bulkhead() {
+        return bulkhead.get();
+    }
+
+    @Benchmark
+    public String timedBulkhead() {
+        return timedBulkhead.get();
+    }
+
+    @Benchmark
+    public String retry() {
+        return retry.get();
+    }
+
+    @Benchmark
+    public String timedRetry() {
+        return timedRetry.get();
+    }
+}
@@ -0,0 +1,198 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.load.LoadReport;
+import fajar.resilience4j.load.LoadScenario;
+import fajar.resilience4j.load.SimulatedBackend;
+import fajar.resilience4j.load.SimulatedBackend.LatencyDistribution;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** LoadScenarios
+ * Skenario BulkHeadTest, RateLimiterTest dan DecoratorsTest sebagai LoadScenario, dengan waktu diperkecil (detik menjadi milidetik)
+ * dan jumlah request diganti arrival rate, supaya bisa diulang dan hasilnya dibandingkan (target/load-reports.jsonl, satu JSON per baris)
+ * - semaphoreBulkhead : testSemaphoreBulkHead, Bulkhead default (25 concurrent, tanpa menunggu), overload 1000 req/s
+ * - semaphoreBulkheadConfig : testSemaphoreConfig, 5 concurrent dengan maxWaitDuration, beban 80% kapasitas
+ * - threadPoolBulkheadConfig : testThreadPollBulkHeadConfig, core 5 max 10 queue 100, beban 80% kapasitas
+ * - rateLimiterConfig : testRateLimiterConfig, 100 permit per detik dengan timeout, 200 req/s
+ * - decorators : testDecorators, Retry lalu RateLimiter pada backend dengan 30% error
+ * - fallback : testFallback ditambah CircuitBreaker, backend outage di tengah run, semua error tertutup fallback
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.LoadScenarios -Dbenchmark.args=""
+ * Argument pertama (opsional) adalah nama skenario, argument kedua durasi dalam detik (default 5)
+ */
+public final class LoadScenarios {
+
+    private LoadScenarios() {
+    }
+
+    public static LoadScenario semaphoreBulkhead(Duration duration) {
+        return LoadScenario.custom("semaphoreBulkhead")
+                .arrivalRate(1_000)
+                .duration(duration)
+                .backend(SimulatedBackend.custom()
+                        .latency(LatencyDistribution.logNormal(Duration.ofMillis(50), Duration.ofMillis(200))))
+                .setup((backend, generator) -> {
+                    Bulkhead bulkhead = Bulkhead.ofDefaults("fjr");
+                    generator.observe(bulkhead);
+                    return Bulkhead.decorateSupplier(bulkhead, backend::call);
+                })
+                .build();
+    }
+
+    public static LoadScenario semaphoreBulkheadConfig(Duration duration) {
+        return LoadScenario.custom("semaphoreBulkheadConfig")
+                .arrivalRate(200)
+                .duration(duration)
+                .backend(SimulatedBackend.custom()
+                        .latency(LatencyDistribution.fixed(Duration.ofMillis(20))))
+                .setup((backend, generator) -> {
+                    Bulkhead bulkhead = Bulkhead.of("fjr", BulkheadConfig.custom()
+                            .maxConcurrentCalls(5)
+                            .maxWaitDuration(Duration.ofMillis(500))
+                            .build());
+                    generator.observe(bulkhead);
+                    return Bulkhead.decorateSupplier(bulkhead, backend::call);
+                })
+                .build();
+    }
+
+    public static LoadScenario threadPoolBulkheadConfig(Duration duration) {
+        return LoadScenario.custom("threadPoolBulkheadConfig")
+                .arrivalRate(400)
+                .duration(duration)
+                .backend(SimulatedBackend.custom()
+                        .latency(LatencyDistribution.fixed(Duration.ofMillis(20))))
+                .setup((backend, generator) -> {
+                    ThreadPoolBulkhead bulkhead = ThreadPoolBulkhead.of("fjr", ThreadPoolBulkheadConfig.custom()
+                            .maxThreadPoolSize(10)
+                            .coreThreadPoolSize(5)
+                            .build());
+                    return () -> bulkhead.executeSupplier(backend::call).toCompletableFuture().join();
+                })
+                .build();
+    }
+
+    public static LoadScenario rateLimiterConfig(Duration duration) {
+        return LoadScenario.custom("rateLimiterConfig")
+                .arrivalRate(200)
+                .duration(duration)
+                .backend(SimulatedBackend.custom()
+                        .latency(LatencyDistribution.fixed(Duration.ofMillis(1))))
+                .setup((backend, generator) -> {
+                    RateLimiter rateLimiter = RateLimiter.of("fjr", RateLimiterConfig.custom()
+                            .limitForPeriod(100)
+                            .limitRefreshPeriod(Duration.ofSeconds(1))
+                            .timeoutDuration(Duration.ofMillis(100))
+                            .build());
+                    generator.observe(rateLimiter);
+                    return RateLimiter.decorateSupplier(rateLimiter, backend::call);
+                })
+                .build();
+    }
+
+    public static LoadScenario decorators(Duration duration) {
+        return LoadScenario.custom("decorators")
+                .arrivalRate(400)
+                .duration(duration)
+                .backend(SimulatedBackend.custom()
+                        .latency(LatencyDistribution.uniform(Duration.ofMillis(5), Duration.ofMillis(15)))
+                        .errorRate(0.3))
+                .setup((backend, generator) -> {
+                    RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                            .limitForPeriod(50)
+                            .limitRefreshPeriod(Duration.ofMillis(100))
+                            .timeoutDuration(Duration.ZERO)
+                            .build());
+                    Retry retry = Retry.of("fjr-retry", RetryConfig.custom()
+                            .maxAttempts(3)
+                            .waitDuration(Duration.ofMillis(20))
+                            .build());
+                    generator.observe(rateLimiter).observe(retry);
+                    return Decorators.ofSupplier(backend::call)
+                            .withRetry(retry)
+                            .withRateLimiter(rateLimiter)
+                            .decorate();
+                })
+                .build();
+    }
+
+    public static LoadScenario fallback(Duration duration) {
+        return LoadScenario.custom("fallback")
+                .arrivalRate(200)
+                .duration(duration)
+                .backend(SimulatedBackend.custom()
+                        .latency(LatencyDistribution.uniform(Duration.ofMillis(5), Duration.ofMillis(15)))
+                        .errorRate(0.01)
+                        .outage(duration.dividedBy(4), duration.dividedBy(3)))
+                .setup((backend, generator) -> {
+                    CircuitBreaker circuitBreaker = CircuitBreaker.of("fjr-circuitBreaker", CircuitBreakerConfig.custom()
+                            .slidingWindowSize(50)
+                            .minimumNumberOfCalls(20)
+                            .waitDurationInOpenState(Duration.ofMillis(200))
+                            .permittedNumberOfCallsInHalfOpenState(5)
+                            .build());
+                    Retry retry = Retry.of("fjr-retry", RetryConfig.custom()
+                            .maxAttempts(3)
+                            .waitDuration(Duration.ofMillis(10))
+                            .build());
+                    generator.observe(circuitBreaker).observe(retry);
+                    return Decorators.ofSupplier(backend::call)
+                            .withCircuitBreaker(circuitBreaker)
+                            .withRetry(retry)
+                            .withFallback(throwable -> "===== FAILED ======")
+                            .decorate();
+                })
+                .build();
+    }
+
+    public static List<LoadScenario> all(Duration duration) {
+        return List.of(
+                semaphoreBulkhead(duration),
+                semaphoreBulkheadConfig(duration),
+                threadPoolBulkheadConfig(duration),
+                rateLimiterConfig(duration),
+                decorators(duration),
+                fallback(duration));
+    }
+
+    public static void main(String[] args) throws IOException {
+        //CircuitBreaker mencatat log DEBUG untuk setiap event tanpa consumer
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        String filter = args.length > 0 ? args[0] : "";
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 5);
+
+        List<String> lines = new ArrayList<>();
+        for (LoadScenario scenario : all(duration)) {
+            if (!filter.isEmpty() && !scenario.getName().equals(filter)) {
+                continue;
+            }
+            LoadReport report = scenario.run();
+            System.out.println(report);
+            lines.add(report.toJson());
+        }
+        Path output = Path.of("target", "load-reports.jsonl");
+        Files.createDirectories(output.getParent());
+        Files.write(output, lines);
+        System.out.println("Report : " + output.toAbsolutePath());
+        //thread pool ThreadPoolBulkhead bukan daemon thread dan tidak pernah di close() oleh skenario nya
+        System.exit(0);
+    }
+}
@@ -0,0 +1,75 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.bulkhead.PriorityBulkhead;
+import fajar.resilience4j.bulkhead.PriorityLanes;
+import fajar.resilience4j.load.LoadGenerator;
+import fajar.resilience4j.load.LoadReport;
+import fajar.resilience4j.load.SimulatedBackend;
+import fajar.resilience4j.load.SimulatedBackend.LatencyDistribution;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/** PriorityBulkheadSimulation
+ * Bukan JMH, yang diukur adalah p99 latency request critical saat bulkhead dibanjiri request bulk
+ * Backend 20ms, bulkhead 10 permit (kapasitas 500 request per detik), maxWaitDuration 200ms
+ * bulk dikirim 800 per detik (open-loop, 1.6x kapasitas) bersamaan dengan critical 50 per detik selama DURATION
+ * Bulkhead.of() : critical antri di semaphore yang sama dengan bulk
+ * PriorityBulkhead : critical weight 1 (2 permit reservasi), bulk weight 4 (8 permit), critical didahulukan saat menunggu
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.PriorityBulkheadSimulation -Dbenchmark.args=""
+ */
+public class PriorityBulkheadSimulation {
+
+    private static final int BULK_RATE = 800;
+    private static final int CRITICAL_RATE = 50;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+
+    public static void main(String[] args) {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(10)
+                .maxWaitDuration(Duration.ofMillis(200))
+                .build();
+
+        System.out.printf("%-18s %-9s %8s %10s %10s %10s %10s%n",
+                "bulkhead", "lane", "sent", "succeeded", "rejected", "p50(ms)", "p99(ms)");
+        Bulkhead semaphore = Bulkhead.of("semaphore", config);
+        run("Bulkhead.of", semaphore, semaphore);
+
+        PriorityBulkhead priority = PriorityBulkhead.of("priority", config, PriorityLanes.custom()
+                .lane("critical", 1)
+                .lane("bulk", 4)
+                .build());
+        run("PriorityBulkhead", priority.lane("critical"), priority.lane("bulk"));
+        System.out.printf("PriorityBulkhead shed : critical %d, bulk %d%n",
+                priority.lane("critical").getShedCalls(), priority.lane("bulk").getShedCalls());
+    }
+
+    private static void run(String label, Bulkhead critical, Bulkhead bulk) {
+        SimulatedBackend backend = SimulatedBackend.of(LatencyDistribution.fixed(Duration.ofMillis(20)));
+        CompletableFuture<LoadReport> bulkReport = CompletableFuture.supplyAsync(() -> LoadGenerator.custom("bulk")
+                .arrivalRate(BULK_RATE)
+                .duration(DURATION)
+                .build()
+                .run(Bulkhead.decorateSupplier(bulk, backend::call)));
+        LoadReport criticalReport = LoadGenerator.custom("critical")
+                .arrivalRate(CRITICAL_RATE)
+                .duration(DURATION)
+                .build()
+                .run(Bulkhead.decorateSupplier(critical, backend::call));
+        print(label, "critical", criticalReport);
+        print(label, "bulk", bulkReport.join());
+    }
+
+    private static void print(String label, String lane, LoadReport report) {
+        System.out.printf("%-18s %-9s %8d %10d %10d %10.1f %10.1f%n", label, lane,
+                report.getSent(), report.getSucceeded(), report.getRejected(),
+                report.getLatency().getValueAtPercentile(50).toNanos() / 1e6,
+                report.getLatency().getValueAtPercentile(99).toNanos() / 1e6);
+    }
+}
@@ -0,0 +1,86 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.core.RegistryHandles;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/** RegistryLookupBenchmark
+ * 10k instance dengan nama berbeda di RetryRegistry dan CircuitBreakerRegistry, setiap operasi melakukan lookup ke semua nama
+ * stringRetry / stringCircuitBreakerWithConfig : registry.retry(name) dan registry.circuitBreaker(name, "config") seperti di test
+ * handleRetry / handleCircuitBreaker : RegistryHandles.get(handle), handle di-resolve sekali di setup
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="RegistryLookupBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryLookupBenchmark {
+
+    private static final int INSTANCES = 10_000;
+
+    private final String[] names = new String[INSTANCES];
+    private final int[] retryHandles = new int[INSTANCES];
+    private final int[] circuitBreakerHandles = new int[INSTANCES];
+    private RetryRegistry retryRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private RegistryHandles<Retry> retries;
+    private RegistryHandles<CircuitBreaker> circuitBreakers;
+
+    @Setup
+    public void setup() {
+        retryRegistry = RetryRegistry.ofDefaults();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        circuitBreakerRegistry.addConfiguration("config", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .build());
+        retries = RegistryHandles.of(retryRegistry);
+        circuitBreakers = RegistryHandles.of(circuitBreakerRegistry);
+        for (int i = 0; i < INSTANCES; i++) {
+            names[i] = "fjr-" + i;
+            circuitBreakerRegistry.circuitBreaker(names[i], "config");
+            retryHandles[i] = retries.handle(names[i]);
+            circuitBreakerHandles[i] = circuitBreakers.handle(names[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public void stringRetry(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(retryRegistry.retry(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public void handleRetry(Blackhole blackhole) {
+        for (int handle : retryHandles) {
+            blackhole.consume(retries.get(handle));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public void stringCircuitBreakerWithConfig(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(circuitBreakerRegistry.circuitBreaker(name, "config"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public void handleCircuitBreaker(Blackhole blackhole) {
+        for (int handle : circuitBreakerHandles) {
+            blackhole.consume(circuitBreakers.get(handle));
+        }
+    }
+}
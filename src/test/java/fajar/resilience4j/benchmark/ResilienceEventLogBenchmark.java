@@ -0,0 +1,121 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import fajar.resilience4j.logging.ResilienceEventLog;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/** ResilienceEventLogBenchmark
+ * Throughput panggilan Supplier yang di decorate RateLimiter + CircuitBreaker, setiap panggilan membuat 2 event (SUCCESSFUL_ACQUIRE dan SUCCESS)
+ * logging :
+ * - none : tidak ada consumer, sebagai pembanding
+ * - logback : consumer log.info("{}", event) seperti di test, FileAppender synchronous ke target/
+ * - logbackAsync : sama, tapi FileAppender dibungkus AsyncAppender (queue 256, pemanggil menunggu jika queue penuh)
+ * - eventLog : ResilienceEventLog, semua event ditulis
+ * - eventLogSampled : ResilienceEventLog dengan sampleRate 0.01 untuk event SUCCESS
+ * Dijalankan dengan -prof gc, lihat gc.alloc.rate.norm (byte per panggilan, termasuk event dari resilience4j sendiri)
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="ResilienceEventLogBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResilienceEventLogBenchmark {
+
+    @Param({"none", "logback", "logbackAsync", "eventLog", "eventLogSampled"})
+    public String logging;
+
+    private Supplier<String> supplier;
+    private ResilienceEventLog eventLog;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup
+    public void setup() {
+        Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        //CircuitBreaker mencatat log DEBUG untuk setiap event, console appender dilepas supaya yang terukur hanya file
+        root.setLevel(Level.INFO);
+        root.detachAndStopAllAppenders();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr-circuitBreaker");
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        supplier = RateLimiter.decorateSupplier(rateLimiter, CircuitBreaker.decorateSupplier(circuitBreaker, () -> "Fajar"));
+
+        switch (logging) {
+            case "logback", "logbackAsync" -> {
+                appender = fileAppender(root, logging.equals("logbackAsync"));
+                root.addAppender(appender);
+                org.slf4j.Logger log = LoggerFactory.getLogger(ResilienceEventLogBenchmark.class);
+                circuitBreaker.getEventPublisher().onEvent(event -> log.info("{}", event));
+                rateLimiter.getEventPublisher().onEvent(event -> log.info("{}", event));
+            }
+            case "eventLog", "eventLogSampled" -> {
+                double sampleRate = logging.equals("eventLog") ? 1.0 : 0.01;
+                eventLog = ResilienceEventLog.of(Path.of("target", "event-log"), "benchmark")
+                        .register(circuitBreaker, sampleRate)
+                        .register(rateLimiter, sampleRate);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static Appender<ILoggingEvent> fileAppender(Logger root, boolean async) {
+        LoggerContext context = root.getLoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile("target/logback-benchmark.log");
+        fileAppender.setAppend(false);
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        if (!async) {
+            return fileAppender;
+        }
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+        return asyncAppender;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (eventLog != null) {
+            eventLog.close();
+            System.out.printf("%nwritten %d, dropped %d, sampledOut %d%n", eventLog.getWrittenRecords(),
+                    eventLog.getDroppedRecords(), eventLog.getSampledOutRecords());
+        }
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    @Benchmark
+    public String decoratedCall() {
+        return supplier.get();
+    }
+}
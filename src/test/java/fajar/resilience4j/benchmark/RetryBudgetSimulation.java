@@ -0,0 +1,109 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.retry.RetryBudget;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/** RetryBudgetSimulation
+ * Bukan JMH, karena yang diukur adalah beban ke dependency (amplifikasi), bukan biaya per operasi
+ * Request datang dengan laju tetap 1000 per detik (open-loop, satu virtual thread per request), seperti traffic dari user
+ * Dengan closed-loop (client menunggu hasil sebelum mengirim lagi) amplifikasi nya tersembunyi, karena client yang sedang retry tidak mengirim request baru
+ * Dependency butuh 5ms, dan mati total (selalu error) dari detik ke-2 sampai detik ke-6, total 8 detik
+ * Retry maxAttempts(10) dengan waitDuration 50ms, seperti DecoratorsTest
+ * - retry : Retry biasa, saat dependency mati setiap request menjadi 10 percobaan
+ * - retry+budget : RetryBudget.ofDefaults (ratio 0.2, minimal 10 retry per detik, window 10 detik)
+ * Dicetak per fase : jumlah request dari client, percobaan yang sampai ke dependency, amplifikasi (percobaan / request) dan percobaan per detik
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.RetryBudgetSimulation -Dbenchmark.args=""
+ */
+public class RetryBudgetSimulation {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BACKEND_MILLIS = 5;
+    private static final long OUTAGE_START_MILLIS = 2_000;
+    private static final long OUTAGE_END_MILLIS = 6_000;
+    private static final long DURATION_MILLIS = 8_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(10)
+                .waitDuration(Duration.ofMillis(50))
+                .build();
+
+        System.out.printf("%-14s %-8s %10s %10s %14s %12s%n",
+                "retry", "phase", "requests", "attempts", "amplification", "attempts/s");
+        run("retry", Retry.of("fjr", config));
+        RetryBudget budget = RetryBudget.ofDefaults("fjr");
+        run("retry+budget", budget.retry("fjr", config));
+    }
+
+    private static void run(String label, Retry retry) throws InterruptedException {
+        //index 0 sebelum outage, 1 selama outage, 2 setelah outage
+        LongAdder[] requests = {new LongAdder(), new LongAdder(), new LongAdder()};
+        LongAdder[] attempts = {new LongAdder(), new LongAdder(), new LongAdder()};
+        long start = System.nanoTime();
+
+        Supplier<String> supplier = Retry.decorateSupplier(retry, () -> {
+            long elapsed = elapsedMillis(start);
+            attempts[phase(elapsed)].increment();
+            sleep(BACKEND_MILLIS);
+            if (elapsed >= OUTAGE_START_MILLIS && elapsed < OUTAGE_END_MILLIS) {
+                throw new IllegalStateException("Dependency is down");
+            }
+            return "Fajar";
+        });
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long elapsed;
+            for (long i = 0; (elapsed = elapsedMillis(start)) < DURATION_MILLIS; i++) {
+                long wait = start + i * INTERVAL_NANOS - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                requests[phase(elapsed)].increment();
+                clients.execute(() -> {
+                    try {
+                        supplier.get();
+                    } catch (IllegalStateException ignored) {
+                        //request gagal setelah semua retry (atau retry ditolak budget)
+                    }
+                });
+            }
+        }
+
+        String[] phases = {"before", "outage", "after"};
+        long[] phaseMillis = {OUTAGE_START_MILLIS, OUTAGE_END_MILLIS - OUTAGE_START_MILLIS, DURATION_MILLIS - OUTAGE_END_MILLIS};
+        for (int i = 0; i < phases.length; i++) {
+            System.out.printf("%-14s %-8s %10d %10d %14.2f %12.0f%n", label, phases[i],
+                    requests[i].sum(), attempts[i].sum(),
+                    (double) attempts[i].sum() / Math.max(1, requests[i].sum()),
+                    attempts[i].sum() * 1_000.0 / phaseMillis[i]);
+        }
+    }
+
+    private static int phase(long elapsedMillis) {
+        if (elapsedMillis < OUTAGE_START_MILLIS) {
+            return 0;
+        }
+        return elapsedMillis < OUTAGE_END_MILLIS ? 1 : 2;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
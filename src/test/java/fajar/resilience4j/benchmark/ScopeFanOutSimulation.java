@@ -0,0 +1,153 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.scope.ResilientScope;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** ScopeFanOutSimulation
+ * Bukan JMH, karena yang diukur adalah latency fan-out dan jumlah thread, bukan biaya per operasi
+ * 20 pemanggil bersamaan (virtual thread), setiap pemanggil 20x fan-out 50 subtask, setiap subtask I/O 10ms
+ * - scope : ResilientScope dengan Bulkhead (1000 permit), CircuitBreaker dan TimeLimiter (1 detik), subtask di virtual thread
+ * - threadPoolBulkhead : ThreadPoolBulkhead core 50, max 100, queue 1000, lalu CompletableFuture.allOf()
+ * Skenario failFast : subtask pertama gagal setelah 1ms, 49 subtask lain butuh 50ms
+ * Dicetak : latency fan-out p50 dan p99, latency failFast p50, dan puncak platform thread (ThreadMXBean, virtual thread tidak dihitung)
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.ScopeFanOutSimulation -Dbenchmark.args=""
+ */
+public class ScopeFanOutSimulation {
+
+    private static final int CALLERS = 20;
+    private static final int ROUNDS = 20;
+    private static final int FAN_OUT = 50;
+
+    public static void main(String[] args) throws Exception {
+        //CircuitBreaker mencatat log DEBUG untuk setiap event tanpa consumer
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        System.out.printf("%-20s %10s %10s %14s %16s%n",
+                "fan-out", "p50(ms)", "p99(ms)", "failFast(ms)", "platformThreads");
+
+        Bulkhead bulkhead = Bulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(1_000)
+                .maxWaitDuration(Duration.ofSeconds(1))
+                .build());
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("fjr");
+        TimeLimiter timeLimiter = TimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofSeconds(1))
+                .build());
+        run("scope", tasks -> {
+            try (ResilientScope scope = ResilientScope.custom("fjr")
+                    .withBulkhead(bulkhead)
+                    .withCircuitBreaker(circuitBreaker)
+                    .withTimeLimiter(timeLimiter)
+                    .open()) {
+                for (Callable<String> task : tasks) {
+                    scope.fork(task);
+                }
+                scope.join();
+            }
+        });
+
+        ThreadPoolBulkhead threadPoolBulkhead = ThreadPoolBulkhead.of("fjr", ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(50)
+                .maxThreadPoolSize(100)
+                .queueCapacity(1_000)
+                .build());
+        run("threadPoolBulkhead", tasks -> {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.length];
+            for (int i = 0; i < tasks.length; i++) {
+                futures[i] = threadPoolBulkhead.submit(tasks[i]).toCompletableFuture();
+            }
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (RuntimeException ignored) {
+                //failFast, error baru terlihat setelah semua subtask selesai
+            }
+        });
+        threadPoolBulkhead.close();
+    }
+
+    private static void run(String label, FanOut fanOut) throws Exception {
+        //warmup, supaya JIT tidak ikut terukur di p99
+        for (int i = 0; i < 20; i++) {
+            fanOut.execute(tasks(1, -1));
+        }
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+        long[] latencies = new long[CALLERS * ROUNDS];
+        AtomicInteger index = new AtomicInteger();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                callers.execute(() -> {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        Callable<String>[] tasks = tasks(10, -1);
+                        long start = System.nanoTime();
+                        try {
+                            fanOut.execute(tasks);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                        latencies[index.getAndIncrement()] = System.nanoTime() - start;
+                    }
+                });
+            }
+        }
+        int peakThreads = threadMXBean.getPeakThreadCount();
+
+        long[] failFast = new long[20];
+        for (int i = 0; i < failFast.length; i++) {
+            long start = System.nanoTime();
+            fanOut.execute(tasks(50, 1));
+            failFast[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        Arrays.sort(failFast);
+        System.out.printf("%-20s %10.1f %10.1f %14.1f %16d%n", label,
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0,
+                failFast[failFast.length / 2] / 1_000_000.0,
+                peakThreads);
+    }
+
+    //subtask pertama gagal setelah failAfterMillis (jika tidak -1), subtask lain sukses setelah millis
+    @SuppressWarnings("unchecked")
+    private static Callable<String>[] tasks(long millis, long failAfterMillis) {
+        Callable<String>[] tasks = (Callable<String>[]) new Callable<?>[FAN_OUT];
+        for (int i = 0; i < FAN_OUT; i++) {
+            boolean fail = i == 0 && failAfterMillis >= 0;
+            tasks[i] = () -> {
+                if (fail) {
+                    TimeUnit.MILLISECONDS.sleep(failAfterMillis);
+                    throw new IllegalStateException("ERROR");
+                }
+                TimeUnit.MILLISECONDS.sleep(millis);
+                return "Fajar";
+            };
+        }
+        return tasks;
+    }
+
+    @FunctionalInterface
+    private interface FanOut {
+        void execute(Callable<String>[] tasks) throws Exception;
+    }
+}
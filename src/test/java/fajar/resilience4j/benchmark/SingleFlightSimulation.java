@@ -0,0 +1,109 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.cache.SingleFlight;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** SingleFlightSimulation
+ * Bukan JMH, karena yang diukur adalah permit RateLimiter yang terpakai dan latency pemanggil, bukan biaya per operasi
+ * Setiap round 100 pemanggil (virtual thread) memanggil key yang sama bersamaan, 20 round dengan jeda 100ms
+ * Supplier sama seperti DecoratorsTest.testFallback : Retry + RateLimiter + fallback, backend butuh 50ms
+ * RateLimiter 100 permit per detik tanpa menunggu, pemanggil yang tidak dapat permit mendapat fallback
+ * - plain : setiap pemanggil memakai permit sendiri
+ * - singleFlight : pemanggil yang bersamaan digabung, satu permit per round
+ * - singleFlight(ttl=1s) : hasil juga disimpan, permit hanya dipakai saat hasil nya expired
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.SingleFlightSimulation -Dbenchmark.args=""
+ */
+public class SingleFlightSimulation {
+
+    private static final int CALLERS = 100;
+    private static final int ROUNDS = 20;
+    private static final long BACKEND_MILLIS = 50;
+    private static final String FALLBACK = "===== FAILED ======";
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%-22s %10s %10s %10s %10s %10s%n",
+                "decorator", "permits", "backend", "fallback", "p50(ms)", "p99(ms)");
+        run("plain", supplier -> supplier);
+        SingleFlight<String, String> coalescing = SingleFlight.of("fjr");
+        run("singleFlight", supplier -> coalescing.decorateSupplier("fjr", supplier));
+        SingleFlight<String, String> caching = SingleFlight.of("fjr", Duration.ofSeconds(1), 1_000);
+        run("singleFlight(ttl=1s)", supplier -> caching.decorateSupplier("fjr", supplier));
+    }
+
+    private static void run(String label, Function<Supplier<String>, Supplier<String>> singleFlight)
+            throws InterruptedException {
+        RateLimiter rateLimiter = RateLimiter.of("fjr-rateLimiter", RateLimiterConfig.custom()
+                .limitForPeriod(100)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        Retry retry = Retry.of("fjr-retry", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .build());
+        LongAdder permits = new LongAdder();
+        rateLimiter.getEventPublisher().onSuccess(event -> permits.increment());
+        LongAdder backend = new LongAdder();
+        LongAdder fallback = new LongAdder();
+
+        //SingleFlight paling luar, setelah decorate(), jadi pemanggil yang digabung tidak menyentuh RateLimiter
+        Supplier<String> supplier = singleFlight.apply(Decorators.ofSupplier(() -> {
+                    backend.increment();
+                    sleep(BACKEND_MILLIS);
+                    return "Fajar";
+                })
+                .withRetry(retry)
+                .withRateLimiter(rateLimiter)
+                .withFallback(throwable -> {
+                    fallback.increment();
+                    return FALLBACK;
+                })
+                .decorate());
+
+        long[] latencies = new long[CALLERS * ROUNDS];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch done = new CountDownLatch(CALLERS);
+                for (int i = 0; i < CALLERS; i++) {
+                    int index = round * CALLERS + i;
+                    executor.execute(() -> {
+                        long start = System.nanoTime();
+                        supplier.get();
+                        latencies[index] = System.nanoTime() - start;
+                        done.countDown();
+                    });
+                }
+                done.await();
+                sleep(100);
+            }
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %10d %10d %10d %10.1f %10.1f%n", label,
+                permits.sum(), backend.sum(), fallback.sum(),
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
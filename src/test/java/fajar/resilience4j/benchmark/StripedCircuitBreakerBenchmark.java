@@ -0,0 +1,79 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.circuitbreaker.StripedCircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/** StripedCircuitBreakerBenchmark
+ * Membandingkan CircuitBreaker.of() (sliding window dengan synchronized) dengan StripedCircuitBreaker
+ * Semua eksekusi sukses, yang terukur adalah biaya acquirePermission + onSuccess saat banyak thread mencatat bersamaan
+ * Jalankan main() untuk hasil pada 1, 2, 4, 8, 16, 32 dan 64 thread, untuk COUNT_BASED dan TIME_BASED
+ * Hasil di mesin 1 CPU (-wi 2 -i 3, ops/us, stock / striped) :
+ *   threads   COUNT_BASED      TIME_BASED
+ *   1         6.9 / 6.2        5.4 / 4.9
+ *   4         10.5 / 6.9       6.3 / 5.9
+ *   16        8.4 / 8.1        5.6 / 5.4
+ *   64        9.7 / 7.5        6.4 / 5.3
+ * Di 1 CPU tidak ada lock yang diperebutkan secara paralel, jadi striping tidak memberi keuntungan, error nya juga lebih besar dari selisihnya
+ * COUNT_BASED tetap melewati satu CountRing bersama (getAndIncrement nomor urut + CAS slot), jadi tidak bisa lebih cepat dari
+ * satu stripe, yang bisa berkurang di banyak core hanya antrian synchronized nya. Ukur di mesin dengan banyak core sebelum memakai nya
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StripedCircuitBreakerBenchmark {
+
+    @Param({"COUNT_BASED", "TIME_BASED"})
+    public CircuitBreakerConfig.SlidingWindowType slidingWindowType;
+
+    private Runnable stockRunnable;
+    private Runnable stripedRunnable;
+
+    @Setup
+    public void setup() {
+        //tidak ada logback.xml, jadi default nya DEBUG dan CircuitBreaker mencatat log setiap eksekusi sukses
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        //config yang sama untuk keduanya, supaya yang berbeda hanya implementasi sliding window nya
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(slidingWindowType)
+                .slidingWindowSize(slidingWindowType == CircuitBreakerConfig.SlidingWindowType.COUNT_BASED ? 100 : 10)
+                .build();
+        stockRunnable = CircuitBreaker.decorateRunnable(CircuitBreaker.of("fjr-stock", config), () -> {
+        });
+        stripedRunnable = CircuitBreaker.decorateRunnable(StripedCircuitBreaker.of("fjr-striped", config), () -> {
+        });
+    }
+
+    @Benchmark
+    public void stockCircuitBreaker() {
+        stockRunnable.run();
+    }
+
+    @Benchmark
+    public void stripedCircuitBreaker() {
+        stripedRunnable.run();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(StripedCircuitBreakerBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.core.HashedWheelTimer;
+import fajar.resilience4j.timelimiter.WheelTimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** TimeLimiterTimeoutBenchmark
+ * Mengukur biaya mendaftarkan timeout lalu membatalkannya (eksekusi selesai sebelum timeout)
+ * dengan 100_000 eksekusi lain yang masih berjalan (outstanding) di TimeLimiter yang sama
+ * stock : TimeLimiter.decorateCompletionStage() dengan ScheduledThreadPoolExecutor (removeOnCancelPolicy aktif)
+ * wheel : WheelTimeLimiter dengan HashedWheelTimer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeLimiterTimeoutBenchmark {
+
+    @Param({"100000"})
+    public int outstandingCalls;
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private HashedWheelTimer timer;
+    private TimeLimiter stockTimeLimiter;
+    private WheelTimeLimiter wheelTimeLimiter;
+    private CompletableFuture<?>[] outstanding;
+
+    @Setup
+    public void setup() {
+        //timeout dibuat panjang supaya eksekusi outstanding tidak expired selama benchmark
+        TimeLimiterConfig config = TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMinutes(10))
+                .build();
+
+        scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        timer = new HashedWheelTimer("benchmark");
+        stockTimeLimiter = TimeLimiter.of("fjr-stock", config);
+        wheelTimeLimiter = WheelTimeLimiter.of("fjr-wheel", config, timer);
+
+        outstanding = new CompletableFuture<?>[outstandingCalls * 2];
+        for (int i = 0; i < outstandingCalls; i++) {
+            CompletableFuture<String> stockFuture = new CompletableFuture<>();
+            stockTimeLimiter.executeCompletionStage(scheduler, () -> stockFuture);
+            outstanding[i] = stockFuture;
+
+            CompletableFuture<String> wheelFuture = new CompletableFuture<>();
+            wheelTimeLimiter.executeCompletionStage(() -> wheelFuture);
+            outstanding[outstandingCalls + i] = wheelFuture;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (CompletableFuture<?> future : outstanding) {
+            future.cancel(false);
+        }
+        scheduler.shutdownNow();
+        timer.close();
+    }
+
+    @Benchmark
+    public CompletionStage<String> stockRegisterAndCancel() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> result = stockTimeLimiter.executeCompletionStage(scheduler, () -> future);
+        future.complete("Fajar");
+        return result;
+    }
+
+    @Benchmark
+    public CompletionStage<String> wheelRegisterAndCancel() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> result = wheelTimeLimiter.executeCompletionStage(() -> future);
+        future.complete("Fajar");
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package fajar.resilience4j.benchmark;
+
+import fajar.resilience4j.bulkhead.VirtualThreadBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/** VirtualThreadBulkheadBenchmark
+ * Setiap operasi mengirim 100 eksekusi blocking (sleep) ke bulkhead lalu menunggu semuanya selesai
+ * Jadi eksekusi blocking per detik = skor (ops/s) x 100
+ * Dibandingkan : ThreadPoolBulkhead.ofDefaults(), VirtualThreadBulkhead.ofDefaults() (permit sama) dan VirtualThreadBulkhead dengan 100 permit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBulkheadBenchmark {
+
+    private static final int CALLS_PER_OPERATION = 100;
+
+    @Param({"10"})
+    public long blockingMillis;
+
+    private ThreadPoolBulkhead threadPoolBulkhead;
+    private ThreadPoolBulkhead virtualThreadBulkhead;
+    private ThreadPoolBulkhead virtualThreadBulkheadWide;
+
+    @Setup
+    public void setup() {
+        threadPoolBulkhead = ThreadPoolBulkhead.ofDefaults("fjr-threadPool");
+        virtualThreadBulkhead = VirtualThreadBulkhead.ofDefaults("fjr-virtual");
+        virtualThreadBulkheadWide = VirtualThreadBulkhead.of("fjr-virtual-wide", ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(1)
+                .maxThreadPoolSize(CALLS_PER_OPERATION)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        threadPoolBulkhead.close();
+        virtualThreadBulkhead.close();
+        virtualThreadBulkheadWide.close();
+    }
+
+    @Benchmark
+    public void threadPoolBulkheadOfDefaults() {
+        runBlockingCalls(threadPoolBulkhead);
+    }
+
+    @Benchmark
+    public void virtualThreadBulkheadOfDefaults() {
+        runBlockingCalls(virtualThreadBulkhead);
+    }
+
+    @Benchmark
+    public void virtualThreadBulkheadHundredPermits() {
+        runBlockingCalls(virtualThreadBulkheadWide);
+    }
+
+    private void runBlockingCalls(ThreadPoolBulkhead bulkhead) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[CALLS_PER_OPERATION];
+        for (int i = 0; i < CALLS_PER_OPERATION; i++) {
+            futures[i] = bulkhead.executeRunnable(this::sayHello).toCompletableFuture();
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void sayHello() {
+        try {
+            Thread.sleep(blockingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
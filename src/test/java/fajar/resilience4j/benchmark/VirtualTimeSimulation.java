@@ -0,0 +1,154 @@
+package fajar.resilience4j.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import fajar.resilience4j.bulkhead.AdaptiveBulkhead;
+import fajar.resilience4j.bulkhead.limit.AdaptiveLimit;
+import fajar.resilience4j.circuitbreaker.StripedCircuitBreaker;
+import fajar.resilience4j.core.VirtualTimeSource;
+import fajar.resilience4j.load.SimulatedBackend.LatencyDistribution;
+import fajar.resilience4j.load.SimulatedBackend.SimulatedBackendException;
+import fajar.resilience4j.metrics.LatencyRecorder;
+import fajar.resilience4j.metrics.LatencySnapshot;
+import fajar.resilience4j.ratelimiter.BatchRateLimiter;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.decorators.Decorators;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/** VirtualTimeSimulation
+ * Bukan JMH, yang diukur adalah berapa lama simulasi berjalan (wall time) dibanding waktu yang disimulasikan (virtual time)
+ * 1.000.000 request dengan laju 1000 per detik (1000 detik virtual), semuanya di VirtualTimeSource :
+ * Retry (3 percobaan, 50ms) -> BatchRateLimiter (900 per detik) -> AdaptiveBulkhead (fixed 100) -> StripedCircuitBreaker -> TimeLimiter (200ms)
+ * Backend latency log-normal (median 20ms, p99 150ms), 1% error, dan mati total dari detik ke-300 sampai detik ke-360
+ * Semua instance adalah instance yang sama dengan yang dipakai di aplikasi, hanya waktu dan scheduler nya dari VirtualTimeSource
+ * Hasilnya selalu sama setiap dijalankan (seed tetap dan task dijalankan sesuai urutan waktu)
+ * Jalankan : mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=fajar.resilience4j.benchmark.VirtualTimeSimulation -Dbenchmark.args=""
+ * Argument pertama (opsional) adalah jumlah request
+ */
+public class VirtualTimeSimulation {
+
+    private static final int ARRIVAL_RATE = 1_000;
+    private static final Duration OUTAGE_START = Duration.ofSeconds(300);
+    private static final Duration OUTAGE_END = Duration.ofSeconds(360);
+    private static final double ERROR_RATE = 0.01;
+
+    private final VirtualTimeSource time = new VirtualTimeSource();
+    private final ScheduledExecutorService scheduler = time.scheduler();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final LatencyDistribution latency = LatencyDistribution.logNormal(Duration.ofMillis(20), Duration.ofMillis(150));
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<String, Long> results = new TreeMap<>();
+    private long backendCalls;
+    private long stateTransitions;
+
+    public static void main(String[] args) {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        long requests = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        new VirtualTimeSimulation().run(requests);
+    }
+
+    private void run(long requests) {
+        BatchRateLimiter rateLimiter = BatchRateLimiter.of("fjr", RateLimiterConfig.custom()
+                .limitForPeriod(90)
+                .limitRefreshPeriod(Duration.ofMillis(100))
+                .timeoutDuration(Duration.ZERO)
+                .build(), time);
+        AdaptiveBulkhead bulkhead = AdaptiveBulkhead.of("fjr", BulkheadConfig.custom()
+                .maxConcurrentCalls(100)
+                .build(), AdaptiveLimit.fixed(100), time);
+        StripedCircuitBreaker circuitBreaker = StripedCircuitBreaker.of("fjr", CircuitBreakerConfig.custom()
+                .slidingWindowSize(100)
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .build(), time);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> stateTransitions++);
+        TimeLimiter timeLimiter = TimeLimiter.of("fjr", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(200))
+                .build());
+        Retry retry = Retry.of("fjr", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(50))
+                .ignoreExceptions(CallNotPermittedException.class, BulkheadFullException.class, RequestNotPermitted.class)
+                .build());
+
+        Supplier<CompletionStage<String>> supplier = Decorators.ofCompletionStage(this::backend)
+                .withTimeLimiter(timeLimiter, scheduler)
+                .withCircuitBreaker(circuitBreaker)
+                .withBulkhead(bulkhead)
+                .withRateLimiter(rateLimiter)
+                .withRetry(retry, scheduler)
+                .decorate();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ARRIVAL_RATE;
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long sent = time.nanoTime();
+            supplier.get().whenComplete((result, throwable) -> {
+                recorder.record(time.nanoTime() - sent);
+                results.merge(outcome(throwable), 1L, Long::sum);
+            });
+            time.advance(Duration.ofNanos(intervalNanos));
+        }
+        time.runAll();
+        long wallNanos = System.nanoTime() - start;
+
+        LatencySnapshot snapshot = recorder.totalSnapshot();
+        System.out.printf("requests %,d, backend calls %,d, circuit breaker transitions %d%n",
+                requests, backendCalls, stateTransitions);
+        results.forEach((outcome, count) -> System.out.printf("  %-28s %,10d%n", outcome, count));
+        System.out.printf("latency p50 %.1fms, p99 %.1fms, max %.1fms%n",
+                snapshot.getValueAtPercentile(50).toNanos() / 1e6,
+                snapshot.getValueAtPercentile(99).toNanos() / 1e6,
+                snapshot.getMax().toNanos() / 1e6);
+        System.out.printf("virtual time %ds, wall time %dms (%.0fx)%n",
+                time.elapsed().toSeconds(), TimeUnit.NANOSECONDS.toMillis(wallNanos),
+                time.elapsed().toNanos() / (double) wallNanos);
+    }
+
+    private CompletionStage<String> backend() {
+        backendCalls++;
+        CompletableFuture<String> future = new CompletableFuture<>();
+        long now = time.nanoTime();
+        boolean outage = now >= OUTAGE_START.toNanos() && now < OUTAGE_END.toNanos();
+        boolean error = outage || random.nextDouble() < ERROR_RATE;
+        scheduler.schedule(() -> {
+            if (error) {
+                future.completeExceptionally(new SimulatedBackendException("Backend error"));
+            } else {
+                future.complete("Fajar");
+            }
+        }, latency.nextNanos(random), TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    private static String outcome(Throwable throwable) {
+        if (throwable == null) {
+            return "succeeded";
+        }
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        return cause.getClass().getSimpleName();
+    }
+}